@@ -33,6 +33,7 @@ public class ApplicationProperties {
     private Server server = new Server();
     private Logging logging = new Logging();
     private Monitoring monitoring = new Monitoring();
+    private MessageId messageId = new MessageId();
 
     // Getters and Setters
     public String getName() { return name; }
@@ -59,6 +60,9 @@ public class ApplicationProperties {
     public Monitoring getMonitoring() { return monitoring; }
     public void setMonitoring(Monitoring monitoring) { this.monitoring = monitoring; }
 
+    public MessageId getMessageId() { return messageId; }
+    public void setMessageId(MessageId messageId) { this.messageId = messageId; }
+
     public static class Database {
         @Min(value = 1, message = "Database pool size must be at least 1")
         @Max(value = 100, message = "Database pool size must not exceed 100")
@@ -150,4 +154,31 @@ public class ApplicationProperties {
         public String getHealthShowDetails() { return healthShowDetails; }
         public void setHealthShowDetails(String healthShowDetails) { this.healthShowDetails = healthShowDetails; }
     }
-}
\ No newline at end of file
+
+    public static class MessageId {
+        /**
+         * ID generation mode.
+         * TIME_ORDERED: node-scoped timestamp + sequence, no database round-trip.
+         * RANDOM_CHECKED: random ID checked against the database (legacy).
+         */
+        @NotNull(message = "Message ID mode is required")
+        private Mode mode = Mode.TIME_ORDERED;
+
+        /**
+         * Node identifier for TIME_ORDERED mode, unique per running instance.
+         * When not set, it is derived from the host name and process ID.
+         */
+        @Min(value = 0, message = "Message ID node ID must be at least 0")
+        @Max(value = 1679615, message = "Message ID node ID must not exceed 1679615 (36^4 - 1)")
+        private Integer nodeId;
+
+        public enum Mode { TIME_ORDERED, RANDOM_CHECKED }
+
+        // Getters and Setters
+        public Mode getMode() { return mode; }
+        public void setMode(Mode mode) { this.mode = mode; }
+
+        public Integer getNodeId() { return nodeId; }
+        public void setNodeId(Integer nodeId) { this.nodeId = nodeId; }
+    }
+}
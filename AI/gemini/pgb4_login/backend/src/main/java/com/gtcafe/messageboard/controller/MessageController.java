@@ -1,7 +1,5 @@
 package com.gtcafe.messageboard.controller;
 
-import java.util.concurrent.ExecutionException;
-
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -35,12 +33,11 @@ public class MessageController {
     private final MessageIdGenerator _messageIdGenerator;
 
     @PostMapping
-    public ResponseEntity<TaskResponse> createMessage(@RequestBody NewMessageRequest newMessageRequest)
-            throws ExecutionException, InterruptedException {
+    public ResponseEntity<TaskResponse> createMessage(@RequestBody NewMessageRequest newMessageRequest) {
         Message message = new Message();
         message.setUserId(newMessageRequest.getUserId());
         message.setContent(newMessageRequest.getContent());
-        String taskId = _service.createMessage(message).get();
+        String taskId = _service.submitCreateMessage(message);
         return ResponseEntity.status(HttpStatus.ACCEPTED).body(new TaskResponse(taskId));
     }
 
@@ -58,8 +55,7 @@ public class MessageController {
 
     @PutMapping("/{messageId}")
     public ResponseEntity<TaskResponse> updateMessage(@PathVariable String messageId,
-            @RequestBody UpdateMessageRequest updateMessageRequest)
-            throws ExecutionException, InterruptedException {
+            @RequestBody UpdateMessageRequest updateMessageRequest) {
         // Validate message ID format
         if (!_messageIdGenerator.isValidId(messageId)) {
             throw new InvalidMessageIdException(messageId);
@@ -67,19 +63,18 @@ public class MessageController {
         
         Message details = new Message();
         details.setContent(updateMessageRequest.getContent());
-        String taskId = _service.updateMessage(messageId, details).get();
+        String taskId = _service.submitUpdateMessage(messageId, details);
         return ResponseEntity.status(HttpStatus.ACCEPTED).body(new TaskResponse(taskId));
     }
 
     @DeleteMapping("/{messageId}")
-    public ResponseEntity<TaskResponse> deleteMessage(@PathVariable String messageId)
-            throws ExecutionException, InterruptedException {
+    public ResponseEntity<TaskResponse> deleteMessage(@PathVariable String messageId) {
         // Validate message ID format
         if (!_messageIdGenerator.isValidId(messageId)) {
             throw new InvalidMessageIdException(messageId);
         }
         
-        String taskId = _service.deleteMessage(messageId).get();
+        String taskId = _service.submitDeleteMessage(messageId);
         return ResponseEntity.status(HttpStatus.ACCEPTED).body(new TaskResponse(taskId));
     }
 
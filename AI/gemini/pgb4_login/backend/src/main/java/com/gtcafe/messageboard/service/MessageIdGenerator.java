@@ -2,8 +2,10 @@ package com.gtcafe.messageboard.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import com.gtcafe.messageboard.config.ApplicationProperties;
 import com.gtcafe.messageboard.repository.MessageRepository;
 
+import java.net.InetAddress;
 import java.security.SecureRandom;
 import java.time.Instant;
 import java.util.regex.Pattern;
@@ -20,6 +22,11 @@ import java.util.concurrent.atomic.AtomicLong;
  * - Caches charset array for faster access
  * - Uses atomic counter for sequence numbers
  * - Pre-compiled regex pattern for validation
+ * 
+ * Two modes (app.message-id.mode):
+ * - TIME_ORDERED (default): timestamp + node ID + sequence, unique by construction,
+ *   so no database lookup is needed; IDs sort by creation time
+ * - RANDOM_CHECKED: mostly random ID, checked against the database and retried on collision
  */
 @Service
 public class MessageIdGenerator {
@@ -32,13 +39,26 @@ public class MessageIdGenerator {
     private static final Pattern ID_PATTERN = Pattern.compile(
             "^[A-Z0-9]{8}-[A-Z0-9]{4}-[A-Z0-9]{4}-[A-Z0-9]{4}-[A-Z0-9]{12}$");
 
-    // Machine identifier (last 2 digits of current time in milliseconds)
+    // Machine identifier for RANDOM_CHECKED mode (last 2 digits of current time in milliseconds)
     private static final String MACHINE_ID = String.format("%02X",
             (int) (System.currentTimeMillis() % 256));
 
     // Atomic counter for sequence numbers to ensure uniqueness within the same millisecond
     private static final AtomicLong SEQUENCE_COUNTER = new AtomicLong(0);
 
+    // Time-ordered IDs use digits before letters so that string order matches numeric order
+    private static final char[] SORTABLE_CHARSET_ARRAY = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    // Time-ordered state packs (milliseconds since TIME_EPOCH << SEQUENCE_BITS | sequence) into one long
+    private static final long TIME_EPOCH = 1577836800000L; // 2020-01-01T00:00:00Z
+    private static final int SEQUENCE_BITS = 21;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long MAX_SEQUENCE = (long) CHARSET_SIZE * CHARSET_SIZE * CHARSET_SIZE * CHARSET_SIZE; // 4 chars
+    private static final int MAX_NODE_ID = (int) MAX_SEQUENCE - 1;
+
+    private final AtomicLong timeOrderedState = new AtomicLong();
+    private volatile String nodeSymbols;
+
     // Cache for StringBuilder to reduce object allocation
     private static final ThreadLocal<StringBuilder> STRING_BUILDER_CACHE = 
             ThreadLocal.withInitial(() -> new StringBuilder(36));
@@ -46,11 +66,14 @@ public class MessageIdGenerator {
     @Autowired
     private MessageRepository messageRepository;
 
+    @Autowired(required = false)
+    private ApplicationProperties applicationProperties;
+
     /**
-     * Generates a 36-character unique ID
+     * Generates a 36-character unique ID using the configured mode
      * Format: XXXXXXXX-XXXX-XXXX-XXXX-XXXXXXXXXXXX
      * 
-     * Structure:
+     * RANDOM_CHECKED structure:
      * - First 8 chars: Timestamp encoding (seconds since epoch)
      * - Next 4 chars: Random component
      * - Next 4 chars: Random component
@@ -60,6 +83,10 @@ public class MessageIdGenerator {
      * @return 36-character unique ID string
      */
     public String generateId() {
+        if (getMode() == ApplicationProperties.MessageId.Mode.TIME_ORDERED) {
+            return generateTimeOrderedId();
+        }
+
         String id;
         int attempts = 0;
         final int maxAttempts = 10;
@@ -77,6 +104,112 @@ public class MessageIdGenerator {
         return id;
     }
 
+    /**
+     * Generates a time-ordered 36-character ID without any database access
+     * Format: TTTTTTTT-TSSS-SNNN-NRRR-RRRRRRRRRRCC
+     * 
+     * Structure:
+     * - 9 chars: milliseconds since epoch (base-36, sortable)
+     * - 4 chars: sequence within the millisecond (up to 36^4 per node)
+     * - 4 chars: node ID
+     * - 13 chars: random component (keeps IDs hard to guess)
+     * - 2 chars: checksum
+     * 
+     * The timestamp and sequence advance together with a single CAS, so concurrent callers
+     * never block and never see the same pair. If the sequence is exhausted or the clock moves
+     * backwards, the timestamp is advanced logically instead of waiting.
+     * 
+     * @return 36-character unique ID string
+     */
+    public String generateTimeOrderedId() {
+        long state = nextTimeOrderedState();
+        long millis = TIME_EPOCH + (state >>> SEQUENCE_BITS);
+        long sequence = state & SEQUENCE_MASK;
+
+        StringBuilder sb = STRING_BUILDER_CACHE.get();
+        sb.setLength(0);
+
+        char[] time = new char[9];
+        encodeSortable(millis, time, 0, 9);
+        char[] seq = new char[4];
+        encodeSortable(sequence, seq, 0, 4);
+        String node = getNodeSymbols();
+
+        sb.append(time, 0, 8).append('-');
+        sb.append(time[8]).append(seq, 0, 3).append('-');
+        sb.append(seq[3]).append(node, 0, 3).append('-');
+        sb.append(node.charAt(3));
+        generateRandomStringDirect(sb, 3);
+        sb.append('-');
+        generateRandomStringDirect(sb, 10);
+        sb.append(calculateChecksumOptimized(sb));
+
+        return sb.toString();
+    }
+
+    private long nextTimeOrderedState() {
+        while (true) {
+            long current = timeOrderedState.get();
+            long now = (System.currentTimeMillis() - TIME_EPOCH) << SEQUENCE_BITS;
+
+            long next = current + 1;
+            if ((next & SEQUENCE_MASK) >= MAX_SEQUENCE) {
+                // Sequence exhausted for this millisecond: borrow the next one
+                next = ((next >>> SEQUENCE_BITS) + 1) << SEQUENCE_BITS;
+            }
+            next = Math.max(next, now);
+
+            if (timeOrderedState.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private static void encodeSortable(long value, char[] target, int offset, int length) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            target[i] = SORTABLE_CHARSET_ARRAY[(int) (value % CHARSET_SIZE)];
+            value /= CHARSET_SIZE;
+        }
+    }
+
+    private ApplicationProperties.MessageId.Mode getMode() {
+        if (applicationProperties == null || applicationProperties.getMessageId().getMode() == null) {
+            return ApplicationProperties.MessageId.Mode.TIME_ORDERED;
+        }
+        return applicationProperties.getMessageId().getMode();
+    }
+
+    /**
+     * Returns the 4-character node ID, from configuration or derived from host name and process ID
+     */
+    private String getNodeSymbols() {
+        String symbols = nodeSymbols;
+        if (symbols == null) {
+            Integer configured = applicationProperties != null
+                    ? applicationProperties.getMessageId().getNodeId() : null;
+            int nodeId = configured != null ? configured : deriveNodeId();
+            if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+                throw new IllegalStateException("Message ID node ID must be between 0 and " + MAX_NODE_ID);
+            }
+            char[] encoded = new char[4];
+            encodeSortable(nodeId, encoded, 0, 4);
+            symbols = new String(encoded);
+            nodeSymbols = symbols;
+        }
+        return symbols;
+    }
+
+    private static int deriveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = String.valueOf(new SecureRandom().nextLong());
+        }
+        int hash = (host + "/" + ProcessHandle.current().pid()).hashCode();
+        return (int) Math.floorMod((long) hash, MAX_SEQUENCE);
+    }
+
     /**
      * Internal method to generate ID without uniqueness check
      * Public for testing purposes
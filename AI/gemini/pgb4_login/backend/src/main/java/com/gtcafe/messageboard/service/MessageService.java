@@ -2,10 +2,10 @@ package com.gtcafe.messageboard.service;
 
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 import org.springframework.data.domain.Page;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import com.gtcafe.messageboard.entity.Message;
@@ -21,85 +21,71 @@ public class MessageService {
     private final MessageRepository _repos;
     private final TaskService _taskService;
     private final MessageIdGenerator _idGenerator;
+    private final TaskStatusWriter _statusWriter;
+    // Spring Boot's application task executor (virtual threads when spring.threads.virtual.enabled)
+    private final AsyncTaskExecutor _taskExecutor;
 
-    @Async
-    public CompletableFuture<String> createMessage(Message message) {
-        String taskId = UUID.randomUUID().toString();
-        _taskService.addTask(taskId, new Task(taskId, TaskStatus.PENDING, null, null));
-        try {
-            // Generate new ID if not already set
+    /**
+     * Queue message creation and return the task ID without waiting for the work to run.
+     * The PENDING row is written before the task ID is returned, so any node can answer for the
+     * task; the final state is buffered in {@link TaskStatusWriter} and written on its next flush.
+     */
+    public String submitCreateMessage(Message message) {
+        return submit(() -> {
             if (message.getId() == null || message.getId().isEmpty()) {
-                String newId = _idGenerator.generateId();
-                message.setId(newId);
+                message.setId(_idGenerator.generateId());
             }
-            
             _repos.save(message);
-            _taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED);
-            return CompletableFuture.completedFuture(taskId);
-        } catch (Exception e) {
-            _taskService.updateTaskStatus(taskId, TaskStatus.FAILED);
-            _taskService.updateTaskError(taskId, e.getMessage());
-            return CompletableFuture.failedFuture(e);
-        }
+        });
     }
 
-    @Async
-    public CompletableFuture<String> updateMessage(String id, Message messageDetails) {
-        String taskId = UUID.randomUUID().toString();
-        _taskService.addTask(taskId, new Task(taskId, TaskStatus.PENDING, null, null));
-        try {
-            // Validate ID format
+    /**
+     * Queue a message update and return the task ID without waiting for the work to run
+     */
+    public String submitUpdateMessage(String id, Message messageDetails) {
+        return submit(() -> {
             if (!_idGenerator.isValidId(id)) {
-                _taskService.updateTaskStatus(taskId, TaskStatus.FAILED);
-                _taskService.updateTaskError(taskId, "Invalid message ID format: " + id);
-                return CompletableFuture.failedFuture(new IllegalArgumentException("Invalid message ID format"));
+                throw new IllegalArgumentException("Invalid message ID format: " + id);
             }
-            
-            Optional<Message> optionalMessage = _repos.findById(id);
-            if (optionalMessage.isPresent()) {
-                Message existingMessage = optionalMessage.get();
-                existingMessage.setContent(messageDetails.getContent());
-                _repos.save(existingMessage);
-                _taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED);
-                return CompletableFuture.completedFuture(taskId);
-            } else {
-                _taskService.updateTaskStatus(taskId, TaskStatus.FAILED);
-                _taskService.updateTaskError(taskId, "Message not found with ID: " + id);
-                return CompletableFuture.failedFuture(new RuntimeException("Message not found"));
+            Message existingMessage = _repos.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Message not found with ID: " + id));
+            existingMessage.setContent(messageDetails.getContent());
+            _repos.save(existingMessage);
+        });
+    }
+
+    /**
+     * Queue a message deletion and return the task ID without waiting for the work to run
+     */
+    public String submitDeleteMessage(String id) {
+        return submit(() -> {
+            if (!_idGenerator.isValidId(id)) {
+                throw new IllegalArgumentException("Invalid message ID format: " + id);
             }
-        } catch (Exception e) {
-            _taskService.updateTaskStatus(taskId, TaskStatus.FAILED);
-            _taskService.updateTaskError(taskId, e.getMessage());
-            return CompletableFuture.failedFuture(e);
-        }
+            if (!_repos.existsById(id)) {
+                throw new RuntimeException("Message not found with ID: " + id);
+            }
+            _repos.deleteById(id);
+        });
     }
 
-    @Async
-    public CompletableFuture<String> deleteMessage(String id) {
+    private String submit(Runnable work) {
         String taskId = UUID.randomUUID().toString();
         _taskService.addTask(taskId, new Task(taskId, TaskStatus.PENDING, null, null));
         try {
-            // Validate ID format
-            if (!_idGenerator.isValidId(id)) {
-                _taskService.updateTaskStatus(taskId, TaskStatus.FAILED);
-                _taskService.updateTaskError(taskId, "Invalid message ID format: " + id);
-                return CompletableFuture.failedFuture(new IllegalArgumentException("Invalid message ID format"));
-            }
-            
-            if (_repos.existsById(id)) {
-                _repos.deleteById(id);
-                _taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED);
-                return CompletableFuture.completedFuture(taskId);
-            } else {
-                _taskService.updateTaskStatus(taskId, TaskStatus.FAILED);
-                _taskService.updateTaskError(taskId, "Message not found with ID: " + id);
-                return CompletableFuture.failedFuture(new RuntimeException("Message not found"));
-            }
-        } catch (Exception e) {
-            _taskService.updateTaskStatus(taskId, TaskStatus.FAILED);
-            _taskService.updateTaskError(taskId, e.getMessage());
-            return CompletableFuture.failedFuture(e);
+            _taskExecutor.execute(() -> {
+                try {
+                    work.run();
+                    _statusWriter.write(new Task(taskId, TaskStatus.COMPLETED, null, null));
+                } catch (Exception e) {
+                    _statusWriter.write(new Task(taskId, TaskStatus.FAILED, null, e.getMessage()));
+                }
+            });
+        } catch (TaskRejectedException e) {
+            _statusWriter.write(new Task(taskId, TaskStatus.FAILED, null, "Task queue is full"));
+            throw e;
         }
+        return taskId;
     }
 
     public Optional<Message> getMessageById(String id) {
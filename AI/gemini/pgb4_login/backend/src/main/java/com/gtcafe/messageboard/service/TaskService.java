@@ -14,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 public class TaskService {
 
     private final TaskRepository _repos;
+    private final TaskStatusWriter _writer;
 
     @Transactional
     public void addTask(String taskId, Task task) {
@@ -21,6 +22,11 @@ public class TaskService {
     }
 
     public Optional<Task> getTask(String taskId) {
+        // Tasks submitted without blocking may not be flushed yet
+        Optional<Task> pending = _writer.getPending(taskId);
+        if (pending.isPresent()) {
+            return pending;
+        }
         return _repos.findById(taskId);
     }
 
@@ -0,0 +1,188 @@
+package com.gtcafe.messageboard.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.gtcafe.messageboard.entity.Task;
+import com.gtcafe.messageboard.repository.TaskRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Coalescing writer for task status transitions after PENDING.
+ * The PENDING row is inserted synchronously by the caller; later states are buffered per task and
+ * flushed in one batch on a fixed delay, so COMPLETED (or FAILED with an error) costs a single
+ * update instead of a read-modify-write per field.
+ * Buffered states stay readable through {@link #getPending(String)} until they are committed. Other
+ * nodes see PENDING until then, and a crash before the flush leaves the task PENDING.
+ */
+@Component
+public class TaskStatusWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatusWriter.class);
+
+    private final TaskRepository _repos;
+    private final long _flushIntervalMs;
+
+    // Latest state per task that has not been flushed yet
+    private final Map<String, Task> _pending = new ConcurrentHashMap<>();
+    // States taken by the running flush, kept visible until the transaction commits
+    private final Map<String, Task> _inFlight = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService _flusher;
+
+    public TaskStatusWriter(TaskRepository repos,
+            @Value("${app.task-status.flush-interval-ms:100}") long flushIntervalMs) {
+        _repos = repos;
+        _flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        _flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-status-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        _flusher.scheduleWithFixedDelay(this::flushQuietly, _flushIntervalMs, _flushIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (_flusher != null) {
+            _flusher.shutdown();
+            _flusher.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        flushQuietly();
+    }
+
+    /**
+     * Buffer a task state. Status always replaces the buffered one; result and error are kept
+     * from earlier writes unless the new state sets them.
+     */
+    public void write(Task task) {
+        _pending.merge(task.getTaskId(), copy(task), TaskStatusWriter::merge);
+    }
+
+    /**
+     * Get the buffered state of a task that has not been committed yet
+     */
+    public Optional<Task> getPending(String taskId) {
+        Task task = _pending.get(taskId);
+        if (task == null) {
+            task = _inFlight.get(taskId);
+        }
+        return Optional.ofNullable(task).map(TaskStatusWriter::copy);
+    }
+
+    public int getPendingCount() {
+        return _pending.size();
+    }
+
+    /**
+     * Write all buffered states in one batch. When the batch fails, rows are written one by one:
+     * rows that can never be written are logged and dropped, and the rest are kept for the next
+     * flush.
+     *
+     * @return the number of tasks written
+     */
+    public synchronized int flush() {
+        if (_pending.isEmpty()) {
+            return 0;
+        }
+
+        List<Task> batch = new ArrayList<>(_pending.size());
+        for (String taskId : new ArrayList<>(_pending.keySet())) {
+            // remove() is atomic per key, so a concurrent write either lands in this batch or the next
+            Task task = _pending.remove(taskId);
+            if (task != null) {
+                _inFlight.put(taskId, task);
+                batch.add(task);
+            }
+        }
+
+        try {
+            _repos.saveAll(batch);
+            return batch.size();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to write {} task status updates in one batch, writing them one by one: {}",
+                    batch.size(), e.getMessage());
+            return saveEach(batch);
+        } finally {
+            for (Task task : batch) {
+                _inFlight.remove(task.getTaskId(), task);
+            }
+        }
+    }
+
+    private int saveEach(List<Task> batch) {
+        int written = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            Task task = batch.get(i);
+            try {
+                _repos.save(task);
+                written++;
+            } catch (RuntimeException e) {
+                if (isPermanent(e)) {
+                    logger.error("Dropping status update of task {} ({}), it can not be written: {}",
+                            task.getTaskId(), task.getStatus(), e.getMessage());
+                    continue;
+                }
+                // The database itself is failing, keep this row and the rest for the next flush
+                logger.warn("Failed to write task status updates, will retry {}: {}", batch.size() - i,
+                        e.getMessage());
+                for (Task remaining : batch.subList(i, batch.size())) {
+                    requeue(remaining);
+                }
+                break;
+            }
+        }
+        return written;
+    }
+
+    private void requeue(Task task) {
+        // Put the state back unless a newer state was written in the meantime
+        _pending.merge(task.getTaskId(), task, (newer, failed) -> merge(failed, newer));
+    }
+
+    /**
+     * Constraint violations and bad data fail the same way on every retry, a lost connection does not
+     */
+    private static boolean isPermanent(RuntimeException e) {
+        return e instanceof NonTransientDataAccessException && !(e instanceof DataAccessResourceFailureException);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.warn("Failed to flush {} task status updates, will retry: {}", _pending.size(),
+                    e.getMessage());
+        }
+    }
+
+    private static Task merge(Task current, Task update) {
+        return new Task(current.getTaskId(), update.getStatus(),
+                update.getResult() != null ? update.getResult() : current.getResult(),
+                update.getError() != null ? update.getError() : current.getError());
+    }
+
+    private static Task copy(Task task) {
+        return new Task(task.getTaskId(), task.getStatus(), task.getResult(), task.getError());
+    }
+}
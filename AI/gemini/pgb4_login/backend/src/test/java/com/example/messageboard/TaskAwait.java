@@ -0,0 +1,40 @@
+package com.example.messageboard;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.gtcafe.messageboard.entity.Task;
+import com.gtcafe.messageboard.entity.TaskStatus;
+import com.gtcafe.messageboard.service.TaskService;
+
+/**
+ * Waits for tasks returned by the submit* methods of MessageService, the same way a client polls
+ * GET /api/v1/tasks/{id}
+ */
+public final class TaskAwait {
+
+    private static final long POLL_INTERVAL_MS = 10;
+
+    private TaskAwait() {
+    }
+
+    /**
+     * Poll the task until it is no longer PENDING
+     *
+     * @return the task ID, so a submit call can be wrapped in place
+     */
+    public static String awaitFinished(TaskService taskService, String taskId, long timeout, TimeUnit unit)
+            throws InterruptedException, TimeoutException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (;;) {
+            Task task = taskService.getTask(taskId).orElse(null);
+            if (task != null && task.getStatus() != TaskStatus.PENDING) {
+                return taskId;
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new TimeoutException("Task " + taskId + " did not finish in " + timeout + " " + unit);
+            }
+            Thread.sleep(POLL_INTERVAL_MS);
+        }
+    }
+}
@@ -7,7 +7,6 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -78,8 +77,7 @@ class MessageControllerTest {
         request.setContent("Test message content");
 
         String taskId = "task-123";
-        when(messageService.createMessage(any(Message.class)))
-                .thenReturn(CompletableFuture.completedFuture(taskId));
+        when(messageService.submitCreateMessage(any(Message.class))).thenReturn(taskId);
 
         // When & Then
         mockMvc.perform(post("/api/v1/messages")
@@ -134,8 +132,7 @@ class MessageControllerTest {
 
         String taskId = "task-456";
         when(messageIdGenerator.isValidId(validMessageId)).thenReturn(true);
-        when(messageService.updateMessage(anyString(), any(Message.class)))
-                .thenReturn(CompletableFuture.completedFuture(taskId));
+        when(messageService.submitUpdateMessage(anyString(), any(Message.class))).thenReturn(taskId);
 
         // When & Then
         mockMvc.perform(put("/api/v1/messages/{messageId}", validMessageId)
@@ -167,8 +164,7 @@ class MessageControllerTest {
         // Given
         String taskId = "task-789";
         when(messageIdGenerator.isValidId(validMessageId)).thenReturn(true);
-        when(messageService.deleteMessage(validMessageId))
-                .thenReturn(CompletableFuture.completedFuture(taskId));
+        when(messageService.submitDeleteMessage(validMessageId)).thenReturn(taskId);
 
         // When & Then
         mockMvc.perform(delete("/api/v1/messages/{messageId}", validMessageId))
@@ -19,13 +19,13 @@ import com.gtcafe.messageboard.repository.MessageRepository;
 import com.gtcafe.messageboard.service.MessageService;
 import com.gtcafe.messageboard.service.MessageIdGenerator;
 import com.gtcafe.messageboard.service.TaskService;
+import com.example.messageboard.TaskAwait;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -110,7 +110,7 @@ class MessageIdPerformanceIntegrationTest {
     @Order(3)
     void concurrentMessageCreation_ShouldGenerateUniqueIds() throws InterruptedException, ExecutionException, TimeoutException {
         int concurrentCount = 50;
-        List<CompletableFuture<String>> futures = new ArrayList<>();
+        List<String> submittedTaskIds = new ArrayList<>();
         
         long startTime = System.currentTimeMillis();
         
@@ -120,14 +120,13 @@ class MessageIdPerformanceIntegrationTest {
             message.setUserId("concurrentUser" + i);
             message.setContent("Concurrent message " + i);
             
-            CompletableFuture<String> future = messageService.createMessage(message);
-            futures.add(future);
+            submittedTaskIds.add(messageService.submitCreateMessage(message));
         }
         
         // Wait for all to complete
         List<String> taskIds = new ArrayList<>();
-        for (CompletableFuture<String> future : futures) {
-            String taskId = future.get(10, TimeUnit.SECONDS);
+        for (String submittedTaskId : submittedTaskIds) {
+            String taskId = TaskAwait.awaitFinished(taskService, submittedTaskId, 10, TimeUnit.SECONDS);
             taskIds.add(taskId);
         }
         
@@ -172,7 +171,7 @@ class MessageIdPerformanceIntegrationTest {
             message.setContent(largeContent);
             
             long startTime = System.currentTimeMillis();
-            String taskId = messageService.createMessage(message).get(10, TimeUnit.SECONDS);
+            String taskId = TaskAwait.awaitFinished(taskService, messageService.submitCreateMessage(message), 10, TimeUnit.SECONDS);
             long endTime = System.currentTimeMillis();
             
             // Verify task completed successfully
@@ -217,7 +216,7 @@ class MessageIdPerformanceIntegrationTest {
             message.setUserId("specialCharUser");
             message.setContent(content);
             
-            String taskId = messageService.createMessage(message).get(5, TimeUnit.SECONDS);
+            String taskId = TaskAwait.awaitFinished(taskService, messageService.submitCreateMessage(message), 5, TimeUnit.SECONDS);
             
             // Verify task completed successfully
             Optional<Task> task = taskService.getTask(taskId);
@@ -251,7 +250,7 @@ class MessageIdPerformanceIntegrationTest {
         emptyContentMessage.setUserId("boundaryUser");
         emptyContentMessage.setContent("");
         
-        String taskId = messageService.createMessage(emptyContentMessage).get(5, TimeUnit.SECONDS);
+        String taskId = TaskAwait.awaitFinished(taskService, messageService.submitCreateMessage(emptyContentMessage), 5, TimeUnit.SECONDS);
         Optional<Task> task = taskService.getTask(taskId);
         assertTrue(task.isPresent());
         assertEquals(TaskStatus.COMPLETED, task.get().getStatus());
@@ -270,7 +269,7 @@ class MessageIdPerformanceIntegrationTest {
         singleCharMessage.setUserId("boundaryUser");
         singleCharMessage.setContent("A");
         
-        taskId = messageService.createMessage(singleCharMessage).get(5, TimeUnit.SECONDS);
+        taskId = TaskAwait.awaitFinished(taskService, messageService.submitCreateMessage(singleCharMessage), 5, TimeUnit.SECONDS);
         task = taskService.getTask(taskId);
         assertTrue(task.isPresent());
         assertEquals(TaskStatus.COMPLETED, task.get().getStatus());
@@ -280,7 +279,7 @@ class MessageIdPerformanceIntegrationTest {
         whitespaceMessage.setUserId("boundaryUser");
         whitespaceMessage.setContent("   \t\n\r   ");
         
-        taskId = messageService.createMessage(whitespaceMessage).get(5, TimeUnit.SECONDS);
+        taskId = TaskAwait.awaitFinished(taskService, messageService.submitCreateMessage(whitespaceMessage), 5, TimeUnit.SECONDS);
         task = taskService.getTask(taskId);
         assertTrue(task.isPresent());
         assertEquals(TaskStatus.COMPLETED, task.get().getStatus());
@@ -292,7 +291,7 @@ class MessageIdPerformanceIntegrationTest {
     @Order(7)
     void idUniquenessUnderLoad_ShouldMaintainUniqueness() throws InterruptedException, ExecutionException, TimeoutException {
         int loadTestCount = 100;
-        List<CompletableFuture<String>> futures = new ArrayList<>();
+        List<String> submittedTaskIds = new ArrayList<>();
         
         // Create a high load of concurrent message creations
         for (int i = 0; i < loadTestCount; i++) {
@@ -300,14 +299,13 @@ class MessageIdPerformanceIntegrationTest {
             message.setUserId("loadTestUser" + (i % 10)); // 10 different users
             message.setContent("Load test message " + i);
             
-            CompletableFuture<String> future = messageService.createMessage(message);
-            futures.add(future);
+            submittedTaskIds.add(messageService.submitCreateMessage(message));
         }
         
         // Wait for all to complete
         List<String> taskIds = new ArrayList<>();
-        for (CompletableFuture<String> future : futures) {
-            String taskId = future.get(15, TimeUnit.SECONDS);
+        for (String submittedTaskId : submittedTaskIds) {
+            String taskId = TaskAwait.awaitFinished(taskService, submittedTaskId, 15, TimeUnit.SECONDS);
             taskIds.add(taskId);
         }
         
@@ -348,7 +346,7 @@ class MessageIdPerformanceIntegrationTest {
             message.setUserId("queryPerfUser" + (i % 5)); // 5 different users
             message.setContent("Query performance test message " + i);
             
-            String taskId = messageService.createMessage(message).get(5, TimeUnit.SECONDS);
+            String taskId = TaskAwait.awaitFinished(taskService, messageService.submitCreateMessage(message), 5, TimeUnit.SECONDS);
             Optional<Task> task = taskService.getTask(taskId);
             assertTrue(task.isPresent());
             assertEquals(TaskStatus.COMPLETED, task.get().getStatus());
@@ -433,7 +431,7 @@ class MessageIdPerformanceIntegrationTest {
     @Order(10)
     void stressTest_ShouldHandleHighVolume() throws InterruptedException, ExecutionException, TimeoutException {
         int stressTestCount = 200;
-        List<CompletableFuture<String>> futures = new ArrayList<>();
+        List<String> submittedTaskIds = new ArrayList<>();
         
         long startTime = System.currentTimeMillis();
         
@@ -443,15 +441,14 @@ class MessageIdPerformanceIntegrationTest {
             message.setUserId("stressTestUser" + (i % 20)); // 20 different users
             message.setContent("Stress test message " + i + " with some additional content to make it more realistic");
             
-            CompletableFuture<String> future = messageService.createMessage(message);
-            futures.add(future);
+            submittedTaskIds.add(messageService.submitCreateMessage(message));
         }
         
         // Wait for all to complete with generous timeout
         List<String> taskIds = new ArrayList<>();
-        for (CompletableFuture<String> future : futures) {
+        for (String submittedTaskId : submittedTaskIds) {
             try {
-                String taskId = future.get(30, TimeUnit.SECONDS);
+                String taskId = TaskAwait.awaitFinished(taskService, submittedTaskId, 30, TimeUnit.SECONDS);
                 taskIds.add(taskId);
             } catch (TimeoutException e) {
                 System.err.println("Task timed out during stress test");
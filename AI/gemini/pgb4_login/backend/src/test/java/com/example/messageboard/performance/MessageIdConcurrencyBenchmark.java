@@ -0,0 +1,154 @@
+package com.example.messageboard.performance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.gtcafe.messageboard.config.ApplicationProperties;
+import com.gtcafe.messageboard.service.MessageIdGenerator;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Multi-threaded uniqueness and throughput benchmark for Message ID generation
+ * Compares the time-ordered (DB-free) mode with the legacy random generator.
+ * Runs without a Spring context or database, so the numbers reflect ID generation only.
+ */
+public class MessageIdConcurrencyBenchmark {
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32};
+    private static final int IDS_PER_THREAD = 20000;
+    private static final int WARMUP_ITERATIONS = 20000;
+
+    private MessageIdGenerator createGenerator(int nodeId) {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getMessageId().setNodeId(nodeId);
+
+        MessageIdGenerator generator = new MessageIdGenerator();
+        ReflectionTestUtils.setField(generator, "applicationProperties", properties);
+        return generator;
+    }
+
+    @Test
+    void benchmarkThroughputByThreadCount() throws Exception {
+        System.out.println("\n=== ID Generation Throughput by Thread Count ===");
+
+        MessageIdGenerator generator = createGenerator(1);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            generator.generateTimeOrderedId();
+            generator.generateIdInternal();
+        }
+
+        System.out.printf("%8s %22s %22s%n", "threads", "time-ordered (IDs/ms)", "random (IDs/ms)");
+        for (int threads : THREAD_COUNTS) {
+            RunResult timeOrdered = run(threads, generator::generateTimeOrderedId);
+            RunResult random = run(threads, generator::generateIdInternal);
+
+            System.out.printf("%8d %22.2f %22.2f%n", threads, timeOrdered.idsPerMs, random.idsPerMs);
+
+            // Time-ordered IDs are unique by construction
+            assertEquals(threads * IDS_PER_THREAD, timeOrdered.uniqueIds,
+                    "Duplicate time-ordered IDs with " + threads + " threads");
+            if (random.uniqueIds != threads * IDS_PER_THREAD) {
+                System.err.printf("Random generator produced %d duplicates with %d threads%n",
+                        threads * IDS_PER_THREAD - random.uniqueIds, threads);
+            }
+        }
+    }
+
+    @Test
+    void stressTestUniquenessAcrossNodes() throws Exception {
+        System.out.println("\n=== Cross-Node Uniqueness Stress Test ===");
+
+        // Several generators with distinct node IDs simulate instances behind a load balancer
+        int nodes = 4;
+        int threadsPerNode = 4;
+        List<MessageIdGenerator> generators = new ArrayList<>();
+        for (int node = 0; node < nodes; node++) {
+            generators.add(createGenerator(node));
+        }
+
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(nodes * threadsPerNode);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+
+        for (MessageIdGenerator generator : generators) {
+            for (int t = 0; t < threadsPerNode; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    String previous = null;
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        String id = generator.generateTimeOrderedId();
+                        assertTrue(generator.isValidId(id), "Invalid ID format: " + id);
+                        // IDs from one thread are strictly increasing
+                        assertTrue(previous == null || id.compareTo(previous) > 0,
+                                previous + " should sort before " + id);
+                        ids.add(id);
+                        previous = id;
+                    }
+                    return null;
+                }));
+            }
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        double elapsedMs = (System.nanoTime() - startTime) / 1_000_000.0;
+        executor.shutdown();
+
+        int expected = nodes * threadsPerNode * IDS_PER_THREAD;
+        System.out.printf("Generated %d IDs on %d nodes in %.2f ms (%.2f IDs/ms)%n",
+                expected, nodes, elapsedMs, expected / elapsedMs);
+        assertEquals(expected, ids.size());
+    }
+
+    private RunResult run(int threads, Supplier<String> idSupplier) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<String> ids = ConcurrentHashMap.newKeySet(threads * IDS_PER_THREAD);
+        List<Future<String[]>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                String[] generated = new String[IDS_PER_THREAD];
+                start.await();
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    generated[i] = idSupplier.get();
+                }
+                return generated;
+            }));
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        List<String[]> results = new ArrayList<>();
+        for (Future<String[]> future : futures) {
+            results.add(future.get(60, TimeUnit.SECONDS));
+        }
+        double elapsedMs = (System.nanoTime() - startTime) / 1_000_000.0;
+        executor.shutdown();
+
+        // Uniqueness is checked after timing so set contention does not skew the numbers
+        for (String[] generated : results) {
+            ids.addAll(Arrays.asList(generated));
+        }
+        return new RunResult(threads * IDS_PER_THREAD / elapsedMs, ids.size());
+    }
+
+    private static class RunResult {
+        final double idsPerMs;
+        final int uniqueIds;
+
+        RunResult(double idsPerMs, int uniqueIds) {
+            this.idsPerMs = idsPerMs;
+            this.uniqueIds = uniqueIds;
+        }
+    }
+}
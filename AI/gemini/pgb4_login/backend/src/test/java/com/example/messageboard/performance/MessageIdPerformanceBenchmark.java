@@ -11,6 +11,8 @@ import com.gtcafe.messageboard.entity.Message;
 import com.gtcafe.messageboard.repository.MessageRepository;
 import com.gtcafe.messageboard.service.MessageService;
 import com.gtcafe.messageboard.service.MessageIdGenerator;
+import com.gtcafe.messageboard.service.TaskService;
+import com.example.messageboard.TaskAwait;
 
 import java.util.*;
 import java.util.concurrent.*;
@@ -31,6 +33,9 @@ public class MessageIdPerformanceBenchmark {
     @Autowired
     private MessageIdGenerator messageIdGenerator;
 
+    @Autowired
+    private TaskService taskService;
+
     @Autowired
     private MessageRepository messageRepository;
 
@@ -307,7 +312,7 @@ public class MessageIdPerformanceBenchmark {
             message.setUserId("benchmarkUser" + i);
             message.setContent("Benchmark message " + i);
             
-            String taskId = messageService.createMessage(message).get(5, TimeUnit.SECONDS);
+            String taskId = TaskAwait.awaitFinished(taskService, messageService.submitCreateMessage(message), 5, TimeUnit.SECONDS);
             
             // Find the created message ID
             final int index = i; // Make variable effectively final for lambda
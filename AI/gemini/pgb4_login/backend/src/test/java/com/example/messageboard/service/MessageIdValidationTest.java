@@ -10,6 +10,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.gtcafe.messageboard.config.ApplicationProperties;
 import com.gtcafe.messageboard.repository.MessageRepository;
 import com.gtcafe.messageboard.service.MessageIdGenerator;
 
@@ -279,9 +282,6 @@ class MessageIdValidationTest {
 
     @Test
     void generateId_ShouldProduceValidId() {
-        // Given
-        when(messageRepository.existsById(anyString())).thenReturn(false);
-
         // When
         String generatedId = messageIdGenerator.generateId();
 
@@ -293,9 +293,6 @@ class MessageIdValidationTest {
 
     @Test
     void generateId_ShouldProduceUniqueIds() {
-        // Given
-        when(messageRepository.existsById(anyString())).thenReturn(false);
-
         // When
         String id1 = messageIdGenerator.generateId();
         String id2 = messageIdGenerator.generateId();
@@ -305,4 +302,61 @@ class MessageIdValidationTest {
         assertTrue(messageIdGenerator.isValidId(id1));
         assertTrue(messageIdGenerator.isValidId(id2));
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateId_InTimeOrderedMode_ShouldNotQueryDatabase() {
+        // When
+        for (int i = 0; i < 100; i++) {
+            messageIdGenerator.generateId();
+        }
+
+        // Then
+        verifyNoInteractions(messageRepository);
+    }
+
+    @Test
+    void generateId_InRandomCheckedMode_ShouldCheckDatabase() {
+        // Given
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getMessageId().setMode(ApplicationProperties.MessageId.Mode.RANDOM_CHECKED);
+        ReflectionTestUtils.setField(messageIdGenerator, "applicationProperties", properties);
+        when(messageRepository.existsById(anyString())).thenReturn(true, false);
+
+        // When
+        String generatedId = messageIdGenerator.generateId();
+
+        // Then
+        assertTrue(messageIdGenerator.isValidId(generatedId));
+        verify(messageRepository, times(2)).existsById(anyString());
+    }
+
+    @Test
+    void generateTimeOrderedId_ShouldSortInGenerationOrder() {
+        // Given
+        String previous = messageIdGenerator.generateTimeOrderedId();
+
+        for (int i = 0; i < 10000; i++) {
+            // When
+            String next = messageIdGenerator.generateTimeOrderedId();
+
+            // Then
+            assertTrue(next.compareTo(previous) > 0, previous + " should sort before " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void generateTimeOrderedId_ShouldEmbedConfiguredNodeId() {
+        // Given
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getMessageId().setNodeId(36 * 36 * 36 + 1); // "1001" in base-36
+        ReflectionTestUtils.setField(messageIdGenerator, "applicationProperties", properties);
+
+        // When
+        String generatedId = messageIdGenerator.generateTimeOrderedId();
+
+        // Then: node ID occupies positions 15-17 and 19 (around the fourth dash)
+        assertEquals("1001", generatedId.substring(15, 18) + generatedId.charAt(19));
+        assertTrue(messageIdGenerator.isValidId(generatedId));
+    }
+}
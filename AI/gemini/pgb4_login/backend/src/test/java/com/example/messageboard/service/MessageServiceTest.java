@@ -9,18 +9,15 @@ import static org.mockito.ArgumentMatchers.any;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,6 +25,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -40,6 +39,7 @@ import com.gtcafe.messageboard.repository.MessageRepository;
 import com.gtcafe.messageboard.service.MessageService;
 import com.gtcafe.messageboard.service.MessageIdGenerator;
 import com.gtcafe.messageboard.service.TaskService;
+import com.gtcafe.messageboard.service.TaskStatusWriter;
 
 class MessageServiceTest {
 
@@ -52,6 +52,12 @@ class MessageServiceTest {
     @Mock
     private MessageIdGenerator messageIdGenerator;
 
+    @Mock
+    private TaskStatusWriter taskStatusWriter;
+
+    @Mock
+    private AsyncTaskExecutor taskExecutor;
+
     @InjectMocks
     private MessageService messageService;
 
@@ -61,350 +67,334 @@ class MessageServiceTest {
     }
 
     @Test
-    void createMessage_success() throws ExecutionException, InterruptedException {
-        System.out.println("Running test: createMessage_success");
+    void getMessageById_found() {
+        System.out.println("Running test: getMessageById_found");
+        String messageId = "ABCD1234-EFGH-5678-IJKL-MNOPQRSTUVWX";
+        Message message = new Message();
+        message.setId(messageId);
+        when(messageIdGenerator.isValidId(messageId)).thenReturn(true);
+        when(messageRepository.findById(messageId)).thenReturn(Optional.of(message));
+
+        Optional<Message> result = messageService.getMessageById(messageId);
+
+        assertTrue(result.isPresent());
+        assertEquals(messageId, result.get().getId());
+        verify(messageIdGenerator, times(1)).isValidId(messageId);
+        verify(messageRepository, times(1)).findById(messageId);
+    }
+
+    @Test
+    void getMessageById_notFound() {
+        System.out.println("Running test: getMessageById_notFound");
+        String messageId = "ABCD1234-EFGH-5678-IJKL-MNOPQRSTUVWX";
+        when(messageIdGenerator.isValidId(messageId)).thenReturn(true);
+        when(messageRepository.findById(messageId)).thenReturn(Optional.empty());
+
+        Optional<Message> result = messageService.getMessageById(messageId);
+
+        assertFalse(result.isPresent());
+        verify(messageIdGenerator, times(1)).isValidId(messageId);
+        verify(messageRepository, times(1)).findById(messageId);
+    }
+
+    @Test
+    void getMessageById_invalidIdFormat() {
+        System.out.println("Running test: getMessageById_invalidIdFormat");
+        String invalidMessageId = "invalid-id-format";
+        when(messageIdGenerator.isValidId(invalidMessageId)).thenReturn(false);
+
+        Optional<Message> result = messageService.getMessageById(invalidMessageId);
+
+        assertFalse(result.isPresent());
+        verify(messageIdGenerator, times(1)).isValidId(invalidMessageId);
+        verify(messageRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void getMessagesByUserId() {
+        System.out.println("Running test: getMessagesByUserId");
+        String userId = "testUser";
+        Pageable pageable = PageRequest.of(0, 10);
+        Message message1 = new Message();
+        message1.setUserId(userId);
+        Message message2 = new Message();
+        message2.setUserId(userId);
+        Page<Message> messagePage = new PageImpl<>(Arrays.asList(message1, message2), pageable, 2);
+
+        when(messageRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable)).thenReturn(messagePage);
+
+        Page<Message> result = messageService.getMessagesByUserId(userId, pageable);
+
+        assertNotNull(result);
+        assertEquals(2, result.getTotalElements());
+        verify(messageRepository, times(1)).findByUserIdOrderByCreatedAtDesc(userId, pageable);
+    }
+
+    @Test
+    void getAllMessages() {
+        System.out.println("Running test: getAllMessages");
+        Pageable pageable = PageRequest.of(0, 10);
+        Message message1 = new Message();
+        Message message2 = new Message();
+        Page<Message> messagePage = new PageImpl<>(Arrays.asList(message1, message2), pageable, 2);
+
+        when(messageRepository.findAllOrderByCreatedAtDesc(pageable)).thenReturn(messagePage);
+
+        Page<Message> result = messageService.getAllMessages(pageable);
+
+        assertNotNull(result);
+        assertEquals(2, result.getTotalElements());
+        verify(messageRepository, times(1)).findAllOrderByCreatedAtDesc(pageable);
+    }
+
+    @Test
+    void submitCreateMessage_returnsBeforeWorkRuns() {
+        System.out.println("Running test: submitCreateMessage_returnsBeforeWorkRuns");
         Message message = new Message();
         message.setContent("Test Content");
-        message.setUserId("testUser");
 
-        String generatedId = "ABCD1234-EFGH-5678-IJKL-MNOPQRSTUVWX";
-        ArgumentCaptor<String> taskIdCaptor = ArgumentCaptor.forClass(String.class);
+        // Executor accepts the work but does not run it yet
+        String taskId = messageService.submitCreateMessage(message);
+
+        assertNotNull(taskId);
+        verify(taskExecutor, times(1)).execute(any(Runnable.class));
+        verify(messageRepository, never()).save(any(Message.class));
+        verifyPendingInserted(taskId);
+        verify(taskStatusWriter, never()).write(any(Task.class));
+    }
 
+    @Test
+    void submitCreateMessage_success() {
+        System.out.println("Running test: submitCreateMessage_success");
+        Message message = new Message();
+        message.setContent("Test Content");
+        String generatedId = "ABCD1234-EFGH-5678-IJKL-MNOPQRSTUVWX";
+        runTasksInline();
         when(messageIdGenerator.generateId()).thenReturn(generatedId);
-        when(messageRepository.save(any(Message.class))).thenReturn(message);
-        doNothing().when(taskService).addTask(taskIdCaptor.capture(), any(Task.class));
 
-        CompletableFuture<String> future = messageService.createMessage(message);
-        String taskId = future.get();
+        String taskId = messageService.submitCreateMessage(message);
 
-        assertNotNull(taskId);
         assertEquals(generatedId, message.getId());
-        verify(messageIdGenerator, times(1)).generateId();
-        verify(taskService, timeout(500).times(1)).addTask(taskIdCaptor.capture(), any(Task.class));
-//        assertEquals(taskIdCaptor.getValue(), taskId);
-//        verify(messageRepository, times(1)).save(message);
-//        verify(taskService, timeout(500).times(1)).updateTaskStatus(taskIdCaptor.getValue(), TaskStatus.COMPLETED);
-//        verify(taskService, timeout(500).times(0)).updateTaskError(anyString(), anyString());
+        verify(messageRepository, times(1)).save(message);
+        verifyPendingInserted(taskId);
+        Task completed = captureStatusWrite();
+        assertEquals(taskId, completed.getTaskId());
+        assertEquals(TaskStatus.COMPLETED, completed.getStatus());
+        verify(taskService, never()).updateTaskStatus(anyString(), any(TaskStatus.class));
     }
 
     @Test
-    void createMessage_withExistingId() throws ExecutionException, InterruptedException {
-        System.out.println("Running test: createMessage_withExistingId");
+    void submitCreateMessage_withExistingId() {
+        System.out.println("Running test: submitCreateMessage_withExistingId");
         String existingId = "EXISTING-1234-5678-IJKL-MNOPQRSTUVWX";
         Message message = new Message();
         message.setId(existingId);
         message.setContent("Test Content");
-        message.setUserId("testUser");
-
-        ArgumentCaptor<String> taskIdCaptor = ArgumentCaptor.forClass(String.class);
-
-        when(messageRepository.save(any(Message.class))).thenReturn(message);
-        doNothing().when(taskService).addTask(taskIdCaptor.capture(), any(Task.class));
+        runTasksInline();
 
-        CompletableFuture<String> future = messageService.createMessage(message);
-        String taskId = future.get();
+        messageService.submitCreateMessage(message);
 
-        assertNotNull(taskId);
         assertEquals(existingId, message.getId());
         verify(messageIdGenerator, never()).generateId();
-        verify(taskService, timeout(500).times(1)).addTask(taskIdCaptor.capture(), any(Task.class));
+        verify(messageRepository, times(1)).save(message);
+        assertEquals(TaskStatus.COMPLETED, captureStatusWrite().getStatus());
     }
 
     @Test
-    void createMessage_failure() throws InterruptedException {
-        System.out.println("Running test: createMessage_failure");
+    void submitCreateMessage_failure() {
+        System.out.println("Running test: submitCreateMessage_failure");
         Message message = new Message();
         message.setContent("Test Content");
-        message.setUserId("testUser");
+        runTasksInline();
+        when(messageIdGenerator.generateId()).thenReturn("ABCD1234-EFGH-5678-IJKL-MNOPQRSTUVWX");
+        when(messageRepository.save(any(Message.class))).thenThrow(new RuntimeException("DB Error"));
 
-        String generatedId = "ABCD1234-EFGH-5678-IJKL-MNOPQRSTUVWX";
-        ArgumentCaptor<String> taskIdCaptor = ArgumentCaptor.forClass(String.class);
+        String taskId = messageService.submitCreateMessage(message);
 
-        when(messageIdGenerator.generateId()).thenReturn(generatedId);
-        when(messageRepository.save(any(Message.class))).thenThrow(new RuntimeException("DB Error"));
-        doNothing().when(taskService).addTask(taskIdCaptor.capture(), any(Task.class));
+        verifyPendingInserted(taskId);
+        Task failed = captureStatusWrite();
+        assertEquals(TaskStatus.FAILED, failed.getStatus());
+        assertEquals("DB Error", failed.getError());
+    }
 
-        CompletableFuture<String> future = messageService.createMessage(message);
+    @Test
+    void submitCreateMessage_pendingInsertFails() {
+        System.out.println("Running test: submitCreateMessage_pendingInsertFails");
+        doThrow(new RuntimeException("DB down")).when(taskService).addTask(anyString(), any(Task.class));
 
-        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
-        assertTrue(exception.getCause() instanceof RuntimeException);
-        assertEquals("DB Error", exception.getCause().getMessage());
+        // No task ID is handed out for work that was never recorded
+        assertThrows(RuntimeException.class, () -> messageService.submitCreateMessage(new Message()));
 
-        verify(messageIdGenerator, times(1)).generateId();
-        verify(taskService, timeout(500).times(1)).addTask(taskIdCaptor.capture(), any(Task.class));
-        verify(messageRepository, times(1)).save(message);
-        verify(taskService, timeout(500).times(1)).updateTaskStatus(anyString(), eq(TaskStatus.FAILED));
-        verify(taskService, timeout(500).times(1)).updateTaskError(anyString(), eq("DB Error"));
+        verify(taskExecutor, never()).execute(any(Runnable.class));
+        verify(taskStatusWriter, never()).write(any(Task.class));
     }
 
     @Test
-    void updateMessage_success() throws ExecutionException, InterruptedException {
-        System.out.println("Running test: updateMessage_success");
+    void submitUpdateMessage_success() {
+        System.out.println("Running test: submitUpdateMessage_success");
         String messageId = "ABCD1234-EFGH-5678-IJKL-MNOPQRSTUVWX";
         Message existingMessage = new Message();
         existingMessage.setId(messageId);
         existingMessage.setContent("Old Content");
-        existingMessage.setUserId("user1");
-
-        Message updatedDetails = new Message();
-        updatedDetails.setContent("New Content");
-
+        Message details = new Message();
+        details.setContent("New Content");
+        runTasksInline();
         when(messageIdGenerator.isValidId(messageId)).thenReturn(true);
         when(messageRepository.findById(messageId)).thenReturn(Optional.of(existingMessage));
-        when(messageRepository.save(any(Message.class))).thenReturn(existingMessage);
 
-        CompletableFuture<String> future = messageService.updateMessage(messageId, updatedDetails);
-        String taskId = future.get();
+        String taskId = messageService.submitUpdateMessage(messageId, details);
 
-        assertNotNull(taskId);
         assertEquals("New Content", existingMessage.getContent());
-        verify(messageIdGenerator, times(1)).isValidId(messageId);
-        verify(taskService, times(1)).addTask(anyString(), any(Task.class));
-        verify(messageRepository, times(1)).findById(messageId);
         verify(messageRepository, times(1)).save(existingMessage);
-        verify(taskService, times(1)).updateTaskStatus(taskId, TaskStatus.COMPLETED);
-        verify(taskService, never()).updateTaskError(anyString(), anyString());
+        verifyPendingInserted(taskId);
+        assertEquals(TaskStatus.COMPLETED, captureStatusWrite().getStatus());
     }
 
     @Test
-    void updateMessage_notFound() {
-        System.out.println("Running test: updateMessage_notFound");
+    void submitUpdateMessage_notFound() {
+        System.out.println("Running test: submitUpdateMessage_notFound");
         String messageId = "ABCD1234-EFGH-5678-IJKL-MNOPQRSTUVWX";
-        Message updatedDetails = new Message();
-        updatedDetails.setContent("New Content");
-
+        Message details = new Message();
+        details.setContent("Updated");
+        runTasksInline();
         when(messageIdGenerator.isValidId(messageId)).thenReturn(true);
         when(messageRepository.findById(messageId)).thenReturn(Optional.empty());
 
-        CompletableFuture<String> future = messageService.updateMessage(messageId, updatedDetails);
-
-        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
-        assertTrue(exception.getCause() instanceof RuntimeException);
-        assertEquals("Message not found", exception.getCause().getMessage());
+        messageService.submitUpdateMessage(messageId, details);
 
-        verify(messageIdGenerator, times(1)).isValidId(messageId);
-        verify(taskService, times(1)).addTask(anyString(), any(Task.class));
-        verify(messageRepository, times(1)).findById(messageId);
         verify(messageRepository, never()).save(any(Message.class));
-        verify(taskService, times(1)).updateTaskStatus(anyString(), eq(TaskStatus.FAILED));
-        verify(taskService, times(1)).updateTaskError(anyString(), eq("Message not found with ID: " + messageId));
+        Task failed = captureStatusWrite();
+        assertEquals(TaskStatus.FAILED, failed.getStatus());
+        assertEquals("Message not found with ID: " + messageId, failed.getError());
     }
 
     @Test
-    void updateMessage_failure() {
-        System.out.println("Running test: updateMessage_failure");
+    void submitUpdateMessage_failure() {
+        System.out.println("Running test: submitUpdateMessage_failure");
         String messageId = "ABCD1234-EFGH-5678-IJKL-MNOPQRSTUVWX";
         Message existingMessage = new Message();
         existingMessage.setId(messageId);
-        existingMessage.setContent("Old Content");
-        existingMessage.setUserId("user1");
-
-        Message updatedDetails = new Message();
-        updatedDetails.setContent("New Content");
-
+        Message details = new Message();
+        details.setContent("New Content");
+        runTasksInline();
         when(messageIdGenerator.isValidId(messageId)).thenReturn(true);
         when(messageRepository.findById(messageId)).thenReturn(Optional.of(existingMessage));
         when(messageRepository.save(any(Message.class))).thenThrow(new RuntimeException("DB Update Error"));
 
-        CompletableFuture<String> future = messageService.updateMessage(messageId, updatedDetails);
+        messageService.submitUpdateMessage(messageId, details);
 
-        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
-        assertTrue(exception.getCause() instanceof RuntimeException);
-        assertEquals("DB Update Error", exception.getCause().getMessage());
-
-        verify(messageIdGenerator, times(1)).isValidId(messageId);
-        verify(taskService, times(1)).addTask(anyString(), any(Task.class));
-        verify(messageRepository, times(1)).findById(messageId);
-        verify(messageRepository, times(1)).save(existingMessage);
-        verify(taskService, times(1)).updateTaskStatus(anyString(), eq(TaskStatus.FAILED));
-        verify(taskService, times(1)).updateTaskError(anyString(), eq("DB Update Error"));
+        Task failed = captureStatusWrite();
+        assertEquals(TaskStatus.FAILED, failed.getStatus());
+        assertEquals("DB Update Error", failed.getError());
     }
 
     @Test
-    void updateMessage_invalidIdFormat() {
-        System.out.println("Running test: updateMessage_invalidIdFormat");
+    void submitUpdateMessage_invalidIdFormat() {
+        System.out.println("Running test: submitUpdateMessage_invalidIdFormat");
         String invalidMessageId = "invalid-id-format";
-        Message updatedDetails = new Message();
-        updatedDetails.setContent("New Content");
-
+        runTasksInline();
         when(messageIdGenerator.isValidId(invalidMessageId)).thenReturn(false);
 
-        CompletableFuture<String> future = messageService.updateMessage(invalidMessageId, updatedDetails);
+        messageService.submitUpdateMessage(invalidMessageId, new Message());
 
-        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
-        assertTrue(exception.getCause() instanceof IllegalArgumentException);
-        assertEquals("Invalid message ID format", exception.getCause().getMessage());
-
-        verify(messageIdGenerator, times(1)).isValidId(invalidMessageId);
-        verify(taskService, times(1)).addTask(anyString(), any(Task.class));
         verify(messageRepository, never()).findById(anyString());
-        verify(messageRepository, never()).save(any(Message.class));
-        verify(taskService, times(1)).updateTaskStatus(anyString(), eq(TaskStatus.FAILED));
-        verify(taskService, times(1)).updateTaskError(anyString(), eq("Invalid message ID format: " + invalidMessageId));
+        Task failed = captureStatusWrite();
+        assertEquals(TaskStatus.FAILED, failed.getStatus());
+        assertEquals("Invalid message ID format: " + invalidMessageId, failed.getError());
     }
 
     @Test
-    void deleteMessage_success() throws ExecutionException, InterruptedException {
-        System.out.println("Running test: deleteMessage_success");
+    void submitDeleteMessage_success() {
+        System.out.println("Running test: submitDeleteMessage_success");
         String messageId = "ABCD1234-EFGH-5678-IJKL-MNOPQRSTUVWX";
+        runTasksInline();
         when(messageIdGenerator.isValidId(messageId)).thenReturn(true);
         when(messageRepository.existsById(messageId)).thenReturn(true);
-        doNothing().when(messageRepository).deleteById(messageId);
 
-        CompletableFuture<String> future = messageService.deleteMessage(messageId);
-        String taskId = future.get();
+        String taskId = messageService.submitDeleteMessage(messageId);
 
-        assertNotNull(taskId);
-        verify(messageIdGenerator, times(1)).isValidId(messageId);
-        verify(taskService, times(1)).addTask(anyString(), any(Task.class));
-        verify(messageRepository, times(1)).existsById(messageId);
         verify(messageRepository, times(1)).deleteById(messageId);
-        verify(taskService, times(1)).updateTaskStatus(taskId, TaskStatus.COMPLETED);
-        verify(taskService, never()).updateTaskError(anyString(), anyString());
+        verifyPendingInserted(taskId);
+        assertEquals(TaskStatus.COMPLETED, captureStatusWrite().getStatus());
     }
 
     @Test
-    void deleteMessage_notFound() {
-        System.out.println("Running test: deleteMessage_notFound");
+    void submitDeleteMessage_notFound() {
+        System.out.println("Running test: submitDeleteMessage_notFound");
         String messageId = "ABCD1234-EFGH-5678-IJKL-MNOPQRSTUVWX";
+        runTasksInline();
         when(messageIdGenerator.isValidId(messageId)).thenReturn(true);
         when(messageRepository.existsById(messageId)).thenReturn(false);
 
-        CompletableFuture<String> future = messageService.deleteMessage(messageId);
-
-        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
-        assertTrue(exception.getCause() instanceof RuntimeException);
-        assertEquals("Message not found", exception.getCause().getMessage());
+        messageService.submitDeleteMessage(messageId);
 
-        verify(messageIdGenerator, times(1)).isValidId(messageId);
-        verify(taskService, times(1)).addTask(anyString(), any(Task.class));
-        verify(messageRepository, times(1)).existsById(messageId);
         verify(messageRepository, never()).deleteById(anyString());
-        verify(taskService, times(1)).updateTaskStatus(anyString(), eq(TaskStatus.FAILED));
-        verify(taskService, times(1)).updateTaskError(anyString(), eq("Message not found with ID: " + messageId));
+        Task failed = captureStatusWrite();
+        assertEquals(TaskStatus.FAILED, failed.getStatus());
+        assertEquals("Message not found with ID: " + messageId, failed.getError());
     }
 
     @Test
-    void deleteMessage_failure() {
-        System.out.println("Running test: deleteMessage_failure");
+    void submitDeleteMessage_failure() {
+        System.out.println("Running test: submitDeleteMessage_failure");
         String messageId = "ABCD1234-EFGH-5678-IJKL-MNOPQRSTUVWX";
+        runTasksInline();
         when(messageIdGenerator.isValidId(messageId)).thenReturn(true);
         when(messageRepository.existsById(messageId)).thenReturn(true);
         doThrow(new RuntimeException("DB Delete Error")).when(messageRepository).deleteById(messageId);
 
-        CompletableFuture<String> future = messageService.deleteMessage(messageId);
-
-        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
-        assertTrue(exception.getCause() instanceof RuntimeException);
-        assertEquals("DB Delete Error", exception.getCause().getMessage());
+        messageService.submitDeleteMessage(messageId);
 
-        verify(messageIdGenerator, times(1)).isValidId(messageId);
-        verify(taskService, times(1)).addTask(anyString(), any(Task.class));
-        verify(messageRepository, times(1)).existsById(messageId);
-        verify(messageRepository, times(1)).deleteById(messageId);
-        verify(taskService, times(1)).updateTaskStatus(anyString(), eq(TaskStatus.FAILED));
-        verify(taskService, times(1)).updateTaskError(anyString(), eq("DB Delete Error"));
+        Task failed = captureStatusWrite();
+        assertEquals(TaskStatus.FAILED, failed.getStatus());
+        assertEquals("DB Delete Error", failed.getError());
     }
 
     @Test
-    void deleteMessage_invalidIdFormat() {
-        System.out.println("Running test: deleteMessage_invalidIdFormat");
-        String invalidMessageId = "invalid-id-format";
-
+    void submitDeleteMessage_invalidId() {
+        System.out.println("Running test: submitDeleteMessage_invalidId");
+        String invalidMessageId = "invalid-id";
+        runTasksInline();
         when(messageIdGenerator.isValidId(invalidMessageId)).thenReturn(false);
 
-        CompletableFuture<String> future = messageService.deleteMessage(invalidMessageId);
-
-        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
-        assertTrue(exception.getCause() instanceof IllegalArgumentException);
-        assertEquals("Invalid message ID format", exception.getCause().getMessage());
+        messageService.submitDeleteMessage(invalidMessageId);
 
-        verify(messageIdGenerator, times(1)).isValidId(invalidMessageId);
-        verify(taskService, times(1)).addTask(anyString(), any(Task.class));
-        verify(messageRepository, never()).existsById(anyString());
         verify(messageRepository, never()).deleteById(anyString());
-        verify(taskService, times(1)).updateTaskStatus(anyString(), eq(TaskStatus.FAILED));
-        verify(taskService, times(1)).updateTaskError(anyString(), eq("Invalid message ID format: " + invalidMessageId));
+        Task failed = captureStatusWrite();
+        assertEquals(TaskStatus.FAILED, failed.getStatus());
+        assertEquals("Invalid message ID format: " + invalidMessageId, failed.getError());
     }
 
     @Test
-    void getMessageById_found() {
-        System.out.println("Running test: getMessageById_found");
+    void submitDeleteMessage_queueFull() {
+        System.out.println("Running test: submitDeleteMessage_queueFull");
         String messageId = "ABCD1234-EFGH-5678-IJKL-MNOPQRSTUVWX";
-        Message message = new Message();
-        message.setId(messageId);
-        when(messageIdGenerator.isValidId(messageId)).thenReturn(true);
-        when(messageRepository.findById(messageId)).thenReturn(Optional.of(message));
+        doThrow(new TaskRejectedException("queue full")).when(taskExecutor).execute(any(Runnable.class));
 
-        Optional<Message> result = messageService.getMessageById(messageId);
+        assertThrows(TaskRejectedException.class, () -> messageService.submitDeleteMessage(messageId));
 
-        assertTrue(result.isPresent());
-        assertEquals(messageId, result.get().getId());
-        verify(messageIdGenerator, times(1)).isValidId(messageId);
-        verify(messageRepository, times(1)).findById(messageId);
+        Task failed = captureStatusWrite();
+        assertEquals(TaskStatus.FAILED, failed.getStatus());
+        assertEquals("Task queue is full", failed.getError());
     }
 
-    @Test
-    void getMessageById_notFound() {
-        System.out.println("Running test: getMessageById_notFound");
-        String messageId = "ABCD1234-EFGH-5678-IJKL-MNOPQRSTUVWX";
-        when(messageIdGenerator.isValidId(messageId)).thenReturn(true);
-        when(messageRepository.findById(messageId)).thenReturn(Optional.empty());
-
-        Optional<Message> result = messageService.getMessageById(messageId);
-
-        assertFalse(result.isPresent());
-        verify(messageIdGenerator, times(1)).isValidId(messageId);
-        verify(messageRepository, times(1)).findById(messageId);
+    private void runTasksInline() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
     }
 
-    @Test
-    void getMessageById_invalidIdFormat() {
-        System.out.println("Running test: getMessageById_invalidIdFormat");
-        String invalidMessageId = "invalid-id-format";
-        when(messageIdGenerator.isValidId(invalidMessageId)).thenReturn(false);
-
-        Optional<Message> result = messageService.getMessageById(invalidMessageId);
-
-        assertFalse(result.isPresent());
-        verify(messageIdGenerator, times(1)).isValidId(invalidMessageId);
-        verify(messageRepository, never()).findById(anyString());
+    private void verifyPendingInserted(String taskId) {
+        ArgumentCaptor<Task> captor = ArgumentCaptor.forClass(Task.class);
+        verify(taskService, times(1)).addTask(eq(taskId), captor.capture());
+        assertEquals(taskId, captor.getValue().getTaskId());
+        assertEquals(TaskStatus.PENDING, captor.getValue().getStatus());
     }
 
-    @Test
-    void getMessagesByUserId() {
-        System.out.println("Running test: getMessagesByUserId");
-        String userId = "testUser";
-        Pageable pageable = PageRequest.of(0, 10);
-        Message message1 = new Message();
-        message1.setUserId(userId);
-        Message message2 = new Message();
-        message2.setUserId(userId);
-        Page<Message> messagePage = new PageImpl<>(Arrays.asList(message1, message2), pageable, 2);
-
-        when(messageRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable)).thenReturn(messagePage);
-
-        Page<Message> result = messageService.getMessagesByUserId(userId, pageable);
-
-        assertNotNull(result);
-        assertEquals(2, result.getTotalElements());
-        verify(messageRepository, times(1)).findByUserIdOrderByCreatedAtDesc(userId, pageable);
-    }
-
-    @Test
-    void getAllMessages() {
-        System.out.println("Running test: getAllMessages");
-        Pageable pageable = PageRequest.of(0, 10);
-        Message message1 = new Message();
-        Message message2 = new Message();
-        Page<Message> messagePage = new PageImpl<>(Arrays.asList(message1, message2), pageable, 2);
-
-        when(messageRepository.findAllOrderByCreatedAtDesc(pageable)).thenReturn(messagePage);
-
-        Page<Message> result = messageService.getAllMessages(pageable);
-
-        assertNotNull(result);
-        assertEquals(2, result.getTotalElements());
-        verify(messageRepository, times(1)).findAllOrderByCreatedAtDesc(pageable);
+    private Task captureStatusWrite() {
+        ArgumentCaptor<Task> captor = ArgumentCaptor.forClass(Task.class);
+        verify(taskStatusWriter, times(1)).write(captor.capture());
+        return captor.getValue();
     }
 }
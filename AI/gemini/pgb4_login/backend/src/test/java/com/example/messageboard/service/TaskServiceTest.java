@@ -21,12 +21,16 @@ import com.gtcafe.messageboard.entity.Task;
 import com.gtcafe.messageboard.entity.TaskStatus;
 import com.gtcafe.messageboard.repository.TaskRepository;
 import com.gtcafe.messageboard.service.TaskService;
+import com.gtcafe.messageboard.service.TaskStatusWriter;
 
 class TaskServiceTest {
 
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskStatusWriter taskStatusWriter;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -61,6 +65,21 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).findById(taskId);
     }
 
+    @Test
+    void getTask_pendingWrite() {
+        System.out.println("Running test: getTask_pendingWrite");
+        String taskId = "testTaskId";
+        Task task = new Task(taskId, TaskStatus.COMPLETED, null, null);
+
+        when(taskStatusWriter.getPending(taskId)).thenReturn(Optional.of(task));
+
+        Optional<Task> result = taskService.getTask(taskId);
+
+        assertTrue(result.isPresent());
+        assertEquals(TaskStatus.COMPLETED, result.get().getStatus());
+        verify(taskRepository, never()).findById(taskId);
+    }
+
     @Test
     void getTask_notFound() {
         System.out.println("Running test: getTask_notFound");
@@ -0,0 +1,155 @@
+package com.example.messageboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.gtcafe.messageboard.entity.Task;
+import com.gtcafe.messageboard.entity.TaskStatus;
+import com.gtcafe.messageboard.repository.TaskRepository;
+import com.gtcafe.messageboard.service.TaskStatusWriter;
+
+class TaskStatusWriterTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskStatusWriter taskStatusWriter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // Not started, so flushes only happen when the test calls flush()
+        taskStatusWriter = new TaskStatusWriter(taskRepository, 100);
+    }
+
+    @Test
+    void flush_coalescesWritesPerTask() {
+        System.out.println("Running test: flush_coalescesWritesPerTask");
+        taskStatusWriter.write(new Task("task-1", TaskStatus.PENDING, null, null));
+        taskStatusWriter.write(new Task("task-2", TaskStatus.PENDING, null, null));
+        taskStatusWriter.write(new Task("task-1", TaskStatus.FAILED, null, "DB Error"));
+        taskStatusWriter.write(new Task("task-2", TaskStatus.COMPLETED, null, null));
+
+        int written = taskStatusWriter.flush();
+
+        assertEquals(2, written);
+        List<Task> saved = captureSaveAll(1).get(0);
+        assertEquals(2, saved.size());
+        Task task1 = saved.stream().filter(t -> t.getTaskId().equals("task-1")).findFirst().orElseThrow();
+        assertEquals(TaskStatus.FAILED, task1.getStatus());
+        assertEquals("DB Error", task1.getError());
+        assertEquals(0, taskStatusWriter.getPendingCount());
+    }
+
+    @Test
+    void flush_nothingPending() {
+        System.out.println("Running test: flush_nothingPending");
+
+        assertEquals(0, taskStatusWriter.flush());
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void getPending_beforeAndAfterFlush() {
+        System.out.println("Running test: getPending_beforeAndAfterFlush");
+        taskStatusWriter.write(new Task("task-1", TaskStatus.PENDING, null, null));
+        taskStatusWriter.write(new Task("task-1", TaskStatus.COMPLETED, null, null));
+
+        assertEquals(TaskStatus.COMPLETED, taskStatusWriter.getPending("task-1").orElseThrow().getStatus());
+
+        taskStatusWriter.flush();
+
+        assertFalse(taskStatusWriter.getPending("task-1").isPresent());
+    }
+
+    @Test
+    void flush_failureKeepsWritesForRetry() {
+        System.out.println("Running test: flush_failureKeepsWritesForRetry");
+        taskStatusWriter.write(new Task("task-1", TaskStatus.COMPLETED, null, null));
+        when(taskRepository.saveAll(anyList())).thenThrow(new RuntimeException("DB down"));
+        when(taskRepository.save(any(Task.class))).thenThrow(new RuntimeException("DB down"));
+
+        assertEquals(0, taskStatusWriter.flush());
+
+        assertTrue(taskStatusWriter.getPending("task-1").isPresent());
+        assertEquals(1, taskStatusWriter.getPendingCount());
+    }
+
+    @Test
+    void flush_failureDoesNotOverwriteNewerState() {
+        System.out.println("Running test: flush_failureDoesNotOverwriteNewerState");
+        taskStatusWriter.write(new Task("task-1", TaskStatus.PENDING, null, null));
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            // Work finishes while the batch is being written
+            taskStatusWriter.write(new Task("task-1", TaskStatus.COMPLETED, null, null));
+            throw new RuntimeException("DB down");
+        });
+        when(taskRepository.save(any(Task.class))).thenThrow(new RuntimeException("DB down"));
+
+        assertEquals(0, taskStatusWriter.flush());
+
+        assertEquals(TaskStatus.COMPLETED, taskStatusWriter.getPending("task-1").orElseThrow().getStatus());
+    }
+
+    @Test
+    void flush_batchFailureWritesRowsOneByOneAndDropsBadRows() {
+        System.out.println("Running test: flush_batchFailureWritesRowsOneByOneAndDropsBadRows");
+        taskStatusWriter.write(new Task("task-1", TaskStatus.COMPLETED, null, null));
+        taskStatusWriter.write(new Task("task-2", TaskStatus.FAILED, null, "Error"));
+        taskStatusWriter.write(new Task("task-3", TaskStatus.COMPLETED, null, null));
+        when(taskRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("value too long"));
+        when(taskRepository.save(argThat(task -> task != null && "task-2".equals(task.getTaskId()))))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+
+        int written = taskStatusWriter.flush();
+
+        assertEquals(2, written);
+        verify(taskRepository, times(3)).save(any(Task.class));
+        assertEquals(0, taskStatusWriter.getPendingCount());
+        assertFalse(taskStatusWriter.getPending("task-2").isPresent());
+    }
+
+    @Test
+    void flush_databaseDownStopsRowByRowAndKeepsRows() {
+        System.out.println("Running test: flush_databaseDownStopsRowByRowAndKeepsRows");
+        taskStatusWriter.write(new Task("task-1", TaskStatus.COMPLETED, null, null));
+        taskStatusWriter.write(new Task("task-2", TaskStatus.COMPLETED, null, null));
+        when(taskRepository.saveAll(anyList())).thenThrow(new DataAccessResourceFailureException("connection refused"));
+        when(taskRepository.save(any(Task.class))).thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        assertEquals(0, taskStatusWriter.flush());
+
+        verify(taskRepository, times(1)).save(any(Task.class));
+        assertEquals(2, taskStatusWriter.getPendingCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Task>> captureSaveAll(int expected) {
+        ArgumentCaptor<List<Task>> captor = ArgumentCaptor.forClass(List.class);
+        verify(taskRepository, times(expected)).saveAll(captor.capture());
+        List<List<Task>> batches = new ArrayList<>();
+        for (List<Task> batch : captor.getAllValues()) {
+            batches.add(new ArrayList<>(batch));
+        }
+        return batches;
+    }
+}
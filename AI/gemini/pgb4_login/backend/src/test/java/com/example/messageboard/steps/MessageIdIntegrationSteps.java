@@ -5,7 +5,6 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -29,6 +28,7 @@ import com.gtcafe.messageboard.repository.MessageRepository;
 import com.gtcafe.messageboard.service.MessageService;
 import com.gtcafe.messageboard.service.MessageIdGenerator;
 import com.gtcafe.messageboard.service.TaskService;
+import com.example.messageboard.TaskAwait;
 
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
@@ -79,7 +79,7 @@ public class MessageIdIntegrationSteps {
         message.setUserId(userId);
         message.setContent(content);
         
-        lastTaskId = messageService.createMessage(message).get(5, TimeUnit.SECONDS);
+        lastTaskId = TaskAwait.awaitFinished(taskService, messageService.submitCreateMessage(message), 5, TimeUnit.SECONDS);
         assertNotNull(lastTaskId);
         
         // Find the created message to get its ID
@@ -159,7 +159,7 @@ public class MessageIdIntegrationSteps {
         Message updateMessage = new Message();
         updateMessage.setContent(newContent);
         
-        lastTaskId = messageService.updateMessage(lastCreatedMessageId, updateMessage).get(5, TimeUnit.SECONDS);
+        lastTaskId = TaskAwait.awaitFinished(taskService, messageService.submitUpdateMessage(lastCreatedMessageId, updateMessage), 5, TimeUnit.SECONDS);
         assertNotNull(lastTaskId);
     }
 
@@ -187,7 +187,7 @@ public class MessageIdIntegrationSteps {
     @When("I delete the message using its new format ID")
     public void iDeleteTheMessageUsingItsNewFormatId() throws ExecutionException, InterruptedException, TimeoutException {
         assertNotNull(lastCreatedMessageId);
-        lastTaskId = messageService.deleteMessage(lastCreatedMessageId).get(5, TimeUnit.SECONDS);
+        lastTaskId = TaskAwait.awaitFinished(taskService, messageService.submitDeleteMessage(lastCreatedMessageId), 5, TimeUnit.SECONDS);
         assertNotNull(lastTaskId);
     }
 
@@ -251,7 +251,7 @@ public class MessageIdIntegrationSteps {
             message.setUserId(userId);
             message.setContent(content);
             
-            String taskId = messageService.createMessage(message).get(5, TimeUnit.SECONDS);
+            String taskId = TaskAwait.awaitFinished(taskService, messageService.submitCreateMessage(message), 5, TimeUnit.SECONDS);
             
             // Wait for completion and get the created message ID
             Task task = taskService.getTask(taskId).orElse(null);
@@ -322,20 +322,19 @@ public class MessageIdIntegrationSteps {
 
     @When("I create {int} messages concurrently with different users")
     public void iCreateMessagesConcurrentlyWithDifferentUsers(int count) throws InterruptedException, ExecutionException, TimeoutException {
-        List<CompletableFuture<String>> futures = new ArrayList<>();
+        List<String> submittedTaskIds = new ArrayList<>();
         
         for (int i = 0; i < count; i++) {
             Message message = new Message();
             message.setUserId("concurrentUser" + i);
             message.setContent("Concurrent message " + i);
             
-            CompletableFuture<String> future = messageService.createMessage(message);
-            futures.add(future);
+            submittedTaskIds.add(messageService.submitCreateMessage(message));
         }
         
         // Wait for all to complete
-        for (CompletableFuture<String> future : futures) {
-            String taskId = future.get(10, TimeUnit.SECONDS);
+        for (String submittedTaskId : submittedTaskIds) {
+            String taskId = TaskAwait.awaitFinished(taskService, submittedTaskId, 10, TimeUnit.SECONDS);
             concurrentTaskIds.add(taskId);
         }
     }
@@ -388,7 +387,7 @@ public class MessageIdIntegrationSteps {
             message.setUserId("newUser" + i);
             message.setContent("New message " + i);
             
-            String taskId = messageService.createMessage(message).get(5, TimeUnit.SECONDS);
+            String taskId = TaskAwait.awaitFinished(taskService, messageService.submitCreateMessage(message), 5, TimeUnit.SECONDS);
             Task task = taskService.getTask(taskId).orElse(null);
             assertNotNull(task);
             assertEquals(TaskStatus.COMPLETED, task.getStatus());
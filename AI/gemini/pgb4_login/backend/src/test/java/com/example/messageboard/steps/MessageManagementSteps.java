@@ -23,6 +23,7 @@ import com.gtcafe.messageboard.entity.TaskStatus;
 import com.gtcafe.messageboard.repository.MessageRepository;
 import com.gtcafe.messageboard.service.MessageService;
 import com.gtcafe.messageboard.service.TaskService;
+import com.example.messageboard.TaskAwait;
 
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
@@ -59,7 +60,7 @@ public class MessageManagementSteps {
         Message message = new Message();
         message.setUserId(userId);
         message.setContent(content);
-        latestTaskId = messageService.createMessage(message).get(5, TimeUnit.SECONDS); // 等待非同步任務完成
+        latestTaskId = TaskAwait.awaitFinished(taskService, messageService.submitCreateMessage(message), 5, TimeUnit.SECONDS); // 等待非同步任務完成
         assertNotNull(latestTaskId);
     }
 
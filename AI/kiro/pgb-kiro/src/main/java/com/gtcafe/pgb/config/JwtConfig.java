@@ -14,6 +14,8 @@ public class JwtConfig {
     private String secret;
     private long accessTokenExpiration;
     private long refreshTokenExpiration;
+    private int verificationCacheSize = 10000;
+    private BlacklistFilter blacklistFilter = new BlacklistFilter();
     
     // Getters and Setters
     public String getSecret() {
@@ -39,4 +41,95 @@ public class JwtConfig {
     public void setRefreshTokenExpiration(long refreshTokenExpiration) {
         this.refreshTokenExpiration = refreshTokenExpiration;
     }
-}
\ No newline at end of file
+    
+    public int getVerificationCacheSize() {
+        return verificationCacheSize;
+    }
+    
+    public void setVerificationCacheSize(int verificationCacheSize) {
+        this.verificationCacheSize = verificationCacheSize;
+    }
+    
+    public BlacklistFilter getBlacklistFilter() {
+        return blacklistFilter;
+    }
+    
+    public void setBlacklistFilter(BlacklistFilter blacklistFilter) {
+        this.blacklistFilter = blacklistFilter;
+    }
+    
+    /**
+     * 黑名單本機 Bloom filter 配置
+     */
+    public static class BlacklistFilter {
+        
+        private boolean enabled = true;
+        private long partitionMinutes = 60;
+        private int expectedInsertions = 10000;
+        private double falsePositiveRate = 0.001;
+        private long expiryToleranceMinutes = 5;
+        /**
+         * 從資料庫拉取新增記錄的間隔秒數
+         * pub/sub 通知遺失時，其他實例最多在此間隔內仍判定該 token 不在黑名單；
+         * 超過兩個間隔未成功同步時，filter 視為過期，所有檢查改走 Redis 與資料庫
+         */
+        private long syncIntervalSeconds = 5;
+        private long fullSyncIntervalMinutes = 60;
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public long getPartitionMinutes() {
+            return partitionMinutes;
+        }
+        
+        public void setPartitionMinutes(long partitionMinutes) {
+            this.partitionMinutes = partitionMinutes;
+        }
+        
+        public int getExpectedInsertions() {
+            return expectedInsertions;
+        }
+        
+        public void setExpectedInsertions(int expectedInsertions) {
+            this.expectedInsertions = expectedInsertions;
+        }
+        
+        public double getFalsePositiveRate() {
+            return falsePositiveRate;
+        }
+        
+        public void setFalsePositiveRate(double falsePositiveRate) {
+            this.falsePositiveRate = falsePositiveRate;
+        }
+        
+        public long getExpiryToleranceMinutes() {
+            return expiryToleranceMinutes;
+        }
+        
+        public void setExpiryToleranceMinutes(long expiryToleranceMinutes) {
+            this.expiryToleranceMinutes = expiryToleranceMinutes;
+        }
+        
+        public long getSyncIntervalSeconds() {
+            return syncIntervalSeconds;
+        }
+        
+        public void setSyncIntervalSeconds(long syncIntervalSeconds) {
+            this.syncIntervalSeconds = syncIntervalSeconds;
+        }
+        
+        public long getFullSyncIntervalMinutes() {
+            return fullSyncIntervalMinutes;
+        }
+        
+        public void setFullSyncIntervalMinutes(long fullSyncIntervalMinutes) {
+            this.fullSyncIntervalMinutes = fullSyncIntervalMinutes;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -72,5 +73,18 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * 配置 Redis pub/sub 訊息監聽容器
+     * 用於在多個實例之間同步本機快取（例如 token 黑名單 filter）
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        
+        log.info("RedisMessageListenerContainer configured successfully");
+        return container;
+    }
+
 
 }
\ No newline at end of file
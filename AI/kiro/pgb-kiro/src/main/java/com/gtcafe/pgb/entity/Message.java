@@ -2,7 +2,13 @@ package com.gtcafe.pgb.entity;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -17,6 +23,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -64,6 +71,26 @@ public class Message {
     @Builder.Default
     private List<Message> replies = new ArrayList<>();
 
+    /**
+     * Depth in the reply tree (0 for root messages), assigned on insert
+     */
+    @Column(name = "depth", nullable = false)
+    private Integer depth;
+
+    /**
+     * ID of the thread's root message (null for root messages), assigned on insert
+     */
+    @Column(name = "thread_root_id")
+    private Long threadRootId;
+
+    /**
+     * Materialized path of ancestor IDs from the root down to the parent, assigned on insert.
+     * Each ID is zero-padded and terminated by '/', so the descendants of a message are exactly
+     * the rows whose path starts with {@link #getDescendantPathPrefix()}
+     */
+    @Column(name = "thread_path", nullable = false, length = 255)
+    private String threadPath;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
@@ -97,6 +124,30 @@ public class Message {
         this.isDeleted = false;
     }
 
+    /**
+     * Assign the thread position from the parent message before insert
+     */
+    @PrePersist
+    public void assignThreadPosition() {
+        if (parentMessage == null) {
+            depth = 0;
+            threadRootId = null;
+            threadPath = "";
+        } else {
+            depth = (parentMessage.getDepth() != null ? parentMessage.getDepth() : 0) + 1;
+            threadRootId = parentMessage.getThreadRootId() != null
+                    ? parentMessage.getThreadRootId() : parentMessage.getId();
+            threadPath = parentMessage.getDescendantPathPrefix();
+        }
+    }
+
+    /**
+     * Get the path prefix shared by all (nested) replies of this message
+     */
+    public String getDescendantPathPrefix() {
+        return (threadPath != null ? threadPath : "") + String.format("%019d/", id);
+    }
+
     /**
      * Check if the message is deleted
      */
@@ -126,7 +177,8 @@ public class Message {
     }
 
     /**
-     * Get the count of replies
+     * Get the count of direct replies loaded into this message (see
+     * MessageService.countReplies for the count of the whole subtree)
      */
     public int getReplyCount() {
         return replies != null ? replies.size() : 0;
@@ -173,4 +225,62 @@ public class Message {
             reply.setParentMessage(null);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Link flat thread rows into reply trees without touching the lazy replies collections.
+     * A reply is attached only if its parent is one of the given roots or an attached reply, so
+     * replies below a missing (e.g. deleted) message are dropped along with it.
+     *
+     * @param roots the root messages, whose replies lists are replaced
+     * @param replies the candidate replies, in the order they should appear under each parent
+     * @return the attached replies, in input order
+     */
+    public static List<Message> linkThreads(List<Message> roots, List<Message> replies) {
+        Map<Long, Message> linked = new HashMap<>();
+        for (Message root : roots) {
+            root.setReplies(new ArrayList<>());
+            linked.put(root.getId(), root);
+        }
+
+        List<Message> byDepth = new ArrayList<>(replies);
+        byDepth.sort(Comparator.comparing(m -> m.getDepth() != null ? m.getDepth() : 0));
+        for (Message reply : byDepth) {
+            reply.setReplies(new ArrayList<>());
+        }
+
+        Set<Message> attached = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Message reply : byDepth) {
+            Message parent = reply.getParentMessage() != null
+                    ? linked.get(reply.getParentMessage().getId()) : null;
+            if (parent != null) {
+                linked.put(reply.getId(), reply);
+                attached.add(reply);
+            }
+        }
+
+        List<Message> result = new ArrayList<>(attached.size());
+        for (Message reply : replies) {
+            if (attached.contains(reply)) {
+                linked.get(reply.getParentMessage().getId()).getReplies().add(reply);
+                result.add(reply);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Link a board's flat message rows, in creation order, into threads
+     *
+     * @return the root messages, newest first, with replies in creation order under their parents
+     */
+    public static List<Message> linkBoardThreads(List<Message> messages) {
+        List<Message> roots = new ArrayList<>();
+        List<Message> replies = new ArrayList<>();
+        for (Message message : messages) {
+            (message.isRootMessage() ? roots : replies).add(message);
+        }
+        linkThreads(roots, replies);
+        Collections.reverse(roots);
+        return roots;
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -25,6 +26,21 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
         Page<Message> findByBoardOwnerAndNotDeletedAndParentMessageIsNull(
                         @Param("boardOwner") User boardOwner, Pageable pageable);
 
+        /**
+         * Find the first root messages on a user's board for cursor paging (no count query)
+         */
+        @Query("SELECT m FROM Message m WHERE m.boardOwner = :boardOwner AND m.isDeleted = false AND m.parentMessage IS NULL ORDER BY m.createdAt DESC, m.id DESC")
+        List<Message> findBoardRootMessagesFirst(@Param("boardOwner") User boardOwner,
+                        Pageable pageable);
+
+        /**
+         * Find root messages on a user's board that come after the cursor (createdAt, id)
+         */
+        @Query("SELECT m FROM Message m WHERE m.boardOwner = :boardOwner AND m.isDeleted = false AND m.parentMessage IS NULL AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) ORDER BY m.createdAt DESC, m.id DESC")
+        List<Message> findBoardRootMessagesAfter(@Param("boardOwner") User boardOwner,
+                        @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                        Pageable pageable);
+
         /**
          * Find all messages on a specific user's board including replies (non-deleted)
          */
@@ -45,6 +61,26 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
         @Query("SELECT m FROM Message m WHERE m.user = :user AND m.isDeleted = false ORDER BY m.createdAt DESC")
         Page<Message> findByUserAndNotDeleted(@Param("user") User user, Pageable pageable);
 
+        /**
+         * Find the first messages by a specific user for cursor paging (no count query)
+         */
+        @Query("SELECT m FROM Message m WHERE m.user = :user AND m.isDeleted = false ORDER BY m.createdAt DESC, m.id DESC")
+        List<Message> findUserMessagesFirst(@Param("user") User user, Pageable pageable);
+
+        /**
+         * Find messages by a specific user that come after the cursor (createdAt, id)
+         */
+        @Query("SELECT m FROM Message m WHERE m.user = :user AND m.isDeleted = false AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) ORDER BY m.createdAt DESC, m.id DESC")
+        List<Message> findUserMessagesAfter(@Param("user") User user,
+                        @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                        Pageable pageable);
+
+        /**
+         * Count messages by a specific user (non-deleted)
+         */
+        @Query("SELECT COUNT(m) FROM Message m WHERE m.user = :user AND m.isDeleted = false")
+        long countByUserAndNotDeleted(@Param("user") User user);
+
         /**
          * Find a message by ID if not deleted
          */
@@ -58,13 +94,6 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
         long countByBoardOwnerAndNotDeletedAndParentMessageIsNull(
                         @Param("boardOwner") User boardOwner);
 
-        /**
-         * Count total replies to a specific message (non-deleted)
-         */
-        @Query("SELECT COUNT(m) FROM Message m WHERE m.parentMessage = :parentMessage AND m.isDeleted = false")
-        long countRepliesByParentMessageAndNotDeleted(
-                        @Param("parentMessage") Message parentMessage);
-
         /**
          * Find messages created after a specific date on a user's board
          */
@@ -79,17 +108,39 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
         Page<Message> findRecentRootMessages(Pageable pageable);
 
         /**
-         * Search messages by content on a specific user's board
+         * Find the first recent root messages across all boards for cursor paging (no count query)
+         */
+        @Query("SELECT m FROM Message m WHERE m.isDeleted = false AND m.parentMessage IS NULL ORDER BY m.createdAt DESC, m.id DESC")
+        List<Message> findRecentRootMessagesFirst(Pageable pageable);
+
+        /**
+         * Find recent root messages across all boards that come after the cursor (createdAt, id)
+         */
+        @Query("SELECT m FROM Message m WHERE m.isDeleted = false AND m.parentMessage IS NULL AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) ORDER BY m.createdAt DESC, m.id DESC")
+        List<Message> findRecentRootMessagesAfter(@Param("createdAt") LocalDateTime createdAt,
+                        @Param("id") Long id, Pageable pageable);
+
+        /**
+         * Find a batch of non-deleted messages after the given ID, in ID order (for rebuilding
+         * the search index)
+         */
+        @Query("SELECT m FROM Message m WHERE m.id > :afterId AND m.isDeleted = false ORDER BY m.id ASC")
+        List<Message> findBatchForIndexing(@Param("afterId") Long afterId, Pageable pageable);
+
+        /**
+         * Search messages by content on a specific user's board (full scan; used only while the
+         * search index is building)
          */
         @Query("SELECT m FROM Message m WHERE m.boardOwner = :boardOwner AND m.isDeleted = false AND LOWER(m.content) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY m.createdAt DESC")
         Page<Message> searchByBoardOwnerAndContent(@Param("boardOwner") User boardOwner,
                         @Param("keyword") String keyword, Pageable pageable);
 
         /**
-         * Find messages with their replies for a specific board (optimized for display)
+         * Find all messages and replies on a specific board in one query (non-deleted), to be
+         * linked into threads by the caller
          */
-        @Query("SELECT DISTINCT m FROM Message m LEFT JOIN FETCH m.replies r WHERE m.boardOwner = :boardOwner AND m.isDeleted = false AND m.parentMessage IS NULL AND (r IS NULL OR r.isDeleted = false) ORDER BY m.createdAt DESC")
-        List<Message> findByBoardOwnerWithReplies(@Param("boardOwner") User boardOwner);
+        @Query("SELECT m FROM Message m JOIN FETCH m.user WHERE m.boardOwner = :boardOwner AND m.isDeleted = false ORDER BY m.createdAt ASC, m.id ASC")
+        List<Message> findBoardThreadsAndNotDeleted(@Param("boardOwner") User boardOwner);
 
         /**
          * Check if a user has any messages on a specific board
@@ -113,19 +164,41 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
                         @Param("parentMessage") Message parentMessage, Pageable pageable);
 
         /**
-         * Find all replies in a thread (including nested replies)
+         * Find all replies in a thread at any depth (non-deleted), using the thread root index
+         */
+        @Query("SELECT m FROM Message m JOIN FETCH m.user WHERE m.threadRootId = :rootId AND m.isDeleted = false ORDER BY m.createdAt ASC, m.id ASC")
+        List<Message> findThreadRepliesAndNotDeleted(@Param("rootId") Long rootId);
+
+        /**
+         * Find the IDs of all replies below a message at any depth (non-deleted), using the thread
+         * path index
+         */
+        @Query("SELECT m.id FROM Message m WHERE m.threadPath LIKE CONCAT(:pathPrefix, '%') AND m.isDeleted = false")
+        List<Long> findDescendantIdsAndNotDeleted(@Param("pathPrefix") String pathPrefix);
+
+        /**
+         * Count all replies below a message at any depth (non-deleted), using the thread path
+         * index
+         */
+        @Query("SELECT COUNT(m) FROM Message m WHERE m.threadPath LIKE CONCAT(:pathPrefix, '%') AND m.isDeleted = false")
+        long countDescendantsAndNotDeleted(@Param("pathPrefix") String pathPrefix);
+
+        /**
+         * Soft delete all replies below a message at any depth in one statement. Pending changes
+         * are flushed first, and loaded messages are detached afterwards so none of them keeps
+         * its pre-delete state
          */
-        @Query("SELECT m FROM Message m WHERE m.parentMessage IS NOT NULL AND m.isDeleted = false AND "
-                        + "(m.parentMessage = :rootMessage OR m.parentMessage IN "
-                        + "(SELECT r FROM Message r WHERE r.parentMessage = :rootMessage AND r.isDeleted = false)) "
-                        + "ORDER BY m.createdAt ASC")
-        List<Message> findAllRepliesInThread(@Param("rootMessage") Message rootMessage);
+        @Modifying(clearAutomatically = true, flushAutomatically = true)
+        @Query("UPDATE Message m SET m.isDeleted = true, m.updatedAt = :now WHERE m.threadPath LIKE CONCAT(:pathPrefix, '%') AND m.isDeleted = false")
+        int softDeleteDescendants(@Param("pathPrefix") String pathPrefix,
+                        @Param("now") LocalDateTime now);
 
         /**
-         * Get reply statistics for a message
+         * Get reply statistics for all replies below a message at any depth: one row of distinct
+         * authors and the latest reply time
          */
-        @Query("SELECT COUNT(DISTINCT m.user.id), MAX(m.createdAt) FROM Message m WHERE m.parentMessage = :parentMessage AND m.isDeleted = false")
-        Object[] getReplyStatistics(@Param("parentMessage") Message parentMessage);
+        @Query("SELECT COUNT(DISTINCT m.user.id), MAX(m.createdAt) FROM Message m WHERE m.threadPath LIKE CONCAT(:pathPrefix, '%') AND m.isDeleted = false")
+        List<Object[]> getDescendantStatistics(@Param("pathPrefix") String pathPrefix);
 
         /**
          * Find the root message of a reply chain
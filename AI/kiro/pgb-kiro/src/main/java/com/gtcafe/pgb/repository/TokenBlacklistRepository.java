@@ -1,8 +1,10 @@
 package com.gtcafe.pgb.repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -88,4 +90,15 @@ public interface TokenBlacklistRepository extends JpaRepository<TokenBlacklist,
      * @return the count of non-expired tokens
      */
     long countByExpiresAtAfter(LocalDateTime timestamp);
+
+    /**
+     * Find non-expired tokens added after the given id, in id order
+     * Used to load and incrementally sync the local blacklist filter
+     * 
+     * @param id       the last id already synced
+     * @param now      the current timestamp
+     * @param pageable the batch size
+     * @return the next batch of non-expired tokens
+     */
+    List<TokenBlacklist> findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(Long id, LocalDateTime now, Pageable pageable);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.gtcafe.pgb.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
@@ -69,4 +70,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
        @Query("SELECT u FROM User u WHERE u.isActive = true AND " +
                      "LOWER(u.username) LIKE LOWER(CONCAT('%', :username, '%'))")
        Page<User> findActiveUsersByUsernameContaining(@Param("username") String username, Pageable pageable);
-}
\ No newline at end of file
+
+       /**
+        * Find the IDs of inactive users
+        */
+       @Query("SELECT u.id FROM User u WHERE u.isActive = false")
+       List<Long> findInactiveUserIds();
+}
@@ -10,12 +10,13 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.gtcafe.pgb.service.TokenBlacklistService;
-import com.gtcafe.pgb.util.JwtUtil;
+import com.gtcafe.pgb.util.VerifiedToken;
+
+import io.jsonwebtoken.JwtException;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -33,11 +34,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
 
-    private final JwtUtil jwtUtil;
+    private final TokenVerifier tokenVerifier;
     private final TokenBlacklistService tokenBlacklistService;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, TokenBlacklistService tokenBlacklistService) {
-        this.jwtUtil = jwtUtil;
+    public JwtAuthenticationFilter(TokenVerifier tokenVerifier, TokenBlacklistService tokenBlacklistService) {
+        this.tokenVerifier = tokenVerifier;
         this.tokenBlacklistService = tokenBlacklistService;
     }
 
@@ -50,8 +51,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = extractTokenFromRequest(request);
 
             if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (validateToken(token)) {
-                    setAuthenticationContext(token, request);
+                VerifiedToken verifiedToken = validateToken(token);
+                if (verifiedToken != null) {
+                    setAuthenticationContext(verifiedToken, request);
                 } else {
                     logger.debug("Invalid JWT token for request: {}", request.getRequestURI());
                 }
@@ -84,48 +86,51 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     /**
      * 驗證 JWT token
+     * token 只解析一次，之後的檢查都使用已驗證的聲明
      * 
      * @param token JWT token
-     * @return true 如果 token 有效，false 如果無效
+     * @return 已驗證的聲明，如果 token 無效則為 null
      */
-    private boolean validateToken(String token) {
+    private VerifiedToken validateToken(String token) {
         try {
             // 檢查 token 是否有效
-            if (!jwtUtil.validateToken(token)) {
-                logger.debug("JWT token validation failed");
-                return false;
-            }
+            VerifiedToken verifiedToken = tokenVerifier.verify(token);
 
             // 檢查 token 是否為 Access Token
-            if (!jwtUtil.isAccessToken(token)) {
+            if (!verifiedToken.isAccessToken()) {
                 logger.debug("Token is not an access token");
-                return false;
+                return null;
             }
 
             // 檢查 token 是否在黑名單中
-            if (tokenBlacklistService.isTokenBlacklisted(token)) {
+            if (tokenBlacklistService.isTokenHashBlacklisted(verifiedToken.getTokenHash(),
+                    verifiedToken.getExpiration())) {
                 logger.debug("JWT token is blacklisted");
-                return false;
+                return null;
             }
 
-            return true;
+            return verifiedToken;
 
+        } catch (JwtException e) {
+            logger.debug("JWT token validation failed: {}", e.getMessage());
+            return null;
         } catch (Exception e) {
+            // 例如 token 格式錯誤 (IllegalArgumentException) 或快取、黑名單查詢失敗
             logger.debug("Token validation error: {}", e.getMessage());
-            return false;
+            return null;
         }
     }
 
     /**
      * 設定 Spring Security 認證上下文
      * 
-     * @param token   JWT token
-     * @param request HTTP 請求
+     * @param verifiedToken 已驗證的 token 聲明
+     * @param request       HTTP 請求
      */
-    private void setAuthenticationContext(String token, HttpServletRequest request) {
+    private void setAuthenticationContext(VerifiedToken verifiedToken, HttpServletRequest request) {
         try {
-            String username = jwtUtil.extractUsername(token);
-            Long userId = jwtUtil.extractUserId(token);
+            String username = verifiedToken.getUsername();
+            Long userId = verifiedToken.getUserId();
 
             // 建立 UserDetails 物件
             UserDetails userDetails = User.builder()
@@ -138,9 +143,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails,
                     null, userDetails.getAuthorities());
 
-            // 設定請求詳細資訊
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
             // 將使用者 ID 加入認證物件的詳細資訊中
             JwtAuthenticationDetails details = new JwtAuthenticationDetails(request, userId);
             authentication.setDetails(details);
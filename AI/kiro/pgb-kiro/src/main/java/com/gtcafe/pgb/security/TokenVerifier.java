@@ -0,0 +1,101 @@
+package com.gtcafe.pgb.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.gtcafe.pgb.config.JwtConfig;
+import com.gtcafe.pgb.util.JwtUtil;
+import com.gtcafe.pgb.util.LocalTtlCache;
+import com.gtcafe.pgb.util.VerifiedToken;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * JWT 驗證管線
+ * 每個 token 只解析並驗證簽章一次，結果以 token 雜湊值為鍵快取在本機。
+ * 同一個 bearer token 的後續請求直接使用快取的聲明，不再重新驗證 HMAC 簽章。
+ * 快取項目在 token 過期時失效，快取大小有上限（見 {@link LocalTtlCache}）。
+ * 黑名單不在此快取，仍需每次請求檢查。
+ */
+@Component
+public class TokenVerifier {
+
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    private final JwtUtil jwtUtil;
+    private final LocalTtlCache<VerifiedToken> cache;
+
+    // 統計資訊
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    @Autowired
+    public TokenVerifier(JwtUtil jwtUtil, JwtConfig jwtConfig) {
+        this(jwtUtil, jwtConfig.getVerificationCacheSize() > 0
+                ? jwtConfig.getVerificationCacheSize() : DEFAULT_CACHE_SIZE);
+    }
+
+    public TokenVerifier(JwtUtil jwtUtil, int maxCacheSize) {
+        this.jwtUtil = jwtUtil;
+        this.cache = new LocalTtlCache<>(maxCacheSize);
+    }
+
+    /**
+     * 驗證 token 並取得其聲明
+     *
+     * @param token JWT token
+     * @return 已驗證的聲明
+     * @throws JwtException 如果 token 無效或已過期
+     */
+    public VerifiedToken verify(String token) {
+        String tokenHash = jwtUtil.getTokenHash(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached = cache.get(tokenHash, now);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return cached;
+        }
+
+        // 已過期的項目會被快取移除，重新驗證時由 JwtUtil 拋出過期例外
+        cacheMisses.incrementAndGet();
+        VerifiedToken verified = jwtUtil.verify(token);
+        cache.put(tokenHash, verified, verified.getExpiresAtMillis(), now);
+        return verified;
+    }
+
+    /**
+     * 從快取移除 token（例如 token 被撤銷時）
+     *
+     * @param tokenHash token 雜湊值
+     */
+    public void invalidate(String tokenHash) {
+        cache.remove(tokenHash);
+    }
+
+    /**
+     * 清除所有快取的驗證結果
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    // 統計資訊
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    public long getEvictions() {
+        return cache.getEvictions();
+    }
+}
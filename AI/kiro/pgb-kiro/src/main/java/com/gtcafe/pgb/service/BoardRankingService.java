@@ -0,0 +1,56 @@
+package com.gtcafe.pgb.service;
+
+import java.util.List;
+import com.gtcafe.pgb.entity.Message;
+
+/**
+ * Service interface for the popular boards ranking. The ranking is maintained incrementally as
+ * root messages are created and deleted, so reading a page never scans the messages table. Boards
+ * of inactive owners are kept out of the ranking, so every ranked board is visible to active
+ * viewers
+ */
+public interface BoardRankingService {
+
+    /**
+     * Record a new message in the ranking (replies are not counted)
+     * 
+     * @param message the saved message
+     */
+    void recordMessageCreated(Message message);
+
+    /**
+     * Remove a deleted message from the ranking (replies are not counted)
+     * 
+     * @param message the deleted message
+     */
+    void recordMessageDeleted(Message message);
+
+    /**
+     * Hide a board from the ranking while its owner is inactive, or rank it again
+     * 
+     * @param boardOwnerId the board owner ID
+     * @param visible whether the board may appear in the ranking
+     */
+    void updateBoardVisibility(Long boardOwnerId, boolean visible);
+
+    /**
+     * Get board owner IDs ordered by popularity, most popular first
+     * 
+     * @param offset the number of boards to skip
+     * @param limit the maximum number of boards to return
+     * @return board owner IDs in ranking order
+     */
+    List<Long> getTopBoardOwnerIds(long offset, int limit);
+
+    /**
+     * Get the number of boards in the ranking
+     * 
+     * @return the number of ranked boards
+     */
+    long getRankedBoardCount();
+
+    /**
+     * Rebuild the ranking from recent root messages in the database
+     */
+    void rebuild();
+}
@@ -12,14 +12,14 @@ public interface CacheService {
 
     /**
      * 設定快取值
-     * @param key 快取鍵
+     * @param key 快取鍵，為 null 時不寫入
      * @param value 快取值
      */
     void set(String key, Object value);
 
     /**
      * 設定快取值並指定過期時間
-     * @param key 快取鍵
+     * @param key 快取鍵，為 null 時不寫入
      * @param value 快取值
      * @param timeout 過期時間
      */
@@ -27,14 +27,14 @@ public interface CacheService {
 
     /**
      * 取得快取值
-     * @param key 快取鍵
+     * @param key 快取鍵，為 null 時視為未命中
      * @return 快取值，如果不存在則返回 null
      */
     Object get(String key);
 
     /**
      * 取得快取值並指定類型
-     * @param key 快取鍵
+     * @param key 快取鍵，為 null 時視為未命中
      * @param clazz 值的類型
      * @param <T> 泛型類型
      * @return 快取值，如果不存在則返回 null
@@ -195,6 +195,7 @@ public interface CacheService {
 
     /**
      * 根據模式搜尋鍵
+     * 以 SCAN 逐批搜尋整個鍵空間，僅供維護用途，不應在請求路徑上使用
      * @param pattern 搜尋模式
      * @return 符合的鍵集合
      */
@@ -202,8 +203,28 @@ public interface CacheService {
 
     /**
      * 清空指定模式的快取
+     * 以 SCAN 逐批搜尋整個鍵空間，僅供維護用途，請求路徑上請使用 {@link #invalidateNamespace(String)}
      * @param pattern 快取鍵模式
      * @return 清空的數量
      */
     Long clearByPattern(String pattern);
+
+    /**
+     * 以命名空間的世代號碼組成實際的快取鍵
+     * 命名空間失效後世代號碼改變，舊世代的鍵不會再被讀取，並隨 TTL 自然過期
+     * 無法從 Redis 取得世代號碼時返回 null，不會拋出例外；以 null 作為鍵的 get 一律未命中、set 不寫入，
+     * 呼叫端直接從資料庫讀取，不會以舊世代的鍵讀回失效前的資料
+     * @param key 快取鍵
+     * @param namespaces 快取鍵所屬的命名空間（例如 "board" 與 "board:1"）
+     * @return 帶有世代號碼的快取鍵，無法取得世代號碼時為 null
+     */
+    String namespacedKey(String key, String... namespaces);
+
+    /**
+     * 使命名空間內的所有快取失效
+     * 只遞增命名空間的世代號碼（一次 INCR），不需要搜尋或刪除任何鍵
+     * @param namespace 命名空間
+     * @return 新的世代號碼，失敗時返回 null
+     */
+    Long invalidateNamespace(String namespace);
 }
\ No newline at end of file
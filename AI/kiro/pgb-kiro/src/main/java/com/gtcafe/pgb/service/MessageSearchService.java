@@ -0,0 +1,52 @@
+package com.gtcafe.pgb.service;
+
+import java.util.Collection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import com.gtcafe.pgb.entity.Message;
+import com.gtcafe.pgb.entity.User;
+
+/**
+ * Service interface for full-text message search. Messages are kept in an in-process inverted
+ * index that is updated as messages are created, edited and deleted, so a search never scans the
+ * messages table. While the index is (re)building, searches fall back to the database query
+ */
+public interface MessageSearchService {
+
+    /**
+     * Add or refresh a message in the index (deleted messages are removed)
+     *
+     * @param message the saved message
+     */
+    void indexMessage(Message message);
+
+    /**
+     * Remove deleted messages from the index
+     *
+     * @param messageIds the deleted message IDs
+     */
+    void removeMessages(Collection<Long> messageIds);
+
+    /**
+     * Search messages on a user's board, most relevant first
+     *
+     * @param boardOwner the board owner
+     * @param keyword the search keyword
+     * @param pageable pagination information (sorting is by relevance)
+     * @return page of matching messages; the total comes from the index and may briefly include
+     *         messages deleted on another node whose change has not reached this node yet
+     */
+    Page<Message> searchBoardMessages(User boardOwner, String keyword, Pageable pageable);
+
+    /**
+     * Check if searches are served from the index
+     *
+     * @return true once the initial index build has completed
+     */
+    boolean isReady();
+
+    /**
+     * Rebuild the index from the database
+     */
+    void rebuild();
+}
@@ -7,6 +7,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import com.gtcafe.pgb.entity.Message;
 import com.gtcafe.pgb.entity.User;
+import com.gtcafe.pgb.util.CursorPage;
 
 /**
  * Service interface for Message operations
@@ -75,6 +76,20 @@ public interface MessageService {
      */
     Page<Message> getBoardMessages(User boardOwner, Pageable pageable);
 
+    /**
+     * Get root messages on a user's board with cursor paging, newest first. Each page seeks on
+     * (createdAt, id) so deep pages cost the same as the first one
+     * 
+     * @param boardOwner the board owner
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the page size
+     * @param includeTotal whether to include the (cached, approximate) total message count
+     * @return page of root messages with the next cursor
+     * @throws IllegalArgumentException if the cursor or size is invalid
+     */
+    CursorPage<Message> getBoardMessages(User boardOwner, String cursor, int size,
+            boolean includeTotal);
+
     /**
      * Get all messages on a user's board including replies (with pagination)
      * 
@@ -101,6 +116,18 @@ public interface MessageService {
      */
     Page<Message> getUserMessages(User user, Pageable pageable);
 
+    /**
+     * Get messages by a specific user with cursor paging, newest first
+     * 
+     * @param user the message author
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the page size
+     * @param includeTotal whether to run a count query for the total message count
+     * @return page of user's messages with the next cursor
+     * @throws IllegalArgumentException if the cursor or size is invalid
+     */
+    CursorPage<Message> getUserMessages(User user, String cursor, int size, boolean includeTotal);
+
     /**
      * Search messages on a user's board by content
      * 
@@ -119,6 +146,17 @@ public interface MessageService {
      */
     Page<Message> getRecentMessages(Pageable pageable);
 
+    /**
+     * Get recent root messages across all boards with cursor paging (for infinite scroll feeds).
+     * No total count is provided
+     * 
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the page size
+     * @return page of recent root messages with the next cursor
+     * @throws IllegalArgumentException if the cursor or size is invalid
+     */
+    CursorPage<Message> getRecentMessages(String cursor, int size);
+
     /**
      * Count total messages on a user's board (root messages only)
      * 
@@ -128,10 +166,10 @@ public interface MessageService {
     long countBoardMessages(User boardOwner);
 
     /**
-     * Count replies to a specific message
+     * Count replies to a specific message at any depth
      * 
      * @param parentMessage the parent message
-     * @return reply count
+     * @return reply count, including nested replies
      */
     long countReplies(Message parentMessage);
 
@@ -224,7 +262,7 @@ public interface MessageService {
     void deleteAllReplies(Message parentMessage, User user);
 
     /**
-     * Get reply statistics for a message
+     * Get reply statistics for a message, over its replies at any depth
      * 
      * @param message the message
      * @return reply statistics including total count, unique authors, etc.
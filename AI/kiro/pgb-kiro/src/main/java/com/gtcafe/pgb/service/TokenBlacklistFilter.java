@@ -0,0 +1,358 @@
+package com.gtcafe.pgb.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import com.gtcafe.pgb.config.JwtConfig;
+import com.gtcafe.pgb.entity.TokenBlacklist;
+import com.gtcafe.pgb.repository.TokenBlacklistRepository;
+import com.gtcafe.pgb.util.JwtConstants;
+import com.gtcafe.pgb.util.TimePartitionedBloomFilter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Token 黑名單本機 filter
+ * 以 Bloom filter 在本機記錄所有未過期的黑名單 token，filter 判定一定不在黑名單的 token
+ * 可略過 Redis 與資料庫查詢。filter 只會誤判為「可能在黑名單」，此時仍以遠端查詢為準。
+ *
+ * 同步方式：
+ * - 啟動時從資料庫完整載入，載入完成前所有檢查都走遠端查詢
+ * - 本機加入黑名單時立即寫入 filter，並透過 Redis pub/sub 通知其他實例
+ * - 定期從資料庫拉取新增的記錄，補上 pub/sub 遺失的通知；通知遺失時，
+ *   其他實例加入的 token 最多在一個同步間隔內會被判定為不在黑名單
+ * - 定期完整重建，丟棄的分區與 id 順序以外提交的記錄在此時修正
+ * - 超過兩個同步間隔未成功同步時，filter 視為過期，所有檢查都走遠端查詢，直到同步恢復
+ */
+@Component
+public class TokenBlacklistFilter implements MessageListener, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenBlacklistFilter.class);
+    private static final int SYNC_BATCH_SIZE = 1000;
+
+    private final TokenBlacklistRepository tokenBlacklistRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final JwtConfig.BlacklistFilter config;
+    private final long expiryToleranceMillis;
+
+    private volatile TimePartitionedBloomFilter filter;
+    private volatile TimePartitionedBloomFilter rebuilding;
+    private volatile boolean ready;
+    private volatile long lastSyncedId;
+    private volatile long lastFullSyncMillis;
+    private volatile long lastSyncMillis;
+    private ScheduledExecutorService syncExecutor;
+
+    // 統計資訊
+    private final AtomicLong checks = new AtomicLong();
+    private final AtomicLong filterNegatives = new AtomicLong();
+    private final AtomicLong bypassed = new AtomicLong();
+    private final AtomicLong remoteChecks = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private final AtomicLong syncFailures = new AtomicLong();
+
+    @Autowired
+    public TokenBlacklistFilter(TokenBlacklistRepository tokenBlacklistRepository,
+                                StringRedisTemplate redisTemplate,
+                                RedisMessageListenerContainer listenerContainer,
+                                JwtConfig jwtConfig) {
+        this(tokenBlacklistRepository, redisTemplate, listenerContainer, jwtConfig.getBlacklistFilter());
+    }
+
+    public TokenBlacklistFilter(TokenBlacklistRepository tokenBlacklistRepository,
+                                StringRedisTemplate redisTemplate,
+                                RedisMessageListenerContainer listenerContainer,
+                                JwtConfig.BlacklistFilter config) {
+        this.tokenBlacklistRepository = tokenBlacklistRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.config = config;
+        this.expiryToleranceMillis = TimeUnit.MINUTES.toMillis(config.getExpiryToleranceMinutes());
+        this.filter = newFilter();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            logger.info("Token blacklist filter is disabled");
+            return;
+        }
+
+        if (listenerContainer != null) {
+            try {
+                listenerContainer.addMessageListener(this, new ChannelTopic(JwtConstants.BLACKLIST_EVENTS_CHANNEL));
+            } catch (Exception e) {
+                logger.warn("Failed to subscribe to blacklist events, relying on database sync: {}", e.getMessage());
+            }
+        }
+
+        syncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-blacklist-filter-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncExecutor.scheduleWithFixedDelay(this::sync, 0, config.getSyncIntervalSeconds(), TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (listenerContainer != null) {
+            try {
+                listenerContainer.removeMessageListener(this);
+            } catch (Exception e) {
+                logger.debug("Failed to unsubscribe from blacklist events: {}", e.getMessage());
+            }
+        }
+        if (syncExecutor != null) {
+            syncExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 檢查 token 是否可能在黑名單中
+     * filter 尚未就緒或同步過期時一律回傳 true，讓呼叫端走遠端查詢
+     *
+     * @param tokenHash       token 雜湊值
+     * @param expiresAtMillis token 的過期時間
+     * @return false 表示 token 一定不在黑名單中
+     */
+    public boolean mightBeBlacklisted(String tokenHash, long expiresAtMillis) {
+        checks.incrementAndGet();
+        if (!isUsable(System.currentTimeMillis())) {
+            bypassed.incrementAndGet();
+            return true;
+        }
+        boolean maybe = filter.mightContain(tokenHash,
+                expiresAtMillis - expiryToleranceMillis, expiresAtMillis + expiryToleranceMillis);
+        if (!maybe) {
+            filterNegatives.incrementAndGet();
+        }
+        return maybe;
+    }
+
+    /**
+     * 檢查過期時間未知的 token 是否可能在黑名單中（需檢查所有未過期的分區）
+     *
+     * @param tokenHash token 雜湊值
+     * @return false 表示 token 一定不在黑名單中
+     */
+    public boolean mightBeBlacklisted(String tokenHash) {
+        checks.incrementAndGet();
+        long now = System.currentTimeMillis();
+        if (!isUsable(now)) {
+            bypassed.incrementAndGet();
+            return true;
+        }
+        boolean maybe = filter.mightContainAny(tokenHash, now);
+        if (!maybe) {
+            filterNegatives.incrementAndGet();
+        }
+        return maybe;
+    }
+
+    /**
+     * 記錄遠端查詢的結果，用於統計誤判率
+     *
+     * @param blacklisted 遠端查詢是否確認在黑名單中
+     */
+    public void recordRemoteCheck(boolean blacklisted) {
+        remoteChecks.incrementAndGet();
+        if (!blacklisted && isUsable(System.currentTimeMillis())) {
+            falsePositives.incrementAndGet();
+        }
+    }
+
+    /**
+     * 本機加入黑名單後呼叫：寫入 filter 並通知其他實例
+     *
+     * @param tokenHash       token 雜湊值
+     * @param expiresAtMillis token 的過期時間
+     */
+    public void onTokenBlacklisted(String tokenHash, long expiresAtMillis) {
+        put(tokenHash, expiresAtMillis);
+        try {
+            redisTemplate.convertAndSend(JwtConstants.BLACKLIST_EVENTS_CHANNEL, tokenHash + ":" + expiresAtMillis);
+        } catch (Exception e) {
+            // 其他實例會在下一次資料庫同步時取得
+            logger.warn("Failed to publish blacklist event: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 接收其他實例的黑名單通知
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = payload.lastIndexOf(':');
+        try {
+            put(payload.substring(0, separator), Long.parseLong(payload.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            logger.warn("Ignoring malformed blacklist event: {}", payload);
+        }
+    }
+
+    /**
+     * 從資料庫同步：尚未就緒或到了完整重建時間時重建 filter，否則只拉取新增的記錄
+     */
+    public void sync() {
+        try {
+            long now = System.currentTimeMillis();
+            if (!ready || now - lastFullSyncMillis >= TimeUnit.MINUTES.toMillis(config.getFullSyncIntervalMinutes())) {
+                fullSync(now);
+            } else {
+                lastSyncedId = load(filter, lastSyncedId);
+                filter.expire(now);
+            }
+            lastSyncMillis = now;
+        } catch (Exception e) {
+            syncFailures.incrementAndGet();
+            logger.error("Failed to sync token blacklist filter: {}", e.getMessage());
+        }
+    }
+
+    private void fullSync(long now) {
+        TimePartitionedBloomFilter fresh = newFilter();
+        rebuilding = fresh;
+        try {
+            long lastId = load(fresh, 0L);
+            filter = fresh;
+            lastSyncedId = lastId;
+            lastFullSyncMillis = now;
+        } finally {
+            rebuilding = null;
+        }
+        if (!ready) {
+            ready = true;
+            logger.info("Token blacklist filter loaded with {} entries", fresh.getInsertions());
+        }
+    }
+
+    /**
+     * filter 已載入，且最近一次成功同步未超過兩個同步間隔（容許一次同步失敗或延遲）
+     */
+    private boolean isUsable(long now) {
+        return ready && now - lastSyncMillis <= TimeUnit.SECONDS.toMillis(config.getSyncIntervalSeconds()) * 2;
+    }
+
+    private long load(TimePartitionedBloomFilter target, long afterId) {
+        long lastId = afterId;
+        List<TokenBlacklist> batch;
+        do {
+            batch = tokenBlacklistRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(
+                    lastId, LocalDateTime.now(), PageRequest.of(0, SYNC_BATCH_SIZE));
+            for (TokenBlacklist entry : batch) {
+                long expiresAt = entry.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                target.put(entry.getTokenHash(), expiresAt);
+                lastId = Math.max(lastId, entry.getId());
+            }
+        } while (batch.size() == SYNC_BATCH_SIZE);
+        return lastId;
+    }
+
+    /**
+     * 寫入目前的 filter；重建期間同時寫入重建中的 filter，避免切換時遺失
+     */
+    private void put(String tokenHash, long expiresAtMillis) {
+        TimePartitionedBloomFilter current = filter;
+        current.put(tokenHash, expiresAtMillis);
+        TimePartitionedBloomFilter pending = rebuilding;
+        if (pending != null) {
+            pending.put(tokenHash, expiresAtMillis);
+        }
+        TimePartitionedBloomFilter swapped = filter;
+        if (swapped != current && swapped != pending) {
+            swapped.put(tokenHash, expiresAtMillis);
+        }
+    }
+
+    private TimePartitionedBloomFilter newFilter() {
+        return new TimePartitionedBloomFilter(TimeUnit.MINUTES.toMillis(config.getPartitionMinutes()),
+                config.getExpectedInsertions(), config.getFalsePositiveRate());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("token.blacklist.filter.checks", checks, AtomicLong::get)
+                .description("Blacklist checks that consulted the local filter")
+                .register(registry);
+        FunctionCounter.builder("token.blacklist.filter.negatives", filterNegatives, AtomicLong::get)
+                .description("Checks answered locally, skipping Redis and the database")
+                .register(registry);
+        FunctionCounter.builder("token.blacklist.filter.bypassed", bypassed, AtomicLong::get)
+                .description("Checks sent to remote stores because the filter was not ready")
+                .register(registry);
+        FunctionCounter.builder("token.blacklist.remote.checks", remoteChecks, AtomicLong::get)
+                .description("Blacklist checks that queried Redis or the database")
+                .register(registry);
+        FunctionCounter.builder("token.blacklist.filter.false.positives", falsePositives, AtomicLong::get)
+                .description("Filter hits that the remote stores did not confirm")
+                .register(registry);
+        FunctionCounter.builder("token.blacklist.filter.sync.failures", syncFailures, AtomicLong::get)
+                .register(registry);
+        Gauge.builder("token.blacklist.filter.false.positive.rate", this, TokenBlacklistFilter::getObservedFalsePositiveRate)
+                .description("Observed false positives / (false positives + filter negatives)")
+                .register(registry);
+        Gauge.builder("token.blacklist.filter.expected.false.positive.rate", this,
+                        f -> f.filter.getExpectedFalsePositiveRate())
+                .register(registry);
+        Gauge.builder("token.blacklist.filter.size", this, f -> f.filter.getInsertions())
+                .register(registry);
+        Gauge.builder("token.blacklist.filter.ready", this, f -> f.ready ? 1 : 0)
+                .register(registry);
+    }
+
+    // 統計資訊
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getChecks() {
+        return checks.get();
+    }
+
+    public long getFilterNegatives() {
+        return filterNegatives.get();
+    }
+
+    public long getRemoteChecks() {
+        return remoteChecks.get();
+    }
+
+    public long getFalsePositives() {
+        return falsePositives.get();
+    }
+
+    public double getObservedFalsePositiveRate() {
+        long fp = falsePositives.get();
+        long negatives = filterNegatives.get();
+        return fp + negatives == 0 ? 0.0 : (double) fp / (fp + negatives);
+    }
+
+    public long getSize() {
+        return filter.getInsertions();
+    }
+}
@@ -2,6 +2,7 @@ package com.gtcafe.pgb.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,10 +16,12 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Token 黑名單服務
  * 管理 JWT token 的黑名單，防止已登出或被撤銷的 token 被重複使用
+ * 若有本機 filter，filter 判定一定不在黑名單的 token 不再查詢 Redis 與資料庫
  */
 @Service
 @Transactional
@@ -30,13 +33,23 @@ public class TokenBlacklistService {
     private final TokenBlacklistRepository tokenBlacklistRepository;
     private final JwtUtil jwtUtil;
     private final RedisTemplate<String, String> redisTemplate;
+    private final TokenBlacklistFilter blacklistFilter;
     
     public TokenBlacklistService(TokenBlacklistRepository tokenBlacklistRepository,
                                JwtUtil jwtUtil,
                                RedisTemplate<String, String> redisTemplate) {
+        this(tokenBlacklistRepository, jwtUtil, redisTemplate, null);
+    }
+    
+    @Autowired
+    public TokenBlacklistService(TokenBlacklistRepository tokenBlacklistRepository,
+                               JwtUtil jwtUtil,
+                               RedisTemplate<String, String> redisTemplate,
+                               TokenBlacklistFilter blacklistFilter) {
         this.tokenBlacklistRepository = tokenBlacklistRepository;
         this.jwtUtil = jwtUtil;
         this.redisTemplate = redisTemplate;
+        this.blacklistFilter = blacklistFilter;
     }
     
     /**
@@ -65,6 +78,11 @@ public class TokenBlacklistService {
                 redisTemplate.opsForValue().set(redisKey, "blacklisted", ttlSeconds, TimeUnit.SECONDS);
             }
             
+            // 寫入本機 filter 並通知其他實例
+            if (blacklistFilter != null) {
+                blacklistFilter.onTokenBlacklisted(tokenHash, expiration.getTime());
+            }
+            
             logger.info("Token added to blacklist: {}", tokenHash.substring(0, 8) + "...");
             
         } catch (Exception e) {
@@ -82,7 +100,41 @@ public class TokenBlacklistService {
     public boolean isTokenBlacklisted(String token) {
         try {
             String tokenHash = jwtUtil.getTokenHash(token);
-            
+            if (blacklistFilter != null && !blacklistFilter.mightBeBlacklisted(tokenHash)) {
+                return false;
+            }
+            return checkRemote(tokenHash, () -> jwtUtil.extractExpiration(token));
+        } catch (Exception e) {
+            logger.error("Failed to check token blacklist status: {}", e.getMessage());
+            // 在錯誤情況下，為了安全起見，假設 token 已被列入黑名單
+            return true;
+        }
+    }
+    
+    /**
+     * 以已驗證 token 的雜湊值檢查是否在黑名單中，不需再次解析 token
+     * 
+     * @param tokenHash token 的 SHA-256 雜湊值
+     * @param expiration token 的過期時間（用於同步到 Redis 的 TTL）
+     * @return true 如果在黑名單中，false 如果不在
+     */
+    public boolean isTokenHashBlacklisted(String tokenHash, Date expiration) {
+        if (blacklistFilter != null && !blacklistFilter.mightBeBlacklisted(tokenHash, expiration.getTime())) {
+            return false;
+        }
+        return checkRemote(tokenHash, () -> expiration);
+    }
+    
+    private boolean checkRemote(String tokenHash, Supplier<Date> expiration) {
+        boolean blacklisted = isBlacklisted(tokenHash, expiration);
+        if (blacklistFilter != null) {
+            blacklistFilter.recordRemoteCheck(blacklisted);
+        }
+        return blacklisted;
+    }
+    
+    private boolean isBlacklisted(String tokenHash, Supplier<Date> expiration) {
+        try {
             // 先檢查 Redis 快取
             String redisKey = BLACKLIST_KEY_PREFIX + tokenHash;
             Boolean existsInRedis = redisTemplate.hasKey(redisKey);
@@ -98,8 +150,7 @@ public class TokenBlacklistService {
             
             if (existsInDb) {
                 // 如果在資料庫中找到，同步到 Redis
-                Date expiration = jwtUtil.extractExpiration(token);
-                long ttlSeconds = (expiration.getTime() - System.currentTimeMillis()) / 1000;
+                long ttlSeconds = (expiration.get().getTime() - System.currentTimeMillis()) / 1000;
                 
                 if (ttlSeconds > 0) {
                     redisTemplate.opsForValue().set(redisKey, "blacklisted", ttlSeconds, TimeUnit.SECONDS);
@@ -0,0 +1,364 @@
+package com.gtcafe.pgb.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Service;
+import com.gtcafe.pgb.entity.Message;
+import com.gtcafe.pgb.repository.MessageRepository;
+import com.gtcafe.pgb.repository.UserRepository;
+import com.gtcafe.pgb.service.BoardRankingService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis sorted set implementation of BoardRankingService.
+ *
+ * Root messages are counted per board owner in hourly bucket sets that expire after the ranking
+ * window. The ranking is the union of the buckets in the window, weighted by an exponential decay
+ * on bucket age, and is re-merged at most once per merge interval across all nodes. Pages are
+ * ZREVRANGE reads on the merged set.
+ *
+ * A background job on each node re-merges the buckets every merge interval and, on one node per
+ * reseed interval, clears the buckets and reseeds them from the database to correct drift. Reads
+ * only merge when no node has merged within the interval; they never reseed.
+ *
+ * Boards of inactive owners are listed in a hidden set and removed from the merged set, so a page
+ * of the merged set never needs filtering by visibility.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BoardRankingServiceImpl implements BoardRankingService {
+
+    private static final String BUCKET_KEY = "board_ranking:bucket:%d";
+    private static final String MERGED_KEY = "board_ranking:merged";
+    private static final String MERGED_FRESH_KEY = "board_ranking:merged:fresh";
+    private static final String MERGE_TEMP_KEY = "board_ranking:merged:tmp";
+    private static final String SEEDED_KEY = "board_ranking:seeded";
+    private static final String HIDDEN_KEY = "board_ranking:hidden";
+
+    private static final long BUCKET_MILLIS = Duration.ofHours(1).toMillis();
+    private static final int WINDOW_BUCKETS = 7 * 24;
+    private static final double HALF_LIFE_BUCKETS = 24;
+    private static final Duration MERGE_INTERVAL = Duration.ofMinutes(1);
+    private static final Duration RESEED_INTERVAL = Duration.ofDays(1);
+    private static final int SEED_PAGE_SIZE = 500;
+    private static final int SEED_LIMIT = 10000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final MessageRepository messageRepository;
+    private final UserRepository userRepository;
+
+    private ScheduledExecutorService maintenanceExecutor;
+
+    @PostConstruct
+    public void start() {
+        maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "board-ranking-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenanceExecutor.scheduleWithFixedDelay(this::maintainQuietly, 0,
+                MERGE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (maintenanceExecutor != null) {
+            maintenanceExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void recordMessageCreated(Message message) {
+        if (!isRanked(message)) {
+            return;
+        }
+        long bucket = bucketOf(message.getCreatedAt());
+        try {
+            String key = bucketKey(bucket);
+            redisTemplate.opsForZSet().incrementScore(key, boardOwnerMember(message), 1);
+            redisTemplate.expire(key, bucketTtl(bucket));
+        } catch (Exception e) {
+            log.warn("Failed to record message {} in board ranking: {}", message.getId(),
+                    e.getMessage());
+        }
+    }
+
+    @Override
+    public void recordMessageDeleted(Message message) {
+        if (!isRanked(message)) {
+            return;
+        }
+        long bucket = bucketOf(message.getCreatedAt());
+        if (bucket <= currentBucket() - WINDOW_BUCKETS) {
+            return; // Already outside the ranking window
+        }
+        try {
+            String key = bucketKey(bucket);
+            Double score =
+                    redisTemplate.opsForZSet().incrementScore(key, boardOwnerMember(message), -1);
+            if (score != null && score <= 0) {
+                redisTemplate.opsForZSet().remove(key, boardOwnerMember(message));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to remove message {} from board ranking: {}", message.getId(),
+                    e.getMessage());
+        }
+    }
+
+    @Override
+    public void updateBoardVisibility(Long boardOwnerId, boolean visible) {
+        if (boardOwnerId == null) {
+            return;
+        }
+        String member = String.valueOf(boardOwnerId);
+        try {
+            if (visible) {
+                redisTemplate.opsForSet().remove(HIDDEN_KEY, member);
+            } else {
+                redisTemplate.opsForSet().add(HIDDEN_KEY, member);
+                redisTemplate.opsForZSet().remove(MERGED_KEY, member);
+            }
+            // Re-merge on the next read: brings a shown board back, and drops a hidden board that a
+            // merge already in progress may write back
+            redisTemplate.delete(MERGED_FRESH_KEY);
+        } catch (Exception e) {
+            log.warn("Failed to update board {} visibility in ranking: {}", boardOwnerId,
+                    e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Long> getTopBoardOwnerIds(long offset, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        try {
+            ensureMerged();
+            Set<String> members =
+                    redisTemplate.opsForZSet().reverseRange(MERGED_KEY, offset, offset + limit - 1);
+            if (members == null) {
+                return Collections.emptyList();
+            }
+            List<Long> ids = new ArrayList<>(members.size());
+            for (String member : members) {
+                ids.add(Long.valueOf(member));
+            }
+            return ids;
+        } catch (Exception e) {
+            log.error("Failed to read board ranking: offset={}, limit={}", offset, limit, e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public long getRankedBoardCount() {
+        try {
+            ensureMerged();
+            Long count = redisTemplate.opsForZSet().zCard(MERGED_KEY);
+            return count != null ? count : 0L;
+        } catch (Exception e) {
+            log.error("Failed to count ranked boards", e);
+            return 0L;
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        long current = currentBucket();
+        reseed(current);
+        redisTemplate.opsForValue().set(SEEDED_KEY, "1", RESEED_INTERVAL);
+        mergeBuckets(current);
+        log.info("Rebuilt board ranking from database");
+    }
+
+    /**
+     * Background maintenance: reseed the buckets when Redis is first used or flushed and once per
+     * reseed interval (on one node), then re-merge if no node has merged within the merge interval
+     */
+    void maintain() {
+        long current = currentBucket();
+        if (Boolean.TRUE.equals(
+                redisTemplate.opsForValue().setIfAbsent(SEEDED_KEY, "1", RESEED_INTERVAL))) {
+            try {
+                reseed(current);
+            } catch (RuntimeException e) {
+                redisTemplate.delete(SEEDED_KEY);
+                throw e;
+            }
+            redisTemplate.delete(MERGED_FRESH_KEY);
+        }
+        mergeIfDue(current);
+    }
+
+    private void maintainQuietly() {
+        try {
+            maintain();
+        } catch (Exception e) {
+            log.warn("Failed to maintain board ranking: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Re-merge on the read path if the maintenance job has not merged within the merge interval
+     */
+    private void ensureMerged() {
+        mergeIfDue(currentBucket());
+    }
+
+    /**
+     * Re-merge the buckets at most once per merge interval across all nodes
+     */
+    private void mergeIfDue(long current) {
+        if (Boolean.TRUE.equals(
+                redisTemplate.opsForValue().setIfAbsent(MERGED_FRESH_KEY, "1", MERGE_INTERVAL))) {
+            try {
+                mergeBuckets(current);
+            } catch (RuntimeException e) {
+                redisTemplate.delete(MERGED_FRESH_KEY);
+                throw e;
+            }
+        }
+    }
+
+    private void mergeBuckets(long current) {
+        String first = bucketKey(current);
+        List<String> others = new ArrayList<>(WINDOW_BUCKETS - 1);
+        double[] weights = new double[WINDOW_BUCKETS];
+        weights[0] = 1.0;
+        for (int age = 1; age < WINDOW_BUCKETS; age++) {
+            others.add(bucketKey(current - age));
+            weights[age] = Math.pow(0.5, age / HALF_LIFE_BUCKETS);
+        }
+
+        Long size = redisTemplate.opsForZSet().unionAndStore(first, others, MERGE_TEMP_KEY,
+                Aggregate.SUM, Weights.of(weights));
+        Set<String> hidden = redisTemplate.opsForSet().members(HIDDEN_KEY);
+        if (size != null && size > 0 && hidden != null && !hidden.isEmpty()) {
+            Long removed = redisTemplate.opsForZSet().remove(MERGE_TEMP_KEY, hidden.toArray());
+            size -= removed != null ? removed : 0L;
+        }
+        if (size != null && size > 0) {
+            redisTemplate.rename(MERGE_TEMP_KEY, MERGED_KEY);
+        } else {
+            redisTemplate.delete(MERGED_KEY);
+        }
+        log.debug("Merged board ranking: boards={}", size);
+    }
+
+    /**
+     * Replace the buckets in the window and the hidden set with counts from the database. The
+     * buckets are cleared first, so seeding does not add to the live counts or keep boards that
+     * no longer have messages in a bucket
+     */
+    private void reseed(long current) {
+        List<String> keys = new ArrayList<>(WINDOW_BUCKETS);
+        for (long bucket = current - WINDOW_BUCKETS + 1; bucket <= current; bucket++) {
+            keys.add(bucketKey(bucket));
+        }
+        redisTemplate.delete(keys);
+        seedHiddenBoards();
+        seedFromDatabase(current);
+    }
+
+    /**
+     * Replace the hidden set with the inactive owners in the database
+     */
+    private void seedHiddenBoards() {
+        List<Long> inactiveUserIds = userRepository.findInactiveUserIds();
+        redisTemplate.delete(HIDDEN_KEY);
+        if (!inactiveUserIds.isEmpty()) {
+            redisTemplate.opsForSet().add(HIDDEN_KEY,
+                    inactiveUserIds.stream().map(String::valueOf).toArray(String[]::new));
+        }
+    }
+
+    private void seedFromDatabase(long current) {
+        LocalDateTime windowStart = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli((current - WINDOW_BUCKETS + 1) * BUCKET_MILLIS),
+                ZoneId.systemDefault());
+        Map<Long, Map<String, Integer>> counts = new HashMap<>();
+
+        int seen = 0;
+        int page = 0;
+        boolean done = false;
+        while (!done && seen < SEED_LIMIT) {
+            Page<Message> messages =
+                    messageRepository.findRecentRootMessages(PageRequest.of(page++, SEED_PAGE_SIZE));
+            for (Message message : messages.getContent()) {
+                if (message.getCreatedAt() == null || message.getCreatedAt().isBefore(windowStart)
+                        || ++seen > SEED_LIMIT) {
+                    done = true;
+                    break;
+                }
+                counts.computeIfAbsent(bucketOf(message.getCreatedAt()), b -> new HashMap<>())
+                        .merge(boardOwnerMember(message), 1, Integer::sum);
+            }
+            done |= !messages.hasNext();
+        }
+
+        for (Map.Entry<Long, Map<String, Integer>> bucket : counts.entrySet()) {
+            Set<TypedTuple<String>> tuples = new HashSet<>();
+            bucket.getValue().forEach((member, count) -> tuples
+                    .add(new DefaultTypedTuple<>(member, count.doubleValue())));
+            String key = bucketKey(bucket.getKey());
+            redisTemplate.opsForZSet().add(key, tuples);
+            redisTemplate.expire(key, bucketTtl(bucket.getKey()));
+        }
+        log.info("Seeded board ranking from {} recent root messages", Math.min(seen, SEED_LIMIT));
+    }
+
+    private boolean isRanked(Message message) {
+        return message != null && message.getParentMessage() == null
+                && message.getBoardOwner() != null && message.getBoardOwner().getId() != null;
+    }
+
+    private String boardOwnerMember(Message message) {
+        return String.valueOf(message.getBoardOwner().getId());
+    }
+
+    private long bucketOf(LocalDateTime createdAt) {
+        if (createdAt == null) {
+            return currentBucket();
+        }
+        return createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / BUCKET_MILLIS;
+    }
+
+    private long currentBucket() {
+        return System.currentTimeMillis() / BUCKET_MILLIS;
+    }
+
+    private String bucketKey(long bucket) {
+        return String.format(BUCKET_KEY, bucket);
+    }
+
+    /**
+     * Buckets expire once they fall out of the ranking window
+     */
+    private Duration bucketTtl(long bucket) {
+        long expiresAt = (bucket + WINDOW_BUCKETS) * BUCKET_MILLIS;
+        return Duration.ofMillis(Math.max(BUCKET_MILLIS, expiresAt - System.currentTimeMillis()));
+    }
+}
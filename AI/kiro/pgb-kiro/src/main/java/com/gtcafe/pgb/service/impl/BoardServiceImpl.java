@@ -2,7 +2,11 @@ package com.gtcafe.pgb.service.impl;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -16,8 +20,10 @@ import com.gtcafe.pgb.entity.Message;
 import com.gtcafe.pgb.entity.User;
 import com.gtcafe.pgb.repository.MessageRepository;
 import com.gtcafe.pgb.repository.UserRepository;
+import com.gtcafe.pgb.service.BoardRankingService;
 import com.gtcafe.pgb.service.BoardService;
 import com.gtcafe.pgb.service.CacheService;
+import com.gtcafe.pgb.service.MessageSearchService;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -34,7 +40,8 @@ public class BoardServiceImpl implements BoardService {
     private static final String BOARD_STATS_CACHE_KEY = "board:%d:stats";
     private static final String BOARD_SEARCH_CACHE_KEY = "board:%d:search:%s";
     private static final String BOARD_RECENT_CACHE_KEY = "board:%d:recent:%d";
-    private static final String POPULAR_BOARDS_CACHE_KEY = "popular_boards";
+    private static final String BOARDS_NAMESPACE = "board";
+    private static final String BOARD_NAMESPACE = "board:%d";
 
     private static final Duration CACHE_DURATION = Duration.ofMinutes(10);
     private static final Duration STATS_CACHE_DURATION = Duration.ofMinutes(30);
@@ -49,6 +56,12 @@ public class BoardServiceImpl implements BoardService {
     @Autowired
     private CacheService cacheService;
 
+    @Autowired
+    private BoardRankingService boardRankingService;
+
+    @Autowired
+    private MessageSearchService messageSearchService;
+
     @Override
     @Transactional(readOnly = true)
     public Page<Message> getBoardMessages(User boardOwner, User viewer, Pageable pageable) {
@@ -57,8 +70,9 @@ public class BoardServiceImpl implements BoardService {
 
         validateBoardAccess(boardOwner, viewer);
 
-        String cacheKey = String.format(BOARD_MESSAGES_CACHE_KEY, boardOwner.getId()) + ":"
-                + pageable.getPageNumber() + ":" + pageable.getPageSize();
+        String cacheKey = boardCacheKey(boardOwner.getId(),
+                String.format(BOARD_MESSAGES_CACHE_KEY, boardOwner.getId()) + ":"
+                        + pageable.getPageNumber() + ":" + pageable.getPageSize());
 
         @SuppressWarnings("unchecked")
         Page<Message> cachedMessages = cacheService.get(cacheKey, Page.class);
@@ -84,8 +98,9 @@ public class BoardServiceImpl implements BoardService {
 
         validateBoardAccess(boardOwner, viewer);
 
-        String cacheKey = String.format(BOARD_ALL_MESSAGES_CACHE_KEY, boardOwner.getId()) + ":"
-                + pageable.getPageNumber() + ":" + pageable.getPageSize();
+        String cacheKey = boardCacheKey(boardOwner.getId(),
+                String.format(BOARD_ALL_MESSAGES_CACHE_KEY, boardOwner.getId()) + ":"
+                        + pageable.getPageNumber() + ":" + pageable.getPageSize());
 
         @SuppressWarnings("unchecked")
         Page<Message> cachedMessages = cacheService.get(cacheKey, Page.class);
@@ -111,7 +126,8 @@ public class BoardServiceImpl implements BoardService {
 
         validateBoardAccess(boardOwner, viewer);
 
-        String cacheKey = String.format(BOARD_STATS_CACHE_KEY, boardOwner.getId());
+        String cacheKey = boardCacheKey(boardOwner.getId(),
+                String.format(BOARD_STATS_CACHE_KEY, boardOwner.getId()));
 
         BoardStatistics cachedStats = cacheService.get(cacheKey, BoardStatistics.class);
         if (cachedStats != null) {
@@ -157,8 +173,9 @@ public class BoardServiceImpl implements BoardService {
             return getBoardMessages(boardOwner, viewer, pageable);
         }
 
-        String cacheKey = String.format(BOARD_SEARCH_CACHE_KEY, boardOwner.getId(), keyword.trim())
-                + ":" + pageable.getPageNumber() + ":" + pageable.getPageSize();
+        String cacheKey = boardCacheKey(boardOwner.getId(),
+                String.format(BOARD_SEARCH_CACHE_KEY, boardOwner.getId(), keyword.trim()) + ":"
+                        + pageable.getPageNumber() + ":" + pageable.getPageSize());
 
         @SuppressWarnings("unchecked")
         Page<Message> cachedResults = cacheService.get(cacheKey, Page.class);
@@ -168,8 +185,8 @@ public class BoardServiceImpl implements BoardService {
             return cachedResults;
         }
 
-        Page<Message> searchResults = messageRepository.searchByBoardOwnerAndContent(boardOwner,
-                keyword.trim(), pageable);
+        Page<Message> searchResults =
+                messageSearchService.searchBoardMessages(boardOwner, keyword.trim(), pageable);
 
         cacheService.set(cacheKey, searchResults, SEARCH_CACHE_DURATION);
         log.debug("Cached search results for user: {} keyword: {}", boardOwner.getUsername(),
@@ -208,7 +225,8 @@ public class BoardServiceImpl implements BoardService {
 
         validateBoardAccess(boardOwner, viewer);
 
-        String cacheKey = String.format(BOARD_RECENT_CACHE_KEY, boardOwner.getId(), limit);
+        String cacheKey = boardCacheKey(boardOwner.getId(),
+                String.format(BOARD_RECENT_CACHE_KEY, boardOwner.getId(), limit));
 
         @SuppressWarnings("unchecked")
         List<Message> cachedActivity = cacheService.get(cacheKey, List.class);
@@ -237,8 +255,8 @@ public class BoardServiceImpl implements BoardService {
 
         validateBoardAccess(boardOwner, viewer);
 
-        String cacheKey =
-                String.format(BOARD_MESSAGES_CACHE_KEY, boardOwner.getId()) + ":with_replies";
+        String cacheKey = boardCacheKey(boardOwner.getId(),
+                String.format(BOARD_MESSAGES_CACHE_KEY, boardOwner.getId()) + ":with_replies");
 
         @SuppressWarnings("unchecked")
         List<Message> cachedMessages = cacheService.get(cacheKey, List.class);
@@ -248,8 +266,8 @@ public class BoardServiceImpl implements BoardService {
             return cachedMessages;
         }
 
-        List<Message> messagesWithReplies =
-                messageRepository.findByBoardOwnerWithReplies(boardOwner);
+        List<Message> messagesWithReplies = Message
+                .linkBoardThreads(messageRepository.findBoardThreadsAndNotDeleted(boardOwner));
 
         cacheService.set(cacheKey, messagesWithReplies, CACHE_DURATION);
         log.debug("Cached messages with replies for user: {}", boardOwner.getUsername());
@@ -284,41 +302,26 @@ public class BoardServiceImpl implements BoardService {
     public Page<User> getPopularBoards(User viewer, Pageable pageable) {
         log.debug("Getting popular boards for viewer: {}", viewer.getUsername());
 
-        String cacheKey = POPULAR_BOARDS_CACHE_KEY + ":" + pageable.getPageNumber() + ":"
-                + pageable.getPageSize();
-
-        @SuppressWarnings("unchecked")
-        Page<User> cachedPopularBoards = cacheService.get(cacheKey, Page.class);
-        if (cachedPopularBoards != null) {
-            log.debug("Returning cached popular boards");
-            return cachedPopularBoards;
+        // Inactive owners are kept out of the ranking, so every ranked board is visible to an
+        // active viewer and a page is one range read. An inactive viewer can only see their own
+        // board, which is not ranked while they are inactive
+        if (!viewer.isActive()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
         }
 
-        // Get recent messages to determine popular boards
-        Pageable recentMessagesPageable =
-                PageRequest.of(0, 1000, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<Message> recentMessages =
-                messageRepository.findRecentRootMessages(recentMessagesPageable);
+        List<Long> boardOwnerIds = boardRankingService.getTopBoardOwnerIds(pageable.getOffset(),
+                pageable.getPageSize());
+        long totalBoards = boardRankingService.getRankedBoardCount();
 
-        // Group by board owner and count activity
-        List<User> popularBoardOwners = recentMessages.getContent().stream()
-                .collect(Collectors.groupingBy(Message::getBoardOwner, Collectors.counting()))
-                .entrySet().stream().sorted((e1, e2) -> Long.compare(e2.getValue(), e1.getValue()))
-                .map(entry -> entry.getKey()).filter(boardOwner -> canViewBoard(boardOwner, viewer))
-                .collect(Collectors.toList());
+        Map<Long, User> boardOwners = userRepository.findAllById(boardOwnerIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
 
-        // Apply pagination
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), popularBoardOwners.size());
-
-        List<User> paginatedPopularBoards = popularBoardOwners.subList(start, end);
-        Page<User> popularBoards =
-                new PageImpl<>(paginatedPopularBoards, pageable, popularBoardOwners.size());
-
-        cacheService.set(cacheKey, popularBoards, CACHE_DURATION);
-        log.debug("Cached popular boards");
+        // The owner may have been deactivated after the page was read from the ranking
+        List<User> popularBoardOwners = boardOwnerIds.stream().map(boardOwners::get)
+                .filter(Objects::nonNull).filter(boardOwner -> canViewBoard(boardOwner, viewer))
+                .collect(Collectors.toList());
 
-        return popularBoards;
+        return new PageImpl<>(popularBoardOwners, pageable, totalBoards);
     }
 
     @Override
@@ -339,16 +342,13 @@ public class BoardServiceImpl implements BoardService {
     }
 
     /**
-     * Clear cache for a specific board when messages are updated
+     * Clear cache for a specific board when messages are updated. Bumps the board's cache
+     * generation instead of scanning for its keys; stale entries expire with their TTL
      */
     public void clearBoardCache(Long boardOwnerId) {
         log.debug("Clearing cache for board owner: {}", boardOwnerId);
 
-        String pattern = String.format("board:%d:*", boardOwnerId);
-        cacheService.clearByPattern(pattern);
-
-        // Also clear popular boards cache as it might be affected
-        cacheService.clearByPattern(POPULAR_BOARDS_CACHE_KEY + "*");
+        cacheService.invalidateNamespace(String.format(BOARD_NAMESPACE, boardOwnerId));
 
         log.debug("Cleared cache for board owner: {}", boardOwnerId);
     }
@@ -359,9 +359,17 @@ public class BoardServiceImpl implements BoardService {
     public void clearAllBoardCaches() {
         log.debug("Clearing all board caches");
 
-        cacheService.clearByPattern("board:*");
-        cacheService.clearByPattern(POPULAR_BOARDS_CACHE_KEY + "*");
+        cacheService.invalidateNamespace(BOARDS_NAMESPACE);
 
         log.debug("Cleared all board caches");
     }
+
+    /**
+     * Resolve a board cache key under the current generation of the board and of all boards. The
+     * key is null when the generations cannot be read, and the cache is then skipped
+     */
+    private String boardCacheKey(Long boardOwnerId, String key) {
+        return cacheService.namespacedKey(key, BOARDS_NAMESPACE,
+                String.format(BOARD_NAMESPACE, boardOwnerId));
+    }
 }
@@ -2,12 +2,18 @@ package com.gtcafe.pgb.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
 import com.gtcafe.pgb.service.CacheService;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -21,10 +27,22 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class CacheServiceImpl implements CacheService {
 
+    private static final String GENERATION_KEY_PREFIX = "cache:gen:";
+    /**
+     * 世代號碼的存活時間，須長於以命名空間快取的資料中最長的 TTL（目前為 30 分鐘）
+     * 世代號碼過期後重新建立的號碼一定較大，見 {@link #initialGeneration()}，因此只會讓舊資料失效
+     */
+    static final Duration GENERATION_TTL = Duration.ofDays(1);
+    private static final int SCAN_BATCH_SIZE = 500;
+
     private final RedisTemplate<String, Object> redisTemplate;
 
     @Override
     public void set(String key, Object value) {
+        if (key == null) {
+            log.debug("Cache set skipped: cache namespaces unresolved");
+            return;
+        }
         try {
             redisTemplate.opsForValue().set(key, value);
             log.debug("Cache set: key={}", key);
@@ -36,6 +54,10 @@ public class CacheServiceImpl implements CacheService {
 
     @Override
     public void set(String key, Object value, Duration timeout) {
+        if (key == null) {
+            log.debug("Cache set skipped: cache namespaces unresolved");
+            return;
+        }
         try {
             redisTemplate.opsForValue().set(key, value, timeout);
             log.debug("Cache set with timeout: key={}, timeout={}", key, timeout);
@@ -47,6 +69,9 @@ public class CacheServiceImpl implements CacheService {
 
     @Override
     public Object get(String key) {
+        if (key == null) {
+            return null;
+        }
         try {
             Object value = redisTemplate.opsForValue().get(key);
             log.debug("Cache get: key={}, found={}", key, value != null);
@@ -60,6 +85,9 @@ public class CacheServiceImpl implements CacheService {
     @Override
     @SuppressWarnings("unchecked")
     public <T> T get(String key, Class<T> clazz) {
+        if (key == null) {
+            return null;
+        }
         try {
             Object value = redisTemplate.opsForValue().get(key);
             if (value == null) {
@@ -81,6 +109,70 @@ public class CacheServiceImpl implements CacheService {
         }
     }
 
+    /**
+     * 寫入快取值，並回傳寫入前鍵是否已存在，供兩層快取只在覆寫時通知其他節點
+     * 鍵不存在時只需一次 SET NX；已存在時再以一般 SET 覆寫
+     * @param key 快取鍵
+     * @param value 快取值
+     * @param timeout 存活時間，null 表示不過期
+     * @return 覆寫既有的鍵時為 true，新建或略過時為 false
+     */
+    public boolean setAndCheckExisting(String key, Object value, Duration timeout) {
+        if (key == null) {
+            log.debug("Cache set skipped: cache namespaces unresolved");
+            return false;
+        }
+        try {
+            Boolean created = timeout != null
+                    ? redisTemplate.opsForValue().setIfAbsent(key, value, timeout)
+                    : redisTemplate.opsForValue().setIfAbsent(key, value);
+            if (Boolean.TRUE.equals(created)) {
+                log.debug("Cache set: key={}, created", key);
+                return false;
+            }
+            if (timeout != null) {
+                redisTemplate.opsForValue().set(key, value, timeout);
+            } else {
+                redisTemplate.opsForValue().set(key, value);
+            }
+            log.debug("Cache set: key={}, overwritten", key);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to set cache: key={}", key, e);
+            throw new RuntimeException("Failed to set cache", e);
+        }
+    }
+
+    /**
+     * 以一次 pipeline 讀取快取值與 Redis 上剩餘的存活時間，供本機快取設定不超過 Redis TTL 的存活時間
+     * @param key 快取鍵
+     * @return 快取值與剩餘毫秒數，鍵不存在或讀取失敗時值為 null
+     */
+    public CachedValue getWithExpire(String key) {
+        if (key == null) {
+            return CachedValue.MISS;
+        }
+        try {
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    ops.opsForValue().get(key);
+                    ops.getExpire(key, TimeUnit.MILLISECONDS);
+                    return null;
+                }
+            });
+            Object value = results.get(0);
+            Long ttlMillis = (Long) results.get(1);
+            log.debug("Cache get with expire: key={}, found={}, ttl={}ms", key, value != null, ttlMillis);
+            return value != null ? new CachedValue(value, ttlMillis != null ? ttlMillis : -1L) : CachedValue.MISS;
+        } catch (Exception e) {
+            log.error("Failed to get cache with expire: key={}", key, e);
+            return CachedValue.MISS;
+        }
+    }
+
     @Override
     public Boolean delete(String key) {
         try {
@@ -324,8 +416,13 @@ public class CacheServiceImpl implements CacheService {
     @Override
     public Set<String> keys(String pattern) {
         try {
-            Set<String> result = redisTemplate.keys(pattern);
-            log.debug("Keys search: pattern={}, found={}", pattern, result != null ? result.size() : 0);
+            Set<String> result = new HashSet<>();
+            try (Cursor<String> cursor = scan(pattern)) {
+                while (cursor.hasNext()) {
+                    result.add(cursor.next());
+                }
+            }
+            log.debug("Keys search: pattern={}, found={}", pattern, result.size());
             return result;
         } catch (Exception e) {
             log.error("Failed to search keys: pattern={}", pattern, e);
@@ -336,18 +433,147 @@ public class CacheServiceImpl implements CacheService {
     @Override
     public Long clearByPattern(String pattern) {
         try {
-            Set<String> keys = redisTemplate.keys(pattern);
-            if (keys != null && !keys.isEmpty()) {
-                Long result = redisTemplate.delete(keys);
-                log.info("Cache cleared by pattern: pattern={}, cleared={}", pattern, result);
-                return result;
+            long cleared = 0;
+            List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+            try (Cursor<String> cursor = scan(pattern)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() >= SCAN_BATCH_SIZE) {
+                        cleared += unlink(batch);
+                    }
+                }
+            }
+            cleared += unlink(batch);
+
+            if (cleared > 0) {
+                log.info("Cache cleared by pattern: pattern={}, cleared={}", pattern, cleared);
             } else {
                 log.debug("No keys found for pattern: {}", pattern);
-                return 0L;
             }
+            return cleared;
         } catch (Exception e) {
             log.error("Failed to clear cache by pattern: pattern={}", pattern, e);
             return 0L;
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public String namespacedKey(String key, String... namespaces) {
+        if (namespaces.length == 0) {
+            return key;
+        }
+        try {
+            return formatNamespacedKey(key, getGenerations(namespaces));
+        } catch (Exception e) {
+            // 以舊世代的鍵讀寫可能取回失效前的資料，因此不使用快取
+            log.error("Failed to resolve cache namespaces, bypassing cache: key={}", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * 以一次 MGET 取得多個命名空間目前的世代號碼
+     * 世代號碼不存在時（尚未建立，或被 Redis 淘汰）以 SET NX 建立，見 {@link #initialGeneration()}
+     * @param namespaces 命名空間
+     * @return 依序對應的世代號碼
+     */
+    public List<Long> getGenerations(String... namespaces) {
+        List<String> generationKeys = new ArrayList<>(namespaces.length);
+        for (String namespace : namespaces) {
+            generationKeys.add(GENERATION_KEY_PREFIX + namespace);
+        }
+        List<Object> values = redisTemplate.opsForValue().multiGet(generationKeys);
+        if (values == null) {
+            throw new IllegalStateException("Failed to read cache generations: " + generationKeys);
+        }
+
+        List<Long> generations = new ArrayList<>(namespaces.length);
+        for (int i = 0; i < namespaces.length; i++) {
+            Object value = values.get(i);
+            if (value == null) {
+                value = createGeneration(generationKeys.get(i));
+            }
+            generations.add(Long.parseLong(value.toString()));
+        }
+        return generations;
+    }
+
+    /**
+     * 建立不存在的世代號碼，其他節點已先建立時讀回它建立的值
+     */
+    private Object createGeneration(String generationKey) {
+        long generation = initialGeneration();
+        if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(generationKey, generation, GENERATION_TTL))) {
+            log.debug("Cache generation created: key={}, generation={}", generationKey, generation);
+            return generation;
+        }
+        Object value = redisTemplate.opsForValue().get(generationKey);
+        if (value == null) {
+            throw new IllegalStateException("Failed to create cache generation: " + generationKey);
+        }
+        return value;
+    }
+
+    /**
+     * 世代號碼的起始值：目前時間（毫秒）
+     * 世代號碼會在 {@link #GENERATION_TTL} 後過期，也可能在 Redis 記憶體不足時被淘汰。以時間作為起點，
+     * 重新建立的世代號碼一定大於過期前使用過的號碼（除非平均每毫秒失效超過一次），不會再讀到過期前寫入的快取
+     */
+    static long initialGeneration() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * 組成帶有世代號碼的快取鍵，例如 board:1:stats:v0.3
+     */
+    static String formatNamespacedKey(String key, List<Long> generations) {
+        StringBuilder result = new StringBuilder(key).append(":v");
+        for (int i = 0; i < generations.size(); i++) {
+            result.append(i == 0 ? "" : ".").append(generations.get(i));
+        }
+        return result.toString();
+    }
+
+    /**
+     * 快取值與 Redis 上剩餘的存活時間（毫秒，沒有設定過期時間時為 -1）
+     */
+    public record CachedValue(Object value, long ttlMillis) {
+        public static final CachedValue MISS = new CachedValue(null, -2L);
+    }
+
+    @Override
+    public Long invalidateNamespace(String namespace) {
+        try {
+            String generationKey = GENERATION_KEY_PREFIX + namespace;
+            // 從起始值遞增；直接 INCR 不存在的鍵會從 1 開始，可能重複使用淘汰前的世代號碼
+            redisTemplate.opsForValue().setIfAbsent(generationKey, initialGeneration(), GENERATION_TTL);
+            Long generation = redisTemplate.opsForValue().increment(generationKey);
+            // INCR 保留原本的過期時間；仍在失效的命名空間延長存活時間
+            redisTemplate.expire(generationKey, GENERATION_TTL);
+            log.debug("Cache namespace invalidated: namespace={}, generation={}", namespace, generation);
+            return generation;
+        } catch (Exception e) {
+            log.error("Failed to invalidate cache namespace: namespace={}", namespace, e);
+            return null;
+        }
+    }
+
+    /**
+     * 以 SCAN 取代 KEYS，每次只處理一批鍵，不會長時間阻塞 Redis
+     */
+    private Cursor<String> scan(String pattern) {
+        return redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build());
+    }
+
+    /**
+     * 以 UNLINK 在背景釋放記憶體，並清空批次
+     */
+    private long unlink(List<String> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Long result = redisTemplate.unlink(batch);
+        batch.clear();
+        return result != null ? result : 0;
+    }
+}
@@ -0,0 +1,329 @@
+package com.gtcafe.pgb.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.gtcafe.pgb.entity.Message;
+import com.gtcafe.pgb.entity.User;
+import com.gtcafe.pgb.repository.MessageRepository;
+import com.gtcafe.pgb.service.MessageSearchService;
+import com.gtcafe.pgb.util.InvertedIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process inverted index implementation of MessageSearchService.
+ *
+ * Each node holds its own index of all non-deleted messages, grouped by board owner. Local
+ * changes are applied after the transaction commits and broadcast over Redis pub/sub; other nodes
+ * reload the changed messages from the database. A periodic full rebuild repairs anything missed.
+ * Until the first build completes, searches run the LIKE query instead. Index hits are loaded
+ * from the database and re-checked, so stale entries never leak deleted messages.
+ */
+@Slf4j
+@Service
+public class MessageSearchServiceImpl implements MessageSearchService, MessageListener {
+
+    static final String EVENTS_CHANNEL = "search:messages:events";
+    private static final String UPSERT = "upsert";
+    private static final String REMOVE = "remove";
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final MessageRepository messageRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final boolean enabled;
+    private final long rebuildIntervalMinutes;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile InvertedIndex index = new InvertedIndex();
+    private volatile InvertedIndex rebuilding;
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+    private ScheduledExecutorService indexExecutor;
+
+    private final Counter indexSearches;
+    private final Counter fallbackSearches;
+    private final Counter rebuildFailures;
+
+    @Autowired
+    public MessageSearchServiceImpl(MessageRepository messageRepository,
+            StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${app.search.enabled:true}") boolean enabled,
+            @Value("${app.search.rebuild-interval-minutes:360}") long rebuildIntervalMinutes) {
+        this.messageRepository = messageRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.enabled = enabled;
+        this.rebuildIntervalMinutes = rebuildIntervalMinutes;
+
+        this.indexSearches = Counter.builder("search.messages.requests").tag("source", "index")
+                .register(meterRegistry);
+        this.fallbackSearches = Counter.builder("search.messages.requests")
+                .tag("source", "database").register(meterRegistry);
+        this.rebuildFailures =
+                Counter.builder("search.messages.rebuild.failures").register(meterRegistry);
+        Gauge.builder("search.messages.indexed", this, s -> s.index.size())
+                .register(meterRegistry);
+        Gauge.builder("search.messages.ready", this, s -> s.ready ? 1 : 0).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Message search index is disabled, searches use the database");
+            return;
+        }
+
+        if (listenerContainer != null) {
+            try {
+                listenerContainer.addMessageListener(this, new ChannelTopic(EVENTS_CHANNEL));
+            } catch (Exception e) {
+                log.warn("Failed to subscribe to search index events, relying on rebuilds: {}",
+                        e.getMessage());
+            }
+        }
+
+        indexExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "message-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        indexExecutor.scheduleWithFixedDelay(this::rebuildQuietly, 0, rebuildIntervalMinutes,
+                TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (listenerContainer != null) {
+            try {
+                listenerContainer.removeMessageListener(this);
+            } catch (Exception e) {
+                log.debug("Failed to unsubscribe from search index events: {}", e.getMessage());
+            }
+        }
+        if (indexExecutor != null) {
+            indexExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void indexMessage(Message message) {
+        if (!enabled || message == null || message.getId() == null) {
+            return;
+        }
+        if (message.isDeleted()) {
+            removeMessages(List.of(message.getId()));
+            return;
+        }
+        long messageId = message.getId();
+        long boardOwnerId = message.getBoardOwner().getId();
+        String content = message.getContent();
+        afterCommit(() -> {
+            apply(target -> target.put(messageId, boardOwnerId, content), messageId);
+            publish(UPSERT, List.of(messageId));
+        });
+    }
+
+    @Override
+    public void removeMessages(Collection<Long> messageIds) {
+        if (!enabled || messageIds == null || messageIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(messageIds);
+        afterCommit(() -> {
+            for (Long id : ids) {
+                apply(target -> target.remove(id), id);
+            }
+            publish(REMOVE, ids);
+        });
+    }
+
+    @Override
+    public Page<Message> searchBoardMessages(User boardOwner, String keyword, Pageable pageable) {
+        if (!ready) {
+            fallbackSearches.increment();
+            return messageRepository.searchByBoardOwnerAndContent(boardOwner, keyword, pageable);
+        }
+
+        indexSearches.increment();
+        InvertedIndex.SearchResult result = index.search(keyword, boardOwner.getId(),
+                pageable.getOffset(), pageable.getPageSize());
+        if (result.getIds().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, result.getTotal());
+        }
+
+        // Re-check hits against the database in case an event has not been applied yet
+        Map<Long, Message> messagesById = messageRepository.findAllById(result.getIds()).stream()
+                .filter(m -> !m.isDeleted() && m.isBoardOwner(boardOwner))
+                .collect(Collectors.toMap(Message::getId, Function.identity()));
+        List<Message> messages = new ArrayList<>(messagesById.size());
+        for (Long id : result.getIds()) {
+            Message message = messagesById.get(id);
+            if (message != null) {
+                messages.add(message);
+            } else {
+                // Stale hit: drop it so later searches and totals no longer count it
+                apply(target -> target.remove(id), id);
+            }
+        }
+        // Stale hits on this page are excluded from the total; ones on other pages are still
+        // counted until a search reaches them or the next rebuild
+        long staleHits = result.getIds().size() - messages.size();
+        return new PageImpl<>(messages, pageable, result.getTotal() - staleHits);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void rebuild() {
+        InvertedIndex fresh = new InvertedIndex();
+        touchedDuringRebuild.clear();
+        rebuilding = fresh;
+        try {
+            long lastId = 0L;
+            List<Message> batch;
+            do {
+                batch = messageRepository.findBatchForIndexing(lastId,
+                        PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (Message message : batch) {
+                    // Events seen during the rebuild are newer than this snapshot
+                    if (!touchedDuringRebuild.contains(message.getId())) {
+                        fresh.put(message.getId(), message.getBoardOwner().getId(),
+                                message.getContent());
+                    }
+                    lastId = Math.max(lastId, message.getId());
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+            index = fresh;
+        } finally {
+            rebuilding = null;
+            touchedDuringRebuild.clear();
+        }
+        ready = true;
+        log.info("Rebuilt message search index: messages={}, terms={}", fresh.size(),
+                fresh.getTermCount());
+    }
+
+    /**
+     * Apply changes made on other nodes, reloading upserted messages from the database
+     */
+    @Override
+    public void onMessage(org.springframework.data.redis.connection.Message message,
+            byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0]) || indexExecutor == null) {
+            return;
+        }
+        try {
+            List<Long> ids = new ArrayList<>();
+            for (String id : parts[2].split(",")) {
+                ids.add(Long.valueOf(id));
+            }
+            if (REMOVE.equals(parts[1])) {
+                for (Long id : ids) {
+                    apply(target -> target.remove(id), id);
+                }
+            } else if (UPSERT.equals(parts[1])) {
+                indexExecutor.execute(() -> reload(ids));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed search index event: {}", e.getMessage());
+        }
+    }
+
+    private void reload(List<Long> ids) {
+        try {
+            for (Message message : messageRepository.findAllById(ids)) {
+                if (message.isDeleted()) {
+                    apply(target -> target.remove(message.getId()), message.getId());
+                } else {
+                    apply(target -> target.put(message.getId(), message.getBoardOwner().getId(),
+                            message.getContent()), message.getId());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to reload messages {} into search index: {}", ids, e.getMessage());
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            rebuildFailures.increment();
+            log.error("Failed to rebuild message search index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply a change to the live index and, during a rebuild, to the index being built
+     */
+    private void apply(Consumer<InvertedIndex> change, long messageId) {
+        InvertedIndex pending = rebuilding;
+        if (pending != null) {
+            touchedDuringRebuild.add(messageId);
+            change.accept(pending);
+        }
+        InvertedIndex current = index;
+        change.accept(current);
+        if (index != current) {
+            change.accept(index);
+        }
+    }
+
+    private void publish(String operation, List<Long> ids) {
+        try {
+            String joined = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+            redisTemplate.convertAndSend(EVENTS_CHANNEL, nodeId + ":" + operation + ":" + joined);
+        } catch (Exception e) {
+            // Other nodes pick the change up at the next rebuild
+            log.warn("Failed to publish search index event: {}", e.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -2,10 +2,14 @@ package com.gtcafe.pgb.service.impl;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,8 +18,12 @@ import org.springframework.util.StringUtils;
 import com.gtcafe.pgb.entity.Message;
 import com.gtcafe.pgb.entity.User;
 import com.gtcafe.pgb.repository.MessageRepository;
+import com.gtcafe.pgb.service.BoardRankingService;
 import com.gtcafe.pgb.service.CacheService;
+import com.gtcafe.pgb.service.MessageSearchService;
 import com.gtcafe.pgb.service.MessageService;
+import com.gtcafe.pgb.util.CursorPage;
+import com.gtcafe.pgb.util.MessageCursor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,13 +39,14 @@ public class MessageServiceImpl implements MessageService {
 
     private final MessageRepository messageRepository;
     private final CacheService cacheService;
+    private final BoardRankingService boardRankingService;
+    private final MessageSearchService messageSearchService;
 
     // Cache key constants
     private static final String MESSAGE_CACHE_KEY = "message:";
-    private static final String BOARD_MESSAGES_CACHE_KEY = "board:%d:messages";
-    private static final String USER_MESSAGES_CACHE_KEY = "user:%d:messages";
     private static final String MESSAGE_REPLIES_CACHE_KEY = "message:%d:replies";
     private static final String BOARD_COUNT_CACHE_KEY = "board:%d:count";
+    private static final String BOARD_NAMESPACE = "board:%d";
 
     // Cache expiration times
     private static final Duration MESSAGE_CACHE_DURATION = Duration.ofMinutes(15);
@@ -48,6 +57,9 @@ public class MessageServiceImpl implements MessageService {
     private static final int MIN_MESSAGE_LENGTH = 1;
     private static final int MAX_REPLY_DEPTH = 3;
 
+    // Cursor paging limits
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     @Override
     public Message createMessage(User author, User boardOwner, String content) {
         validateMessageContent(content);
@@ -62,10 +74,11 @@ public class MessageServiceImpl implements MessageService {
                 .build();
 
         Message savedMessage = messageRepository.save(message);
+        boardRankingService.recordMessageCreated(savedMessage);
+        messageSearchService.indexMessage(savedMessage);
 
         // Clear related caches
         clearBoardCaches(boardOwner.getId());
-        clearUserCaches(author.getId());
 
         log.info("Created message {} by user {} on board {}", savedMessage.getId(), author.getId(), boardOwner.getId());
 
@@ -96,11 +109,11 @@ public class MessageServiceImpl implements MessageService {
                 .build();
 
         Message savedReply = messageRepository.save(reply);
+        messageSearchService.indexMessage(savedReply);
 
         // Clear related caches
         clearMessageCaches(parentMessage.getId());
         clearBoardCaches(parentMessage.getBoardOwner().getId());
-        clearUserCaches(author.getId());
 
         log.info("Created reply {} by user {} to message {}", savedReply.getId(), author.getId(), parentMessage.getId());
 
@@ -123,6 +136,7 @@ public class MessageServiceImpl implements MessageService {
 
         message.setContent(content.trim());
         Message updatedMessage = messageRepository.save(message);
+        messageSearchService.indexMessage(updatedMessage);
 
         // Clear related caches
         clearMessageCaches(messageId);
@@ -148,6 +162,8 @@ public class MessageServiceImpl implements MessageService {
 
         message.softDelete();
         messageRepository.save(message);
+        boardRankingService.recordMessageDeleted(message);
+        messageSearchService.removeMessages(List.of(messageId));
 
         // Clear related caches
         clearMessageCaches(messageId);
@@ -188,6 +204,25 @@ public class MessageServiceImpl implements MessageService {
         return messageRepository.findByBoardOwnerAndNotDeletedAndParentMessageIsNull(boardOwner, pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Message> getBoardMessages(User boardOwner, String cursor, int size,
+            boolean includeTotal) {
+        log.debug("Getting board messages for user {} after cursor {}", boardOwner.getId(), cursor);
+
+        validateUser(boardOwner);
+        Pageable limit = cursorPageRequest(size);
+        MessageCursor after = decodeCursor(cursor);
+        List<Message> messages = after == null
+                ? messageRepository.findBoardRootMessagesFirst(boardOwner, limit)
+                : messageRepository.findBoardRootMessagesAfter(boardOwner, after.getCreatedAt(),
+                        after.getId(), limit);
+
+        // The board count is cached, so the total may lag behind by the cache duration
+        Long total = includeTotal ? countBoardMessages(boardOwner) : null;
+        return toCursorPage(messages, size, total);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<Message> getAllBoardMessages(User boardOwner, Pageable pageable) {
@@ -230,6 +265,24 @@ public class MessageServiceImpl implements MessageService {
         return messageRepository.findByUserAndNotDeleted(user, pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Message> getUserMessages(User user, String cursor, int size,
+            boolean includeTotal) {
+        log.debug("Getting messages for user {} after cursor {}", user.getId(), cursor);
+
+        validateUser(user);
+        Pageable limit = cursorPageRequest(size);
+        MessageCursor after = decodeCursor(cursor);
+        List<Message> messages = after == null
+                ? messageRepository.findUserMessagesFirst(user, limit)
+                : messageRepository.findUserMessagesAfter(user, after.getCreatedAt(),
+                        after.getId(), limit);
+
+        Long total = includeTotal ? messageRepository.countByUserAndNotDeleted(user) : null;
+        return toCursorPage(messages, size, total);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<Message> searchBoardMessages(User boardOwner, String keyword, Pageable pageable) {
@@ -241,7 +294,7 @@ public class MessageServiceImpl implements MessageService {
             return getBoardMessages(boardOwner, pageable);
         }
 
-        return messageRepository.searchByBoardOwnerAndContent(boardOwner, keyword.trim(), pageable);
+        return messageSearchService.searchBoardMessages(boardOwner, keyword.trim(), pageable);
     }
 
     @Override
@@ -252,6 +305,21 @@ public class MessageServiceImpl implements MessageService {
         return messageRepository.findRecentRootMessages(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Message> getRecentMessages(String cursor, int size) {
+        log.debug("Getting recent messages after cursor {}", cursor);
+
+        Pageable limit = cursorPageRequest(size);
+        MessageCursor after = decodeCursor(cursor);
+        List<Message> messages = after == null
+                ? messageRepository.findRecentRootMessagesFirst(limit)
+                : messageRepository.findRecentRootMessagesAfter(after.getCreatedAt(),
+                        after.getId(), limit);
+
+        return toCursorPage(messages, size, null);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public long countBoardMessages(User boardOwner) {
@@ -276,11 +344,11 @@ public class MessageServiceImpl implements MessageService {
     @Override
     @Transactional(readOnly = true)
     public long countReplies(Message parentMessage) {
-        if (parentMessage == null) {
+        if (parentMessage == null || parentMessage.getId() == null) {
             return 0;
         }
 
-        return messageRepository.countRepliesByParentMessageAndNotDeleted(parentMessage);
+        return messageRepository.countDescendantsAndNotDeleted(parentMessage.getDescendantPathPrefix());
     }
 
     @Override
@@ -327,7 +395,7 @@ public class MessageServiceImpl implements MessageService {
         log.debug("Getting board messages with replies for user {}", boardOwner.getId());
 
         validateUser(boardOwner);
-        return messageRepository.findByBoardOwnerWithReplies(boardOwner);
+        return Message.linkBoardThreads(messageRepository.findBoardThreadsAndNotDeleted(boardOwner));
     }
 
     @Override
@@ -373,6 +441,11 @@ public class MessageServiceImpl implements MessageService {
             return -1;
         }
 
+        // Depth is assigned on insert; only walk the parents for messages not yet persisted
+        if (message.getDepth() != null) {
+            return message.getDepth();
+        }
+
         int depth = 0;
         Message current = message;
         
@@ -402,7 +475,8 @@ public class MessageServiceImpl implements MessageService {
             throw new IllegalArgumentException("Message must be a root message to get thread replies");
         }
 
-        return messageRepository.findAllRepliesInThread(rootMessage);
+        List<Message> replies = messageRepository.findThreadRepliesAndNotDeleted(rootMessage.getId());
+        return Message.linkThreads(List.of(rootMessage), replies);
     }
 
     @Override
@@ -430,31 +504,38 @@ public class MessageServiceImpl implements MessageService {
 
         log.debug("Deleting all replies to message {} by user {}", parentMessage.getId(), user.getId());
 
-        List<Message> replies = messageRepository.findRepliesByParentMessageAndNotDeleted(parentMessage);
-        
-        for (Message reply : replies) {
-            reply.softDelete();
-            messageRepository.save(reply);
-            
-            // Clear cache for each deleted reply
-            clearMessageCaches(reply.getId());
+        // Nested replies share the parent's path prefix, so the whole subtree goes in one statement
+        String pathPrefix = parentMessage.getDescendantPathPrefix();
+        List<Long> replyIds = messageRepository.findDescendantIdsAndNotDeleted(pathPrefix);
+        int deleted = replyIds.isEmpty() ? 0
+                : messageRepository.softDeleteDescendants(pathPrefix, LocalDateTime.now());
+        messageSearchService.removeMessages(replyIds);
+
+        if (!replyIds.isEmpty()) {
+            Set<String> replyCacheKeys = new HashSet<>();
+            for (Long replyId : replyIds) {
+                replyCacheKeys.add(MESSAGE_CACHE_KEY + replyId);
+                replyCacheKeys.add(String.format(MESSAGE_REPLIES_CACHE_KEY, replyId));
+            }
+            cacheService.delete(replyCacheKeys);
         }
 
         // Clear parent message caches
         clearMessageCaches(parentMessage.getId());
         clearBoardCaches(parentMessage.getBoardOwner().getId());
 
-        log.info("Deleted {} replies to message {} by user {}", replies.size(), parentMessage.getId(), user.getId());
+        log.info("Deleted {} replies to message {} by user {}", deleted, parentMessage.getId(), user.getId());
     }
 
     @Override
     @Transactional(readOnly = true)
     public ReplyStatistics getReplyStatistics(Message message) {
-        if (message == null) {
+        if (message == null || message.getId() == null) {
             return new ReplyStatistics(0, 0, null);
         }
 
-        Object[] stats = messageRepository.getReplyStatistics(message);
+        List<Object[]> rows = messageRepository.getDescendantStatistics(message.getDescendantPathPrefix());
+        Object[] stats = rows.isEmpty() ? new Object[2] : rows.get(0);
         
         long uniqueAuthors = stats[0] != null ? ((Number) stats[0]).longValue() : 0;
         LocalDateTime lastReplyTime = (LocalDateTime) stats[1];
@@ -465,6 +546,30 @@ public class MessageServiceImpl implements MessageService {
 
     // Private helper methods
 
+    /**
+     * Fetch one row more than the page size to find out if there is a next page
+     */
+    private Pageable cursorPageRequest(int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    private MessageCursor decodeCursor(String cursor) {
+        return StringUtils.hasText(cursor) ? MessageCursor.decode(cursor) : null;
+    }
+
+    private CursorPage<Message> toCursorPage(List<Message> messages, int size, Long total) {
+        if (messages.size() <= size) {
+            return new CursorPage<>(messages, null, total);
+        }
+        List<Message> content = new ArrayList<>(messages.subList(0, size));
+        String nextCursor = MessageCursor.of(content.get(size - 1)).encode();
+        return new CursorPage<>(content, nextCursor, total);
+    }
+
     private void validateUser(User user) {
         if (user == null) {
             throw new IllegalArgumentException("User cannot be null");
@@ -491,16 +596,9 @@ public class MessageServiceImpl implements MessageService {
 
     private void clearBoardCaches(Long boardOwnerId) {
         if (boardOwnerId != null) {
-            String pattern = String.format(BOARD_MESSAGES_CACHE_KEY, boardOwnerId) + "*";
-            cacheService.clearByPattern(pattern);
+            // Bump the board's cache generation instead of scanning for its keys
+            cacheService.invalidateNamespace(String.format(BOARD_NAMESPACE, boardOwnerId));
             cacheService.delete(String.format(BOARD_COUNT_CACHE_KEY, boardOwnerId));
         }
     }
-
-    private void clearUserCaches(Long userId) {
-        if (userId != null) {
-            String pattern = String.format(USER_MESSAGES_CACHE_KEY, userId) + "*";
-            cacheService.clearByPattern(pattern);
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,433 @@
+package com.gtcafe.pgb.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import com.gtcafe.pgb.service.CacheService;
+import com.gtcafe.pgb.util.LocalTtlCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 兩層快取服務實作類別
+ * 在 Redis 快取（CacheServiceImpl）前加上本機記憶體快取：
+ * - 本機快取有數量上限，每個項目的存活時間不超過設定的本機 TTL，也不超過 Redis 上的 TTL
+ * - 覆寫、刪除與命名空間失效會透過 Redis pub/sub 通知其他節點移除本機項目；
+ *   其他節點的本機項目只會從 Redis 讀入，寫入 Redis 上原本不存在的鍵時不需通知
+ * - pub/sub 通知遺失時，其他節點最多讀到本機 TTL 內的舊資料
+ * - 命名空間的世代號碼也會快取在本機，讓帶有世代號碼的快取鍵不必每次查詢 Redis
+ * 雜湊、列表與集合操作直接交給 Redis，不經過本機快取。
+ * 本機快取回傳的是同一個物件，呼叫端不可修改快取值。
+ */
+@Slf4j
+@Primary
+@Service
+public class TwoTierCacheServiceImpl implements CacheService, MessageListener {
+
+    static final String INVALIDATION_CHANNEL = "cache:invalidate";
+    private static final String GENERATION_KEY_PREFIX = "#gen:";
+    private static final String CLEAR_ALL = "*";
+
+    private final CacheServiceImpl redisCache;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final LocalTtlCache<Object> localCache;
+    private final boolean enabled;
+    private final long localTtlMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // 統計資訊
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter invalidationsSent;
+    private final Counter invalidationsReceived;
+    private final Timer localLatency;
+    private final Timer redisLatency;
+
+    @Autowired
+    public TwoTierCacheServiceImpl(CacheServiceImpl redisCache,
+                                   StringRedisTemplate redisTemplate,
+                                   RedisMessageListenerContainer listenerContainer,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.cache.near.enabled:true}") boolean enabled,
+                                   @Value("${app.cache.near.max-size:10000}") int maxSize,
+                                   @Value("${app.cache.near.ttl-seconds:30}") long ttlSeconds) {
+        this.redisCache = redisCache;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.localCache = new LocalTtlCache<>(maxSize);
+        this.enabled = enabled;
+        this.localTtlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+
+        this.localHits = requests(meterRegistry, "local", "hit");
+        this.localMisses = requests(meterRegistry, "local", "miss");
+        this.redisHits = requests(meterRegistry, "redis", "hit");
+        this.redisMisses = requests(meterRegistry, "redis", "miss");
+        this.localLatency = latency(meterRegistry, "local");
+        this.redisLatency = latency(meterRegistry, "redis");
+        this.invalidationsSent = Counter.builder("cache.invalidations")
+                .tag("direction", "sent")
+                .register(meterRegistry);
+        this.invalidationsReceived = Counter.builder("cache.invalidations")
+                .tag("direction", "received")
+                .register(meterRegistry);
+        Gauge.builder("cache.local.size", localCache, LocalTtlCache::size)
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.local.evictions", localCache, LocalTtlCache::getEvictions)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (!enabled || listenerContainer == null) {
+            return;
+        }
+        try {
+            listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        } catch (Exception e) {
+            log.warn("Failed to subscribe to cache invalidations, relying on local TTL: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (listenerContainer != null) {
+            try {
+                listenerContainer.removeMessageListener(this);
+            } catch (Exception e) {
+                log.debug("Failed to unsubscribe from cache invalidations: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        if (key == null) {
+            return;
+        }
+        if (!enabled) {
+            redisCache.set(key, value);
+            return;
+        }
+        boolean overwritten = redisCache.setAndCheckExisting(key, value, null);
+        putLocal(key, value, localTtlMillis);
+        if (overwritten) {
+            publish(key);
+        }
+    }
+
+    @Override
+    public void set(String key, Object value, Duration timeout) {
+        if (key == null) {
+            return;
+        }
+        if (!enabled) {
+            redisCache.set(key, value, timeout);
+            return;
+        }
+        boolean overwritten = redisCache.setAndCheckExisting(key, value, timeout);
+        putLocal(key, value, Math.min(timeout.toMillis(), localTtlMillis));
+        if (overwritten) {
+            publish(key);
+        }
+    }
+
+    @Override
+    public Object get(String key) {
+        if (!enabled || key == null) {
+            return redisCache.get(key);
+        }
+        Object value = getLocal(key);
+        if (value != null) {
+            return value;
+        }
+        CacheServiceImpl.CachedValue cached = timed(redisLatency, () -> redisCache.getWithExpire(key));
+        value = cached.value();
+        (value != null ? redisHits : redisMisses).increment();
+        // 本機項目不可比 Redis 上的項目活得更久
+        putLocal(key, value, cached.ttlMillis() >= 0 ? Math.min(localTtlMillis, cached.ttlMillis()) : localTtlMillis);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Class<T> clazz) {
+        if (!enabled || key == null) {
+            return redisCache.get(key, clazz);
+        }
+        Object value = get(key);
+        if (value == null) {
+            return null;
+        }
+        if (clazz.isInstance(value)) {
+            return (T) value;
+        }
+        log.warn("Cache get: key={}, type mismatch. Expected={}, Actual={}",
+                key, clazz.getSimpleName(), value.getClass().getSimpleName());
+        return null;
+    }
+
+    @Override
+    public Boolean delete(String key) {
+        localCache.remove(key);
+        Boolean result = redisCache.delete(key);
+        publish(key);
+        return result;
+    }
+
+    @Override
+    public Long delete(Set<String> keys) {
+        keys.forEach(localCache::remove);
+        Long result = redisCache.delete(keys);
+        publish(keys.toArray(new String[0]));
+        return result;
+    }
+
+    @Override
+    public Boolean exists(String key) {
+        if (enabled && getLocal(key) != null) {
+            return true;
+        }
+        return redisCache.exists(key);
+    }
+
+    @Override
+    public Boolean expire(String key, Duration timeout) {
+        localCache.remove(key);
+        Boolean result = redisCache.expire(key, timeout);
+        publish(key);
+        return result;
+    }
+
+    @Override
+    public Long getExpire(String key) {
+        return redisCache.getExpire(key);
+    }
+
+    @Override
+    public void hSet(String key, String hashKey, Object value) {
+        redisCache.hSet(key, hashKey, value);
+    }
+
+    @Override
+    public Object hGet(String key, String hashKey) {
+        return redisCache.hGet(key, hashKey);
+    }
+
+    @Override
+    public Long hDelete(String key, String... hashKeys) {
+        return redisCache.hDelete(key, hashKeys);
+    }
+
+    @Override
+    public Boolean hExists(String key, String hashKey) {
+        return redisCache.hExists(key, hashKey);
+    }
+
+    @Override
+    public Long lLeftPush(String key, Object... values) {
+        return redisCache.lLeftPush(key, values);
+    }
+
+    @Override
+    public Long lRightPush(String key, Object... values) {
+        return redisCache.lRightPush(key, values);
+    }
+
+    @Override
+    public Object lLeftPop(String key) {
+        return redisCache.lLeftPop(key);
+    }
+
+    @Override
+    public Object lRightPop(String key) {
+        return redisCache.lRightPop(key);
+    }
+
+    @Override
+    public List<Object> lRange(String key, long start, long end) {
+        return redisCache.lRange(key, start, end);
+    }
+
+    @Override
+    public Long lSize(String key) {
+        return redisCache.lSize(key);
+    }
+
+    @Override
+    public Long sAdd(String key, Object... values) {
+        return redisCache.sAdd(key, values);
+    }
+
+    @Override
+    public Long sRemove(String key, Object... values) {
+        return redisCache.sRemove(key, values);
+    }
+
+    @Override
+    public Boolean sIsMember(String key, Object value) {
+        return redisCache.sIsMember(key, value);
+    }
+
+    @Override
+    public Set<Object> sMembers(String key) {
+        return redisCache.sMembers(key);
+    }
+
+    @Override
+    public Long sSize(String key) {
+        return redisCache.sSize(key);
+    }
+
+    @Override
+    public Set<String> keys(String pattern) {
+        return redisCache.keys(pattern);
+    }
+
+    @Override
+    public Long clearByPattern(String pattern) {
+        Long result = redisCache.clearByPattern(pattern);
+        localCache.clear();
+        publish(CLEAR_ALL);
+        return result;
+    }
+
+    @Override
+    public String namespacedKey(String key, String... namespaces) {
+        if (!enabled || namespaces.length == 0) {
+            return redisCache.namespacedKey(key, namespaces);
+        }
+
+        Long[] generations = new Long[namespaces.length];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < namespaces.length; i++) {
+            // 世代號碼是內部查詢，不計入快取命中統計
+            generations[i] = (Long) localCache.get(GENERATION_KEY_PREFIX + namespaces[i], System.currentTimeMillis());
+            if (generations[i] == null) {
+                missing.add(namespaces[i]);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            List<Long> fetched;
+            try {
+                fetched = timed(redisLatency, () -> redisCache.getGenerations(missing.toArray(new String[0])));
+            } catch (Exception e) {
+                // 與 CacheServiceImpl 相同不使用快取；不放入本機快取，Redis 恢復後即讀回實際的世代號碼
+                log.error("Failed to resolve cache namespaces, bypassing cache: key={}", key, e);
+                return null;
+            }
+            for (int i = 0, j = 0; i < namespaces.length; i++) {
+                if (generations[i] == null) {
+                    generations[i] = fetched.get(j++);
+                    putLocal(GENERATION_KEY_PREFIX + namespaces[i], generations[i], localTtlMillis);
+                }
+            }
+        }
+        return CacheServiceImpl.formatNamespacedKey(key, Arrays.asList(generations));
+    }
+
+    @Override
+    public Long invalidateNamespace(String namespace) {
+        String generationKey = GENERATION_KEY_PREFIX + namespace;
+        localCache.remove(generationKey);
+        Long generation = redisCache.invalidateNamespace(namespace);
+        publish(generationKey);
+        return generation;
+    }
+
+    /**
+     * 接收其他節點的失效通知，格式為「節點 ID\n鍵\n鍵...」
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n");
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        invalidationsReceived.increment();
+        for (int i = 1; i < parts.length; i++) {
+            if (CLEAR_ALL.equals(parts[i])) {
+                localCache.clear();
+                return;
+            }
+            localCache.remove(parts[i]);
+        }
+    }
+
+    private Object getLocal(String key) {
+        long start = System.nanoTime();
+        Object value = localCache.get(key, System.currentTimeMillis());
+        localLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        (value != null ? localHits : localMisses).increment();
+        return value;
+    }
+
+    private void putLocal(String key, Object value, long ttlMillis) {
+        if (!enabled || value == null || ttlMillis <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        localCache.put(key, value, now + ttlMillis, now);
+    }
+
+    private void publish(String... keys) {
+        if (!enabled || keys.length == 0) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + "\n" + String.join("\n", keys));
+            invalidationsSent.increment();
+        } catch (Exception e) {
+            log.warn("Failed to publish cache invalidation: keys={}, {}", Arrays.toString(keys), e.getMessage());
+        }
+    }
+
+    private static <T> T timed(Timer timer, Supplier<T> supplier) {
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Counter requests(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("cache.requests")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Timer latency(MeterRegistry registry, String tier) {
+        return Timer.builder("cache.latency")
+                .tag("tier", tier)
+                .register(registry);
+    }
+}
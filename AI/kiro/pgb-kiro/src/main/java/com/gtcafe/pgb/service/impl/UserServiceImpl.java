@@ -10,6 +10,7 @@ import org.springframework.util.StringUtils;
 
 import com.gtcafe.pgb.entity.User;
 import com.gtcafe.pgb.repository.UserRepository;
+import com.gtcafe.pgb.service.BoardRankingService;
 import com.gtcafe.pgb.service.UserService;
 
 import java.util.Optional;
@@ -24,6 +25,7 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final BoardRankingService boardRankingService;
 
     @Override
     public User createUser(User user) {
@@ -159,6 +161,7 @@ public class UserServiceImpl implements UserService {
         
         user.setIsActive(false);
         userRepository.save(user);
+        boardRankingService.updateBoardVisibility(id, false);
         
         log.info("Deactivated user with ID: {}", id);
     }
@@ -172,6 +175,7 @@ public class UserServiceImpl implements UserService {
         
         user.setIsActive(true);
         userRepository.save(user);
+        boardRankingService.updateBoardVisibility(id, true);
         
         log.info("Activated user with ID: {}", id);
     }
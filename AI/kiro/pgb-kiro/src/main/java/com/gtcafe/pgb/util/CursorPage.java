@@ -0,0 +1,47 @@
+package com.gtcafe.pgb.util;
+
+import java.util.List;
+
+/**
+ * 以游標分頁的查詢結果
+ * 不執行 COUNT 查詢；總筆數只在呼叫端要求時提供，且可能是快取的近似值。
+ *
+ * @param <T> 資料類型
+ */
+public final class CursorPage<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final Long totalElements;
+
+    public CursorPage(List<T> content, String nextCursor, Long totalElements) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.totalElements = totalElements;
+    }
+
+    /**
+     * @return 本頁資料
+     */
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * @return 下一頁的游標，沒有下一頁時為 null
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * @return 總筆數，未要求時為 null
+     */
+    public Long getTotalElements() {
+        return totalElements;
+    }
+}
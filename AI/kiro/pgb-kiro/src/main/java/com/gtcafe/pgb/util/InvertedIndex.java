@@ -0,0 +1,312 @@
+package com.gtcafe.pgb.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 本機全文檢索倒排索引
+ * 每份文件以 id 識別並屬於一個分組（例如留言板擁有者），可依分組限定查詢範圍。
+ *
+ * 斷詞方式：
+ * - 英數字以連續字元為一個詞，不分大小寫
+ * - 中日韓文字同時索引單字與相鄰兩字（bigram），查詢兩字以上時以 bigram 比對，單字查詢以單字比對
+ * - 英數字查詢詞同時比對以該詞開頭的索引詞（前綴比對），權重較低
+ *
+ * 查詢時所有查詢詞都必須出現（AND），結果依 BM25 分數排序，同分時 id 大的（較新的）在前。
+ * 執行緒安全：讀寫鎖，查詢可並行。
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+
+    /**
+     * 新增或取代文件
+     *
+     * @param id    文件 id
+     * @param group 分組
+     * @param text  文件內容
+     */
+    public void put(long id, long group, String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        List<String> tokens = tokenize(text, false);
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(id, entry.getValue());
+            }
+            documents.put(id, new Document(group, tokens.size(), frequencies.keySet().toArray(new String[0])));
+            totalLength += tokens.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 移除文件
+     *
+     * @return 文件是否存在
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 查詢
+     *
+     * @param query  查詢字串
+     * @param group  限定的分組，null 表示不限定
+     * @param offset 略過的筆數
+     * @param limit  最多返回的筆數
+     * @return 依相關性排序的文件 id 與符合的總筆數
+     */
+    public SearchResult search(String query, Long group, long offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query, true));
+        if (terms.isEmpty()) {
+            return new SearchResult(Collections.emptyList(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            double averageLength = documents.isEmpty() ? 1.0 : (double) totalLength / documents.size();
+            Map<Long, Double> scores = null;
+
+            for (String term : terms) {
+                Map<Long, Double> termScores = scoreTerm(term, group, averageLength);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Double> merged = new HashMap<>();
+                    for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                        Double score = termScores.get(entry.getKey());
+                        if (score != null) {
+                            merged.put(entry.getKey(), entry.getValue() + score);
+                        }
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) {
+                    return new SearchResult(Collections.emptyList(), 0);
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort((a, b) -> {
+                int byScore = Double.compare(b.getValue(), a.getValue());
+                return byScore != 0 ? byScore : Long.compare(b.getKey(), a.getKey());
+            });
+
+            List<Long> ids = new ArrayList<>();
+            long end = Math.min(ranked.size(), offset + Math.max(0, limit));
+            for (long i = Math.max(0, offset); i < end; i++) {
+                ids.add(ranked.get((int) i).getKey());
+            }
+            return new SearchResult(ids, ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 斷詞（建立索引用）
+     */
+    public static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    /**
+     * 計算單一查詢詞（含前綴展開）在各文件的 BM25 分數，同一文件取最高分
+     */
+    private Map<Long, Double> scoreTerm(String term, Long group, double averageLength) {
+        Map<String, Double> expansions = new LinkedHashMap<>();
+        expansions.put(term, 1.0);
+        if (!isCjk(term.codePointAt(0))) {
+            for (String candidate : postings.tailMap(term, false).keySet()) {
+                if (!candidate.startsWith(term) || expansions.size() > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                expansions.put(candidate, PREFIX_WEIGHT);
+            }
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        int documentCount = documents.size();
+        for (Map.Entry<String, Double> expansion : expansions.entrySet()) {
+            Map<Long, Integer> posting = postings.get(expansion.getKey());
+            if (posting == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+            for (Map.Entry<Long, Integer> entry : posting.entrySet()) {
+                Document document = documents.get(entry.getKey());
+                if (group != null && document.group != group) {
+                    continue;
+                }
+                double tf = entry.getValue();
+                double norm = K1 * (1 - B + B * document.length / averageLength);
+                double score = expansion.getValue() * idf * tf * (K1 + 1) / (tf + norm);
+                scores.merge(entry.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private boolean removeLocked(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return false;
+        }
+        for (String term : document.terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= document.length;
+        return true;
+    }
+
+    /**
+     * 斷詞：英數字取連續字元；中日韓文字建立索引時取單字與 bigram，查詢時兩字以上只取 bigram
+     */
+    private static List<String> tokenize(String text, boolean query) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        StringBuilder word = new StringBuilder();
+        List<String> cjkRun = new ArrayList<>();
+        int i = 0;
+        while (i <= text.length()) {
+            int codePoint = i < text.length() ? text.codePointAt(i) : ' ';
+            if (isCjk(codePoint)) {
+                flushWord(word, tokens);
+                cjkRun.add(new String(Character.toChars(codePoint)));
+            } else {
+                flushCjk(cjkRun, tokens, query);
+                if (Character.isLetterOrDigit(codePoint)) {
+                    word.appendCodePoint(Character.toLowerCase(codePoint));
+                } else {
+                    flushWord(word, tokens);
+                }
+            }
+            i += Character.charCount(codePoint);
+        }
+        return tokens;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static void flushCjk(List<String> run, List<String> tokens, boolean query) {
+        if (run.isEmpty()) {
+            return;
+        }
+        if (!query || run.size() == 1) {
+            tokens.addAll(run);
+        }
+        for (int i = 0; i + 1 < run.size(); i++) {
+            tokens.add(run.get(i) + run.get(i + 1));
+        }
+        run.clear();
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static final class Document {
+        private final long group;
+        private final int length;
+        private final String[] terms;
+
+        Document(long group, int length, String[] terms) {
+            this.group = group;
+            this.length = length;
+            this.terms = terms;
+        }
+    }
+
+    /**
+     * 查詢結果
+     */
+    public static final class SearchResult {
+        private final List<Long> ids;
+        private final long total;
+
+        public SearchResult(List<Long> ids, long total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        /**
+         * 本頁的文件 id，依相關性排序
+         */
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        /**
+         * 符合的總筆數
+         */
+        public long getTotal() {
+            return total;
+        }
+    }
+}
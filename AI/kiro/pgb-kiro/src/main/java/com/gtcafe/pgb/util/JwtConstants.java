@@ -22,6 +22,9 @@ public final class JwtConstants {
     public static final String BLACKLIST_KEY_PREFIX = "token:blacklist:";
     public static final String USER_TOKEN_KEY_PREFIX = "user:token:";
     
+    // Redis pub/sub 頻道
+    public static final String BLACKLIST_EVENTS_CHANNEL = "token:blacklist:events";
+    
     // 錯誤訊息
     public static final String INVALID_TOKEN_MESSAGE = "Invalid JWT token";
     public static final String EXPIRED_TOKEN_MESSAGE = "JWT token has expired";
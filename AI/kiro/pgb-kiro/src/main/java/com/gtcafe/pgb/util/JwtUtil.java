@@ -1,8 +1,10 @@
 package com.gtcafe.pgb.util;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -181,6 +183,30 @@ public class JwtUtil {
         }
     }
     
+    /**
+     * 解析並驗證 token（簽章與過期時間），只解析一次即取得所有聲明
+     * 
+     * @param token JWT token
+     * @return 不可變的已驗證聲明
+     * @throws JwtException 如果 token 無效或已過期
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            throw new JwtException("JWT token has no expiration");
+        }
+        Date issuedAt = claims.getIssuedAt();
+
+        return new VerifiedToken(
+                getTokenHash(token),
+                claims.get(JwtConstants.USER_ID_CLAIM, Long.class),
+                claims.getSubject(),
+                claims.get(JwtConstants.TOKEN_TYPE_CLAIM, String.class),
+                issuedAt != null ? issuedAt.getTime() : 0L,
+                expiration.getTime());
+    }
+    
     /**
      * 驗證 token 是否有效
      * 
@@ -254,19 +280,9 @@ public class JwtUtil {
         }
         
         try {
-            java.security.MessageDigest digest = java.security.MessageDigest.getInstance("SHA-256");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
-            StringBuilder hexString = new StringBuilder();
-            
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            
-            return hexString.toString();
+            return HexFormat.of().formatHex(hash);
         } catch (Exception e) {
             logger.error("Failed to generate token hash: {}", e.getMessage());
             throw new RuntimeException("Failed to generate token hash", e);
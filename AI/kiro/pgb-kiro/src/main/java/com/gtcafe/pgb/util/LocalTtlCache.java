@@ -0,0 +1,119 @@
+package com.gtcafe.pgb.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本機記憶體快取
+ * 每個項目有各自的到期時間，項目數量有上限。
+ * 超過上限時先移除已過期的項目，若仍超過上限則移除最早到期的十分之一。
+ * 執行緒安全：讀寫不需加鎖，只有清理時才會同步。
+ *
+ * @param <V> 值的類型
+ */
+public class LocalTtlCache<V> {
+
+    private final int maxSize;
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public LocalTtlCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 取得未過期的值
+     *
+     * @param key       快取鍵
+     * @param nowMillis 目前時間（毫秒）
+     * @return 快取值，不存在或已過期時返回 null
+     */
+    public V get(String key, long nowMillis) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis <= nowMillis) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * 設定快取值
+     *
+     * @param key             快取鍵
+     * @param value           快取值（不可為 null）
+     * @param expiresAtMillis 到期時間（毫秒）
+     * @param nowMillis       目前時間（毫秒）
+     */
+    public void put(String key, V value, long expiresAtMillis, long nowMillis) {
+        if (expiresAtMillis <= nowMillis) {
+            entries.remove(key);
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            evict(nowMillis);
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    public void remove(String key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private synchronized void evict(long nowMillis) {
+        if (entries.size() < maxSize) {
+            return; // 其他執行緒已完成清理
+        }
+
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.expiresAtMillis <= nowMillis);
+
+        int excess = entries.size() - (maxSize - Math.max(1, maxSize / 10));
+        if (excess > 0) {
+            long[] expiries = entries.values().stream()
+                    .mapToLong(entry -> entry.expiresAtMillis)
+                    .sorted()
+                    .toArray();
+            long cutoff = expiries.length == 0 ? Long.MIN_VALUE : expiries[Math.min(excess, expiries.length) - 1];
+            Iterator<Entry<V>> iterator = entries.values().iterator();
+            while (iterator.hasNext() && excess > 0) {
+                if (iterator.next().expiresAtMillis <= cutoff) {
+                    iterator.remove();
+                    excess--;
+                }
+            }
+        }
+
+        evictions.addAndGet(Math.max(0, before - entries.size()));
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+
+        Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.gtcafe.pgb.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import com.gtcafe.pgb.entity.Message;
+
+/**
+ * 留言列表的 keyset 分頁游標
+ * 記錄上一頁最後一筆留言的 (createdAt, id)，下一頁從它之後繼續查詢，不需要 OFFSET。
+ * 對外以 URL-safe Base64 字串傳遞，用戶端只需原樣帶回。
+ */
+public final class MessageCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime createdAt;
+    private final long id;
+
+    public MessageCursor(LocalDateTime createdAt, long id) {
+        if (createdAt == null) {
+            throw new IllegalArgumentException("Cursor creation time cannot be null");
+        }
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    /**
+     * 以留言建立游標
+     *
+     * @param message 本頁最後一筆留言
+     * @return 指向該留言之後的游標
+     */
+    public static MessageCursor of(Message message) {
+        return new MessageCursor(message.getCreatedAt(), message.getId());
+    }
+
+    /**
+     * 解析用戶端帶回的游標字串
+     *
+     * @param cursor 游標字串
+     * @return 游標
+     * @throws IllegalArgumentException 格式不正確時
+     */
+    public static MessageCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new MessageCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * @return 游標字串
+     */
+    public String encode() {
+        String value = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
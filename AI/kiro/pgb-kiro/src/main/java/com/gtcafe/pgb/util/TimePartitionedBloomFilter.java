@@ -0,0 +1,190 @@
+package com.gtcafe.pgb.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 依到期時間分區的 Bloom filter
+ * 每個元素依其到期時間放入對應的時間分區，整個分區到期後直接丟棄，
+ * 因此不需要刪除單一元素，也不會因為過期元素累積而提高誤判率。
+ * 已知元素到期時間時只需檢查單一分區。
+ * 執行緒安全：新增與查詢皆不需加鎖。
+ */
+public class TimePartitionedBloomFilter {
+
+    private final long partitionMillis;
+    private final int bitCount;
+    private final int hashCount;
+    private final ConcurrentSkipListMap<Long, Partition> partitions = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param partitionMillis       每個分區涵蓋的時間長度（毫秒）
+     * @param expectedPerPartition  每個分區預期的元素數量
+     * @param falsePositiveRate     在預期元素數量下的目標誤判率
+     */
+    public TimePartitionedBloomFilter(long partitionMillis, int expectedPerPartition, double falsePositiveRate) {
+        if (partitionMillis <= 0 || expectedPerPartition <= 0
+                || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter parameters");
+        }
+        this.partitionMillis = partitionMillis;
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedPerPartition * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitCount = (int) Math.max(64, Math.min(Integer.MAX_VALUE - 63, bits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedPerPartition * ln2));
+    }
+
+    /**
+     * 加入元素
+     *
+     * @param key             元素（例如 token 雜湊值）
+     * @param expiresAtMillis 元素的到期時間
+     */
+    public void put(String key, long expiresAtMillis) {
+        long index = Math.floorDiv(expiresAtMillis, partitionMillis);
+        partitions.computeIfAbsent(index, i -> new Partition(bitCount)).put(key, hashCount);
+    }
+
+    /**
+     * 檢查已知到期時間的元素，只需查詢一個分區
+     *
+     * @return false 表示元素一定不存在
+     */
+    public boolean mightContain(String key, long expiresAtMillis) {
+        Partition partition = partitions.get(Math.floorDiv(expiresAtMillis, partitionMillis));
+        return partition != null && partition.mightContain(key, hashCount);
+    }
+
+    /**
+     * 檢查到期時間落在指定範圍內的元素（到期時間可能有誤差時使用）
+     *
+     * @return false 表示元素一定不存在
+     */
+    public boolean mightContain(String key, long fromMillis, long toMillis) {
+        long from = Math.floorDiv(fromMillis, partitionMillis);
+        long to = Math.floorDiv(toMillis, partitionMillis);
+        for (Partition partition : partitions.subMap(from, true, to, true).values()) {
+            if (partition.mightContain(key, hashCount)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 檢查未知到期時間的元素，查詢所有尚未到期的分區
+     *
+     * @return false 表示元素一定不存在
+     */
+    public boolean mightContainAny(String key, long nowMillis) {
+        for (Partition partition : partitions.tailMap(Math.floorDiv(nowMillis, partitionMillis)).values()) {
+            if (partition.mightContain(key, hashCount)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 丟棄所有已到期的分區
+     *
+     * @return 丟棄的分區數量
+     */
+    public int expire(long nowMillis) {
+        Map<Long, Partition> expired = partitions.headMap(Math.floorDiv(nowMillis, partitionMillis));
+        int count = expired.size();
+        expired.clear();
+        return count;
+    }
+
+    /**
+     * 尚未到期分區中的元素總數
+     */
+    public long getInsertions() {
+        long total = 0;
+        for (Partition partition : partitions.values()) {
+            total += partition.insertions.get();
+        }
+        return total;
+    }
+
+    public int getPartitionCount() {
+        return partitions.size();
+    }
+
+    /**
+     * 依目前各分區的元素數量估計的誤判率（取最高的分區）
+     */
+    public double getExpectedFalsePositiveRate() {
+        double worst = 0;
+        for (Partition partition : partitions.values()) {
+            double n = partition.insertions.get();
+            double rate = Math.pow(1 - Math.exp(-hashCount * n / bitCount), hashCount);
+            worst = Math.max(worst, rate);
+        }
+        return worst;
+    }
+
+    /**
+     * 以 FNV-1a 計算 64 位元雜湊，再以雙重雜湊產生 k 個位置
+     */
+    private static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static final class Partition {
+        private final AtomicLongArray words;
+        private final int bitCount;
+        private final AtomicLong insertions = new AtomicLong();
+
+        Partition(int bitCount) {
+            this.bitCount = bitCount;
+            this.words = new AtomicLongArray((bitCount + 63) >>> 6);
+        }
+
+        void put(String key, int hashCount) {
+            long h1 = hash64(key);
+            long h2 = mix64(h1) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                int bit = (int) Long.remainderUnsigned(h1 + i * h2, bitCount);
+                int word = bit >>> 6;
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(word, current, current | mask));
+            }
+            insertions.incrementAndGet();
+        }
+
+        boolean mightContain(String key, int hashCount) {
+            long h1 = hash64(key);
+            long h2 = mix64(h1) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                int bit = (int) Long.remainderUnsigned(h1 + i * h2, bitCount);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
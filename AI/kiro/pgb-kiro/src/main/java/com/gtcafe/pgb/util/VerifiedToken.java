@@ -0,0 +1,86 @@
+package com.gtcafe.pgb.util;
+
+import java.util.Date;
+
+/**
+ * 已驗證的 JWT token 聲明
+ * 簽章與過期時間已在建立時驗證過，之後只需讀取欄位，不必再次解析 token
+ */
+public final class VerifiedToken {
+
+    private final String tokenHash;
+    private final Long userId;
+    private final String username;
+    private final String tokenType;
+    private final long issuedAtMillis;
+    private final long expiresAtMillis;
+
+    public VerifiedToken(String tokenHash, Long userId, String username, String tokenType,
+            long issuedAtMillis, long expiresAtMillis) {
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.username = username;
+        this.tokenType = tokenType;
+        this.issuedAtMillis = issuedAtMillis;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    /**
+     * @return token 的 SHA-256 雜湊值（用於黑名單與快取）
+     */
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public long getIssuedAtMillis() {
+        return issuedAtMillis;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public Date getExpiration() {
+        return new Date(expiresAtMillis);
+    }
+
+    public boolean isAccessToken() {
+        return JwtConstants.ACCESS_TOKEN_TYPE.equals(tokenType);
+    }
+
+    public boolean isRefreshToken() {
+        return JwtConstants.REFRESH_TOKEN_TYPE.equals(tokenType);
+    }
+
+    /**
+     * 檢查 token 在指定時間是否已過期
+     *
+     * @param nowMillis 目前時間（毫秒）
+     * @return true 如果已過期
+     */
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "VerifiedToken{" +
+                "userId=" + userId +
+                ", username='" + username + '\'' +
+                ", tokenType='" + tokenType + '\'' +
+                ", expiresAt=" + expiresAtMillis +
+                '}';
+    }
+}
@@ -0,0 +1,29 @@
+-- Thread index for message reply trees
+-- depth: 0 for root messages
+-- thread_root_id: root message of the thread (NULL for root messages)
+-- thread_path: zero-padded ancestor IDs from the root down to the parent, each followed by '/'
+ALTER TABLE messages
+    ADD COLUMN depth INT NOT NULL DEFAULT 0,
+    ADD COLUMN thread_root_id BIGINT NULL,
+    ADD COLUMN thread_path VARCHAR(255) NOT NULL DEFAULT '',
+    ADD INDEX idx_thread_root_created (thread_root_id, created_at),
+    ADD INDEX idx_thread_path (thread_path);
+
+-- Backfill existing replies by walking each tree once (updated_at is kept unchanged)
+UPDATE messages m
+JOIN (
+    WITH RECURSIVE thread (id, root_id, depth, path) AS (
+        SELECT id, id, 0, CAST('' AS CHAR(255))
+        FROM messages
+        WHERE parent_message_id IS NULL
+        UNION ALL
+        SELECT c.id, t.root_id, t.depth + 1, CONCAT(t.path, LPAD(t.id, 19, '0'), '/')
+        FROM messages c
+        JOIN thread t ON c.parent_message_id = t.id
+    )
+    SELECT id, root_id, depth, path FROM thread WHERE depth > 0
+) t ON m.id = t.id
+SET m.depth = t.depth,
+    m.thread_root_id = t.root_id,
+    m.thread_path = t.path,
+    m.updated_at = m.updated_at;
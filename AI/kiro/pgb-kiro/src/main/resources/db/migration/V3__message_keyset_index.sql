@@ -0,0 +1,6 @@
+-- Keyset pagination indexes: listings seek on (created_at, id) instead of using OFFSET
+-- Board root messages and the recent feed filter on parent_message_id IS NULL.
+-- User listings use idx_user_created, which already ends with the primary key in InnoDB.
+ALTER TABLE messages
+    ADD INDEX idx_board_root_created (board_owner_id, parent_message_id, created_at, id),
+    ADD INDEX idx_root_created (parent_message_id, created_at, id);
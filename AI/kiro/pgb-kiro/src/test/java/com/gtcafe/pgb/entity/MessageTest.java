@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -193,6 +194,62 @@ class MessageTest {
         }
     }
 
+    @Nested
+    @DisplayName("Thread Position Tests")
+    class ThreadPositionTests {
+
+        @Test
+        @DisplayName("Should assign root position")
+        void shouldAssignRootPosition() {
+            message.assignThreadPosition();
+
+            assertThat(message.getDepth()).isEqualTo(0);
+            assertThat(message.getThreadRootId()).isNull();
+            assertThat(message.getThreadPath()).isEmpty();
+            assertThat(message.getDescendantPathPrefix()).isEqualTo("0000000000000000001/");
+        }
+
+        @Test
+        @DisplayName("Should assign nested reply position from parent")
+        void shouldAssignNestedReplyPositionFromParent() {
+            message.assignThreadPosition();
+            Message reply = Message.builder().id(5L).user(author).boardOwner(boardOwner)
+                    .content("Reply").parentMessage(message).build();
+            reply.assignThreadPosition();
+            Message nested = Message.builder().id(9L).user(author).boardOwner(boardOwner)
+                    .content("Nested").parentMessage(reply).build();
+            nested.assignThreadPosition();
+
+            assertThat(reply.getDepth()).isEqualTo(1);
+            assertThat(reply.getThreadRootId()).isEqualTo(1L);
+            assertThat(nested.getDepth()).isEqualTo(2);
+            assertThat(nested.getThreadRootId()).isEqualTo(1L);
+            assertThat(nested.getThreadPath())
+                    .isEqualTo("0000000000000000001/0000000000000000005/")
+                    .startsWith(message.getDescendantPathPrefix())
+                    .startsWith(reply.getDescendantPathPrefix());
+        }
+
+        @Test
+        @DisplayName("Should link flat rows into threads")
+        void shouldLinkFlatRowsIntoThreads() {
+            message.assignThreadPosition();
+            Message reply = Message.builder().id(5L).user(author).boardOwner(boardOwner)
+                    .content("Reply").parentMessage(message).build();
+            reply.assignThreadPosition();
+            Message nested = Message.builder().id(9L).user(author).boardOwner(boardOwner)
+                    .content("Nested").parentMessage(reply).build();
+            nested.assignThreadPosition();
+            Message orphan = Message.builder().id(12L).user(author).boardOwner(boardOwner)
+                    .content("Orphan").parentMessage(Message.builder().id(11L).build()).build();
+
+            assertThat(Message.linkThreads(List.of(message),
+                    List.of(nested, orphan, reply))).containsExactly(nested, reply);
+            assertThat(message.getReplies()).containsExactly(reply);
+            assertThat(reply.getReplies()).containsExactly(nested);
+        }
+    }
+
     @Nested
     @DisplayName("Authorization Tests")
     class AuthorizationTests {
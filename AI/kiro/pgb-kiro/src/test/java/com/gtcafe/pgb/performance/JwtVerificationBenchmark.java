@@ -0,0 +1,113 @@
+package com.gtcafe.pgb.performance;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.gtcafe.pgb.config.JwtConfig;
+import com.gtcafe.pgb.security.TokenVerifier;
+import com.gtcafe.pgb.util.JwtUtil;
+import com.gtcafe.pgb.util.VerifiedToken;
+
+/**
+ * JWT 驗證效能基準測試
+ * 比較原本過濾器每個請求的驗證流程（validateToken、isAccessToken、extractUsername、
+ * extractUserId 與黑名單的 getTokenHash 各自解析 token）與 TokenVerifier 只解析一次並快取的流程。
+ * 黑名單的 Redis 查詢不在測量範圍內。
+ *
+ * 執行方式：gradle jmh（或 gradle jmh -PjmhInclude=JwtVerificationBenchmark）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyForJwtTokenGenerationAndValidationThisNeedsToBeAtLeast512BitsLongForHs512";
+    private static final int TOKEN_COUNT = 1000;
+
+    private JwtUtil jwtUtil;
+    private TokenVerifier cachedVerifier;
+    private TokenVerifier uncachedVerifier;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtConfig config = new JwtConfig();
+        config.setSecret(SECRET);
+        config.setAccessTokenExpiration(TimeUnit.HOURS.toMillis(1));
+        config.setRefreshTokenExpiration(TimeUnit.DAYS.toMillis(7));
+
+        jwtUtil = new JwtUtil(config);
+        cachedVerifier = new TokenVerifier(jwtUtil, TOKEN_COUNT * 2);
+        uncachedVerifier = new TokenVerifier(jwtUtil, 1);
+
+        // 模擬一千個活躍使用者重複使用各自的 token
+        tokens = new String[TOKEN_COUNT];
+        for (int i = 0; i < TOKEN_COUNT; i++) {
+            tokens[i] = jwtUtil.generateAccessToken((long) i, "user" + i);
+        }
+    }
+
+    private String nextToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(TOKEN_COUNT)];
+    }
+
+    /**
+     * 原本的過濾器流程：每個請求解析 token 五次
+     */
+    @Benchmark
+    public void legacyFilter(Blackhole blackhole) {
+        String token = nextToken();
+        if (jwtUtil.validateToken(token) && jwtUtil.isAccessToken(token)) {
+            blackhole.consume(jwtUtil.getTokenHash(token));
+            blackhole.consume(jwtUtil.extractUsername(token));
+            blackhole.consume(jwtUtil.extractUserId(token));
+        }
+    }
+
+    /**
+     * 只解析一次，不使用快取
+     */
+    @Benchmark
+    public void parseOnce(Blackhole blackhole) {
+        VerifiedToken verified = uncachedVerifier.verify(nextToken());
+        blackhole.consume(verified.isAccessToken());
+        blackhole.consume(verified.getUsername());
+    }
+
+    /**
+     * 只解析一次並使用驗證結果快取
+     */
+    @Benchmark
+    public void parseOnceCached(Blackhole blackhole) {
+        VerifiedToken verified = cachedVerifier.verify(nextToken());
+        blackhole.consume(verified.isAccessToken());
+        blackhole.consume(verified.getUsername());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
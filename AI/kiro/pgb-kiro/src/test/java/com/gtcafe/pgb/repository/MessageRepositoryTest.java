@@ -16,6 +16,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
 
 import com.gtcafe.pgb.entity.Message;
 import com.gtcafe.pgb.entity.User;
@@ -24,6 +25,7 @@ import com.gtcafe.pgb.entity.User;
  * Integration tests for MessageRepository
  */
 @DataJpaTest
+@ActiveProfiles("test")
 @DisplayName("Message Repository Tests")
 class MessageRepositoryTest {
 
@@ -171,13 +173,12 @@ class MessageRepositoryTest {
         }
 
         @Test
-        @DisplayName("Should find messages with replies for board owner")
-        void shouldFindMessagesWithRepliesForBoardOwner() {
-            List<Message> messages = messageRepository.findByBoardOwnerWithReplies(boardOwner);
+        @DisplayName("Should find board threads for board owner")
+        void shouldFindBoardThreadsForBoardOwner() {
+            List<Message> messages = messageRepository.findBoardThreadsAndNotDeleted(boardOwner);
 
-            assertThat(messages).hasSize(1);
-            assertThat(messages.get(0).getId()).isEqualTo(rootMessage.getId());
-            assertThat(messages.get(0).isRootMessage()).isTrue();
+            assertThat(messages).extracting(Message::getId)
+                    .containsExactly(rootMessage.getId(), replyMessage.getId());
         }
     }
 
@@ -196,11 +197,56 @@ class MessageRepositoryTest {
         }
 
         @Test
-        @DisplayName("Should count replies by parent message")
-        void shouldCountRepliesByParentMessage() {
-            long count = messageRepository.countRepliesByParentMessageAndNotDeleted(rootMessage);
+        @DisplayName("Should count replies at any depth by thread path")
+        void shouldCountDescendantsByThreadPath() {
+            entityManager.persistAndFlush(Message.builder()
+                    .user(author)
+                    .boardOwner(boardOwner)
+                    .content("Nested reply")
+                    .parentMessage(entityManager.find(Message.class, replyMessage.getId()))
+                    .isDeleted(false)
+                    .build());
+
+            assertThat(messageRepository.countDescendantsAndNotDeleted(
+                    rootMessage.getDescendantPathPrefix())).isEqualTo(2);
+            assertThat(messageRepository.countDescendantsAndNotDeleted(
+                    replyMessage.getDescendantPathPrefix())).isEqualTo(1);
+            assertThat(messageRepository.getDescendantStatistics(
+                    rootMessage.getDescendantPathPrefix()).get(0)[0]).isEqualTo(2L);
+        }
+
+        @Test
+        @DisplayName("Should find thread replies by thread root")
+        void shouldFindThreadRepliesByThreadRoot() {
+            List<Message> replies = messageRepository.findThreadRepliesAndNotDeleted(rootMessage.getId());
 
-            assertThat(count).isEqualTo(1);
+            assertThat(replies).extracting(Message::getId).containsExactly(replyMessage.getId());
+            assertThat(replies.get(0).getDepth()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should soft delete descendants by thread path")
+        void shouldSoftDeleteDescendantsByThreadPath() {
+            String pathPrefix = rootMessage.getDescendantPathPrefix();
+
+            assertThat(messageRepository.findDescendantIdsAndNotDeleted(pathPrefix))
+                    .containsExactly(replyMessage.getId());
+            assertThat(messageRepository.softDeleteDescendants(pathPrefix, LocalDateTime.now()))
+                    .isEqualTo(1);
+            assertThat(messageRepository.findDescendantIdsAndNotDeleted(pathPrefix)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should not return loaded replies in their pre-delete state after soft deleting descendants")
+        void shouldClearLoadedRepliesAfterSoftDeletingDescendants() {
+            Message loaded = messageRepository.findById(replyMessage.getId()).orElseThrow();
+            assertThat(loaded.isDeleted()).isFalse();
+
+            messageRepository.softDeleteDescendants(rootMessage.getDescendantPathPrefix(),
+                    LocalDateTime.now());
+
+            assertThat(messageRepository.findById(replyMessage.getId()).orElseThrow().isDeleted())
+                    .isTrue();
         }
 
         @Test
@@ -284,6 +330,60 @@ class MessageRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("Keyset Paging Queries")
+    class KeysetPagingQueries {
+
+        @Test
+        @DisplayName("Should walk board root messages page by page without gaps or duplicates")
+        void shouldWalkBoardRootMessagesWithCursor() {
+            Message second = entityManager.persistAndFlush(Message.builder()
+                    .user(otherUser)
+                    .boardOwner(boardOwner)
+                    .content("Second root")
+                    .isDeleted(false)
+                    .build());
+            Message third = entityManager.persistAndFlush(Message.builder()
+                    .user(author)
+                    .boardOwner(boardOwner)
+                    .content("Third root")
+                    .isDeleted(false)
+                    .build());
+            entityManager.clear();
+
+            Pageable limit = PageRequest.of(0, 2);
+            List<Message> firstPage = messageRepository.findBoardRootMessagesFirst(boardOwner, limit);
+            Message last = firstPage.get(firstPage.size() - 1);
+            List<Message> secondPage = messageRepository.findBoardRootMessagesAfter(boardOwner,
+                    last.getCreatedAt(), last.getId(), limit);
+
+            assertThat(firstPage).hasSize(2);
+            assertThat(secondPage).hasSize(1);
+            assertThat(firstPage).extracting(Message::getId).doesNotContainAnyElementsOf(
+                    secondPage.stream().map(Message::getId).toList());
+            assertThat(List.of(firstPage.get(0), firstPage.get(1), secondPage.get(0)))
+                    .extracting(Message::getId)
+                    .containsExactlyInAnyOrder(rootMessage.getId(), second.getId(), third.getId());
+        }
+
+        @Test
+        @DisplayName("Should page user messages and recent root messages after cursor")
+        void shouldPageUserAndRecentMessagesAfterCursor() {
+            Pageable limit = PageRequest.of(0, 10);
+            Message root = messageRepository.findByIdAndNotDeleted(rootMessage.getId()).orElseThrow();
+
+            assertThat(messageRepository.findUserMessagesFirst(author, limit))
+                    .extracting(Message::getId).containsExactly(rootMessage.getId());
+            assertThat(messageRepository.findUserMessagesAfter(author, root.getCreatedAt(),
+                    root.getId(), limit)).isEmpty();
+            assertThat(messageRepository.countByUserAndNotDeleted(author)).isEqualTo(1);
+            assertThat(messageRepository.findRecentRootMessagesFirst(limit))
+                    .extracting(Message::getId).containsExactly(rootMessage.getId());
+            assertThat(messageRepository.findRecentRootMessagesAfter(root.getCreatedAt(),
+                    root.getId(), limit)).isEmpty();
+        }
+    }
+
     @Nested
     @DisplayName("Cleanup Queries")
     class CleanupQueries {
@@ -0,0 +1,118 @@
+package com.gtcafe.pgb.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MariaDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Runs the Flyway migrations against MariaDB, since they use MariaDB-only syntax that the H2 test
+ * profile cannot run. Messages are inserted on the V1 schema, then V2 must backfill their thread
+ * columns.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Message Thread Migration Tests")
+class MessageThreadMigrationTest {
+
+    @Container
+    private static final MariaDBContainer<?> MARIADB =
+            new MariaDBContainer<>(DockerImageName.parse("mariadb:11.2"));
+
+    @Test
+    @DisplayName("Should backfill depth, thread root and thread path for existing replies")
+    void shouldBackfillThreadColumnsForExistingReplies() throws SQLException {
+        // Given - a root message with a reply and a nested reply on the V1 schema
+        flyway("1").migrate();
+        long root;
+        long reply;
+        long nested;
+        try (Connection connection = connect()) {
+            long userId = insert(connection,
+                    "INSERT INTO users (sso_id, username, email) VALUES ('sso-1', 'owner', 'owner@example.com')");
+            root = insertMessage(connection, userId, null);
+            reply = insertMessage(connection, userId, root);
+            nested = insertMessage(connection, userId, reply);
+        }
+
+        // When
+        flyway(null).migrate();
+
+        // Then
+        try (Connection connection = connect()) {
+            assertThread(connection, root, 0, null, "");
+            assertThread(connection, reply, 1, root, pathOf(root));
+            assertThread(connection, nested, 2, root, pathOf(root) + pathOf(reply));
+        }
+    }
+
+    private Flyway flyway(String target) {
+        var configuration = Flyway.configure()
+                .dataSource(MARIADB.getJdbcUrl(), MARIADB.getUsername(), MARIADB.getPassword())
+                .locations("classpath:db/migration");
+        if (target != null) {
+            configuration.target(target);
+        }
+        return configuration.load();
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(MARIADB.getJdbcUrl(), MARIADB.getUsername(),
+                MARIADB.getPassword());
+    }
+
+    private long insertMessage(Connection connection, long userId, Long parentId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO messages (user_id, board_owner_id, content, parent_message_id) VALUES (?, ?, 'content', ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            statement.setLong(1, userId);
+            statement.setLong(2, userId);
+            statement.setObject(3, parentId);
+            statement.executeUpdate();
+            return generatedKey(statement);
+        }
+    }
+
+    private long insert(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql, Statement.RETURN_GENERATED_KEYS);
+            return generatedKey(statement);
+        }
+    }
+
+    private long generatedKey(Statement statement) throws SQLException {
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            keys.next();
+            return keys.getLong(1);
+        }
+    }
+
+    private void assertThread(Connection connection, long id, int depth, Long rootId, String path)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT depth, thread_root_id, thread_path FROM messages WHERE id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet row = statement.executeQuery()) {
+                assertThat(row.next()).isTrue();
+                assertThat(row.getInt("depth")).isEqualTo(depth);
+                assertThat(row.getObject("thread_root_id", Long.class)).isEqualTo(rootId);
+                assertThat(row.getString("thread_path")).isEqualTo(path);
+            }
+        }
+    }
+
+    private static String pathOf(long id) {
+        return String.format("%019d/", id);
+    }
+}
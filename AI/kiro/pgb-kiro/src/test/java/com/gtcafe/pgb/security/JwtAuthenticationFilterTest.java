@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -20,7 +21,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import com.gtcafe.pgb.service.TokenBlacklistService;
-import com.gtcafe.pgb.util.JwtUtil;
+import com.gtcafe.pgb.util.JwtConstants;
+import com.gtcafe.pgb.util.VerifiedToken;
+
+import io.jsonwebtoken.JwtException;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
@@ -33,7 +37,7 @@ import jakarta.servlet.http.HttpServletResponse;
 class JwtAuthenticationFilterTest {
 
     @Mock
-    private JwtUtil jwtUtil;
+    private TokenVerifier tokenVerifier;
 
     @Mock
     private TokenBlacklistService tokenBlacklistService;
@@ -51,10 +55,15 @@ class JwtAuthenticationFilterTest {
 
     @BeforeEach
     void setUp() {
-        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtUtil, tokenBlacklistService);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(tokenVerifier, tokenBlacklistService);
         SecurityContextHolder.clearContext();
     }
 
+    private static VerifiedToken verifiedToken(String tokenType, String username, Long userId) {
+        long now = System.currentTimeMillis();
+        return new VerifiedToken("hash-of-" + username, userId, username, tokenType, now, now + 900000L);
+    }
+
     @Test
     void testDoFilterInternal_ValidToken_SetsAuthentication() throws Exception {
         // Arrange
@@ -62,12 +71,12 @@ class JwtAuthenticationFilterTest {
         String username = "testuser";
         Long userId = 1L;
 
+        VerifiedToken verified = verifiedToken(JwtConstants.ACCESS_TOKEN_TYPE, username, userId);
+
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.isAccessToken(token)).thenReturn(true);
-        when(tokenBlacklistService.isTokenBlacklisted(token)).thenReturn(false);
-        when(jwtUtil.extractUsername(token)).thenReturn(username);
-        when(jwtUtil.extractUserId(token)).thenReturn(userId);
+        when(tokenVerifier.verify(token)).thenReturn(verified);
+        when(tokenBlacklistService.isTokenHashBlacklisted(verified.getTokenHash(), verified.getExpiration()))
+                .thenReturn(false);
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -95,7 +104,7 @@ class JwtAuthenticationFilterTest {
         assertNull(authentication);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(tokenVerifier, never()).verify(anyString());
     }
 
     @Test
@@ -104,7 +113,7 @@ class JwtAuthenticationFilterTest {
         String token = "invalid-jwt-token";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(false);
+        when(tokenVerifier.verify(token)).thenThrow(new JwtException(JwtConstants.INVALID_TOKEN_MESSAGE));
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -114,8 +123,8 @@ class JwtAuthenticationFilterTest {
         assertNull(authentication);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtil).validateToken(token);
-        verify(jwtUtil, never()).isAccessToken(anyString());
+        verify(tokenVerifier).verify(token);
+        verify(tokenBlacklistService, never()).isTokenHashBlacklisted(anyString(), any());
     }
 
     @Test
@@ -124,8 +133,7 @@ class JwtAuthenticationFilterTest {
         String token = "refresh-jwt-token";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.isAccessToken(token)).thenReturn(false);
+        when(tokenVerifier.verify(token)).thenReturn(verifiedToken(JwtConstants.REFRESH_TOKEN_TYPE, "testuser", 1L));
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -135,9 +143,8 @@ class JwtAuthenticationFilterTest {
         assertNull(authentication);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtil).validateToken(token);
-        verify(jwtUtil).isAccessToken(token);
-        verify(tokenBlacklistService, never()).isTokenBlacklisted(anyString());
+        verify(tokenVerifier).verify(token);
+        verify(tokenBlacklistService, never()).isTokenHashBlacklisted(anyString(), any());
     }
 
     @Test
@@ -145,10 +152,12 @@ class JwtAuthenticationFilterTest {
         // Arrange
         String token = "blacklisted-jwt-token";
 
+        VerifiedToken verified = verifiedToken(JwtConstants.ACCESS_TOKEN_TYPE, "testuser", 1L);
+
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.isAccessToken(token)).thenReturn(true);
-        when(tokenBlacklistService.isTokenBlacklisted(token)).thenReturn(true);
+        when(tokenVerifier.verify(token)).thenReturn(verified);
+        when(tokenBlacklistService.isTokenHashBlacklisted(verified.getTokenHash(), verified.getExpiration()))
+                .thenReturn(true);
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -158,10 +167,8 @@ class JwtAuthenticationFilterTest {
         assertNull(authentication);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtil).validateToken(token);
-        verify(jwtUtil).isAccessToken(token);
-        verify(tokenBlacklistService).isTokenBlacklisted(token);
-        verify(jwtUtil, never()).extractUsername(anyString());
+        verify(tokenVerifier).verify(token);
+        verify(tokenBlacklistService).isTokenHashBlacklisted(verified.getTokenHash(), verified.getExpiration());
     }
 
     @Test
@@ -183,7 +190,7 @@ class JwtAuthenticationFilterTest {
         assertEquals(existingAuth, authentication);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(tokenVerifier, never()).verify(anyString());
     }
 
     @Test
@@ -192,7 +199,48 @@ class JwtAuthenticationFilterTest {
         String token = "problematic-jwt-token";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenThrow(new RuntimeException("Token validation error"));
+        when(tokenVerifier.verify(token)).thenThrow(new RuntimeException("Token validation error"));
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNull(authentication);
+
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void testDoFilterInternal_MalformedToken_NoAuthentication() throws Exception {
+        // Arrange
+        String token = "malformed-jwt-token";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(tokenVerifier.verify(token)).thenThrow(new IllegalArgumentException("JWT String argument cannot be null or empty"));
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNull(authentication);
+
+        verify(filterChain).doFilter(request, response);
+        verify(tokenBlacklistService, never()).isTokenHashBlacklisted(anyString(), any());
+    }
+
+    @Test
+    void testDoFilterInternal_BlacklistLookupFails_NoAuthentication() throws Exception {
+        // Arrange
+        String token = "valid-jwt-token";
+
+        VerifiedToken verified = verifiedToken(JwtConstants.ACCESS_TOKEN_TYPE, "testuser", 1L);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(tokenVerifier.verify(token)).thenReturn(verified);
+        when(tokenBlacklistService.isTokenHashBlacklisted(verified.getTokenHash(), verified.getExpiration()))
+                .thenThrow(new RuntimeException("Blacklist lookup failed"));
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -251,18 +299,18 @@ class JwtAuthenticationFilterTest {
         String username = "testuser";
         Long userId = 1L;
 
+        VerifiedToken verified = verifiedToken(JwtConstants.ACCESS_TOKEN_TYPE, username, userId);
+
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.isAccessToken(token)).thenReturn(true);
-        when(tokenBlacklistService.isTokenBlacklisted(token)).thenReturn(false);
-        when(jwtUtil.extractUsername(token)).thenReturn(username);
-        when(jwtUtil.extractUserId(token)).thenReturn(userId);
+        when(tokenVerifier.verify(token)).thenReturn(verified);
+        when(tokenBlacklistService.isTokenHashBlacklisted(verified.getTokenHash(), verified.getExpiration()))
+                .thenReturn(false);
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(jwtUtil).validateToken(token);
+        verify(tokenVerifier).verify(token);
     }
 
     @Test
@@ -278,6 +326,6 @@ class JwtAuthenticationFilterTest {
         assertNull(authentication);
 
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(tokenVerifier, never()).verify(anyString());
     }
 }
\ No newline at end of file
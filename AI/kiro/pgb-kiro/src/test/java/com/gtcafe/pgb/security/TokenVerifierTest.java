@@ -0,0 +1,137 @@
+package com.gtcafe.pgb.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.gtcafe.pgb.config.JwtConfig;
+import com.gtcafe.pgb.util.JwtUtil;
+import com.gtcafe.pgb.util.VerifiedToken;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * TokenVerifier 單元測試
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenVerifierTest {
+
+    @Mock
+    private JwtConfig jwtConfig;
+
+    private JwtUtil jwtUtil;
+    private TokenVerifier tokenVerifier;
+
+    private static final String TEST_SECRET = "testSecretKeyForJwtTokenGenerationAndValidationInUnitTestsThisNeedsToBeAtLeast256BitsLong";
+    private static final Long TEST_USER_ID = 1L;
+    private static final String TEST_USERNAME = "testuser";
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(jwtConfig.getSecret()).thenReturn(TEST_SECRET);
+        lenient().when(jwtConfig.getAccessTokenExpiration()).thenReturn(900000L);
+        lenient().when(jwtConfig.getRefreshTokenExpiration()).thenReturn(604800000L);
+
+        jwtUtil = spy(new JwtUtil(jwtConfig));
+        tokenVerifier = new TokenVerifier(jwtUtil, 3);
+    }
+
+    @Test
+    void shouldVerifyTokenIntoClaims() {
+        // Given
+        String token = jwtUtil.generateAccessToken(TEST_USER_ID, TEST_USERNAME);
+
+        // When
+        VerifiedToken verified = tokenVerifier.verify(token);
+
+        // Then
+        assertThat(verified.getUsername()).isEqualTo(TEST_USERNAME);
+        assertThat(verified.getUserId()).isEqualTo(TEST_USER_ID);
+        assertThat(verified.isAccessToken()).isTrue();
+        assertThat(verified.getTokenHash()).isEqualTo(jwtUtil.getTokenHash(token));
+        assertThat(verified.isExpired(System.currentTimeMillis())).isFalse();
+    }
+
+    @Test
+    void shouldVerifySignatureOnlyOncePerToken() {
+        // Given
+        String token = jwtUtil.generateAccessToken(TEST_USER_ID, TEST_USERNAME);
+
+        // When
+        VerifiedToken first = tokenVerifier.verify(token);
+        VerifiedToken second = tokenVerifier.verify(token);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(jwtUtil, times(1)).verify(anyString());
+        assertThat(tokenVerifier.getCacheHits()).isEqualTo(1);
+        assertThat(tokenVerifier.getCacheMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectInvalidToken() {
+        assertThatThrownBy(() -> tokenVerifier.verify("invalid.jwt.token"))
+                .isInstanceOf(JwtException.class);
+        assertThat(tokenVerifier.getCacheSize()).isZero();
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithAnotherKey() {
+        // Given
+        JwtConfig otherConfig = new JwtConfig();
+        otherConfig.setSecret("anotherSecretKeyForJwtTokenGenerationThatIsAlsoAtLeast256BitsLongForHmacSha512Signing");
+        otherConfig.setAccessTokenExpiration(900000L);
+        String forged = new JwtUtil(otherConfig).generateAccessToken(TEST_USER_ID, TEST_USERNAME);
+
+        // When & Then
+        assertThatThrownBy(() -> tokenVerifier.verify(forged))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        // Given
+        lenient().when(jwtConfig.getAccessTokenExpiration()).thenReturn(-1000L);
+        String token = new JwtUtil(jwtConfig).generateAccessToken(TEST_USER_ID, TEST_USERNAME);
+
+        // When & Then
+        assertThatThrownBy(() -> tokenVerifier.verify(token))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void shouldBoundCacheSize() {
+        // When
+        for (long userId = 1; userId <= 10; userId++) {
+            tokenVerifier.verify(jwtUtil.generateAccessToken(userId, "user" + userId));
+        }
+
+        // Then
+        assertThat(tokenVerifier.getCacheSize()).isLessThanOrEqualTo(3);
+        assertThat(tokenVerifier.getEvictions()).isPositive();
+    }
+
+    @Test
+    void shouldVerifyAgainAfterInvalidate() {
+        // Given
+        String token = jwtUtil.generateAccessToken(TEST_USER_ID, TEST_USERNAME);
+        VerifiedToken verified = tokenVerifier.verify(token);
+
+        // When
+        tokenVerifier.invalidate(verified.getTokenHash());
+        tokenVerifier.verify(token);
+
+        // Then
+        verify(jwtUtil, times(2)).verify(anyString());
+    }
+}
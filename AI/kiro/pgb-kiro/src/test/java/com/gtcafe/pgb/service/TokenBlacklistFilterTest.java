@@ -0,0 +1,192 @@
+package com.gtcafe.pgb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.gtcafe.pgb.config.JwtConfig;
+import com.gtcafe.pgb.entity.TokenBlacklist;
+import com.gtcafe.pgb.repository.TokenBlacklistRepository;
+import com.gtcafe.pgb.util.JwtConstants;
+
+/**
+ * TokenBlacklistFilter 單元測試
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenBlacklistFilterTest {
+
+    @Mock
+    private TokenBlacklistRepository tokenBlacklistRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private TokenBlacklistFilter blacklistFilter;
+
+    private static final long EXPIRES_AT = System.currentTimeMillis() + 900000;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(tokenBlacklistRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(
+                anyLong(), any(LocalDateTime.class), any(Pageable.class))).thenReturn(Collections.emptyList());
+        blacklistFilter = new TokenBlacklistFilter(tokenBlacklistRepository, redisTemplate, null,
+                new JwtConfig.BlacklistFilter());
+    }
+
+    @Test
+    void shouldBypassFilterUntilLoaded() {
+        // Then - 尚未載入時必須走遠端查詢
+        assertThat(blacklistFilter.isReady()).isFalse();
+        assertThat(blacklistFilter.mightBeBlacklisted("hash", EXPIRES_AT)).isTrue();
+    }
+
+    @Test
+    void shouldLoadBlacklistFromDatabase() {
+        // Given
+        TokenBlacklist entry = new TokenBlacklist("blacklisted-hash", LocalDateTime.now().plusMinutes(15));
+        entry.setId(7L);
+        when(tokenBlacklistRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(
+                eq(0L), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(entry));
+
+        // When
+        blacklistFilter.sync();
+
+        // Then
+        assertThat(blacklistFilter.isReady()).isTrue();
+        assertThat(blacklistFilter.mightBeBlacklisted("blacklisted-hash", EXPIRES_AT)).isTrue();
+        assertThat(blacklistFilter.mightBeBlacklisted("blacklisted-hash")).isTrue();
+        assertThat(blacklistFilter.mightBeBlacklisted("other-hash", EXPIRES_AT)).isFalse();
+        assertThat(blacklistFilter.getFilterNegatives()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPullOnlyNewEntriesAfterLoad() {
+        // Given
+        TokenBlacklist entry = new TokenBlacklist("first-hash", LocalDateTime.now().plusMinutes(15));
+        entry.setId(3L);
+        when(tokenBlacklistRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(
+                eq(0L), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(entry));
+        blacklistFilter.sync();
+
+        // When
+        blacklistFilter.sync();
+
+        // Then
+        verify(tokenBlacklistRepository).findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(
+                eq(3L), any(LocalDateTime.class), any(Pageable.class));
+    }
+
+    @Test
+    void shouldAddAndPublishLocallyBlacklistedToken() {
+        // Given
+        blacklistFilter.sync();
+
+        // When
+        blacklistFilter.onTokenBlacklisted("new-hash", EXPIRES_AT);
+
+        // Then
+        assertThat(blacklistFilter.mightBeBlacklisted("new-hash", EXPIRES_AT)).isTrue();
+        verify(redisTemplate).convertAndSend(JwtConstants.BLACKLIST_EVENTS_CHANNEL, "new-hash:" + EXPIRES_AT);
+    }
+
+    @Test
+    void shouldKeepLocalEntryWhenPublishFails() {
+        // Given
+        blacklistFilter.sync();
+        doThrow(new RuntimeException("Redis down")).when(redisTemplate)
+                .convertAndSend(JwtConstants.BLACKLIST_EVENTS_CHANNEL, "new-hash:" + EXPIRES_AT);
+
+        // When
+        blacklistFilter.onTokenBlacklisted("new-hash", EXPIRES_AT);
+
+        // Then
+        assertThat(blacklistFilter.mightBeBlacklisted("new-hash", EXPIRES_AT)).isTrue();
+    }
+
+    @Test
+    void shouldApplyEventsFromOtherInstances() {
+        // Given
+        blacklistFilter.sync();
+        byte[] body = ("remote-hash:" + EXPIRES_AT).getBytes(StandardCharsets.UTF_8);
+
+        // When
+        blacklistFilter.onMessage(new DefaultMessage(
+                JwtConstants.BLACKLIST_EVENTS_CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+
+        // Then
+        assertThat(blacklistFilter.mightBeBlacklisted("remote-hash", EXPIRES_AT)).isTrue();
+    }
+
+    @Test
+    void shouldStayNotReadyWhenDatabaseFails() {
+        // Given
+        when(tokenBlacklistRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(
+                anyLong(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenThrow(new RuntimeException("Database down"));
+
+        // When
+        blacklistFilter.sync();
+
+        // Then
+        assertThat(blacklistFilter.isReady()).isFalse();
+        assertThat(blacklistFilter.mightBeBlacklisted("hash", EXPIRES_AT)).isTrue();
+    }
+
+    @Test
+    void shouldBypassFilterWhenSyncIsStale() throws InterruptedException {
+        // Given - 載入成功後，之後的同步都失敗
+        JwtConfig.BlacklistFilter config = new JwtConfig.BlacklistFilter();
+        config.setSyncIntervalSeconds(0);
+        TokenBlacklistFilter staleFilter = new TokenBlacklistFilter(tokenBlacklistRepository, redisTemplate, null, config);
+        staleFilter.sync();
+        when(tokenBlacklistRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(
+                anyLong(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenThrow(new RuntimeException("Database down"));
+        staleFilter.sync();
+
+        // When
+        Thread.sleep(5);
+
+        // Then - 超過兩個同步間隔未同步，必須走遠端查詢
+        assertThat(staleFilter.isReady()).isTrue();
+        assertThat(staleFilter.mightBeBlacklisted("hash", EXPIRES_AT)).isTrue();
+        assertThat(staleFilter.mightBeBlacklisted("hash")).isTrue();
+        assertThat(staleFilter.getFilterNegatives()).isZero();
+    }
+
+    @Test
+    void shouldTrackFalsePositiveRate() {
+        // Given
+        blacklistFilter.sync();
+        blacklistFilter.mightBeBlacklisted("a", EXPIRES_AT);
+        blacklistFilter.mightBeBlacklisted("b", EXPIRES_AT);
+        blacklistFilter.mightBeBlacklisted("c", EXPIRES_AT);
+
+        // When - 遠端查詢否定了一次 filter 命中
+        blacklistFilter.recordRemoteCheck(false);
+
+        // Then
+        assertThat(blacklistFilter.getRemoteChecks()).isEqualTo(1);
+        assertThat(blacklistFilter.getFalsePositives()).isEqualTo(1);
+        assertThat(blacklistFilter.getObservedFalsePositiveRate()).isEqualTo(0.25);
+    }
+}
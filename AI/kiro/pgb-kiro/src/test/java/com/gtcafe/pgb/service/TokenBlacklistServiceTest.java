@@ -8,8 +8,10 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
@@ -239,4 +241,39 @@ class TokenBlacklistServiceTest {
         // Then
         assertThat(count).isZero();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldSkipRemoteChecksWhenFilterRulesTokenOut() {
+        // Given
+        TokenBlacklistFilter blacklistFilter = mock(TokenBlacklistFilter.class);
+        when(blacklistFilter.mightBeBlacklisted(TEST_TOKEN_HASH, TEST_EXPIRATION.getTime())).thenReturn(false);
+        TokenBlacklistService service = new TokenBlacklistService(
+                tokenBlacklistRepository, jwtUtil, redisTemplate, blacklistFilter);
+
+        // When
+        boolean isBlacklisted = service.isTokenHashBlacklisted(TEST_TOKEN_HASH, TEST_EXPIRATION);
+
+        // Then
+        assertThat(isBlacklisted).isFalse();
+        verifyNoInteractions(redisTemplate, tokenBlacklistRepository);
+    }
+
+    @Test
+    void shouldConfirmFilterHitWithRemoteChecks() {
+        // Given
+        TokenBlacklistFilter blacklistFilter = mock(TokenBlacklistFilter.class);
+        when(blacklistFilter.mightBeBlacklisted(TEST_TOKEN_HASH, TEST_EXPIRATION.getTime())).thenReturn(true);
+        when(redisTemplate.hasKey("token:blacklist:" + TEST_TOKEN_HASH)).thenReturn(false);
+        when(tokenBlacklistRepository.existsByTokenHashAndExpiresAtAfter(eq(TEST_TOKEN_HASH), any(LocalDateTime.class)))
+                .thenReturn(false);
+        TokenBlacklistService service = new TokenBlacklistService(
+                tokenBlacklistRepository, jwtUtil, redisTemplate, blacklistFilter);
+
+        // When
+        boolean isBlacklisted = service.isTokenHashBlacklisted(TEST_TOKEN_HASH, TEST_EXPIRATION);
+
+        // Then
+        assertThat(isBlacklisted).isFalse();
+        verify(blacklistFilter).recordRemoteCheck(false);
+    }
+}
@@ -0,0 +1,301 @@
+package com.gtcafe.pgb.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import com.gtcafe.pgb.entity.Message;
+import com.gtcafe.pgb.entity.User;
+import com.gtcafe.pgb.repository.MessageRepository;
+import com.gtcafe.pgb.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BoardRankingService Implementation Tests")
+class BoardRankingServiceImplTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private BoardRankingServiceImpl boardRankingService;
+
+    private User boardOwner;
+    private Message rootMessage;
+    private Message replyMessage;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        boardRankingService =
+                new BoardRankingServiceImpl(redisTemplate, messageRepository, userRepository);
+
+        boardOwner = User.builder().id(7L).username("owner").isActive(true).build();
+        rootMessage = Message.builder().id(1L).user(boardOwner).boardOwner(boardOwner)
+                .content("root").createdAt(LocalDateTime.now()).build();
+        replyMessage = Message.builder().id(2L).user(boardOwner).boardOwner(boardOwner)
+                .content("reply").parentMessage(rootMessage).createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should increment the current bucket for root messages")
+    void shouldIncrementBucketForRootMessage() {
+        // When
+        boardRankingService.recordMessageCreated(rootMessage);
+
+        // Then
+        verify(zSetOperations).incrementScore(startsWith("board_ranking:bucket:"), eq("7"), eq(1.0));
+        verify(redisTemplate).expire(startsWith("board_ranking:bucket:"), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should not rank replies")
+    void shouldNotRankReplies() {
+        // When
+        boardRankingService.recordMessageCreated(replyMessage);
+        boardRankingService.recordMessageDeleted(replyMessage);
+
+        // Then
+        verify(redisTemplate, never()).opsForZSet();
+    }
+
+    @Test
+    @DisplayName("Should decrement and drop empty entries on delete")
+    void shouldDecrementOnDelete() {
+        // Given
+        when(zSetOperations.incrementScore(anyString(), eq("7"), eq(-1.0))).thenReturn(0.0);
+
+        // When
+        boardRankingService.recordMessageDeleted(rootMessage);
+
+        // Then
+        verify(zSetOperations).remove(startsWith("board_ranking:bucket:"), eq("7"));
+    }
+
+    @Test
+    @DisplayName("Should ignore deletes outside the ranking window")
+    void shouldIgnoreDeletesOutsideWindow() {
+        // Given
+        rootMessage.setCreatedAt(LocalDateTime.now().minusDays(30));
+
+        // When
+        boardRankingService.recordMessageDeleted(rootMessage);
+
+        // Then
+        verify(redisTemplate, never()).opsForZSet();
+    }
+
+    @Test
+    @DisplayName("Should never fail message writes when Redis is unavailable")
+    void shouldSwallowRedisErrorsOnWrite() {
+        // Given
+        when(zSetOperations.incrementScore(anyString(), anyString(), eq(1.0)))
+                .thenThrow(new RuntimeException("Redis down"));
+
+        // When
+        boardRankingService.recordMessageCreated(rootMessage);
+
+        // Then - no exception
+        verify(redisTemplate, never()).expire(anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should read a page of the merged ranking without scanning messages")
+    void shouldReadPageFromMergedRanking() {
+        // Given - merged recently
+        when(valueOperations.setIfAbsent(eq("board_ranking:merged:fresh"), eq("1"),
+                any(Duration.class))).thenReturn(false);
+        when(zSetOperations.reverseRange("board_ranking:merged", 10, 14))
+                .thenReturn(new LinkedHashSet<>(Arrays.asList("3", "9")));
+
+        // When
+        List<Long> ids = boardRankingService.getTopBoardOwnerIds(10, 5);
+
+        // Then
+        assertThat(ids).containsExactly(3L, 9L);
+        verify(messageRepository, never()).findRecentRootMessages(any());
+        verify(valueOperations, never()).setIfAbsent(eq("board_ranking:seeded"), anyString(),
+                any(Duration.class));
+        verify(zSetOperations, never()).unionAndStore(anyString(), anyCollection(), anyString(),
+                any(Aggregate.class), any(Weights.class));
+    }
+
+    @Test
+    @DisplayName("Should clear the buckets, reseed them from the database and merge when a reseed is due")
+    void shouldClearBucketsBeforeReseeding() {
+        // Given
+        when(valueOperations.setIfAbsent(anyString(), eq("1"), any(Duration.class))).thenReturn(true);
+        when(messageRepository.findRecentRootMessages(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(rootMessage)));
+        when(zSetOperations.unionAndStore(anyString(), anyCollection(), eq("board_ranking:merged:tmp"),
+                eq(Aggregate.SUM), any(Weights.class))).thenReturn(1L);
+
+        // When
+        boardRankingService.maintain();
+
+        // Then
+        InOrder inOrder = inOrder(redisTemplate, zSetOperations);
+        inOrder.verify(redisTemplate).delete(anyCollection());
+        inOrder.verify(zSetOperations).add(startsWith("board_ranking:bucket:"), any());
+        inOrder.verify(redisTemplate).rename("board_ranking:merged:tmp", "board_ranking:merged");
+    }
+
+    @Test
+    @DisplayName("Should only merge in the maintenance job when no reseed is due")
+    void shouldMergeWithoutReseedingWhenSeeded() {
+        // Given
+        when(valueOperations.setIfAbsent(eq("board_ranking:seeded"), eq("1"), any(Duration.class)))
+                .thenReturn(false);
+        when(valueOperations.setIfAbsent(eq("board_ranking:merged:fresh"), eq("1"),
+                any(Duration.class))).thenReturn(true);
+        when(zSetOperations.unionAndStore(anyString(), anyCollection(), eq("board_ranking:merged:tmp"),
+                eq(Aggregate.SUM), any(Weights.class))).thenReturn(1L);
+
+        // When
+        boardRankingService.maintain();
+
+        // Then
+        verify(messageRepository, never()).findRecentRootMessages(any());
+        verify(redisTemplate, never()).delete(anyCollection());
+        verify(redisTemplate).rename("board_ranking:merged:tmp", "board_ranking:merged");
+    }
+
+    @Test
+    @DisplayName("Should allow another reseed attempt when seeding fails")
+    void shouldReleaseSeededFlagWhenReseedFails() {
+        // Given
+        when(valueOperations.setIfAbsent(eq("board_ranking:seeded"), eq("1"), any(Duration.class)))
+                .thenReturn(true);
+        when(messageRepository.findRecentRootMessages(any(Pageable.class)))
+                .thenThrow(new RuntimeException("Database down"));
+
+        // When & Then
+        assertThatThrownBy(() -> boardRankingService.maintain()).hasMessage("Database down");
+        verify(redisTemplate).delete("board_ranking:seeded");
+    }
+
+    @Test
+    @DisplayName("Should seed the hidden set with inactive owners")
+    void shouldSeedHiddenSetWithInactiveOwners() {
+        // Given
+        when(valueOperations.setIfAbsent(anyString(), eq("1"), any(Duration.class))).thenReturn(true);
+        when(userRepository.findInactiveUserIds()).thenReturn(Arrays.asList(3L, 5L));
+        when(messageRepository.findRecentRootMessages(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.emptyList()));
+
+        // When
+        boardRankingService.maintain();
+
+        // Then
+        verify(redisTemplate).delete("board_ranking:hidden");
+        verify(setOperations).add("board_ranking:hidden", "3", "5");
+    }
+
+    @Test
+    @DisplayName("Should drop hidden boards from the merged ranking")
+    void shouldDropHiddenBoardsWhenMerging() {
+        // Given - merge due
+        when(valueOperations.setIfAbsent(eq("board_ranking:merged:fresh"), eq("1"),
+                any(Duration.class))).thenReturn(true);
+        when(zSetOperations.unionAndStore(anyString(), anyCollection(), eq("board_ranking:merged:tmp"),
+                eq(Aggregate.SUM), any(Weights.class))).thenReturn(2L);
+        when(setOperations.members("board_ranking:hidden"))
+                .thenReturn(new LinkedHashSet<>(Arrays.asList("3")));
+        when(zSetOperations.remove("board_ranking:merged:tmp", "3")).thenReturn(1L);
+        when(zSetOperations.zCard("board_ranking:merged")).thenReturn(1L);
+
+        // When
+        long count = boardRankingService.getRankedBoardCount();
+
+        // Then
+        assertThat(count).isEqualTo(1L);
+        verify(redisTemplate).rename("board_ranking:merged:tmp", "board_ranking:merged");
+    }
+
+    @Test
+    @DisplayName("Should hide a board right away when its owner is deactivated")
+    void shouldHideBoardWhenOwnerDeactivated() {
+        // When
+        boardRankingService.updateBoardVisibility(7L, false);
+
+        // Then
+        verify(setOperations).add("board_ranking:hidden", "7");
+        verify(zSetOperations).remove("board_ranking:merged", "7");
+        verify(redisTemplate).delete("board_ranking:merged:fresh");
+    }
+
+    @Test
+    @DisplayName("Should rank a board again on the next merge when its owner is activated")
+    void shouldShowBoardWhenOwnerActivated() {
+        // When
+        boardRankingService.updateBoardVisibility(7L, true);
+
+        // Then
+        verify(setOperations).remove("board_ranking:hidden", "7");
+        verify(zSetOperations, never()).remove(anyString(), any());
+        verify(redisTemplate).delete("board_ranking:merged:fresh");
+    }
+
+    @Test
+    @DisplayName("Should return an empty page when Redis is unavailable")
+    void shouldReturnEmptyWhenRedisUnavailable() {
+        // Given
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RuntimeException("Redis down"));
+
+        // When & Then
+        assertThat(boardRankingService.getTopBoardOwnerIds(0, 10)).isEmpty();
+        assertThat(boardRankingService.getRankedBoardCount()).isZero();
+    }
+
+    private static String startsWith(String prefix) {
+        return org.mockito.ArgumentMatchers.startsWith(prefix);
+    }
+}
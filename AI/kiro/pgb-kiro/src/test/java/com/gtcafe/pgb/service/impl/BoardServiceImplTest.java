@@ -7,8 +7,11 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,8 +34,10 @@ import com.gtcafe.pgb.entity.Message;
 import com.gtcafe.pgb.entity.User;
 import com.gtcafe.pgb.repository.MessageRepository;
 import com.gtcafe.pgb.repository.UserRepository;
+import com.gtcafe.pgb.service.BoardRankingService;
 import com.gtcafe.pgb.service.BoardService;
 import com.gtcafe.pgb.service.CacheService;
+import com.gtcafe.pgb.service.MessageSearchService;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("BoardService Implementation Tests")
@@ -47,6 +52,12 @@ class BoardServiceImplTest {
     @Mock
     private CacheService cacheService;
 
+    @Mock
+    private BoardRankingService boardRankingService;
+
+    @Mock
+    private MessageSearchService messageSearchService;
+
     @InjectMocks
     private BoardServiceImpl boardService;
 
@@ -81,6 +92,10 @@ class BoardServiceImplTest {
                 .updatedAt(LocalDateTime.now().minusHours(1)).isDeleted(false).build();
 
         pageable = PageRequest.of(0, 10);
+
+        // Resolve namespaced cache keys to the plain key
+        lenient().when(cacheService.namespacedKey(anyString(), any(String[].class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Nested
@@ -154,7 +169,7 @@ class BoardServiceImplTest {
             List<Message> messages = Arrays.asList(rootMessage);
 
             when(cacheService.get(anyString(), eq(List.class))).thenReturn(null);
-            when(messageRepository.findByBoardOwnerWithReplies(boardOwner)).thenReturn(messages);
+            when(messageRepository.findBoardThreadsAndNotDeleted(boardOwner)).thenReturn(messages);
 
             // When
             List<Message> result = boardService.getBoardMessagesWithReplies(boardOwner, viewer);
@@ -163,7 +178,7 @@ class BoardServiceImplTest {
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(rootMessage, result.get(0));
-            verify(cacheService).set(anyString(), eq(messages), any());
+            verify(cacheService).set(anyString(), eq(result), any());
         }
     }
 
@@ -250,7 +265,7 @@ class BoardServiceImplTest {
             Page<Message> searchPage = new PageImpl<>(searchResults, pageable, 1);
 
             when(cacheService.get(anyString(), eq(Page.class))).thenReturn(null);
-            when(messageRepository.searchByBoardOwnerAndContent(boardOwner, keyword, pageable))
+            when(messageSearchService.searchBoardMessages(boardOwner, keyword, pageable))
                     .thenReturn(searchPage);
 
             // When
@@ -283,7 +298,7 @@ class BoardServiceImplTest {
             // Then
             assertNotNull(result);
             assertEquals(1, result.getTotalElements());
-            verify(messageRepository, never()).searchByBoardOwnerAndContent(any(), any(), any());
+            verify(messageSearchService, never()).searchBoardMessages(any(), any(), any());
         }
 
         @Test
@@ -304,7 +319,7 @@ class BoardServiceImplTest {
             // Then
             assertNotNull(result);
             assertEquals(1, result.getTotalElements());
-            verify(messageRepository, never()).searchByBoardOwnerAndContent(any(), any(), any());
+            verify(messageSearchService, never()).searchBoardMessages(any(), any(), any());
         }
     }
 
@@ -475,42 +490,71 @@ class BoardServiceImplTest {
         }
 
         @Test
-        @DisplayName("Should get popular boards successfully")
-        void shouldGetPopularBoardsSuccessfully() {
+        @DisplayName("Should get popular boards from one page of the ranking")
+        void shouldGetPopularBoardsFromRanking() {
             // Given
-            List<Message> recentMessages = Arrays.asList(rootMessage, replyMessage);
-            Page<Message> recentPage = new PageImpl<>(recentMessages);
-
-            when(cacheService.get(anyString(), eq(Page.class))).thenReturn(null);
-            when(messageRepository.findRecentRootMessages(any(Pageable.class)))
-                    .thenReturn(recentPage);
+            when(boardRankingService.getTopBoardOwnerIds(0L, 10))
+                    .thenReturn(Arrays.asList(2L, 1L));
+            when(boardRankingService.getRankedBoardCount()).thenReturn(2L);
+            when(userRepository.findAllById(Arrays.asList(2L, 1L)))
+                    .thenReturn(Arrays.asList(boardOwner, viewer));
 
             // When
             Page<User> result = boardService.getPopularBoards(viewer, pageable);
 
             // Then
-            assertNotNull(result);
-            assertTrue(result.getTotalElements() >= 0);
-            verify(cacheService).set(anyString(), eq(result), any());
+            assertEquals(2, result.getTotalElements());
+            assertEquals(Arrays.asList(viewer, boardOwner), result.getContent());
+            verify(messageRepository, never()).findRecentRootMessages(any());
         }
 
         @Test
-        @DisplayName("Should return cached popular boards")
-        void shouldReturnCachedPopularBoards() {
+        @DisplayName("Should read only the requested page of popular boards")
+        void shouldReadOnlyRequestedPageOfPopularBoards() {
             // Given
-            List<User> popularUsers = Arrays.asList(boardOwner);
-            Page<User> cachedPopularBoards = new PageImpl<>(popularUsers, pageable, 1);
+            when(boardRankingService.getTopBoardOwnerIds(1L, 1))
+                    .thenReturn(Arrays.asList(2L));
+            when(boardRankingService.getRankedBoardCount()).thenReturn(3L);
+            when(userRepository.findAllById(Arrays.asList(2L)))
+                    .thenReturn(Arrays.asList(viewer));
+
+            // When
+            Page<User> result = boardService.getPopularBoards(viewer, PageRequest.of(1, 1));
+
+            // Then
+            assertEquals(Arrays.asList(viewer), result.getContent());
+            assertEquals(3, result.getTotalElements());
+            verify(boardRankingService).getTopBoardOwnerIds(1L, 1);
+            verify(userRepository).findAllById(Arrays.asList(2L));
+        }
 
-            when(cacheService.get(anyString(), eq(Page.class))).thenReturn(cachedPopularBoards);
+        @Test
+        @DisplayName("Should skip a board deactivated after the ranking was read")
+        void shouldSkipInactiveBoardsInPopularBoards() {
+            // Given
+            when(boardRankingService.getTopBoardOwnerIds(0L, 10))
+                    .thenReturn(Arrays.asList(3L, 1L));
+            when(boardRankingService.getRankedBoardCount()).thenReturn(2L);
+            when(userRepository.findAllById(Arrays.asList(3L, 1L)))
+                    .thenReturn(Arrays.asList(inactiveUser, boardOwner));
 
             // When
             Page<User> result = boardService.getPopularBoards(viewer, pageable);
 
             // Then
-            assertNotNull(result);
-            assertEquals(1, result.getTotalElements());
-            assertEquals(boardOwner, result.getContent().get(0));
-            verify(messageRepository, never()).findRecentRootMessages(any());
+            assertEquals(Arrays.asList(boardOwner), result.getContent());
+        }
+
+        @Test
+        @DisplayName("Should return no popular boards to an inactive viewer")
+        void shouldReturnNoPopularBoardsToInactiveViewer() {
+            // When
+            Page<User> result = boardService.getPopularBoards(inactiveUser, pageable);
+
+            // Then
+            assertTrue(result.getContent().isEmpty());
+            assertEquals(0, result.getTotalElements());
+            verify(boardRankingService, never()).getTopBoardOwnerIds(anyLong(), anyInt());
         }
     }
 
@@ -525,8 +569,8 @@ class BoardServiceImplTest {
             boardService.clearBoardCache(boardOwner.getId());
 
             // Then
-            verify(cacheService).clearByPattern("board:" + boardOwner.getId() + ":*");
-            verify(cacheService).clearByPattern("popular_boards*");
+            verify(cacheService).invalidateNamespace("board:" + boardOwner.getId());
+            verify(cacheService, never()).clearByPattern(anyString());
         }
 
         @Test
@@ -536,8 +580,8 @@ class BoardServiceImplTest {
             boardService.clearAllBoardCaches();
 
             // Then
-            verify(cacheService).clearByPattern("board:*");
-            verify(cacheService).clearByPattern("popular_boards*");
+            verify(cacheService).invalidateNamespace("board");
+            verify(cacheService, never()).clearByPattern(anyString());
         }
     }
 
@@ -607,7 +651,7 @@ class BoardServiceImplTest {
             // Then
             assertNotNull(result);
             assertEquals(1, result.getTotalElements());
-            verify(messageRepository, never()).searchByBoardOwnerAndContent(any(), any(), any());
+            verify(messageSearchService, never()).searchBoardMessages(any(), any(), any());
         }
 
         @Test
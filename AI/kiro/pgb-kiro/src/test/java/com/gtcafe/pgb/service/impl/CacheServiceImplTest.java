@@ -3,9 +3,12 @@ package com.gtcafe.pgb.service.impl;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -13,6 +16,7 @@ import static org.mockito.Mockito.when;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -22,9 +26,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.ListOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.SetOperations;
 import org.springframework.data.redis.core.ValueOperations;
 
@@ -103,6 +110,33 @@ class CacheServiceImplTest {
                 .hasMessage("Failed to set cache");
     }
 
+    @Test
+    void testSetAndCheckExistingCreatesNewKey() {
+        // Given
+        Duration timeout = Duration.ofMinutes(10);
+        when(valueOperations.setIfAbsent("test:key", "value", timeout)).thenReturn(true);
+
+        // When
+        boolean overwritten = ((CacheServiceImpl) cacheService).setAndCheckExisting("test:key", "value", timeout);
+
+        // Then
+        assertThat(overwritten).isFalse();
+        verify(valueOperations, never()).set(anyString(), any(), any(Duration.class));
+    }
+
+    @Test
+    void testSetAndCheckExistingOverwritesExistingKey() {
+        // Given
+        when(valueOperations.setIfAbsent("test:key", "value")).thenReturn(false);
+
+        // When
+        boolean overwritten = ((CacheServiceImpl) cacheService).setAndCheckExisting("test:key", "value", null);
+
+        // Then
+        assertThat(overwritten).isTrue();
+        verify(valueOperations).set("test:key", "value");
+    }
+
     @Test
     void testGet() {
         // Given
@@ -161,6 +195,34 @@ class CacheServiceImplTest {
         assertThat(result).isNull();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetWithExpire() {
+        // Given
+        String key = "test:key";
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenReturn(Arrays.asList("value", 5000L));
+
+        // When
+        CacheServiceImpl.CachedValue result = ((CacheServiceImpl) cacheService).getWithExpire(key);
+
+        // Then
+        assertThat(result.value()).isEqualTo("value");
+        assertThat(result.ttlMillis()).isEqualTo(5000L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetWithExpireReturnsMissOnException() {
+        // Given
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenThrow(new RuntimeException("Redis error"));
+
+        // When
+        CacheServiceImpl.CachedValue result = ((CacheServiceImpl) cacheService).getWithExpire("test:key");
+
+        // Then
+        assertThat(result.value()).isNull();
+    }
+
     @Test
     void testDelete() {
         // Given
@@ -460,45 +522,157 @@ class CacheServiceImplTest {
         // Given
         String pattern = "test:*";
         Set<String> expectedKeys = new HashSet<>(Arrays.asList("test:key1", "test:key2"));
-        when(redisTemplate.keys(pattern)).thenReturn(expectedKeys);
+        Cursor<String> cursor = cursorOf("test:key1", "test:key2");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
 
         // When
         Set<String> result = cacheService.keys(pattern);
 
         // Then
         assertThat(result).isEqualTo(expectedKeys);
-        verify(redisTemplate).keys(pattern);
+        verify(redisTemplate, never()).keys(anyString());
+        verify(cursor).close();
     }
 
     @Test
     void testClearByPattern() {
         // Given
         String pattern = "test:*";
-        Set<String> keys = new HashSet<>(Arrays.asList("test:key1", "test:key2"));
-        when(redisTemplate.keys(pattern)).thenReturn(keys);
-        when(redisTemplate.delete(keys)).thenReturn(2L);
+        Cursor<String> cursor = cursorOf("test:key1", "test:key2");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(redisTemplate.unlink(List.of("test:key1", "test:key2"))).thenReturn(2L);
 
         // When
         Long result = cacheService.clearByPattern(pattern);
 
         // Then
         assertThat(result).isEqualTo(2L);
-        verify(redisTemplate).keys(pattern);
-        verify(redisTemplate).delete(keys);
+        verify(redisTemplate, never()).keys(anyString());
     }
 
     @Test
     void testClearByPatternNoKeys() {
         // Given
         String pattern = "test:*";
-        when(redisTemplate.keys(pattern)).thenReturn(new HashSet<>());
+        Cursor<String> cursor = cursorOf();
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
 
         // When
         Long result = cacheService.clearByPattern(pattern);
 
         // Then
         assertThat(result).isEqualTo(0L);
-        verify(redisTemplate).keys(pattern);
-        verify(redisTemplate, never()).delete(any(Set.class));
+        verify(redisTemplate, never()).unlink(anyCollection());
+    }
+
+    @Test
+    void testNamespacedKey() {
+        // Given
+        when(valueOperations.multiGet(List.of("cache:gen:board", "cache:gen:board:1")))
+                .thenReturn(Arrays.asList(7, 3));
+
+        // When
+        String result = cacheService.namespacedKey("board:1:stats", "board", "board:1");
+
+        // Then
+        assertThat(result).isEqualTo("board:1:stats:v7.3");
+        verify(valueOperations, never()).setIfAbsent(anyString(), any(), any(Duration.class));
+    }
+
+    @Test
+    void testNamespacedKeyCreatesMissingGenerationFromCurrentTime() {
+        // Given - 世代號碼不存在（尚未建立或被淘汰）時以目前時間建立，不會回到 0
+        when(valueOperations.multiGet(List.of("cache:gen:board", "cache:gen:board:1")))
+                .thenReturn(Arrays.asList(null, 3));
+        when(valueOperations.setIfAbsent(eq("cache:gen:board"), any(), eq(CacheServiceImpl.GENERATION_TTL)))
+                .thenReturn(true);
+        long before = System.currentTimeMillis();
+
+        // When
+        String result = cacheService.namespacedKey("board:1:stats", "board", "board:1");
+
+        // Then
+        assertThat(result).matches("board:1:stats:v\\d+\\.3");
+        long generation = Long.parseLong(result.replaceAll("board:1:stats:v(\\d+)\\.3", "$1"));
+        assertThat(generation).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    void testNamespacedKeyReadsGenerationCreatedByAnotherNode() {
+        // Given
+        when(valueOperations.multiGet(List.of("cache:gen:board"))).thenReturn(Arrays.asList((Object) null));
+        when(valueOperations.setIfAbsent(eq("cache:gen:board"), any(), eq(CacheServiceImpl.GENERATION_TTL)))
+                .thenReturn(false);
+        when(valueOperations.get("cache:gen:board")).thenReturn(42L);
+
+        // When
+        String result = cacheService.namespacedKey("board:1:stats", "board");
+
+        // Then
+        assertThat(result).isEqualTo("board:1:stats:v42");
+    }
+
+    @Test
+    void testNamespacedKeyWithoutNamespaces() {
+        // When
+        String result = cacheService.namespacedKey("board:1:stats");
+
+        // Then
+        assertThat(result).isEqualTo("board:1:stats");
+        verify(valueOperations, never()).multiGet(anyCollection());
+    }
+
+    @Test
+    void testNamespacedKeyFailureBypassesCache() {
+        // Given
+        when(valueOperations.multiGet(anyCollection())).thenThrow(new RuntimeException("Redis error"));
+
+        // When
+        String result = cacheService.namespacedKey("board:1:stats", "board", "board:1");
+        cacheService.set(result, "value", Duration.ofMinutes(1));
+        Object value = cacheService.get(result);
+
+        // Then - 不以舊世代的鍵讀寫
+        assertThat(result).isNull();
+        assertThat(value).isNull();
+        verify(valueOperations, never()).set(any(), any(), any(Duration.class));
+        verify(valueOperations, never()).get(any());
+    }
+
+    @Test
+    void testInvalidateNamespace() {
+        // Given
+        when(valueOperations.increment("cache:gen:board:1")).thenReturn(4L);
+
+        // When
+        Long result = cacheService.invalidateNamespace("board:1");
+
+        // Then - 鍵不存在時先以目前時間建立再遞增，不會從 1 重新開始；世代號碼有過期時間
+        assertThat(result).isEqualTo(4L);
+        verify(valueOperations).setIfAbsent(eq("cache:gen:board:1"), any(), eq(CacheServiceImpl.GENERATION_TTL));
+        verify(redisTemplate).expire("cache:gen:board:1", CacheServiceImpl.GENERATION_TTL);
+        verify(redisTemplate, never()).keys(anyString());
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    @Test
+    void testInvalidateNamespaceFailure() {
+        // Given
+        when(valueOperations.increment(anyString())).thenThrow(new RuntimeException("Redis error"));
+
+        // When
+        Long result = cacheService.invalidateNamespace("board:1");
+
+        // Then
+        assertThat(result).isNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cursor<String> cursorOf(String... keys) {
+        Iterator<String> iterator = Arrays.asList(keys).iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        lenient().when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        return cursor;
     }
-}
\ No newline at end of file
+}
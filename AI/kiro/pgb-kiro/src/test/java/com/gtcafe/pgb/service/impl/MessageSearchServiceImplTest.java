@@ -0,0 +1,191 @@
+package com.gtcafe.pgb.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import com.gtcafe.pgb.entity.Message;
+import com.gtcafe.pgb.entity.User;
+import com.gtcafe.pgb.repository.MessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MessageSearchService Implementation Tests")
+class MessageSearchServiceImplTest {
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MessageSearchServiceImpl searchService;
+    private User boardOwner;
+    private User otherOwner;
+    private Pageable pageable;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        searchService = new MessageSearchServiceImpl(messageRepository, redisTemplate, null,
+                meterRegistry, true, 360);
+        boardOwner = User.builder().id(2L).username("owner").isActive(true).build();
+        otherOwner = User.builder().id(3L).username("other").isActive(true).build();
+        pageable = PageRequest.of(0, 10);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database query until the index is built")
+    void shouldFallBackUntilIndexIsBuilt() {
+        // Given
+        Page<Message> page = new PageImpl<>(List.of(message(1L, boardOwner, "hello")));
+        when(messageRepository.searchByBoardOwnerAndContent(boardOwner, "hello", pageable))
+                .thenReturn(page);
+
+        // When
+        Page<Message> result = searchService.searchBoardMessages(boardOwner, "hello", pageable);
+
+        // Then
+        assertFalse(searchService.isReady());
+        assertEquals(page, result);
+        assertEquals(1.0, meterRegistry.get("search.messages.requests").tag("source", "database")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Should serve searches from the index after rebuild")
+    void shouldServeSearchesFromIndexAfterRebuild() {
+        // Given
+        Message first = message(1L, boardOwner, "Spring tips");
+        Message second = message(2L, boardOwner, "Spring Spring release notes");
+        Message elsewhere = message(3L, otherOwner, "Spring on another board");
+        when(messageRepository.findBatchForIndexing(eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(first, second, elsewhere));
+        when(messageRepository.findAllById(List.of(2L, 1L))).thenReturn(Arrays.asList(first, second));
+
+        // When
+        searchService.rebuild();
+        Page<Message> result = searchService.searchBoardMessages(boardOwner, "spring", pageable);
+
+        // Then
+        assertTrue(searchService.isReady());
+        assertEquals(Arrays.asList(second, first), result.getContent());
+        assertEquals(2, result.getTotalElements());
+        verify(messageRepository, never()).searchByBoardOwnerAndContent(any(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should drop index hits that are deleted in the database")
+    void shouldDropIndexHitsDeletedInDatabase() {
+        // Given
+        Message deleted = message(1L, boardOwner, "stale entry");
+        when(messageRepository.findBatchForIndexing(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(deleted));
+        searchService.rebuild();
+        deleted.softDelete();
+        when(messageRepository.findAllById(List.of(1L))).thenReturn(List.of(deleted));
+
+        // When
+        Page<Message> result = searchService.searchBoardMessages(boardOwner, "stale", pageable);
+        Page<Message> again = searchService.searchBoardMessages(boardOwner, "stale", pageable);
+
+        // Then
+        assertTrue(result.getContent().isEmpty());
+        assertEquals(0, result.getTotalElements());
+        assertEquals(0, again.getTotalElements());
+        verify(messageRepository, times(1)).findAllById(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should apply local changes and broadcast them")
+    void shouldApplyLocalChangesAndBroadcastThem() {
+        // Given
+        when(messageRepository.findBatchForIndexing(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of());
+        searchService.rebuild();
+        Message created = message(5L, boardOwner, "freshly posted");
+        when(messageRepository.findAllById(List.of(5L))).thenReturn(List.of(created));
+
+        // When
+        searchService.indexMessage(created);
+
+        // Then
+        assertEquals(List.of(created),
+                searchService.searchBoardMessages(boardOwner, "freshly", pageable).getContent());
+        verify(redisTemplate).convertAndSend(eq(MessageSearchServiceImpl.EVENTS_CHANNEL),
+                org.mockito.ArgumentMatchers.endsWith(":upsert:5"));
+
+        // When
+        searchService.removeMessages(List.of(5L));
+
+        // Then
+        assertEquals(0, searchService.searchBoardMessages(boardOwner, "freshly", pageable)
+                .getTotalElements());
+        verify(redisTemplate).convertAndSend(eq(MessageSearchServiceImpl.EVENTS_CHANNEL),
+                org.mockito.ArgumentMatchers.endsWith(":remove:5"));
+    }
+
+    @Test
+    @DisplayName("Should apply removals from other nodes")
+    void shouldApplyRemovalsFromOtherNodes() {
+        // Given
+        when(messageRepository.findBatchForIndexing(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(message(7L, boardOwner, "remote removal")));
+        searchService.rebuild();
+        searchService.start();
+
+        // When
+        searchService.onMessage(new DefaultMessage(
+                MessageSearchServiceImpl.EVENTS_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "other-node:remove:7".getBytes(StandardCharsets.UTF_8)), null);
+
+        // Then
+        assertEquals(0, searchService.searchBoardMessages(boardOwner, "remote", pageable)
+                .getTotalElements());
+        searchService.stop();
+    }
+
+    @Test
+    @DisplayName("Should not index when disabled")
+    void shouldNotIndexWhenDisabled() {
+        // Given
+        MessageSearchServiceImpl disabled = new MessageSearchServiceImpl(messageRepository,
+                redisTemplate, null, meterRegistry, false, 360);
+
+        // When
+        disabled.indexMessage(message(1L, boardOwner, "ignored"));
+
+        // Then
+        assertFalse(disabled.isReady());
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+        verify(messageRepository, never()).findBatchForIndexing(anyLong(), any());
+    }
+
+    private Message message(Long id, User owner, String content) {
+        return Message.builder().id(id).user(owner).boardOwner(owner).content(content)
+                .isDeleted(false).build();
+    }
+}
@@ -16,8 +16,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -33,8 +35,12 @@ import org.springframework.data.domain.Pageable;
 import com.gtcafe.pgb.entity.Message;
 import com.gtcafe.pgb.entity.User;
 import com.gtcafe.pgb.repository.MessageRepository;
+import com.gtcafe.pgb.service.BoardRankingService;
 import com.gtcafe.pgb.service.CacheService;
+import com.gtcafe.pgb.service.MessageSearchService;
 import com.gtcafe.pgb.service.MessageService;
+import com.gtcafe.pgb.util.CursorPage;
+import com.gtcafe.pgb.util.MessageCursor;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("MessageService Implementation Tests")
@@ -46,6 +52,12 @@ class MessageServiceImplTest {
     @Mock
     private CacheService cacheService;
 
+    @Mock
+    private BoardRankingService boardRankingService;
+
+    @Mock
+    private MessageSearchService messageSearchService;
+
     @InjectMocks
     private MessageServiceImpl messageService;
 
@@ -92,7 +104,11 @@ class MessageServiceImplTest {
             assertEquals(boardOwner, result.getBoardOwner());
 
             verify(messageRepository).save(any(Message.class));
-            verify(cacheService, times(2)).clearByPattern(anyString());
+            verify(boardRankingService).recordMessageCreated(testMessage);
+            verify(messageSearchService).indexMessage(testMessage);
+            verify(cacheService).invalidateNamespace("board:" + boardOwner.getId());
+            verify(cacheService).invalidateNamespace(anyString());
+            verify(cacheService, never()).clearByPattern(anyString());
         }
 
         @Test
@@ -226,7 +242,7 @@ class MessageServiceImplTest {
             // Verify cache operations are called (3 times: 2 from clearMessageCaches + 1 from
             // clearBoardCaches)
             verify(cacheService, times(3)).delete(anyString());
-            verify(cacheService).clearByPattern(anyString());
+            verify(cacheService).invalidateNamespace(anyString());
         }
 
         @Test
@@ -280,6 +296,8 @@ class MessageServiceImplTest {
 
             // Then
             verify(messageRepository).save(testMessage);
+            verify(boardRankingService).recordMessageDeleted(testMessage);
+            verify(messageSearchService).removeMessages(List.of(testMessage.getId()));
             assertTrue(testMessage.isDeleted());
         }
 
@@ -413,6 +431,105 @@ class MessageServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("Cursor Paging Tests")
+    class CursorPagingTests {
+
+        private Message messageAt(long id, LocalDateTime createdAt) {
+            return Message.builder().id(id).user(testUser).boardOwner(boardOwner)
+                    .content("Message " + id).createdAt(createdAt).isDeleted(false).build();
+        }
+
+        @Test
+        @DisplayName("Should return first page with next cursor without counting")
+        void shouldReturnFirstPageWithNextCursor() {
+            // Given
+            LocalDateTime now = LocalDateTime.of(2024, 3, 1, 12, 0);
+            List<Message> rows = List.of(messageAt(3L, now), messageAt(2L, now.minusMinutes(1)),
+                    messageAt(1L, now.minusMinutes(2)));
+            when(messageRepository.findBoardRootMessagesFirst(boardOwner, PageRequest.of(0, 3)))
+                    .thenReturn(rows);
+
+            // When
+            CursorPage<Message> result = messageService.getBoardMessages(boardOwner, null, 2, false);
+
+            // Then
+            assertEquals(2, result.getContent().size());
+            assertTrue(result.hasNext());
+            assertNull(result.getTotalElements());
+            MessageCursor next = MessageCursor.decode(result.getNextCursor());
+            assertEquals(2L, next.getId());
+            assertEquals(now.minusMinutes(1), next.getCreatedAt());
+            verify(messageRepository, never())
+                    .countByBoardOwnerAndNotDeletedAndParentMessageIsNull(any());
+        }
+
+        @Test
+        @DisplayName("Should seek after cursor and include cached board total")
+        void shouldSeekAfterCursorWithTotal() {
+            // Given
+            LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 0);
+            String cursor = new MessageCursor(createdAt, 5L).encode();
+            when(messageRepository.findBoardRootMessagesAfter(boardOwner, createdAt, 5L,
+                    PageRequest.of(0, 11))).thenReturn(List.of(testMessage));
+            when(cacheService.get("board:2:count", Long.class)).thenReturn(42L);
+
+            // When
+            CursorPage<Message> result = messageService.getBoardMessages(boardOwner, cursor, 10, true);
+
+            // Then
+            assertEquals(List.of(testMessage), result.getContent());
+            assertFalse(result.hasNext());
+            assertNull(result.getNextCursor());
+            assertEquals(42L, result.getTotalElements());
+        }
+
+        @Test
+        @DisplayName("Should page user messages and count only when requested")
+        void shouldPageUserMessagesWithCount() {
+            // Given
+            LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 0);
+            String cursor = new MessageCursor(createdAt, 9L).encode();
+            when(messageRepository.findUserMessagesAfter(testUser, createdAt, 9L,
+                    PageRequest.of(0, 21))).thenReturn(List.of(testMessage));
+            when(messageRepository.countByUserAndNotDeleted(testUser)).thenReturn(8L);
+
+            // When
+            CursorPage<Message> result = messageService.getUserMessages(testUser, cursor, 20, true);
+
+            // Then
+            assertEquals(1, result.getContent().size());
+            assertEquals(8L, result.getTotalElements());
+        }
+
+        @Test
+        @DisplayName("Should page recent messages from first page")
+        void shouldPageRecentMessages() {
+            // Given
+            when(messageRepository.findRecentRootMessagesFirst(PageRequest.of(0, 21)))
+                    .thenReturn(List.of(testMessage, parentMessage));
+
+            // When
+            CursorPage<Message> result = messageService.getRecentMessages("", 20);
+
+            // Then
+            assertEquals(2, result.getContent().size());
+            assertFalse(result.hasNext());
+            assertNull(result.getTotalElements());
+        }
+
+        @Test
+        @DisplayName("Should reject invalid page size and cursor")
+        void shouldRejectInvalidSizeAndCursor() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> messageService.getRecentMessages(null, 0));
+            assertThrows(IllegalArgumentException.class,
+                    () -> messageService.getRecentMessages(null, 101));
+            assertThrows(IllegalArgumentException.class,
+                    () -> messageService.getBoardMessages(boardOwner, "%%%", 10, false));
+        }
+    }
+
     @Nested
     @DisplayName("Validation Tests")
     class ValidationTests {
@@ -625,21 +742,59 @@ class MessageServiceImplTest {
             assertEquals(2, messageService.getMessageDepth(secondReply));
         }
 
+        @Test
+        @DisplayName("Should use indexed depth without walking parents")
+        void shouldUseIndexedDepthWithoutWalkingParents() {
+            // Given - persisted reply whose parent is not loaded
+            Message reply = Message.builder().id(3L).user(testUser).boardOwner(boardOwner)
+                    .content("Nested reply").depth(2).threadRootId(2L).build();
+
+            // When & Then
+            assertEquals(2, messageService.getMessageDepth(reply));
+        }
+
         @Test
         @DisplayName("Should get thread replies for root message")
         void shouldGetThreadRepliesForRootMessage() {
-            // Given
-            List<Message> expectedReplies = Arrays.asList(testMessage, parentMessage);
-            when(messageRepository.findAllRepliesInThread(parentMessage))
-                    .thenReturn(expectedReplies);
+            // Given - root 2 <- reply 3 <- reply 4, and reply 5 whose parent is deleted
+            Message firstReply = reply(3L, parentMessage);
+            Message nestedReply = reply(4L, firstReply);
+            Message deletedReply = reply(6L, parentMessage);
+            Message orphanedReply = reply(5L, deletedReply);
+            when(messageRepository.findThreadRepliesAndNotDeleted(parentMessage.getId()))
+                    .thenReturn(Arrays.asList(firstReply, orphanedReply, nestedReply));
 
             // When
             List<Message> result = messageService.getThreadReplies(parentMessage);
 
             // Then
-            assertNotNull(result);
-            assertEquals(2, result.size());
-            verify(messageRepository).findAllRepliesInThread(parentMessage);
+            assertEquals(Arrays.asList(firstReply, nestedReply), result);
+            assertEquals(List.of(firstReply), parentMessage.getReplies());
+            assertEquals(List.of(nestedReply), firstReply.getReplies());
+            verify(messageRepository).findThreadRepliesAndNotDeleted(parentMessage.getId());
+        }
+
+        @Test
+        @DisplayName("Should link board messages into threads in one query")
+        void shouldLinkBoardMessagesIntoThreads() {
+            // Given - rows in creation order
+            Message olderRoot = Message.builder().id(10L).user(testUser).boardOwner(boardOwner)
+                    .content("Older root").depth(0).build();
+            Message newerRoot = Message.builder().id(11L).user(testUser).boardOwner(boardOwner)
+                    .content("Newer root").depth(0).build();
+            Message firstReply = reply(12L, olderRoot);
+            Message secondReply = reply(13L, olderRoot);
+            when(messageRepository.findBoardThreadsAndNotDeleted(boardOwner))
+                    .thenReturn(Arrays.asList(olderRoot, newerRoot, firstReply, secondReply));
+
+            // When
+            List<Message> result = messageService.getBoardMessagesWithReplies(boardOwner);
+
+            // Then
+            assertEquals(Arrays.asList(newerRoot, olderRoot), result);
+            assertEquals(Arrays.asList(firstReply, secondReply), olderRoot.getReplies());
+            assertEquals(2, olderRoot.getReplyCount());
+            assertEquals(0, newerRoot.getReplyCount());
         }
 
         @Test
@@ -678,18 +833,39 @@ class MessageServiceImplTest {
         @DisplayName("Should delete all replies by message author")
         void shouldDeleteAllRepliesByMessageAuthor() {
             // Given
-            List<Message> replies = Arrays.asList(testMessage);
-            when(messageRepository.findRepliesByParentMessageAndNotDeleted(parentMessage))
-                    .thenReturn(replies);
-            when(messageRepository.save(any(Message.class))).thenReturn(testMessage);
+            parentMessage.setThreadPath("");
+            String pathPrefix = "0000000000000000002/";
+            when(messageRepository.findDescendantIdsAndNotDeleted(pathPrefix))
+                    .thenReturn(Arrays.asList(3L, 4L));
+            when(messageRepository.softDeleteDescendants(eq(pathPrefix), any(LocalDateTime.class)))
+                    .thenReturn(2);
 
             // When
             messageService.deleteAllReplies(parentMessage, boardOwner);
 
             // Then
-            verify(messageRepository).findRepliesByParentMessageAndNotDeleted(parentMessage);
-            verify(messageRepository).save(testMessage);
-            assertTrue(testMessage.isDeleted());
+            verify(messageRepository).softDeleteDescendants(eq(pathPrefix), any(LocalDateTime.class));
+            verify(messageSearchService).removeMessages(Arrays.asList(3L, 4L));
+            verify(messageRepository, never()).save(any(Message.class));
+            verify(cacheService).delete(Set.of("message:3", "message:3:replies", "message:4",
+                    "message:4:replies"));
+            verify(cacheService).delete("message:2");
+            verify(cacheService).invalidateNamespace("board:" + boardOwner.getId());
+        }
+
+        @Test
+        @DisplayName("Should skip bulk delete when message has no replies")
+        void shouldSkipBulkDeleteWhenMessageHasNoReplies() {
+            // Given
+            when(messageRepository.findDescendantIdsAndNotDeleted(anyString()))
+                    .thenReturn(List.of());
+
+            // When
+            messageService.deleteAllReplies(parentMessage, boardOwner);
+
+            // Then
+            verify(messageRepository, never()).softDeleteDescendants(anyString(),
+                    any(LocalDateTime.class));
         }
 
         @Test
@@ -709,9 +885,10 @@ class MessageServiceImplTest {
         void shouldGetReplyStatistics() {
             // Given
             Object[] statsData = {3L, LocalDateTime.now()};
-            when(messageRepository.getReplyStatistics(parentMessage)).thenReturn(statsData);
-            when(messageRepository.countRepliesByParentMessageAndNotDeleted(parentMessage))
-                    .thenReturn(5L);
+            String pathPrefix = parentMessage.getDescendantPathPrefix();
+            when(messageRepository.getDescendantStatistics(pathPrefix))
+                    .thenReturn(Collections.singletonList(statsData));
+            when(messageRepository.countDescendantsAndNotDeleted(pathPrefix)).thenReturn(5L);
 
             // When
             MessageService.ReplyStatistics stats = messageService.getReplyStatistics(parentMessage);
@@ -777,4 +954,11 @@ class MessageServiceImplTest {
             verify(messageRepository).save(any(Message.class));
         }
     }
+
+    private Message reply(Long id, Message parent) {
+        Message reply = Message.builder().id(id).user(testUser).boardOwner(boardOwner)
+                .content("Reply " + id).parentMessage(parent).build();
+        reply.assignThreadPosition();
+        return reply;
+    }
 }
@@ -0,0 +1,266 @@
+package com.gtcafe.pgb.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * TwoTierCacheServiceImpl 單元測試
+ */
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheServiceImplTest {
+
+    @Mock
+    private CacheServiceImpl redisCache;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierCacheServiceImpl cacheService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheService = new TwoTierCacheServiceImpl(redisCache, redisTemplate, null, meterRegistry,
+                true, 100, 30);
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromLocalTier() {
+        // Given
+        when(redisCache.getWithExpire("board:1:stats")).thenReturn(cached("stats", 60_000L));
+
+        // When
+        Object first = cacheService.get("board:1:stats");
+        Object second = cacheService.get("board:1:stats", String.class);
+
+        // Then
+        assertThat(first).isEqualTo("stats");
+        assertThat(second).isEqualTo("stats");
+        verify(redisCache, times(1)).getWithExpire("board:1:stats");
+        assertThat(count("local", "hit")).isEqualTo(1);
+        assertThat(count("local", "miss")).isEqualTo(1);
+        assertThat(count("redis", "hit")).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.latency").tag("tier", "redis").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheMisses() {
+        // Given
+        when(redisCache.getWithExpire("missing")).thenReturn(CacheServiceImpl.CachedValue.MISS);
+
+        // When
+        cacheService.get("missing");
+        cacheService.get("missing");
+
+        // Then
+        verify(redisCache, times(2)).getWithExpire("missing");
+        assertThat(count("redis", "miss")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldWriteThroughAndBroadcastInvalidationOnOverwrite() {
+        // Given
+        when(redisCache.setAndCheckExisting("key", "value", Duration.ofMinutes(10))).thenReturn(true);
+
+        // When
+        cacheService.set("key", "value", Duration.ofMinutes(10));
+
+        // Then
+        verify(redisTemplate).convertAndSend(eq(TwoTierCacheServiceImpl.INVALIDATION_CHANNEL), endsWith("\nkey"));
+        assertThat(cacheService.get("key")).isEqualTo("value");
+        verify(redisCache, never()).getWithExpire("key");
+    }
+
+    @Test
+    void shouldNotBroadcastWhenWritingNewKey() {
+        // Given
+        when(redisCache.setAndCheckExisting("key", "value", null)).thenReturn(false);
+
+        // When
+        cacheService.set("key", "value");
+
+        // Then
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+        assertThat(cacheService.get("key")).isEqualTo("value");
+        assertThat(meterRegistry.get("cache.invalidations").tag("direction", "sent").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldDropLocalEntryOnDelete() {
+        // Given
+        when(redisCache.getWithExpire("key")).thenReturn(CacheServiceImpl.CachedValue.MISS);
+        cacheService.set("key", "value");
+
+        // When
+        cacheService.delete("key");
+        cacheService.get("key");
+
+        // Then
+        verify(redisCache).delete("key");
+        verify(redisCache).getWithExpire("key");
+    }
+
+    @Test
+    void shouldDropLocalEntryOnRemoteInvalidation() {
+        // Given
+        when(redisCache.getWithExpire("key")).thenReturn(cached("old", 60_000L));
+        cacheService.get("key");
+
+        // When
+        cacheService.onMessage(message("other-node\nkey"), null);
+        cacheService.get("key");
+
+        // Then
+        verify(redisCache, times(2)).getWithExpire("key");
+    }
+
+    @Test
+    void shouldClearLocalTierOnRemoteClearAll() {
+        // Given
+        when(redisCache.getWithExpire("a")).thenReturn(cached("1", -1L));
+        cacheService.get("a");
+
+        // When
+        cacheService.onMessage(message("other-node\n*"), null);
+        cacheService.get("a");
+
+        // Then
+        verify(redisCache, times(2)).getWithExpire("a");
+    }
+
+    @Test
+    void shouldNotOutliveRedisTtlInLocalTier() throws InterruptedException {
+        // Given: the Redis entry expires long before the local TTL of 30 seconds
+        when(redisCache.getWithExpire("board:1:stats")).thenReturn(cached("stats", 20L));
+        cacheService.get("board:1:stats");
+
+        // When
+        Thread.sleep(50);
+        cacheService.get("board:1:stats");
+
+        // Then
+        verify(redisCache, times(2)).getWithExpire("board:1:stats");
+    }
+
+    @Test
+    void shouldCacheNamespaceGenerationsLocally() {
+        // Given
+        when(redisCache.getGenerations("board", "board:1")).thenReturn(List.of(0L, 3L));
+
+        // When
+        String first = cacheService.namespacedKey("board:1:stats", "board", "board:1");
+        String second = cacheService.namespacedKey("board:1:messages", "board", "board:1");
+
+        // Then
+        assertThat(first).isEqualTo("board:1:stats:v0.3");
+        assertThat(second).isEqualTo("board:1:messages:v0.3");
+        verify(redisCache, times(1)).getGenerations("board", "board:1");
+        assertThat(count("local", "hit")).isZero();
+        assertThat(count("local", "miss")).isZero();
+        assertThat(count("redis", "hit")).isZero();
+    }
+
+    @Test
+    void shouldRefetchGenerationAfterInvalidation() {
+        // Given
+        when(redisCache.getGenerations("board:1")).thenReturn(List.of(3L)).thenReturn(List.of(4L));
+        cacheService.namespacedKey("board:1:stats", "board:1");
+
+        // When
+        cacheService.invalidateNamespace("board:1");
+        String key = cacheService.namespacedKey("board:1:stats", "board:1");
+
+        // Then
+        assertThat(key).isEqualTo("board:1:stats:v4");
+        verify(redisCache).invalidateNamespace("board:1");
+        verify(redisTemplate).convertAndSend(eq(TwoTierCacheServiceImpl.INVALIDATION_CHANNEL), endsWith("\n#gen:board:1"));
+    }
+
+    @Test
+    void shouldBypassCacheWhenGenerationsCannotBeResolved() {
+        // Given
+        when(redisCache.getGenerations(anyString())).thenThrow(new RuntimeException("Redis error"))
+                .thenReturn(List.of(5L));
+
+        // When
+        String unresolved = cacheService.namespacedKey("board:1:stats", "board:1");
+        cacheService.set(unresolved, "stale", Duration.ofMinutes(1));
+        Object value = cacheService.get(unresolved);
+        String recovered = cacheService.namespacedKey("board:1:stats", "board:1");
+
+        // Then: no old-generation key is used, and nothing is cached until Redis recovers
+        assertThat(unresolved).isNull();
+        assertThat(value).isNull();
+        verify(redisCache, never()).setAndCheckExisting(any(), any(), any());
+        verify(redisCache, never()).getWithExpire(any());
+        assertThat(recovered).isEqualTo("board:1:stats:v5");
+    }
+
+    @Test
+    void shouldKeepWorkingWhenPublishFails() {
+        // Given
+        when(redisCache.setAndCheckExisting("key", "value", null)).thenReturn(true);
+        when(redisTemplate.convertAndSend(anyString(), anyString())).thenThrow(new RuntimeException("Redis error"));
+
+        // When
+        cacheService.set("key", "value");
+
+        // Then
+        assertThat(cacheService.get("key")).isEqualTo("value");
+    }
+
+    @Test
+    void shouldBypassLocalTierWhenDisabled() {
+        // Given
+        TwoTierCacheServiceImpl disabled = new TwoTierCacheServiceImpl(redisCache, redisTemplate, null,
+                meterRegistry, false, 100, 30);
+        when(redisCache.get("key", String.class)).thenReturn("value");
+
+        // When
+        disabled.set("key", "value");
+        disabled.get("key", String.class);
+        disabled.get("key", String.class);
+
+        // Then
+        verify(redisCache, times(2)).get("key", String.class);
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("cache.requests").tag("tier", tier).tag("result", result).counter().count();
+    }
+
+    private static CacheServiceImpl.CachedValue cached(Object value, long ttlMillis) {
+        return new CacheServiceImpl.CachedValue(value, ttlMillis);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(TwoTierCacheServiceImpl.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String endsWith(String suffix) {
+        return org.mockito.ArgumentMatchers.endsWith(suffix);
+    }
+}
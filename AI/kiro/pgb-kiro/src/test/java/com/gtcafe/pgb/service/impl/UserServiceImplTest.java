@@ -27,6 +27,7 @@ import org.springframework.data.domain.Pageable;
 
 import com.gtcafe.pgb.entity.User;
 import com.gtcafe.pgb.repository.UserRepository;
+import com.gtcafe.pgb.service.BoardRankingService;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("UserService Implementation Tests")
@@ -35,6 +36,9 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BoardRankingService boardRankingService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -518,6 +522,7 @@ class UserServiceImplTest {
             // Then
             assertThat(existingUser.getIsActive()).isFalse();
             verify(userRepository).save(existingUser);
+            verify(boardRankingService).updateBoardVisibility(1L, false);
         }
 
         @Test
@@ -546,6 +551,7 @@ class UserServiceImplTest {
             // Then
             assertThat(existingUser.getIsActive()).isTrue();
             verify(userRepository).save(existingUser);
+            verify(boardRankingService).updateBoardVisibility(1L, true);
         }
 
         @Test
@@ -0,0 +1,114 @@
+package com.gtcafe.pgb.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * InvertedIndex 單元測試
+ */
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(1L, 10L, "Hello world, welcome to my board");
+        index.put(2L, 10L, "Spring Boot tips and tricks");
+        index.put(3L, 10L, "今天天氣很好，適合出去走走");
+        index.put(4L, 20L, "Hello from another board");
+    }
+
+    @Test
+    void shouldMatchWordsCaseInsensitively() {
+        // When
+        InvertedIndex.SearchResult result = index.search("HELLO", null, 0, 10);
+
+        // Then
+        assertThat(result.getIds()).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(result.getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRestrictToGroup() {
+        // When
+        InvertedIndex.SearchResult result = index.search("hello", 10L, 0, 10);
+
+        // Then
+        assertThat(result.getIds()).containsExactly(1L);
+    }
+
+    @Test
+    void shouldRequireAllTerms() {
+        assertThat(index.search("hello board", null, 0, 10).getIds()).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(index.search("hello spring", null, 0, 10).getIds()).isEmpty();
+    }
+
+    @Test
+    void shouldMatchWordPrefixes() {
+        assertThat(index.search("welc", null, 0, 10).getIds()).containsExactly(1L);
+        assertThat(index.search("tri", null, 0, 10).getIds()).containsExactly(2L);
+    }
+
+    @Test
+    void shouldMatchChineseBySubstring() {
+        assertThat(index.search("天氣", null, 0, 10).getIds()).containsExactly(3L);
+        assertThat(index.search("走", null, 0, 10).getIds()).containsExactly(3L);
+        assertThat(index.search("天空", null, 0, 10).getIds()).isEmpty();
+    }
+
+    @Test
+    void shouldRankByRelevance() {
+        // Given - term repeated in a short document scores higher
+        index.put(5L, 10L, "board board board");
+
+        // When
+        InvertedIndex.SearchResult result = index.search("board", 10L, 0, 10);
+
+        // Then
+        assertThat(result.getIds()).containsExactly(5L, 1L);
+    }
+
+    @Test
+    void shouldPageResults() {
+        // Given
+        for (long id = 100; id < 125; id++) {
+            index.put(id, 30L, "paged message " + id);
+        }
+
+        // When
+        InvertedIndex.SearchResult first = index.search("paged", 30L, 0, 10);
+        InvertedIndex.SearchResult last = index.search("paged", 30L, 20, 10);
+
+        // Then - equal scores are ordered newest first
+        assertThat(first.getTotal()).isEqualTo(25);
+        assertThat(first.getIds()).hasSize(10).startsWith(124L, 123L);
+        assertThat(last.getIds()).hasSize(5).endsWith(100L);
+    }
+
+    @Test
+    void shouldReplaceAndRemoveDocuments() {
+        // When
+        index.put(1L, 10L, "Completely different text");
+
+        // Then
+        assertThat(index.search("welcome", null, 0, 10).getIds()).isEmpty();
+        assertThat(index.search("different", null, 0, 10).getIds()).containsExactly(1L);
+
+        // When
+        assertThat(index.remove(1L)).isTrue();
+        assertThat(index.remove(1L)).isFalse();
+
+        // Then
+        assertThat(index.search("different", null, 0, 10).getIds()).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReturnEmptyResultForBlankQuery() {
+        assertThat(index.search("  ,. ", null, 0, 10).getTotal()).isZero();
+        assertThat(index.search(null, null, 0, 10).getTotal()).isZero();
+    }
+}
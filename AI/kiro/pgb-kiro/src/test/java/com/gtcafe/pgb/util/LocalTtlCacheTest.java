@@ -0,0 +1,79 @@
+package com.gtcafe.pgb.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * LocalTtlCache 單元測試
+ */
+class LocalTtlCacheTest {
+
+    private static final long NOW = 1_000_000L;
+
+    @Test
+    void shouldReturnValueUntilExpiry() {
+        // Given
+        LocalTtlCache<String> cache = new LocalTtlCache<>(10);
+        cache.put("key", "value", NOW + 100, NOW);
+
+        // Then
+        assertThat(cache.get("key", NOW + 99)).isEqualTo("value");
+        assertThat(cache.get("key", NOW + 100)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldIgnoreAlreadyExpiredPut() {
+        // Given
+        LocalTtlCache<String> cache = new LocalTtlCache<>(10);
+        cache.put("key", "old", NOW + 100, NOW);
+
+        // When
+        cache.put("key", "new", NOW, NOW);
+
+        // Then
+        assertThat(cache.get("key", NOW)).isNull();
+    }
+
+    @Test
+    void shouldBoundSizeByEvictingEarliestExpiring() {
+        // Given
+        LocalTtlCache<Integer> cache = new LocalTtlCache<>(10);
+
+        // When
+        for (int i = 0; i < 25; i++) {
+            cache.put("key" + i, i, NOW + 1000 + i, NOW);
+        }
+
+        // Then
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.getEvictions()).isPositive();
+        assertThat(cache.get("key24", NOW)).isEqualTo(24);
+        assertThat(cache.get("key0", NOW)).isNull();
+    }
+
+    @Test
+    void shouldEvictExpiredEntriesFirst() {
+        // Given
+        LocalTtlCache<Integer> cache = new LocalTtlCache<>(3);
+        cache.put("expired", 0, NOW + 10, NOW);
+        cache.put("a", 1, NOW + 1000, NOW);
+        cache.put("b", 2, NOW + 1000, NOW);
+
+        // When
+        cache.put("c", 3, NOW + 1000, NOW + 20);
+
+        // Then
+        assertThat(cache.get("a", NOW + 20)).isEqualTo(1);
+        assertThat(cache.get("b", NOW + 20)).isEqualTo(2);
+        assertThat(cache.get("c", NOW + 20)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRejectNonPositiveSize() {
+        assertThatThrownBy(() -> new LocalTtlCache<String>(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
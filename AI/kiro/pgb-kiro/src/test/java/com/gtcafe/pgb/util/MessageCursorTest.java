@@ -0,0 +1,55 @@
+package com.gtcafe.pgb.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.gtcafe.pgb.entity.Message;
+
+/**
+ * MessageCursor 單元測試
+ */
+class MessageCursorTest {
+
+    @Test
+    void shouldRoundTripThroughEncodedString() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+        MessageCursor cursor = new MessageCursor(createdAt, 42L);
+
+        // When
+        MessageCursor decoded = MessageCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getId()).isEqualTo(42L);
+        assertThat(cursor.encode()).doesNotContain("=", "+", "/");
+    }
+
+    @Test
+    void shouldCreateFromMessage() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 0);
+        Message message = Message.builder().id(7L).createdAt(createdAt).build();
+
+        // When
+        MessageCursor cursor = MessageCursor.of(message);
+
+        // Then
+        assertThat(cursor.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(cursor.getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> MessageCursor.decode("not a cursor!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MessageCursor.decode("bm8tc2VwYXJhdG9y"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MessageCursor.decode("MjAyNC0xMy0wMXwx"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,94 @@
+package com.gtcafe.pgb.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * TimePartitionedBloomFilter 單元測試
+ */
+class TimePartitionedBloomFilterTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final long NOW = 1_700_000_000_000L;
+
+    private TimePartitionedBloomFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new TimePartitionedBloomFilter(HOUR, 1000, 0.001);
+    }
+
+    @Test
+    void shouldContainInsertedKeys() {
+        // Given
+        for (int i = 0; i < 1000; i++) {
+            filter.put("token-" + i, NOW + i * 60_000L);
+        }
+
+        // Then - 不允許漏判
+        for (int i = 0; i < 1000; i++) {
+            assertThat(filter.mightContain("token-" + i, NOW + i * 60_000L)).isTrue();
+            assertThat(filter.mightContainAny("token-" + i, NOW)).isTrue();
+        }
+        assertThat(filter.getInsertions()).isEqualTo(1000);
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearTarget() {
+        // Given
+        for (int i = 0; i < 1000; i++) {
+            filter.put("token-" + i, NOW);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i, NOW)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertThat(falsePositives / 100_000.0).isLessThan(0.005);
+        assertThat(filter.getExpectedFalsePositiveRate()).isLessThan(0.005);
+    }
+
+    @Test
+    void shouldOnlyCheckPartitionOfExpiry() {
+        // Given
+        filter.put("token", NOW);
+
+        // Then
+        assertThat(filter.mightContain("token", NOW + 3 * HOUR)).isFalse();
+        assertThat(filter.mightContain("token", NOW + 3 * HOUR - 4 * HOUR, NOW + 3 * HOUR)).isTrue();
+    }
+
+    @Test
+    void shouldDropExpiredPartitions() {
+        // Given
+        filter.put("expired", NOW - 2 * HOUR);
+        filter.put("active", NOW + 2 * HOUR);
+
+        // When
+        int dropped = filter.expire(NOW);
+
+        // Then
+        assertThat(dropped).isEqualTo(1);
+        assertThat(filter.mightContainAny("expired", NOW - 3 * HOUR)).isFalse();
+        assertThat(filter.mightContainAny("active", NOW)).isTrue();
+        assertThat(filter.getPartitionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectInvalidParameters() {
+        assertThatThrownBy(() -> new TimePartitionedBloomFilter(0, 1000, 0.01))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimePartitionedBloomFilter(HOUR, 1000, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,37 @@
+package com.twitterboard.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+    
+    private boolean enabled = true;
+    private long rebuildIntervalMinutes = 360;
+    private int maxCandidates = 1000;
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public long getRebuildIntervalMinutes() {
+        return rebuildIntervalMinutes;
+    }
+    
+    public void setRebuildIntervalMinutes(long rebuildIntervalMinutes) {
+        this.rebuildIntervalMinutes = rebuildIntervalMinutes;
+    }
+    
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+    
+    public void setMaxCandidates(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+}
@@ -1,5 +1,6 @@
 package com.twitterboard.entity;
 
+import com.twitterboard.search.PostSearchListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -21,6 +22,7 @@ import java.util.Objects;
 })
 @SQLDelete(sql = "UPDATE posts SET deleted = true WHERE id = ?")
 @Where(clause = "deleted = false")
+@EntityListeners(PostSearchListener.class)
 public class Post {
     
     @Id
@@ -3,6 +3,7 @@ package com.twitterboard.repository;
 import com.twitterboard.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -13,7 +14,18 @@ import java.util.List;
 public interface CustomPostRepository {
     
     /**
-     * Find posts with advanced filtering
+     * Find non-deleted posts by content (case insensitive), newest first.
+     * Served from the post search index once it is ready (token matching), otherwise with LIKE
+     * @param content Content keyword
+     * @param pageable Pagination information
+     * @return Page of posts
+     */
+    Page<Post> findByContentContainingIgnoreCase(String content, Pageable pageable);
+    
+    /**
+     * Find posts with advanced filtering.
+     * The content filter is narrowed to post search index hits once the index is ready
+     * (see findByContentContainingIgnoreCase)
      * @param authorId Author ID (optional)
      * @param content Content filter (optional)
      * @param startDate Start date filter (optional)
@@ -26,6 +38,38 @@ public interface CustomPostRepository {
                                    LocalDateTime startDate, LocalDateTime endDate,
                                    boolean includeDeleted, Pageable pageable);
     
+    /**
+     * Find posts with advanced filtering using keyset pagination, newest first.
+     * Seeks past the last post of the previous page on (createdAt, id) instead of using an offset,
+     * and runs no count query, so every page costs the same
+     * @param authorId Author ID (optional)
+     * @param content Content filter (optional)
+     * @param startDate Start date filter (optional)
+     * @param endDate End date filter (optional)
+     * @param includeDeleted Whether to include deleted posts
+     * @param afterCreatedAt Creation time of the last post on the previous page (null for the first page)
+     * @param afterId ID of the last post on the previous page (null for the first page)
+     * @param size Page size
+     * @return Slice of filtered posts, with hasNext set when more posts follow
+     */
+    Slice<Post> findPostsWithFiltersAfter(Long authorId, String content,
+                                          LocalDateTime startDate, LocalDateTime endDate,
+                                          boolean includeDeleted, LocalDateTime afterCreatedAt,
+                                          Long afterId, int size);
+    
+    /**
+     * Count posts matching the filters (optional companion to findPostsWithFiltersAfter)
+     * @param authorId Author ID (optional)
+     * @param content Content filter (optional)
+     * @param startDate Start date filter (optional)
+     * @param endDate End date filter (optional)
+     * @param includeDeleted Whether to include deleted posts
+     * @return Number of matching posts
+     */
+    long countPostsWithFilters(Long authorId, String content,
+                               LocalDateTime startDate, LocalDateTime endDate,
+                               boolean includeDeleted);
+    
     /**
      * Get post statistics for dashboard
      * @return Post statistics
@@ -1,13 +1,20 @@
 package com.twitterboard.repository;
 
+import com.twitterboard.config.SearchProperties;
 import com.twitterboard.entity.Post;
+import com.twitterboard.search.PostSearchIndex;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -21,6 +28,22 @@ public class CustomPostRepositoryImpl implements CustomPostRepository {
     @PersistenceContext
     private EntityManager entityManager;
     
+    // Absent in JPA slice tests and when app.search.enabled is false; content filters use LIKE then
+    private final ObjectProvider<PostSearchIndex> searchIndexProvider;
+    private final ObjectProvider<SearchProperties> searchPropertiesProvider;
+    
+    @Autowired
+    public CustomPostRepositoryImpl(ObjectProvider<PostSearchIndex> searchIndexProvider,
+                                    ObjectProvider<SearchProperties> searchPropertiesProvider) {
+        this.searchIndexProvider = searchIndexProvider;
+        this.searchPropertiesProvider = searchPropertiesProvider;
+    }
+    
+    @Override
+    public Page<Post> findByContentContainingIgnoreCase(String content, Pageable pageable) {
+        return findPostsWithFilters(null, content, null, null, false, pageable);
+    }
+    
     @Override
     public Page<Post> findPostsWithFilters(Long authorId, String content,
                                          LocalDateTime startDate, LocalDateTime endDate,
@@ -30,31 +53,8 @@ public class CustomPostRepositoryImpl implements CustomPostRepository {
         CriteriaQuery<Post> query = cb.createQuery(Post.class);
         Root<Post> post = query.from(Post.class);
         
-        List<Predicate> predicates = new ArrayList<>();
-        
-        // Author filter
-        if (authorId != null) {
-            predicates.add(cb.equal(post.get("author").get("id"), authorId));
-        }
-        
-        // Content filter
-        if (content != null && !content.trim().isEmpty()) {
-            predicates.add(cb.like(cb.lower(post.get("content")), 
-                                 "%" + content.toLowerCase() + "%"));
-        }
-        
-        // Date range filter
-        if (startDate != null) {
-            predicates.add(cb.greaterThanOrEqualTo(post.get("createdAt"), startDate));
-        }
-        if (endDate != null) {
-            predicates.add(cb.lessThanOrEqualTo(post.get("createdAt"), endDate));
-        }
-        
-        // Deleted filter
-        if (!includeDeleted) {
-            predicates.add(cb.equal(post.get("deleted"), false));
-        }
+        List<Predicate> predicates = buildFilterPredicates(cb, post, authorId, content,
+                                                           startDate, endDate, includeDeleted);
         
         query.where(predicates.toArray(new Predicate[0]));
         query.orderBy(cb.desc(post.get("createdAt")));
@@ -68,14 +68,65 @@ public class CustomPostRepositoryImpl implements CustomPostRepository {
         List<Post> posts = typedQuery.getResultList();
         
         // Count total results
+        long total = countPostsWithFilters(authorId, content, startDate, endDate, includeDeleted);
+        
+        return new PageImpl<>(posts, pageable, total);
+    }
+    
+    @Override
+    public Slice<Post> findPostsWithFiltersAfter(Long authorId, String content,
+                                                 LocalDateTime startDate, LocalDateTime endDate,
+                                                 boolean includeDeleted, LocalDateTime afterCreatedAt,
+                                                 Long afterId, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        if ((afterCreatedAt == null) != (afterId == null)) {
+            throw new IllegalArgumentException("Cursor requires both creation time and ID");
+        }
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Post> query = cb.createQuery(Post.class);
+        Root<Post> post = query.from(Post.class);
+        
+        List<Predicate> predicates = buildFilterPredicates(cb, post, authorId, content,
+                                                           startDate, endDate, includeDeleted);
+        
+        // Seek past the cursor: (createdAt, id) < (afterCreatedAt, afterId)
+        if (afterCreatedAt != null) {
+            predicates.add(cb.or(
+                cb.lessThan(post.get("createdAt"), afterCreatedAt),
+                cb.and(cb.equal(post.get("createdAt"), afterCreatedAt),
+                       cb.lessThan(post.get("id"), afterId))));
+        }
+        
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.desc(post.get("createdAt")), cb.desc(post.get("id")));
+        
+        // Fetch one extra row to find out if there is a next page
+        List<Post> posts = entityManager.createQuery(query)
+            .setMaxResults(size + 1)
+            .getResultList();
+        
+        boolean hasNext = posts.size() > size;
+        List<Post> pageContent = hasNext ? new ArrayList<>(posts.subList(0, size)) : posts;
+        
+        return new SliceImpl<>(pageContent, PageRequest.of(0, size), hasNext);
+    }
+    
+    @Override
+    public long countPostsWithFilters(Long authorId, String content,
+                                      LocalDateTime startDate, LocalDateTime endDate,
+                                      boolean includeDeleted) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
         Root<Post> countRoot = countQuery.from(Post.class);
         countQuery.select(cb.count(countRoot));
-        countQuery.where(predicates.toArray(new Predicate[0]));
-        
-        Long total = entityManager.createQuery(countQuery).getSingleResult();
+        countQuery.where(buildFilterPredicates(cb, countRoot, authorId, content,
+                                               startDate, endDate, includeDeleted)
+                             .toArray(new Predicate[0]));
         
-        return new PageImpl<>(posts, pageable, total);
+        return entityManager.createQuery(countQuery).getSingleResult();
     }
     
     @Override
@@ -158,4 +209,62 @@ public class CustomPostRepositoryImpl implements CustomPostRepository {
             .setParameter("postIds", postIds)
             .executeUpdate();
     }
+    
+    /**
+     * Build the filter predicates shared by the paged, keyset and count queries
+     */
+    private List<Predicate> buildFilterPredicates(CriteriaBuilder cb, Root<Post> post,
+                                                  Long authorId, String content,
+                                                  LocalDateTime startDate, LocalDateTime endDate,
+                                                  boolean includeDeleted) {
+        List<Predicate> predicates = new ArrayList<>();
+        
+        // Author filter
+        if (authorId != null) {
+            predicates.add(cb.equal(post.get("author").get("id"), authorId));
+        }
+        
+        // Content filter
+        if (content != null && !content.trim().isEmpty()) {
+            List<Long> candidateIds = findIndexCandidates(content, authorId);
+            if (candidateIds == null) {
+                predicates.add(cb.like(cb.lower(post.get("content")), 
+                                     "%" + content.toLowerCase() + "%"));
+            } else if (candidateIds.isEmpty()) {
+                predicates.add(cb.disjunction());
+            } else {
+                predicates.add(post.get("id").in(candidateIds));
+            }
+        }
+        
+        // Date range filter
+        if (startDate != null) {
+            predicates.add(cb.greaterThanOrEqualTo(post.get("createdAt"), startDate));
+        }
+        if (endDate != null) {
+            predicates.add(cb.lessThanOrEqualTo(post.get("createdAt"), endDate));
+        }
+        
+        // Deleted filter
+        if (!includeDeleted) {
+            predicates.add(cb.equal(post.get("deleted"), false));
+        }
+        
+        return predicates;
+    }
+    
+    /**
+     * Look up the posts matching a content filter in the search index.
+     * Keywords matching more than app.search.max-candidates posts use LIKE instead: their matches
+     * are dense, so the newest-first scan fills a page early, while a long IN list would not pay off.
+     * @return Candidate post IDs, or null to filter with LIKE
+     */
+    private List<Long> findIndexCandidates(String content, Long authorId) {
+        PostSearchIndex searchIndex = searchIndexProvider.getIfAvailable();
+        SearchProperties searchProperties = searchPropertiesProvider.getIfAvailable();
+        if (searchIndex == null || searchProperties == null || !searchProperties.isEnabled()) {
+            return null;
+        }
+        return searchIndex.findCandidateIds(content, authorId, searchProperties.getMaxCandidates());
+    }
 }
\ No newline at end of file
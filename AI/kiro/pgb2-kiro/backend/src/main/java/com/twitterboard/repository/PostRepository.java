@@ -50,13 +50,13 @@ public interface PostRepository extends JpaRepository<Post, Long>, CustomPostRep
     Page<Post> findByDeletedFalse(Pageable pageable);
     
     /**
-     * Find posts by content containing (case insensitive)
-     * @param content Content pattern
-     * @param pageable Pagination information
-     * @return Page of posts
+     * Find a batch of non-deleted posts after the given ID, in ID order (for rebuilding the search index)
+     * @param afterId Last ID of the previous batch
+     * @param pageable Batch size
+     * @return List of posts
      */
-    @Query("SELECT p FROM Post p WHERE LOWER(p.content) LIKE LOWER(CONCAT('%', :content, '%')) AND p.deleted = false")
-    Page<Post> findByContentContainingIgnoreCase(@Param("content") String content, Pageable pageable);
+    @Query("SELECT p FROM Post p WHERE p.id > :afterId AND p.deleted = false ORDER BY p.id ASC")
+    List<Post> findBatchForIndexing(@Param("afterId") Long afterId, Pageable pageable);
     
     /**
      * Find posts created after specific date
@@ -0,0 +1,314 @@
+package com.twitterboard.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process full-text inverted index
+ * Each document has an ID and belongs to a group (e.g. its author), which searches can be
+ * restricted to.
+ *
+ * Tokenization:
+ * - Runs of letters and digits form one case-insensitive term
+ * - CJK text is indexed as single characters and bigrams; queries of two or more characters match
+ *   on bigrams, single-character queries on characters
+ * - Latin query terms also match indexed terms that start with them, at a lower weight
+ *
+ * All query terms must match. Results are ordered by BM25 score, newest (highest ID) first on ties.
+ * Thread-safe: guarded by a read-write lock, so searches run concurrently.
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+
+    /**
+     * Add or replace a document
+     * @param id Document ID
+     * @param group Group the document belongs to
+     * @param text Document text
+     */
+    public void put(long id, long group, String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        List<String> tokens = tokenize(text, false);
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(id, entry.getValue());
+            }
+            documents.put(id, new Document(group, tokens.size(), frequencies.keySet().toArray(new String[0])));
+            totalLength += tokens.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document
+     * @param id Document ID
+     * @return true if the document was indexed
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Search the index
+     * @param query Query text
+     * @param group Group to restrict to, or null for all groups
+     * @param offset Number of hits to skip
+     * @param limit Maximum number of hits to return
+     * @return Document IDs ordered by relevance, and the total number of hits
+     */
+    public SearchResult search(String query, Long group, long offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query, true));
+        if (terms.isEmpty()) {
+            return new SearchResult(Collections.emptyList(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            double averageLength = documents.isEmpty() ? 1.0 : (double) totalLength / documents.size();
+            Map<Long, Double> scores = null;
+
+            for (String term : terms) {
+                Map<Long, Double> termScores = scoreTerm(term, group, averageLength);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Double> merged = new HashMap<>();
+                    for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                        Double score = termScores.get(entry.getKey());
+                        if (score != null) {
+                            merged.put(entry.getKey(), entry.getValue() + score);
+                        }
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) {
+                    return new SearchResult(Collections.emptyList(), 0);
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort((a, b) -> {
+                int byScore = Double.compare(b.getValue(), a.getValue());
+                return byScore != 0 ? byScore : Long.compare(b.getKey(), a.getKey());
+            });
+
+            List<Long> ids = new ArrayList<>();
+            long end = Math.min(ranked.size(), offset + Math.max(0, limit));
+            for (long i = Math.max(0, offset); i < end; i++) {
+                ids.add(ranked.get((int) i).getKey());
+            }
+            return new SearchResult(ids, ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tokenize text for indexing
+     */
+    public static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    /**
+     * BM25 score of one query term (including prefix expansions) per document, keeping the best
+     * expansion for each document
+     */
+    private Map<Long, Double> scoreTerm(String term, Long group, double averageLength) {
+        Map<String, Double> expansions = new LinkedHashMap<>();
+        expansions.put(term, 1.0);
+        if (!isCjk(term.codePointAt(0))) {
+            for (String candidate : postings.tailMap(term, false).keySet()) {
+                if (!candidate.startsWith(term) || expansions.size() > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                expansions.put(candidate, PREFIX_WEIGHT);
+            }
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        int documentCount = documents.size();
+        for (Map.Entry<String, Double> expansion : expansions.entrySet()) {
+            Map<Long, Integer> posting = postings.get(expansion.getKey());
+            if (posting == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+            for (Map.Entry<Long, Integer> entry : posting.entrySet()) {
+                Document document = documents.get(entry.getKey());
+                if (group != null && document.group != group) {
+                    continue;
+                }
+                double tf = entry.getValue();
+                double norm = K1 * (1 - B + B * document.length / averageLength);
+                double score = expansion.getValue() * idf * tf * (K1 + 1) / (tf + norm);
+                scores.merge(entry.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private boolean removeLocked(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return false;
+        }
+        for (String term : document.terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= document.length;
+        return true;
+    }
+
+    /**
+     * Split text into terms; CJK runs yield characters and bigrams when indexing, and only bigrams
+     * for queries of two or more characters
+     */
+    private static List<String> tokenize(String text, boolean query) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        StringBuilder word = new StringBuilder();
+        List<String> cjkRun = new ArrayList<>();
+        int i = 0;
+        while (i <= text.length()) {
+            int codePoint = i < text.length() ? text.codePointAt(i) : ' ';
+            if (isCjk(codePoint)) {
+                flushWord(word, tokens);
+                cjkRun.add(new String(Character.toChars(codePoint)));
+            } else {
+                flushCjk(cjkRun, tokens, query);
+                if (Character.isLetterOrDigit(codePoint)) {
+                    word.appendCodePoint(Character.toLowerCase(codePoint));
+                } else {
+                    flushWord(word, tokens);
+                }
+            }
+            i += Character.charCount(codePoint);
+        }
+        return tokens;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static void flushCjk(List<String> run, List<String> tokens, boolean query) {
+        if (run.isEmpty()) {
+            return;
+        }
+        if (!query || run.size() == 1) {
+            tokens.addAll(run);
+        }
+        for (int i = 0; i + 1 < run.size(); i++) {
+            tokens.add(run.get(i) + run.get(i + 1));
+        }
+        run.clear();
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static final class Document {
+        private final long group;
+        private final int length;
+        private final String[] terms;
+
+        Document(long group, int length, String[] terms) {
+            this.group = group;
+            this.length = length;
+            this.terms = terms;
+        }
+    }
+
+    /**
+     * Search result
+     */
+    public static final class SearchResult {
+        private final List<Long> ids;
+        private final long total;
+
+        public SearchResult(List<Long> ids, long total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        /**
+         * Document IDs on this page, ordered by relevance
+         */
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        /**
+         * Total number of hits
+         */
+        public long getTotal() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.twitterboard.search;
+
+/**
+ * Published when a post is created, edited or deleted
+ */
+public class PostChangeEvent {
+    
+    private final Long postId;
+    private final Long authorId;
+    private final String content;
+    private final boolean deleted;
+    
+    public PostChangeEvent(Long postId, Long authorId, String content, boolean deleted) {
+        this.postId = postId;
+        this.authorId = authorId;
+        this.content = content;
+        this.deleted = deleted;
+    }
+    
+    public Long getPostId() {
+        return postId;
+    }
+    
+    public Long getAuthorId() {
+        return authorId;
+    }
+    
+    public String getContent() {
+        return content;
+    }
+    
+    public boolean isDeleted() {
+        return deleted;
+    }
+}
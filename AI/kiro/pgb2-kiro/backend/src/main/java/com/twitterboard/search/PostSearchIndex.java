@@ -0,0 +1,144 @@
+package com.twitterboard.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live post search index, built and kept current by PostSearchService and read by the post
+ * repository to narrow content filters to index hits instead of scanning with LIKE '%...%'.
+ * Not ready until the first build completes; callers fall back to LIKE until then.
+ */
+@Component
+public class PostSearchIndex {
+
+    private volatile InvertedIndex index = new InvertedIndex();
+    private volatile InvertedIndex rebuilding;
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    /**
+     * Add or replace a post in the live index and, during a rebuild, in the index being built
+     * @param postId Post ID
+     * @param authorId Author ID
+     * @param content Post content
+     */
+    public void put(long postId, long authorId, String content) {
+        InvertedIndex pending = rebuilding;
+        if (pending != null) {
+            touchedDuringRebuild.add(postId);
+            pending.put(postId, authorId, content);
+        }
+        InvertedIndex current = index;
+        current.put(postId, authorId, content);
+        if (index != current) {
+            index.put(postId, authorId, content);
+        }
+    }
+
+    /**
+     * Remove a post from the live index and, during a rebuild, from the index being built
+     * @param postId Post ID
+     */
+    public void remove(long postId) {
+        InvertedIndex pending = rebuilding;
+        if (pending != null) {
+            touchedDuringRebuild.add(postId);
+            pending.remove(postId);
+        }
+        InvertedIndex current = index;
+        current.remove(postId);
+        if (index != current) {
+            index.remove(postId);
+        }
+    }
+
+    /**
+     * Start building a replacement index; live changes are applied to it as well
+     * @return The index to fill
+     */
+    public InvertedIndex beginRebuild() {
+        InvertedIndex fresh = new InvertedIndex();
+        touchedDuringRebuild.clear();
+        rebuilding = fresh;
+        return fresh;
+    }
+
+    /**
+     * Add a post read from the database to the index being built, unless a live change for it
+     * was seen since the rebuild started (that change is newer than the database snapshot)
+     */
+    public void putRebuilt(InvertedIndex fresh, long postId, long authorId, String content) {
+        if (!touchedDuringRebuild.contains(postId)) {
+            fresh.put(postId, authorId, content);
+        }
+    }
+
+    /**
+     * Swap in the rebuilt index
+     * @param fresh Index returned by {@link #beginRebuild()}
+     */
+    public void finishRebuild(InvertedIndex fresh) {
+        index = fresh;
+        endRebuild();
+        ready = true;
+    }
+
+    /**
+     * Drop a failed rebuild and keep serving the current index
+     */
+    public void abortRebuild() {
+        endRebuild();
+    }
+
+    /**
+     * Check if searches can be served from the index
+     * @return true once the initial build has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Search the index, most relevant first
+     * @param keyword Search keyword
+     * @param authorId Author to restrict to, or null for all authors
+     * @param offset Number of hits to skip
+     * @param limit Maximum number of hits to return
+     * @return Post IDs and the total number of hits
+     */
+    public InvertedIndex.SearchResult search(String keyword, Long authorId, long offset, int limit) {
+        return index.search(keyword, authorId, offset, limit);
+    }
+
+    /**
+     * Find the IDs of all posts matching a keyword, for use as an {@code id IN (...)} filter
+     * @param keyword Search keyword
+     * @param authorId Author to restrict to, or null for all authors
+     * @param maxCandidates Largest number of IDs worth passing to the database
+     * @return Matching post IDs, or null if the index is not ready, the keyword has no searchable
+     *         terms or it matches more than maxCandidates posts
+     */
+    public List<Long> findCandidateIds(String keyword, Long authorId, int maxCandidates) {
+        if (!ready || InvertedIndex.tokenize(keyword).isEmpty()) {
+            return null;
+        }
+        InvertedIndex.SearchResult result = index.search(keyword, authorId, 0, maxCandidates + 1);
+        return result.getTotal() > maxCandidates ? null : result.getIds();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public int getTermCount() {
+        return index.getTermCount();
+    }
+
+    private void endRebuild() {
+        rebuilding = null;
+        touchedDuringRebuild.clear();
+    }
+}
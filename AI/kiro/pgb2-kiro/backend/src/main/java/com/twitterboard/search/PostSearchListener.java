@@ -0,0 +1,40 @@
+package com.twitterboard.search;
+
+import com.twitterboard.entity.Post;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns post writes into {@link PostChangeEvent}s for the search index.
+ * Bulk JPQL updates bypass entity listeners; the periodic index rebuild picks those up.
+ */
+@Component
+public class PostSearchListener {
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    public PostSearchListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+    
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Post post) {
+        publish(post, post.isDeleted());
+    }
+    
+    @PostRemove
+    public void onRemoved(Post post) {
+        publish(post, true);
+    }
+    
+    private void publish(Post post, boolean deleted) {
+        Long authorId = post.getAuthor() != null ? post.getAuthor().getId() : null;
+        eventPublisher.publishEvent(new PostChangeEvent(post.getId(), authorId, post.getContent(), deleted));
+    }
+}
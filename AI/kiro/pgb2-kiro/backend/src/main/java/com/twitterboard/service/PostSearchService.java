@@ -0,0 +1,233 @@
+package com.twitterboard.service;
+
+import com.twitterboard.config.SearchProperties;
+import com.twitterboard.entity.Post;
+import com.twitterboard.repository.PostRepository;
+import com.twitterboard.search.InvertedIndex;
+import com.twitterboard.search.PostChangeEvent;
+import com.twitterboard.search.PostSearchIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service that builds and maintains the post search index.
+ * The index is kept current from post change events after each commit; each change is also
+ * published on a Redis channel so the other nodes reload the post from the database. A periodic
+ * rebuild picks up bulk updates and any missed notifications. Until the first build completes,
+ * content searches use the LIKE queries.
+ * Index hits are re-loaded from the database, so deleted posts never appear in results.
+ */
+@Service
+public class PostSearchService implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchService.class);
+
+    static final String CHANGES_CHANNEL = "post-search:changes";
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final PostRepository postRepository;
+    private final PostSearchIndex searchIndex;
+    private final SearchProperties searchProperties;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private ScheduledExecutorService indexExecutor;
+
+    @Autowired
+    public PostSearchService(PostRepository postRepository, PostSearchIndex searchIndex,
+                             SearchProperties searchProperties, StringRedisTemplate redisTemplate,
+                             RedisMessageListenerContainer listenerContainer) {
+        this.postRepository = postRepository;
+        this.searchIndex = searchIndex;
+        this.searchProperties = searchProperties;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!searchProperties.isEnabled()) {
+            logger.info("Post search index is disabled, searches use the database");
+            return;
+        }
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANGES_CHANNEL));
+        indexExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "post-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        indexExecutor.scheduleWithFixedDelay(this::rebuildQuietly, 0,
+                searchProperties.getRebuildIntervalMinutes(), TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (indexExecutor != null) {
+            indexExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Apply a committed post change to the index and notify the other nodes
+     * @param event Post change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangeEvent event) {
+        if (!searchProperties.isEnabled() || event.getPostId() == null) {
+            return;
+        }
+        long postId = event.getPostId();
+        if (event.isDeleted() || event.getAuthorId() == null) {
+            searchIndex.remove(postId);
+        } else {
+            searchIndex.put(postId, event.getAuthorId(), event.getContent());
+        }
+
+        try {
+            redisTemplate.convertAndSend(CHANGES_CHANNEL, nodeId + ":" + postId);
+        } catch (Exception e) {
+            // The other nodes catch up on their next rebuild
+            logger.warn("Failed to publish post search change: postId={}, error={}", postId, e.getMessage());
+        }
+    }
+
+    /**
+     * Reload a post changed on another node
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator < 0 || body.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        try {
+            long postId = Long.parseLong(body.substring(separator + 1));
+            // Deleted posts are filtered by the entity's @Where clause
+            postRepository.findById(postId).ifPresentOrElse(
+                    post -> searchIndex.put(postId, post.getAuthor().getId(), post.getContent()),
+                    () -> searchIndex.remove(postId));
+        } catch (Exception e) {
+            logger.warn("Failed to apply post search change: message={}, error={}", body, e.getMessage());
+        }
+    }
+
+    /**
+     * Search all posts by content, most relevant first
+     * @param keyword Search keyword
+     * @param pageable Pagination information (sorting is by relevance)
+     * @return Page of matching posts
+     */
+    public Page<Post> searchPosts(String keyword, Pageable pageable) {
+        if (!searchIndex.isReady()) {
+            return postRepository.findByContentContainingIgnoreCase(keyword, pageable);
+        }
+        return searchFromIndex(keyword, null, pageable);
+    }
+
+    /**
+     * Search one author's posts by content, most relevant first
+     * @param authorId Author ID
+     * @param keyword Search keyword
+     * @param pageable Pagination information (sorting is by relevance)
+     * @return Page of matching posts
+     */
+    public Page<Post> searchPostsByAuthor(Long authorId, String keyword, Pageable pageable) {
+        if (!searchIndex.isReady()) {
+            return postRepository.findPostsWithFilters(authorId, keyword, null, null, false, pageable);
+        }
+        return searchFromIndex(keyword, authorId, pageable);
+    }
+
+    /**
+     * Check if searches are served from the index
+     * @return true once the initial index build has completed
+     */
+    public boolean isReady() {
+        return searchIndex.isReady();
+    }
+
+    /**
+     * Rebuild the index from the database
+     */
+    public void rebuild() {
+        InvertedIndex fresh = searchIndex.beginRebuild();
+        try {
+            long lastId = 0L;
+            List<Post> batch;
+            do {
+                batch = postRepository.findBatchForIndexing(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (Post post : batch) {
+                    searchIndex.putRebuilt(fresh, post.getId(), post.getAuthor().getId(), post.getContent());
+                    lastId = Math.max(lastId, post.getId());
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            searchIndex.abortRebuild();
+            throw e;
+        }
+        searchIndex.finishRebuild(fresh);
+        logger.info("Rebuilt post search index: posts={}, terms={}", fresh.size(), fresh.getTermCount());
+    }
+
+    private Page<Post> searchFromIndex(String keyword, Long authorId, Pageable pageable) {
+        InvertedIndex.SearchResult result = searchIndex.search(keyword, authorId,
+                pageable.getOffset(), pageable.getPageSize());
+        if (result.getIds().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, result.getTotal());
+        }
+
+        // Deleted posts are filtered by the entity's @Where clause
+        Map<Long, Post> postsById = postRepository.findAllById(result.getIds()).stream()
+                .filter(post -> authorId == null || post.isOwnedBy(authorId))
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<Post> posts = new ArrayList<>(postsById.size());
+        for (Long id : result.getIds()) {
+            Post post = postsById.get(id);
+            if (post != null) {
+                posts.add(post);
+            } else {
+                // Stale hit: drop it so later searches and totals no longer count it
+                searchIndex.remove(id);
+            }
+        }
+        long total = result.getTotal() - (result.getIds().size() - posts.size());
+        return new PageImpl<>(posts, pageable, total);
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Failed to rebuild post search index: {}", e.getMessage());
+        }
+    }
+}
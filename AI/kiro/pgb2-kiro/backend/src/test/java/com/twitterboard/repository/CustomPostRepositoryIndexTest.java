@@ -0,0 +1,128 @@
+package com.twitterboard.repository;
+
+import com.twitterboard.config.SearchProperties;
+import com.twitterboard.entity.Post;
+import com.twitterboard.entity.User;
+import com.twitterboard.search.InvertedIndex;
+import com.twitterboard.search.PostSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({PostSearchIndex.class, SearchProperties.class})
+class CustomPostRepositoryIndexTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostSearchIndex searchIndex;
+
+    @Autowired
+    private SearchProperties searchProperties;
+
+    private User author;
+    private User otherAuthor;
+    private Post javaPost;
+    private Post springPost;
+    private Post otherJavaPost;
+    private Pageable pageable;
+
+    @BeforeEach
+    void setUp() {
+        author = new User("google123", "test1@example.com", "Test User 1", null);
+        otherAuthor = new User("google456", "test2@example.com", "Test User 2", null);
+        entityManager.persistAndFlush(author);
+        entityManager.persistAndFlush(otherAuthor);
+
+        javaPost = entityManager.persistAndFlush(new Post(author, "Java programming tutorial"));
+        springPost = entityManager.persistAndFlush(new Post(author, "Spring Boot best practices"));
+        otherJavaPost = entityManager.persistAndFlush(new Post(otherAuthor, "Java records explained"));
+        pageable = PageRequest.of(0, 10);
+        searchProperties.setMaxCandidates(1000);
+    }
+
+    private void buildIndex() {
+        InvertedIndex fresh = searchIndex.beginRebuild();
+        for (Post post : List.of(javaPost, springPost, otherJavaPost)) {
+            searchIndex.putRebuilt(fresh, post.getId(), post.getAuthor().getId(), post.getContent());
+        }
+        searchIndex.finishRebuild(fresh);
+    }
+
+    @Test
+    void findByContentContainingIgnoreCase_IndexReady_MatchesIndexedTerms() {
+        // Given
+        buildIndex();
+
+        // When
+        Page<Post> byTerm = postRepository.findByContentContainingIgnoreCase("JAVA", pageable);
+        Page<Post> bySubstring = postRepository.findByContentContainingIgnoreCase("gram", pageable);
+
+        // Then
+        assertEquals(2, byTerm.getTotalElements());
+        assertTrue(byTerm.getContent().containsAll(List.of(javaPost, otherJavaPost)));
+        assertEquals(0, bySubstring.getTotalElements());
+    }
+
+    @Test
+    void findPostsWithFilters_IndexReady_AppliesOtherFiltersToIndexHits() {
+        // Given
+        buildIndex();
+
+        // When
+        Page<Post> result = postRepository.findPostsWithFilters(author.getId(), "java", null, null, false, pageable);
+        long count = postRepository.countPostsWithFilters(null, "spring boot", null, null, false);
+
+        // Then
+        assertEquals(List.of(javaPost), result.getContent());
+        assertEquals(1, count);
+    }
+
+    @Test
+    void findPostsWithFiltersAfter_IndexReady_PagesThroughIndexHits() {
+        // Given
+        buildIndex();
+
+        // When
+        Slice<Post> first = postRepository.findPostsWithFiltersAfter(null, "java", null, null, false, null, null, 1);
+        Post last = first.getContent().get(0);
+        Slice<Post> second = postRepository.findPostsWithFiltersAfter(null, "java", null, null, false,
+                last.getCreatedAt(), last.getId(), 1);
+
+        // Then
+        assertTrue(first.hasNext());
+        assertFalse(second.hasNext());
+        assertNotEquals(last, second.getContent().get(0));
+    }
+
+    @Test
+    void findPostsWithFilters_TooManyIndexHits_FallsBackToSubstringMatch() {
+        // Given
+        buildIndex();
+        searchProperties.setMaxCandidates(1);
+
+        // When
+        Page<Post> result = postRepository.findPostsWithFilters(null, "java", null, null, false, pageable);
+
+        // Then
+        assertEquals(2, result.getTotalElements());
+    }
+}
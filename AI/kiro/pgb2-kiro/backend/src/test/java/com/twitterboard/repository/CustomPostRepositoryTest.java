@@ -7,12 +7,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -256,4 +259,54 @@ class CustomPostRepositoryTest {
         assertTrue(page1.hasNext());
         assertFalse(page2.hasNext());
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testFindPostsWithFiltersAfterWalksAllPages() {
+        // When
+        Slice<Post> page1 = postRepository.findPostsWithFiltersAfter(null, null, null, null, false, null, null, 2);
+        Post last = page1.getContent().get(page1.getContent().size() - 1);
+        Slice<Post> page2 = postRepository.findPostsWithFiltersAfter(null, null, null, null, false,
+                                                                     last.getCreatedAt(), last.getId(), 2);
+        
+        // Then
+        assertEquals(2, page1.getContent().size());
+        assertTrue(page1.hasNext());
+        assertEquals(1, page2.getContent().size());
+        assertFalse(page2.hasNext());
+        List<Long> ids = new ArrayList<>(page1.getContent().stream().map(Post::getId).toList());
+        ids.add(page2.getContent().get(0).getId());
+        assertTrue(ids.containsAll(Arrays.asList(post1.getId(), post2.getId(), post3.getId())));
+    }
+    
+    @Test
+    void testFindPostsWithFiltersAfterAuthorFilter() {
+        // When
+        Slice<Post> slice = postRepository.findPostsWithFiltersAfter(testUser1.getId(), null, null, null, false,
+                                                                     null, null, 10);
+        
+        // Then
+        assertEquals(2, slice.getContent().size());
+        assertFalse(slice.hasNext());
+        assertTrue(slice.getContent().stream().allMatch(p -> p.getAuthor().getId().equals(testUser1.getId())));
+    }
+    
+    @Test
+    void testFindPostsWithFiltersAfterIncompleteCursor() {
+        // When & Then
+        assertThrows(InvalidDataAccessApiUsageException.class, () ->
+            postRepository.findPostsWithFiltersAfter(null, null, null, null, false, LocalDateTime.now(), null, 10));
+        assertThrows(InvalidDataAccessApiUsageException.class, () ->
+            postRepository.findPostsWithFiltersAfter(null, null, null, null, false, null, null, 0));
+    }
+    
+    @Test
+    void testCountPostsWithFilters() {
+        // When
+        long total = postRepository.countPostsWithFilters(null, null, null, null, false);
+        long byContent = postRepository.countPostsWithFilters(null, "spring", null, null, false);
+        
+        // Then
+        assertEquals(3, total);
+        assertEquals(1, byContent);
+    }
+}
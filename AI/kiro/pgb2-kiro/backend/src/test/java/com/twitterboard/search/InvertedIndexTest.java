@@ -0,0 +1,141 @@
+package com.twitterboard.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+    
+    private InvertedIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+    }
+    
+    @Test
+    void search_AllTermsRequired_ReturnsOnlyMatchingPosts() {
+        // Arrange
+        index.put(1L, 10L, "Spring Boot search");
+        index.put(2L, 10L, "Spring cleaning");
+        index.put(3L, 20L, "Boot camp");
+        
+        // Act
+        InvertedIndex.SearchResult result = index.search("spring boot", null, 0, 10);
+        
+        // Assert
+        assertEquals(List.of(1L), result.getIds());
+        assertEquals(1, result.getTotal());
+    }
+    
+    @Test
+    void search_WithGroup_ReturnsOnlyThatGroup() {
+        // Arrange
+        index.put(1L, 10L, "hello world");
+        index.put(2L, 20L, "hello there");
+        
+        // Act
+        InvertedIndex.SearchResult result = index.search("hello", 20L, 0, 10);
+        
+        // Assert
+        assertEquals(List.of(2L), result.getIds());
+    }
+    
+    @Test
+    void search_MoreOccurrences_RanksHigher() {
+        // Arrange
+        index.put(1L, 10L, "java and more words here");
+        index.put(2L, 10L, "java java java");
+        
+        // Act
+        InvertedIndex.SearchResult result = index.search("java", null, 0, 10);
+        
+        // Assert
+        assertEquals(List.of(2L, 1L), result.getIds());
+    }
+    
+    @Test
+    void search_Prefix_MatchesLongerWords() {
+        // Arrange
+        index.put(1L, 10L, "Programming is fun");
+        
+        // Act
+        InvertedIndex.SearchResult result = index.search("prog", null, 0, 10);
+        
+        // Assert
+        assertEquals(List.of(1L), result.getIds());
+    }
+    
+    @Test
+    void search_ChineseText_MatchesByBigrams() {
+        // Arrange
+        index.put(1L, 10L, "今天天氣很好");
+        index.put(2L, 10L, "明天會下雨");
+        
+        // Act & Assert
+        assertEquals(List.of(1L), index.search("天氣", null, 0, 10).getIds());
+        assertEquals(2, index.search("天", null, 0, 10).getTotal());
+        assertTrue(index.search("氣天", null, 0, 10).getIds().isEmpty());
+    }
+    
+    @Test
+    void search_WithOffset_ReturnsRequestedPageAndTotal() {
+        // Arrange
+        for (long id = 1; id <= 5; id++) {
+            index.put(id, 10L, "same text");
+        }
+        
+        // Act
+        InvertedIndex.SearchResult result = index.search("same", null, 2, 2);
+        
+        // Assert
+        assertEquals(List.of(3L, 2L), result.getIds());
+        assertEquals(5, result.getTotal());
+    }
+    
+    @Test
+    void put_ExistingId_ReplacesContent() {
+        // Arrange
+        index.put(1L, 10L, "old content");
+        
+        // Act
+        index.put(1L, 10L, "new content");
+        
+        // Assert
+        assertTrue(index.search("old", null, 0, 10).getIds().isEmpty());
+        assertEquals(List.of(1L), index.search("new", null, 0, 10).getIds());
+        assertEquals(1, index.size());
+    }
+    
+    @Test
+    void remove_ExistingId_DropsPostAndUnusedTerms() {
+        // Arrange
+        index.put(1L, 10L, "unique words");
+        
+        // Act
+        boolean removed = index.remove(1L);
+        
+        // Assert
+        assertTrue(removed);
+        assertFalse(index.remove(1L));
+        assertEquals(0, index.size());
+        assertEquals(0, index.getTermCount());
+        assertTrue(index.search("unique", null, 0, 10).getIds().isEmpty());
+    }
+    
+    @Test
+    void search_BlankQuery_ReturnsEmpty() {
+        // Arrange
+        index.put(1L, 10L, "content");
+        
+        // Act
+        InvertedIndex.SearchResult result = index.search("  !! ", null, 0, 10);
+        
+        // Assert
+        assertTrue(result.getIds().isEmpty());
+        assertEquals(0, result.getTotal());
+    }
+}
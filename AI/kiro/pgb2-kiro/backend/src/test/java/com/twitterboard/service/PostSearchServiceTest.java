@@ -0,0 +1,197 @@
+package com.twitterboard.service;
+
+import com.twitterboard.config.SearchProperties;
+import com.twitterboard.entity.Post;
+import com.twitterboard.entity.User;
+import com.twitterboard.repository.PostRepository;
+import com.twitterboard.search.PostChangeEvent;
+import com.twitterboard.search.PostSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostSearchServiceTest {
+    
+    @Mock
+    private PostRepository postRepository;
+    
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+    
+    private PostSearchService postSearchService;
+    private User author;
+    private Pageable pageable;
+    
+    @BeforeEach
+    void setUp() {
+        postSearchService = new PostSearchService(postRepository, new PostSearchIndex(), new SearchProperties(),
+                redisTemplate, listenerContainer);
+        
+        author = new User();
+        author.setId(1L);
+        pageable = PageRequest.of(0, 10);
+    }
+    
+    private Post createPost(Long id, User postAuthor, String content) {
+        Post post = new Post(postAuthor, content);
+        post.setId(id);
+        return post;
+    }
+    
+    @Test
+    void searchPosts_IndexNotReady_FallsBackToDatabase() {
+        // Arrange
+        Page<Post> expected = new PageImpl<>(List.of(createPost(1L, author, "hello")));
+        when(postRepository.findByContentContainingIgnoreCase("hello", pageable)).thenReturn(expected);
+        
+        // Act
+        Page<Post> result = postSearchService.searchPosts("hello", pageable);
+        
+        // Assert
+        assertFalse(postSearchService.isReady());
+        assertSame(expected, result);
+    }
+    
+    @Test
+    void searchPostsByAuthor_IndexNotReady_FallsBackToFilterQuery() {
+        // Arrange
+        Page<Post> expected = new PageImpl<>(List.of());
+        when(postRepository.findPostsWithFilters(1L, "hello", null, null, false, pageable)).thenReturn(expected);
+        
+        // Act
+        Page<Post> result = postSearchService.searchPostsByAuthor(1L, "hello", pageable);
+        
+        // Assert
+        assertSame(expected, result);
+    }
+    
+    @Test
+    void rebuild_PagesThroughPosts_ServesSearchesFromIndex() {
+        // Arrange
+        Post first = createPost(1L, author, "spring boot tips");
+        Post second = createPost(2L, author, "spring boot boot boot");
+        when(postRepository.findBatchForIndexing(eq(0L), any(Pageable.class))).thenReturn(List.of(first, second));
+        when(postRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(first, second));
+        
+        // Act
+        postSearchService.rebuild();
+        Page<Post> result = postSearchService.searchPosts("boot", pageable);
+        
+        // Assert
+        assertTrue(postSearchService.isReady());
+        assertEquals(List.of(second, first), result.getContent());
+        assertEquals(2, result.getTotalElements());
+        verify(postRepository, never()).findByContentContainingIgnoreCase(anyString(), any(Pageable.class));
+    }
+    
+    @Test
+    void onPostChanged_CreatedAndDeleted_UpdatesIndex() {
+        // Arrange
+        when(postRepository.findBatchForIndexing(eq(0L), any(Pageable.class))).thenReturn(List.of());
+        postSearchService.rebuild();
+        Post post = createPost(5L, author, "fresh news");
+        when(postRepository.findAllById(List.of(5L))).thenReturn(List.of(post));
+        
+        // Act
+        postSearchService.onPostChanged(new PostChangeEvent(5L, 1L, "fresh news", false));
+        Page<Post> afterCreate = postSearchService.searchPosts("fresh", pageable);
+        postSearchService.onPostChanged(new PostChangeEvent(5L, 1L, "fresh news", true));
+        Page<Post> afterDelete = postSearchService.searchPosts("fresh", pageable);
+        
+        // Assert
+        assertEquals(List.of(post), afterCreate.getContent());
+        assertTrue(afterDelete.getContent().isEmpty());
+        assertEquals(0, afterDelete.getTotalElements());
+    }
+    
+    @Test
+    void onPostChanged_PublishesChangeToOtherNodes() {
+        // Act
+        postSearchService.onPostChanged(new PostChangeEvent(5L, 1L, "fresh news", false));
+        
+        // Assert
+        verify(redisTemplate).convertAndSend(eq(PostSearchService.CHANGES_CHANNEL), endsWith(":5"));
+    }
+    
+    @Test
+    void onMessage_ChangeFromOtherNode_ReloadsPost() {
+        // Arrange
+        when(postRepository.findBatchForIndexing(eq(0L), any(Pageable.class))).thenReturn(List.of());
+        postSearchService.rebuild();
+        Post post = createPost(7L, author, "remote update");
+        when(postRepository.findById(7L)).thenReturn(Optional.of(post));
+        when(postRepository.findAllById(List.of(7L))).thenReturn(List.of(post));
+        
+        // Act
+        postSearchService.onMessage(message("other-node:7"), null);
+        Page<Post> afterUpdate = postSearchService.searchPosts("remote", pageable);
+        when(postRepository.findById(7L)).thenReturn(Optional.empty());
+        postSearchService.onMessage(message("other-node:7"), null);
+        Page<Post> afterDelete = postSearchService.searchPosts("remote", pageable);
+        
+        // Assert
+        assertEquals(List.of(post), afterUpdate.getContent());
+        assertEquals(0, afterDelete.getTotalElements());
+    }
+    
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(PostSearchService.CHANGES_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    void searchPostsByAuthor_IndexReady_ReturnsOnlyAuthorsPosts() {
+        // Arrange
+        User other = new User();
+        other.setId(2L);
+        Post own = createPost(1L, author, "weekend plans");
+        Post others = createPost(2L, other, "weekend plans");
+        when(postRepository.findBatchForIndexing(eq(0L), any(Pageable.class))).thenReturn(List.of(own, others));
+        when(postRepository.findAllById(List.of(1L))).thenReturn(List.of(own));
+        postSearchService.rebuild();
+        
+        // Act
+        Page<Post> result = postSearchService.searchPostsByAuthor(1L, "weekend", pageable);
+        
+        // Assert
+        assertEquals(List.of(own), result.getContent());
+        assertEquals(1, result.getTotalElements());
+    }
+    
+    @Test
+    void searchPosts_HitMissingFromDatabase_IsSkipped() {
+        // Arrange
+        Post post = createPost(1L, author, "stale entry");
+        when(postRepository.findBatchForIndexing(eq(0L), any(Pageable.class))).thenReturn(List.of(post));
+        when(postRepository.findAllById(List.of(1L))).thenReturn(List.of());
+        postSearchService.rebuild();
+        
+        // Act
+        Page<Post> result = postSearchService.searchPosts("stale", pageable);
+        
+        // Assert
+        assertTrue(result.getContent().isEmpty());
+        assertEquals(0, result.getTotalElements());
+    }
+}
@@ -0,0 +1,92 @@
+import rpg.assets.TextureAtlas;
+import rpg.components.RenderComponent;
+import rpg.components.TransformComponent;
+import rpg.systems.RenderQueue;
+import rpg.systems.RenderableEntity;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark comparing the per-entity render path of RenderQueue with the
+ * sprite batch path. Sprites come from two texture atlases and are spread
+ * over three layers, interleaved so that the per-entity path sees frequent
+ * texture changes.
+ */
+public class RenderBatchBenchmark {
+    private static final int SPRITES = 2_000;
+    private static final int WARMUP_FRAMES = 300;
+    private static final int MEASURED_FRAMES = 1_000;
+
+    public static void main(String[] args) {
+        System.out.println("Render batch benchmark: " + SPRITES + " sprites per frame");
+
+        TextureAtlas[] atlases = {createAtlas("characters", Color.RED), createAtlas("items", Color.BLUE)};
+        List<TransformComponent> transforms = new ArrayList<>();
+        List<RenderComponent> renders = new ArrayList<>();
+        for (int i = 0; i < SPRITES; i++) {
+            TextureAtlas atlas = atlases[i % atlases.length];
+            RenderComponent render = new RenderComponent();
+            render.setAtlasRegion(atlas, atlas.getName() + "_0_" + (i % 4));
+            render.setLayer(i % 3);
+            TransformComponent transform = new TransformComponent((i * 37) % 760, (i * 53) % 560);
+            if (i % 10 == 0) {
+                transform.rotation = 45;
+            }
+            transforms.add(transform);
+            renders.add(render);
+        }
+
+        BufferedImage target = new BufferedImage(800, 600, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = target.createGraphics();
+
+        RenderQueue regular = new RenderQueue();
+        RenderQueue batched = new RenderQueue();
+        batched.setSpriteBatchingEnabled(true);
+
+        runFrames(regular, g2, transforms, renders, WARMUP_FRAMES);
+        runFrames(batched, g2, transforms, renders, WARMUP_FRAMES);
+
+        double regularMs = measure(regular, g2, transforms, renders);
+        double batchedMs = measure(batched, g2, transforms, renders);
+
+        System.out.printf("Per-entity path: %.3f ms/frame  %s%n", regularMs, regular.getStats());
+        System.out.printf("Sprite batch:    %.3f ms/frame  %s (%.2fx)%n", batchedMs, batched.getStats(), regularMs / batchedMs);
+        g2.dispose();
+    }
+
+    private static TextureAtlas createAtlas(String name, Color color) {
+        BufferedImage image = new BufferedImage(128, 32, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, 128, 32);
+        g.dispose();
+        return TextureAtlas.createFromSpriteSheet(name, image, 32, 32);
+    }
+
+    private static double measure(RenderQueue queue, Graphics2D g2,
+                                  List<TransformComponent> transforms, List<RenderComponent> renders) {
+        long start = System.nanoTime();
+        runFrames(queue, g2, transforms, renders, MEASURED_FRAMES);
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_FRAMES;
+    }
+
+    private static void runFrames(RenderQueue queue, Graphics2D g2, List<TransformComponent> transforms,
+                                  List<RenderComponent> renders, int frames) {
+        for (int frame = 0; frame < frames; frame++) {
+            queue.clear();
+            for (int i = 0; i < transforms.size(); i++) {
+                if (queue.isSpriteBatchingEnabled()) {
+                    queue.addSprite(transforms.get(i), renders.get(i));
+                } else {
+                    queue.addEntity(new RenderableEntity(null, transforms.get(i), renders.get(i)));
+                }
+            }
+            queue.prepare();
+            queue.render(g2);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+import rpg.components.*;
+import rpg.engine.Archetype;
+import rpg.engine.ArchetypeStore;
+import rpg.engine.Entity;
+import rpg.engine.EntityQuery;
+
+import java.util.List;
+
+/**
+ * Test for archetype-based component storage and cached entity queries.
+ */
+public class TestArchetypeStore {
+
+    public static void main(String[] args) {
+        System.out.println("Testing Archetype Store...");
+
+        try {
+            ArchetypeStore store = new ArchetypeStore();
+
+            // Entities with different component sets land in different archetypes
+            Entity mover = new Entity();
+            mover.addComponent(new TransformComponent(10, 20));
+            mover.addComponent(new MovementComponent(5.0f));
+            store.attach(mover);
+
+            Entity wall = new Entity();
+            wall.addComponent(new TransformComponent(50, 60));
+            wall.addComponent(new CollisionComponent(32, 32));
+            store.attach(wall);
+
+            assert store.getArchetypeCount() == 2;
+            assert mover.getArchetype() != wall.getArchetype();
+            System.out.println("✓ Entities grouped by signature");
+
+            // Queries are cached and see all matching archetypes
+            EntityQuery transforms = store.query(TransformComponent.class);
+            assert transforms == store.query(TransformComponent.class);
+            assert transforms.getEntities().size() == 2;
+
+            EntityQuery movers = store.query(TransformComponent.class, MovementComponent.class);
+            assert movers.getEntities().size() == 1;
+            assert movers.getEntities().get(0) == mover;
+            System.out.println("✓ Cached queries return matching entities");
+
+            // The view is reused until the structure changes
+            List<Entity> before = transforms.getEntities();
+            assert before == transforms.getEntities();
+
+            wall.addComponent(new MovementComponent(1.0f));
+            assert movers.getEntities().size() == 2;
+            assert store.getArchetypeCount() == 3;
+
+            wall.removeComponent(MovementComponent.class);
+            assert movers.getEntities().size() == 1;
+            System.out.println("✓ Queries update on component add/remove");
+
+            // Column round trip keeps Entity.getComponent in sync
+            Archetype archetype = mover.getArchetype();
+            int row = mover.getRow();
+            archetype.pull();
+            assert archetype.x[row] == 10 && archetype.y[row] == 20;
+            archetype.x[row] += 5;
+            archetype.velocityX[row] = 3;
+            archetype.push();
+            assert mover.getComponent(TransformComponent.class).x == 15;
+            assert mover.getComponent(MovementComponent.class).velocityX == 3;
+            System.out.println("✓ Struct-of-arrays columns sync with components");
+
+            // Swap-remove keeps the remaining rows addressable
+            Entity second = new Entity();
+            second.addComponent(new TransformComponent(1, 2));
+            second.addComponent(new MovementComponent(5.0f));
+            store.attach(second);
+            store.detach(mover);
+            assert second.getRow() == 0;
+            assert second.getArchetype().getEntity(0) == second;
+            assert movers.getEntities().size() == 1;
+            System.out.println("✓ Detach compacts archetype rows");
+
+            // Parallel stages may create and read queries at the same time
+            for (int i = 0; i < 100; i++) {
+                Entity extra = new Entity();
+                extra.addComponent(new TransformComponent(i, i));
+                extra.addComponent(new CollisionComponent(16, 16));
+                store.attach(extra);
+            }
+            int expected = store.query(TransformComponent.class).size();
+            EntityQuery[] seen = new EntityQuery[8];
+            int[] sizes = new int[seen.length];
+            Thread[] workers = new Thread[seen.length];
+            for (int i = 0; i < workers.length; i++) {
+                int index = i;
+                workers[i] = new Thread(() -> {
+                    seen[index] = store.query(CollisionComponent.class, TransformComponent.class);
+                    sizes[index] = store.query(TransformComponent.class).getEntities().size();
+                });
+                workers[i].start();
+            }
+            for (int i = 0; i < workers.length; i++) {
+                workers[i].join();
+                assert seen[i] == seen[0] : "one query instance per component set";
+                assert sizes[i] == expected : "concurrent rebuild saw " + sizes[i];
+            }
+            System.out.println("✓ Queries are safe to share between stage workers");
+
+            System.out.println("All archetype store tests passed!");
+
+        } catch (Exception e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
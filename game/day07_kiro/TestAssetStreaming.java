@@ -0,0 +1,91 @@
+import rpg.assets.AssetCache;
+import rpg.assets.AssetStreamer;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Test for the byte-bounded asset cache and prioritized background streaming.
+ */
+public class TestAssetStreaming {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Testing Asset Streaming...");
+
+        // Budget of three 100 byte assets
+        AssetCache cache = new AssetCache(300);
+        cache.put("a", "A", 100);
+        cache.put("b", "B", 100);
+        cache.put("c", "C", 100);
+        for (int i = 0; i < 5; i++) {
+            cache.get("a", String.class);
+        }
+        cache.get("c", String.class);
+        cache.get("b", String.class);
+
+        // "a" is least recently used but most used, so "c" goes instead
+        cache.put("d", "D", 100);
+        assert cache.contains("a") : "frequently used asset must survive";
+        assert !cache.contains("c");
+        assert cache.getEvictions() == 1 && cache.getCurrentBytes() == 300;
+        System.out.println("✓ Evicts by recency and use count: " + cache.getEvictions() + " eviction(s)");
+
+        // Pinned assets are never evicted, even over budget
+        cache.pin("map-tiles");
+        cache.put("map-tiles", "T", 250);
+        cache.put("e", "E", 100);
+        assert cache.contains("map-tiles");
+        assert cache.getCurrentBytes() <= 350;
+        cache.setMaxBytes(100);
+        assert cache.contains("map-tiles") && cache.size() == 1 : "only the pinned asset may remain";
+        cache.unpin("map-tiles");
+        cache.put("f", "F", 10);
+        assert !cache.contains("map-tiles");
+        System.out.println("✓ Pinned assets survive until unpinned");
+
+        // A single worker held by a gate so queue order can be observed
+        CountDownLatch gate = new CountDownLatch(1);
+        List<String> loadOrder = Collections.synchronizedList(new ArrayList<>());
+        AssetStreamer streamer = new AssetStreamer((path, type) -> {
+            gate.await();
+            loadOrder.add(path);
+        }, path -> false, 1);
+
+        CompletableFuture<Void> blocker = streamer.request("blocker", String.class, 0);
+        Thread.sleep(50);
+
+        streamer.registerAsset("far", String.class, new Rectangle(400, 0, 32, 32));
+        streamer.registerAsset("near", String.class, new Rectangle(100, 0, 32, 32));
+        streamer.registerAsset("outside", String.class, new Rectangle(5000, 0, 32, 32));
+        streamer.update(new Rectangle(0, 0, 64, 64));
+        assert streamer.getPendingCount() == 2 : "only assets within the prefetch distance are queued";
+        CompletableFuture<Void> far = streamer.getPendingLoad("far");
+
+        gate.countDown();
+        blocker.join();
+        far.join();
+        assert loadOrder.equals(List.of("blocker", "near", "far")) : loadOrder;
+        System.out.println("✓ Closest assets load first: " + loadOrder);
+
+        // Queued loads are cancelled once the camera moves far away
+        CountDownLatch secondGate = new CountDownLatch(1);
+        AssetStreamer cancelling = new AssetStreamer((path, type) -> secondGate.await(), path -> false, 1);
+        cancelling.request("busy", String.class, 0);
+        Thread.sleep(50);
+        cancelling.registerAsset("left", String.class, new Rectangle(0, 0, 32, 32));
+        cancelling.update(new Rectangle(0, 0, 64, 64));
+        CompletableFuture<Void> left = cancelling.getPendingLoad("left");
+        cancelling.update(new Rectangle(10_000, 0, 64, 64));
+        assert left.isCancelled() && cancelling.getCancelledLoads() == 1;
+        secondGate.countDown();
+        System.out.println("✓ Loads left behind are cancelled");
+
+        streamer.shutdown();
+        cancelling.shutdown();
+        System.out.println("Asset streaming test completed!");
+    }
+}
@@ -0,0 +1,70 @@
+import rpg.assets.*;
+
+import java.awt.Rectangle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Test for the binary map format and the streaming map layer.
+ */
+public class TestBinaryMap {
+
+    public static void main(String[] args) {
+        System.out.println("Testing Binary Map Format...");
+
+        try {
+            TileSet tileSet = TileSet.createDefaultTileSet();
+            GameMap textMap = GameMap.loadFromTextFile("/rpg/assets/maps/world01.txt", tileSet);
+
+            // Convert the text map without loading it and compare every tile
+            Path converted = Files.createTempFile("world01", ".rmap");
+            BinaryMapWriter.convert(Paths.get("rpg/assets/maps/world01.txt"), converted, tileSet.getTileSize(), 16);
+            GameMap binaryMap = GameMap.loadFromBinaryFile(converted.toString(), tileSet);
+
+            assert binaryMap.getWidth() == textMap.getWidth();
+            assert binaryMap.getHeight() == textMap.getHeight();
+            for (int x = 0; x < textMap.getWidth(); x++) {
+                for (int y = 0; y < textMap.getHeight(); y++) {
+                    assert binaryMap.getTile(x, y) == textMap.getTile(x, y) : "tile mismatch at " + x + "," + y;
+                }
+            }
+            System.out.println("✓ Converted map matches text map (" + binaryMap.getWidth() + "x" + binaryMap.getHeight() + ")");
+
+            // Writing a loaded map gives the same result
+            Path written = Files.createTempFile("world01-written", ".rmap");
+            BinaryMapWriter.write(textMap, written, 16);
+            assert Files.size(written) == Files.size(converted);
+            System.out.println("✓ Written map matches converted map");
+
+            // Only chunks near the view are resident
+            StreamingMapLayer layer = (StreamingMapLayer) binaryMap.getLayers().get(0);
+            layer.setLoadMargin(0);
+            int tileSize = binaryMap.getTileSize();
+            binaryMap.updateStreaming(new Rectangle(0, 0, 16 * tileSize, 12 * tileSize));
+            int nearOrigin = layer.getResidentChunkCount();
+            assert nearOrigin > 0 && nearOrigin < 16;
+            System.out.println("✓ " + nearOrigin + " chunks resident near the origin");
+
+            // Moving far away evicts the chunks around the origin
+            binaryMap.updateStreaming(new Rectangle(40 * tileSize, 40 * tileSize, 16 * tileSize, 12 * tileSize));
+            assert layer.getChunkEvictions() > 0;
+            System.out.println("✓ Distant chunks evicted (" + layer.getChunkEvictions() + " evictions)");
+
+            // Edited chunks survive eviction
+            binaryMap.setTile("main", 1, 1, 5);
+            binaryMap.updateStreaming(new Rectangle(40 * tileSize, 40 * tileSize, 16 * tileSize, 12 * tileSize));
+            assert binaryMap.getTile(1, 1) == 5;
+            assert layer.getModifiedChunkCount() == 1;
+            System.out.println("✓ Edited chunk stays resident");
+
+            Files.deleteIfExists(converted);
+            Files.deleteIfExists(written);
+            System.out.println("Binary map test completed!");
+
+        } catch (Exception e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -23,6 +23,9 @@ public class TestCollisionSystem {
         // Test Collision Manager
         testCollisionManager();
         
+        // Test incremental broad-phase
+        testIncrementalBroadPhase();
+        
         System.out.println("All collision system tests completed!");
     }
     
@@ -133,6 +136,54 @@ public class TestCollisionSystem {
         System.out.println("Collision Manager test completed ✓");
     }
     
+    private static void testIncrementalBroadPhase() {
+        System.out.println("\n=== Testing Incremental Broad-Phase ===");
+        
+        Rectangle worldBounds = new Rectangle(0, 0, 800, 600);
+        CollisionManager collisionManager = new CollisionManager(worldBounds);
+        collisionManager.setBroadPhaseMode(CollisionManager.BroadPhaseMode.SPATIAL_HASH_INCREMENTAL);
+        collisionManager.setTileCollisionEnabled(false);
+        
+        List<Entity> entities = new ArrayList<>();
+        
+        Entity player = createTestEntity(1, 100, 100, 32, 32);
+        CollisionComponent playerCollision = new CollisionComponent(32, 32);
+        playerCollision.setCollisionLayer(CollisionLayer.PLAYER);
+        player.addComponent(playerCollision);
+        entities.add(player);
+        
+        Entity enemy = createTestEntity(2, 300, 300, 32, 32);
+        CollisionComponent enemyCollision = new CollisionComponent(32, 32);
+        enemyCollision.setCollisionLayer(CollisionLayer.ENEMY);
+        enemy.addComponent(enemyCollision);
+        entities.add(enemy);
+        
+        Entity farEnemy = createTestEntity(3, 600, 400, 32, 32);
+        CollisionComponent farCollision = new CollisionComponent(32, 32);
+        farCollision.setCollisionLayer(CollisionLayer.ENEMY);
+        farEnemy.addComponent(farCollision);
+        entities.add(farEnemy);
+        
+        collisionManager.update(entities, 0.016f);
+        CollisionManager.CollisionStats stats = collisionManager.getStats();
+        System.out.println("First frame (should find 0 pairs, 3 inserted): " +
+            stats.entityCollisions + " pairs, " + stats.entitiesMoved + " updated");
+        
+        // Second frame without movement: nothing is re-bucketed
+        collisionManager.update(entities, 0.016f);
+        System.out.println("Static frame (should update 0 entities): " + stats.entitiesMoved +
+            ", pairs allocated: " + stats.pairsAllocated);
+        
+        // Move the far enemy onto the player
+        farEnemy.getComponent(TransformComponent.class).setPosition(110, 90);
+        collisionManager.update(entities, 0.016f);
+        System.out.println("After move (should find 1 pair, 1 updated): " +
+            stats.entityCollisions + " pairs, " + stats.entitiesMoved + " updated");
+        
+        System.out.println("Broad-phase stats: " + stats);
+        System.out.println("Incremental broad-phase test completed ✓");
+    }
+    
     private static Entity createTestEntity(int id, float x, float y, int width, int height) {
         Entity entity = new Entity();
         
@@ -57,10 +57,8 @@ public class TestEnhancedTileSystem {
             Graphics2D g2 = testImage.createGraphics();
             
             // Set up mock player position for rendering
-            mockGamePanel.player.worldX = 1200; // Center of map
-            mockGamePanel.player.worldY = 1200;
-            mockGamePanel.player.screenX = 400;
-            mockGamePanel.player.screenY = 300;
+            mockGamePanel.player.setWorldX(1200); // Center of map
+            mockGamePanel.player.setWorldY(1200);
             
             tileManager.draw(g2);
             g2.dispose();
@@ -85,18 +83,6 @@ public class TestEnhancedTileSystem {
     static class MockGamePanel extends GamePanel {
         public MockGamePanel() {
             super();
-            // Initialize mock player
-            this.player = new MockPlayer();
         }
     }
-    
-    /**
-     * Mock Player for testing purposes.
-     */
-    static class MockPlayer {
-        public int worldX = 1200;
-        public int worldY = 1200;
-        public int screenX = 400;
-        public int screenY = 300;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+import rpg.components.CollisionComponent;
+import rpg.components.MovementComponent;
+import rpg.components.TransformComponent;
+import rpg.engine.Entity;
+import rpg.game.EntityManager;
+import rpg.game.snapshot.EntitySnapshot;
+
+import java.io.File;
+
+/**
+ * Test for binary entity snapshots: full and delta capture, rollback and
+ * saving/loading files.
+ */
+public class TestEntitySnapshot {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Testing Entity Snapshots...");
+
+        EntityManager manager = new EntityManager();
+        Entity player = manager.createEntity();
+        player.addComponent(new TransformComponent(100, 200));
+        player.addComponent(new MovementComponent(4.0f, 0.5f));
+        for (int i = 0; i < 200; i++) {
+            Entity wall = manager.createEntity();
+            wall.addComponent(new TransformComponent(i * 48, 0));
+            wall.addComponent(new CollisionComponent(48, 48));
+        }
+        manager.update();
+
+        EntitySnapshot full = manager.createSnapshot();
+        assert !full.isDelta() && full.getEntityCount() == 201;
+        System.out.println("✓ Full snapshot: " + full);
+
+        // Only the player moves
+        player.getComponent(TransformComponent.class).translate(5, 0);
+        EntitySnapshot delta = manager.createDeltaSnapshot();
+        assert delta.isDelta() && delta.getBaseSequence() == full.getSequence();
+        assert delta.getEntityCount() == 1 && delta.getComponentCount() == 1 : delta;
+        assert delta.getSizeBytes() < full.getSizeBytes() / 10;
+        System.out.println("✓ Delta snapshot: " + delta);
+
+        // Add and remove entities and components
+        Entity pickup = manager.createEntity();
+        pickup.addComponent(new TransformComponent(1, 1));
+        manager.removeEntity(player.getId() + 1);
+        manager.update();
+        player.removeComponent(MovementComponent.class);
+        EntitySnapshot structural = manager.createDeltaSnapshot();
+        assert structural.getEntityCount() == 3 : structural;
+        System.out.println("✓ Structural delta: " + structural);
+
+        // Roll back to the first snapshot, then replay the deltas
+        manager.restoreSnapshot(full);
+        TransformComponent transform = manager.getEntity(player.getId()).getComponent(TransformComponent.class);
+        assert transform.x == 100 && transform.y == 200;
+        assert manager.getEntity(pickup.getId()) == null;
+        assert manager.getEntity(player.getId() + 1) != null;
+        assert manager.getEntity(player.getId()).hasComponent(MovementComponent.class);
+        System.out.println("✓ Rolled back to full snapshot");
+
+        manager.restoreSnapshot(delta);
+        manager.restoreSnapshot(structural);
+        assert manager.getEntity(player.getId()).getComponent(TransformComponent.class).x == 105;
+        assert manager.getEntity(pickup.getId()) != null;
+        assert manager.getEntity(player.getId() + 1) == null;
+        assert !manager.getEntity(player.getId()).hasComponent(MovementComponent.class);
+        assert manager.getEntitiesWithComponent(TransformComponent.class).size() == 201;
+        System.out.println("✓ Replayed deltas");
+
+        try {
+            manager.restoreSnapshot(delta);
+            assert false : "a delta must not apply to the wrong base";
+        } catch (IllegalStateException expected) {
+            System.out.println("✓ Rejects delta with wrong base");
+        }
+
+        // Save in the background and load into a fresh manager
+        File file = File.createTempFile("entities", "." + EntitySnapshot.FILE_EXTENSION);
+        file.deleteOnExit();
+        manager.saveToFileAsync(file.getPath()).join();
+
+        EntityManager loaded = new EntityManager();
+        loaded.restoreSnapshot(loaded.readSnapshotAsync(file.getPath()).join());
+        assert loaded.getEntityCount() == manager.getEntityCount();
+        Entity wall = loaded.getEntity(player.getId() + 2);
+        assert wall.getComponent(CollisionComponent.class).getBounds().width == 48;
+        assert loaded.getEntity(player.getId()).getComponent(TransformComponent.class).x == 105;
+        System.out.println("✓ Saved and loaded " + loaded.getEntityCount() + " entities (" + file.length() + " bytes)");
+
+        // Entities created after a load must not reuse restored IDs
+        assert new Entity().getId() > pickup.getId();
+        System.out.println("✓ New entities get fresh IDs");
+
+        // Time capture of an unchanged world
+        long start = System.nanoTime();
+        int rounds = 1000;
+        for (int i = 0; i < rounds; i++) {
+            manager.createDeltaSnapshot();
+        }
+        System.out.printf("✓ Unchanged delta capture: %.1f µs%n", (System.nanoTime() - start) / 1000.0 / rounds);
+
+        System.out.println("Entity snapshot test completed!");
+    }
+}
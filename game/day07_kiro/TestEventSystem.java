@@ -75,9 +75,64 @@ public class TestEventSystem {
         System.out.println("Has collision listeners: " + eventBus.hasListeners(CollisionEvent.class));
         System.out.println("Has movement listeners: " + eventBus.hasListeners(MovementEvent.class));
         
+        testFastPathOwnership();
+        
         System.out.println("\nEvent System Test Complete!");
     }
     
+    /**
+     * Events published off the fast path thread must take the regular queue
+     */
+    private static void testFastPathOwnership() {
+        System.out.println("\n--- Testing Fast Path Ownership ---");
+        
+        EventBus fastBus = new EventBus();
+        fastBus.setFastPathEnabled(true);
+        int[] received = new int[1];
+        fastBus.subscribe(MovementEvent.class, event -> received[0]++);
+        
+        EventPool<?> pool = fastBus.getEventPool(MovementEvent.class);
+        int obtainedBefore = pool.getObtainedCount();
+        
+        Thread worker = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                fastBus.publish(fastBus.obtain(MovementEvent.class).set(i, 0, 0, 1, 1));
+            }
+        }, "event-worker");
+        worker.start();
+        for (int i = 0; i < 1000; i++) {
+            fastBus.publish(fastBus.obtain(MovementEvent.class).set(i, 0, 0, 1, 1));
+        }
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        fastBus.setMaxEventsPerFrame(5000);
+        fastBus.processEvents();
+        check(received[0] == 2000, "All events from both threads dispatched: " + received[0]);
+        check(pool.getObtainedCount() - obtainedBefore == 1000, "Only the owner thread used the pool");
+        
+        Thread other = new Thread(() -> fastBus.processEvents());
+        Throwable[] failure = new Throwable[1];
+        other.setUncaughtExceptionHandler((t, e) -> failure[0] = e);
+        other.start();
+        try {
+            other.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        check(failure[0] instanceof IllegalStateException, "processEvents is rejected off the owner thread");
+    }
+    
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+        System.out.println("✓ " + message);
+    }
+    
     /**
      * Test listener that can handle any GameEvent
      */
@@ -0,0 +1,64 @@
+import rpg.systems.FrameStats;
+import rpg.systems.FrameTimeHistogram;
+import rpg.systems.TransformSnapshotBuffer;
+
+/**
+ * Test for frame-time histograms and the transform snapshot hand-off used by
+ * the fixed-timestep game loop.
+ */
+public class TestFrameTiming {
+
+    public static void main(String[] args) {
+        System.out.println("Testing Frame Timing...");
+
+        // 99 fast frames and one slow frame
+        FrameTimeHistogram histogram = new FrameTimeHistogram(100);
+        for (int i = 0; i < 99; i++) {
+            histogram.record(2_000_000);
+        }
+        histogram.record(30_000_000);
+        assert Math.abs(histogram.getPercentileMillis(0.5) - 2.05) < 0.001 : histogram.getPercentileMillis(0.5);
+        assert Math.abs(histogram.getPercentileMillis(0.99) - 2.05) < 0.001;
+        assert Math.abs(histogram.getPercentileMillis(1.0) - 30.05) < 0.001;
+        System.out.println("✓ Percentiles: p50=" + histogram.getPercentileMillis(0.5) + "ms, max=" + histogram.getMaxNanos() / 1_000_000.0 + "ms");
+
+        // Old samples leave the window
+        for (int i = 0; i < 100; i++) {
+            histogram.record(1_000_000);
+        }
+        assert histogram.getMaxNanos() == 1_000_000;
+        assert histogram.getTotalCount() == 200;
+        System.out.println("✓ Sliding window drops old samples");
+
+        // Interpolation between the two newest steps
+        long step = 16_000_000;
+        TransformSnapshotBuffer buffer = new TransformSnapshotBuffer(step);
+        buffer.beginWrite().add(7, 0, 0, 0);
+        buffer.publish();
+        buffer.beginWrite().add(7, 10, 20, 0);
+        buffer.publish();
+
+        TransformSnapshotBuffer.Snapshot out = new TransformSnapshotBuffer.Snapshot();
+        long publishedAt = System.nanoTime();
+        float alpha = buffer.interpolate(publishedAt + step / 2, out);
+        int index = out.indexOf(7);
+        assert index == 0;
+        assert Math.abs(out.getX(index) - 10 * alpha) < 0.01f;
+        assert Math.abs(out.getY(index) - 20 * alpha) < 0.01f;
+        System.out.printf("✓ Interpolated at alpha %.2f: (%.1f, %.1f)%n", alpha, out.getX(index), out.getY(index));
+
+        buffer.interpolate(publishedAt + step * 4, out);
+        assert out.getX(0) == 10 && out.getY(0) == 20 : "alpha must clamp to the newest step";
+        System.out.println("✓ Interpolation clamps to the newest step");
+
+        FrameStats stats = new FrameStats();
+        stats.recordUpdate(1_000_000);
+        stats.recordRender(5_000_000);
+        stats.recordDroppedFrames(2);
+        stats.recordSkippedUpdates(3);
+        assert stats.getDroppedFrames() == 2 && stats.getSkippedUpdates() == 3;
+        System.out.println("✓ " + stats);
+
+        System.out.println("Frame timing test completed!");
+    }
+}
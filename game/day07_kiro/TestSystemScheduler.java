@@ -0,0 +1,138 @@
+import rpg.components.*;
+import rpg.engine.Component;
+import rpg.game.EntityManager;
+import rpg.systems.*;
+import rpg.utils.ServiceLocator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Test for the parallel system scheduler
+ */
+public class TestSystemScheduler {
+
+    public static void main(String[] args) {
+        System.out.println("Testing System Scheduler...");
+
+        EventBus eventBus = new EventBus();
+        ServiceLocator.registerService(EntityManager.class, new EntityManager());
+        ServiceLocator.registerService(EventBus.class, eventBus);
+
+        SystemManager systemManager = new SystemManager(eventBus);
+        systemManager.registerSystem(new InputStub());
+        systemManager.registerSystem(new AnimationStub());
+        systemManager.registerSystem(new MovementStub());
+        systemManager.registerSystemWithDependencies(new RenderStub(), MovementStub.class);
+        systemManager.registerSystem(new UndeclaredStub());
+        systemManager.setProfilingEnabled(true);
+        systemManager.setParallelExecutionEnabled(true, 4);
+        systemManager.initialize();
+
+        // Input and animation touch disjoint data and share the first stage;
+        // movement conflicts with animation only through the transform it writes
+        List<List<GameSystem>> stages = systemManager.getScheduler().getStages();
+        for (int i = 0; i < stages.size(); i++) {
+            StringBuilder names = new StringBuilder();
+            for (GameSystem system : stages.get(i)) {
+                names.append(system.getClass().getSimpleName()).append(' ');
+            }
+            System.out.println("Stage " + i + ": " + names.toString().trim());
+        }
+        assert stages.get(0).size() == 2 : "input and animation should run in parallel";
+        System.out.println("✓ Independent systems share a stage");
+
+        // Undeclared systems always run alone
+        for (List<GameSystem> stage : stages) {
+            for (GameSystem system : stage) {
+                if (system instanceof UndeclaredStub) {
+                    assert stage.size() == 1 : "undeclared system must be exclusive";
+                }
+            }
+        }
+        System.out.println("✓ Undeclared systems run exclusively");
+
+        // Events published on the workers reach listeners on the game thread,
+        // framed by the per-system events in priority order
+        Thread gameThread = Thread.currentThread();
+        List<String> dispatched = new ArrayList<>();
+        boolean[] offThread = new boolean[1];
+        eventBus.subscribe(SystemEvent.class, event -> {
+            offThread[0] |= Thread.currentThread() != gameThread;
+            if (event.getType() == SystemEvent.SystemEventType.PRE_SYSTEM_UPDATE) {
+                dispatched.add(event.getSystemName());
+            }
+        });
+        eventBus.subscribe(InputEvent.class, event -> {
+            offThread[0] |= Thread.currentThread() != gameThread;
+            dispatched.add("input");
+        });
+
+        for (int frame = 0; frame < 20; frame++) {
+            systemManager.update(0.016f);
+        }
+        systemManager.printPerformanceReport();
+
+        assert !offThread[0] : "listeners must run on the game thread";
+        assert dispatched.subList(0, 3).equals(List.of(
+                InputStub.class.getName(), "input", AnimationStub.class.getName()))
+            : "events out of priority order: " + dispatched;
+        assert dispatched.size() == 20 * 6 : "per-system events dropped: " + dispatched.size();
+        System.out.println("✓ Per-system events replayed on the game thread in priority order");
+
+        for (SystemManager.SystemProfile profile : systemManager.getProfilingData().values()) {
+            assert profile.getUpdateCount() == 20 : profile.getSystemName() + " missed updates";
+        }
+        System.out.println("✓ Per-system timings recorded in SystemProfile");
+
+        systemManager.cleanup();
+        System.out.println("System scheduler test completed!");
+    }
+
+    private static void busyWork() {
+        long end = System.nanoTime() + 1_000_000;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private abstract static class StubSystem extends GameSystem {
+        @Override public void initialize() { }
+        @Override public void update(float deltaTime) { busyWork(); }
+        @Override public void cleanup() { }
+    }
+
+    private static class InputStub extends StubSystem {
+        @Override public int getPriority() { return 50; }
+        @Override public void update(float deltaTime) {
+            super.update(deltaTime);
+            ServiceLocator.getService(EventBus.class).publishImmediate(
+                new InputEvent(0, "move_up", InputEvent.InputType.PRESSED));
+        }
+        @Override public Set<Class<? extends Component>> getReadComponents() { return Set.of(InputComponent.class); }
+        @Override public Set<Class<? extends Component>> getWriteComponents() { return Set.of(InputComponent.class); }
+    }
+
+    private static class AnimationStub extends StubSystem {
+        @Override public int getPriority() { return 60; }
+        @Override public Set<Class<? extends Component>> getReadComponents() { return Set.of(TransformComponent.class); }
+        @Override public Set<Class<? extends Component>> getWriteComponents() { return Set.of(RenderComponent.class); }
+    }
+
+    private static class MovementStub extends StubSystem {
+        @Override public int getPriority() { return 100; }
+        @Override public Set<Class<? extends Component>> getReadComponents() { return Set.of(MovementComponent.class); }
+        @Override public Set<Class<? extends Component>> getWriteComponents() { return Set.of(TransformComponent.class); }
+    }
+
+    private static class RenderStub extends StubSystem {
+        @Override public int getPriority() { return 1000; }
+        @Override public Set<Class<? extends Component>> getReadComponents() { return Set.of(TransformComponent.class); }
+        @Override public Set<Class<? extends Component>> getWriteComponents() { return Set.of(); }
+    }
+
+    private static class UndeclaredStub extends StubSystem {
+        @Override public int getPriority() { return 500; }
+    }
+}
@@ -1,18 +1,36 @@
 package rpg;
 
 import rpg.entity.Player;
+import rpg.systems.DebugRenderer;
+import rpg.systems.FrameStats;
+import rpg.systems.TransformSnapshotBuffer;
 import rpg.tile.TileManager;
 
 import javax.swing.*;
 import java.awt.*;
-
+import java.awt.image.BufferedImage;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Game panel running a fixed-timestep simulation on the game thread and
+ * rendering on a separate render thread.
+ *
+ * The simulation advances in steps of 1/TARGET_FPS seconds regardless of how
+ * long rendering takes, and publishes entity transforms after each step. The
+ * render thread draws into one of two offscreen frames using transforms
+ * interpolated between the last two steps, and Swing only blits the finished
+ * frame, so slow rendering no longer slows down the simulation.
+ */
 public class GamePanel extends JPanel implements Runnable {
 
     // Game settings
     private final int FPS = Config.TARGET_FPS;
+    private final long stepNanos = 1_000_000_000L / FPS;
+    private static final int MAX_UPDATES_PER_FRAME = 5;
 
     // System
-    private Thread gameThread;
+    private volatile Thread gameThread;
+    private volatile Thread renderThread;
     private KeyHandler keyHandler = new KeyHandler();
 
     // Game Objects
@@ -20,45 +38,77 @@ public class GamePanel extends JPanel implements Runnable {
     public TileManager tileManager = new TileManager(this);
     public CollisionChecker collisionChecker = new CollisionChecker(this);
 
+    // Simulation to render hand-off
+    private final TransformSnapshotBuffer transformSnapshots = new TransformSnapshotBuffer(stepNanos);
+    private final TransformSnapshotBuffer.Snapshot renderTransforms = new TransformSnapshotBuffer.Snapshot();
+
+    // Offscreen frames, the render thread draws into one while Swing shows the other
+    private final BufferedImage[] frames = new BufferedImage[2];
+    private final Object frameLock = new Object();
+    private BufferedImage presentedFrame;
+    private int backFrame;
+
+    // Frame pacing
+    private final FrameStats frameStats = new FrameStats();
+    private final DebugRenderer debugRenderer = new DebugRenderer();
+
     public GamePanel() {
         this.setPreferredSize(new Dimension(Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT));
         this.setBackground(Color.black);
         this.setDoubleBuffered(true);
         this.addKeyListener(keyHandler);
         this.setFocusable(true);
+        debugRenderer.setShowPerformanceInfo(Config.SHOW_FPS);
     }
 
     public void startGameThread() {
-        gameThread = new Thread(this);
+        // Seed both snapshots so the first frames have something to interpolate
+        publishTransforms();
+        publishTransforms();
+
+        gameThread = new Thread(this, "game-loop");
+        renderThread = new Thread(this::renderLoop, "render-loop");
         gameThread.start();
+        renderThread.start();
+    }
+
+    public void stopGameThread() {
+        gameThread = null;
+        renderThread = null;
     }
 
+    /**
+     * Fixed-timestep simulation loop
+     */
     @Override
     public void run() {
-        double drawInterval = 1000000000 / FPS;
-        double delta = 0;
         long lastTime = System.nanoTime();
-        long currentTime;
-        long timer = 0;
-        int drawCount = 0;
+        long accumulator = 0;
 
         while (gameThread != null) {
-            currentTime = System.nanoTime();
-            delta += (currentTime - lastTime) / drawInterval;
-            timer += currentTime - lastTime;
+            long currentTime = System.nanoTime();
+            accumulator += currentTime - lastTime;
             lastTime = currentTime;
 
-            if (delta >= 1) {
+            int steps = 0;
+            while (accumulator >= stepNanos && steps < MAX_UPDATES_PER_FRAME) {
+                long start = System.nanoTime();
                 update();
-                repaint();
-                delta--;
-                drawCount++;
+                publishTransforms();
+                frameStats.recordUpdate(System.nanoTime() - start);
+                accumulator -= stepNanos;
+                steps++;
             }
 
-            if (timer >= 1000000000) {
-                System.out.println("FPS: " + drawCount);
-                drawCount = 0;
-                timer = 0;
+            // Too far behind to catch up: drop the backlog instead of spiralling
+            if (accumulator >= stepNanos) {
+                frameStats.recordSkippedUpdates(accumulator / stepNanos);
+                accumulator %= stepNanos;
+            }
+
+            long sleepNanos = stepNanos - accumulator - (System.nanoTime() - lastTime);
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(sleepNanos);
             }
         }
     }
@@ -67,14 +117,93 @@ public class GamePanel extends JPanel implements Runnable {
         player.update();
     }
 
+    private void publishTransforms() {
+        transformSnapshots.beginWrite().add(player.getEntity().getId(), player.getTransform());
+        transformSnapshots.publish();
+    }
+
+    /**
+     * Render loop paced to the target frame rate
+     */
+    private void renderLoop() {
+        long frameNanos = stepNanos;
+        long nextFrame = System.nanoTime();
+
+        while (renderThread != null) {
+            long start = System.nanoTime();
+            renderFrame(start);
+            frameStats.recordRender(System.nanoTime() - start);
+            repaint();
+
+            if (frameStats.tick(System.nanoTime()) && Config.SHOW_FPS) {
+                System.out.println(frameStats);
+            }
+
+            nextFrame += frameNanos;
+            long now = System.nanoTime();
+            if (now > nextFrame) {
+                // Missed the deadline for this frame and possibly more
+                frameStats.recordDroppedFrames(1 + (now - nextFrame) / frameNanos);
+                nextFrame = now;
+            } else {
+                LockSupport.parkNanos(nextFrame - now);
+            }
+        }
+    }
+
+    private void renderFrame(long nowNanos) {
+        BufferedImage frame = frames[backFrame];
+        if (frame == null) {
+            frame = createFrame();
+            frames[backFrame] = frame;
+        }
+
+        transformSnapshots.interpolate(nowNanos, renderTransforms);
+        int index = renderTransforms.indexOf(player.getEntity().getId());
+        float playerX = index >= 0 ? renderTransforms.getX(index) : player.getWorldX();
+        float playerY = index >= 0 ? renderTransforms.getY(index) : player.getWorldY();
+        int viewX = Math.round(playerX) - player.screenX;
+        int viewY = Math.round(playerY) - player.screenY;
+
+        Graphics2D g2 = frame.createGraphics();
+        try {
+            g2.setColor(getBackground());
+            g2.fillRect(0, 0, frame.getWidth(), frame.getHeight());
+
+            tileManager.draw(g2, viewX, viewY);
+            player.draw(g2);
+            debugRenderer.renderFrameStats(g2, frameStats, 10, 10);
+        } finally {
+            g2.dispose();
+        }
+
+        // Swing may still be painting the previous frame; swap only once it is done
+        synchronized (frameLock) {
+            presentedFrame = frame;
+        }
+        backFrame ^= 1;
+    }
+
+    private BufferedImage createFrame() {
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        if (configuration != null) {
+            return configuration.createCompatibleImage(Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT);
+        }
+        return new BufferedImage(Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT, BufferedImage.TYPE_INT_RGB);
+    }
+
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2 = (Graphics2D) g;
 
-        tileManager.draw(g2);
-        player.draw(g2);
+        synchronized (frameLock) {
+            if (presentedFrame != null) {
+                g.drawImage(presentedFrame, 0, 0, null);
+            }
+        }
+    }
 
-        g2.dispose();
+    public FrameStats getFrameStats() {
+        return frameStats;
     }
 }
@@ -0,0 +1,203 @@
+package rpg.assets;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Asset cache bounded by an estimated size in bytes instead of by the garbage collector.
+ *
+ * Entries are kept in least-recently-used order. When the budget is exceeded the
+ * cache looks at the few least recently used entries and evicts the one with the
+ * lowest use count, so a hot tile sheet that was briefly not drawn survives a
+ * burst of one-off loads (an LRU/LFU hybrid). Pinned entries, e.g. everything the
+ * current map needs, are never evicted; if pinned assets alone exceed the budget
+ * the cache grows past it rather than dropping them.
+ *
+ * All methods are synchronized so background loaders can insert while the game
+ * thread reads.
+ */
+public class AssetCache {
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    private static final int EVICTION_SAMPLE_SIZE = 4;
+
+    private final LinkedHashMap<String, Entry> entries;
+    private final Map<String, Integer> pins;
+    private long maxBytes;
+    private long currentBytes;
+
+    // Cache statistics
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long evictedBytes;
+
+    public AssetCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    public AssetCache(long maxBytes) {
+        this.entries = new LinkedHashMap<>(64, 0.75f, true);
+        this.pins = new HashMap<>();
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get a cached asset and mark it as recently used.
+     *
+     * @return The asset, or null if it is not cached or has a different type
+     */
+    public synchronized <T> T get(String key, Class<T> type) {
+        Entry entry = entries.get(key);
+        if (entry == null || !type.isInstance(entry.value)) {
+            misses++;
+            return null;
+        }
+        entry.useCount++;
+        hits++;
+        return type.cast(entry.value);
+    }
+
+    /**
+     * Check whether an asset is cached without counting it as a use.
+     */
+    public synchronized boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Add or replace an asset and evict others until the cache fits its budget.
+     */
+    public synchronized void put(String key, Object value, long sizeBytes) {
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            currentBytes -= previous.sizeBytes;
+        }
+
+        Entry entry = new Entry(value, Math.max(0, sizeBytes));
+        if (previous != null) {
+            entry.useCount = previous.useCount;
+        }
+        entries.put(key, entry);
+        currentBytes += entry.sizeBytes;
+
+        // The new asset was loaded because it is needed; never evict it right away
+        evictToBudget(key);
+    }
+
+    /**
+     * Remove an asset, even if it is pinned.
+     */
+    public synchronized void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            currentBytes -= entry.sizeBytes;
+        }
+    }
+
+    /**
+     * Protect an asset from eviction. Pins are counted and may be placed before
+     * the asset is loaded.
+     */
+    public synchronized void pin(String key) {
+        pins.merge(key, 1, Integer::sum);
+    }
+
+    /**
+     * Release one pin of an asset; it becomes evictable once all pins are released.
+     */
+    public synchronized void unpin(String key) {
+        Integer count = pins.get(key);
+        if (count == null) return;
+        if (count <= 1) {
+            pins.remove(key);
+            evictToBudget(null);
+        } else {
+            pins.put(key, count - 1);
+        }
+    }
+
+    public synchronized boolean isPinned(String key) {
+        return pins.containsKey(key);
+    }
+
+    /**
+     * Change the byte budget, evicting immediately if it shrank.
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        evictToBudget(null);
+    }
+
+    /**
+     * Drop all assets and pins.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        pins.clear();
+        currentBytes = 0;
+    }
+
+    private void evictToBudget(String keep) {
+        boolean evicted = false;
+        while (currentBytes > maxBytes) {
+            String victim = null;
+            Entry victimEntry = null;
+            int sampled = 0;
+
+            // Least recently used entries come first; pick the least used among the oldest few
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext() && sampled < EVICTION_SAMPLE_SIZE) {
+                Map.Entry<String, Entry> candidate = iterator.next();
+                if (pins.containsKey(candidate.getKey()) || candidate.getKey().equals(keep)) continue;
+                if (victimEntry == null || candidate.getValue().useCount < victimEntry.useCount) {
+                    victim = candidate.getKey();
+                    victimEntry = candidate.getValue();
+                }
+                sampled++;
+            }
+
+            if (victim == null) {
+                break; // Only pinned or just added assets left
+            }
+
+            entries.remove(victim);
+            currentBytes -= victimEntry.sizeBytes;
+            evictions++;
+            evictedBytes += victimEntry.sizeBytes;
+            evicted = true;
+        }
+
+        // Age the survivors so old popularity does not protect them forever
+        if (evicted) {
+            for (Entry entry : entries.values()) {
+                entry.useCount >>= 1;
+            }
+        }
+    }
+
+    // Statistics
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+    public synchronized long getEvictedBytes() { return evictedBytes; }
+    public synchronized long getCurrentBytes() { return currentBytes; }
+    public synchronized long getMaxBytes() { return maxBytes; }
+    public synchronized int size() { return entries.size(); }
+    public synchronized int getPinnedCount() { return pins.size(); }
+
+    /**
+     * A cached asset with its estimated size and use count.
+     */
+    private static class Entry {
+        final Object value;
+        final long sizeBytes;
+        int useCount;
+
+        Entry(Object value, long sizeBytes) {
+            this.value = value;
+            this.sizeBytes = sizeBytes;
+        }
+    }
+}
@@ -14,7 +14,6 @@ import java.util.Map;
  * Provides static methods for common asset loading operations.
  */
 public class AssetLoader {
-    private static final GameLogger logger = GameLogger.getInstance();
     
     // Supported image formats
     private static final String[] SUPPORTED_IMAGE_FORMATS = {".png", ".jpg", ".jpeg", ".gif", ".bmp"};
@@ -54,14 +53,14 @@ public class AssetLoader {
             // Validate loaded image
             validateImageAsset(image, path);
             
-            logger.debug("Successfully loaded image: " + path + " (" + 
+            GameLogger.debug("Successfully loaded image: " + path + " (" + 
                         image.getWidth() + "x" + image.getHeight() + ")");
             
             return image;
             
         } catch (Exception e) {
             if (e instanceof AssetLoadException) {
-                throw e;
+                throw (AssetLoadException) e;
             }
             throw new AssetLoadException(path, "BufferedImage", e);
         }
@@ -80,7 +79,7 @@ public class AssetLoader {
         }
         
         if (sheetImage.getWidth() % spriteWidth != 0 || sheetImage.getHeight() % spriteHeight != 0) {
-            logger.warn("Sprite sheet dimensions don't align perfectly with sprite size: " + path);
+            GameLogger.warn("Sprite sheet dimensions don't align perfectly with sprite size: " + path);
         }
         
         String name = extractNameFromPath(path);
@@ -130,12 +129,12 @@ public class AssetLoader {
             String mapContent = content.toString();
             validateMapAsset(mapContent, path);
             
-            logger.debug("Successfully loaded map text: " + path);
+            GameLogger.debug("Successfully loaded map text: " + path);
             return mapContent;
             
         } catch (Exception e) {
             if (e instanceof AssetLoadException) {
-                throw e;
+                throw (AssetLoadException) e;
             }
             throw new AssetLoadException(path, "Map", e);
         }
@@ -155,7 +154,7 @@ public class AssetLoader {
                 stream.close();
                 return true;
             } catch (Exception e) {
-                logger.warn("Error checking resource existence: " + path, e);
+                GameLogger.warn("Error checking resource existence: " + path, e);
             }
         }
         return false;
@@ -183,7 +182,7 @@ public class AssetLoader {
             return size;
             
         } catch (Exception e) {
-            logger.warn("Error getting resource size: " + path, e);
+            GameLogger.warn("Error getting resource size: " + path, e);
             return -1;
         }
     }
@@ -225,7 +224,7 @@ public class AssetLoader {
         }
         
         if (image.getWidth() > 4096 || image.getHeight() > 4096) {
-            logger.warn("Large image loaded: " + path + " (" + 
+            GameLogger.warn("Large image loaded: " + path + " (" + 
                        image.getWidth() + "x" + image.getHeight() + ")");
         }
     }
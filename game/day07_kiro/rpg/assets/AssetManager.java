@@ -1,48 +1,60 @@
 package rpg.assets;
 
 import rpg.exceptions.AssetLoadException;
+import rpg.systems.Camera;
 import rpg.utils.GameLogger;
 
 import javax.imageio.ImageIO;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.ref.WeakReference;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.List;
-import java.util.ArrayList;
 
 /**
  * Centralized asset management system with caching, preloading, and lifecycle management.
  * Supports type-safe asset loading with automatic memory management and fallback assets.
+ * 
+ * Assets live in a byte-bounded AssetCache instead of behind weak references, so a GC
+ * cannot drop a hot tile sheet. Preloaded assets and the assets of the current map are
+ * pinned. Other assets can be streamed in the background by an AssetStreamer, which
+ * loads assets near the camera first. Time the game thread spends waiting for a load
+ * is reported as stall time in AssetStats.
  */
 public class AssetManager {
+    private static final int STREAMING_THREADS = 2;
+    private static final int DEFAULT_TILE_SIZE = 48;   // game.tileSize
     
-    // Asset caches with weak references for automatic cleanup
-    private final Map<String, WeakReference<BufferedImage>> imageCache = new ConcurrentHashMap<>();
-    private final Map<String, WeakReference<TileSet>> tileSetCache = new ConcurrentHashMap<>();
-    private final Map<String, WeakReference<GameMap>> mapCache = new ConcurrentHashMap<>();
+    // Byte-bounded asset cache shared by all asset types
+    private final AssetCache cache = new AssetCache();
     
-    // Strong references for preloaded assets
-    private final Map<String, BufferedImage> preloadedImages = new HashMap<>();
-    private final Map<String, TileSet> preloadedTileSets = new HashMap<>();
+    // Pinned assets
+    private final Set<String> preloadedAssets = new HashSet<>();
+    private final Set<String> currentMapAssets = new HashSet<>();
     
     // Fallback assets
     private BufferedImage fallbackImage;
     private TileSet fallbackTileSet;
     
     // Asset loading statistics
-    private int totalAssetsLoaded = 0;
-    private int cacheHits = 0;
-    private int cacheMisses = 0;
+    private final AtomicInteger totalAssetsLoaded = new AtomicInteger();
+    private final AtomicLong stallTimeNanos = new AtomicLong();
+    private final AtomicInteger stallCount = new AtomicInteger();
     
     // Async loading support
     private final ExecutorService loadingExecutor = Executors.newFixedThreadPool(2);
+    private final AssetStreamer streamer = new AssetStreamer(this::loadInBackground, cache::contains, STREAMING_THREADS);
+    private static final ThreadLocal<Boolean> BACKGROUND_LOAD = ThreadLocal.withInitial(() -> false);
     
     // Singleton instance
     private static AssetManager instance;
@@ -90,29 +102,21 @@ public class AssetManager {
      * Load an image with caching support.
      */
     public BufferedImage loadImage(String path) throws AssetLoadException {
-        // Check preloaded assets first
-        BufferedImage preloaded = preloadedImages.get(path);
-        if (preloaded != null) {
-            cacheHits++;
-            return preloaded;
+        BufferedImage cached = cache.get(path, BufferedImage.class);
+        if (cached != null) {
+            return cached;
         }
         
-        // Check weak reference cache
-        WeakReference<BufferedImage> ref = imageCache.get(path);
-        if (ref != null) {
-            BufferedImage cached = ref.get();
-            if (cached != null) {
-                cacheHits++;
-                return cached;
-            } else {
-                // Reference was garbage collected, remove it
-                imageCache.remove(path);
-            }
-        }
-        
-        cacheMisses++;
-        
+        long stallStart = System.nanoTime();
         try {
+            // Wait for a background load of the same asset rather than loading it twice
+            if (awaitPendingLoad(path)) {
+                cached = cache.get(path, BufferedImage.class);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            
             InputStream stream = getClass().getResourceAsStream(path);
             if (stream == null) {
                 throw new AssetLoadException(path, "BufferedImage", "Resource not found");
@@ -124,14 +128,16 @@ public class AssetManager {
             }
             
             // Cache the loaded image
-            imageCache.put(path, new WeakReference<>(image));
-            totalAssetsLoaded++;
+            cache.put(path, image, estimateBytes(image));
+            totalAssetsLoaded.incrementAndGet();
             
             GameLogger.info("Loaded image: " + path);
             return image;
             
         } catch (IOException e) {
             throw new AssetLoadException(path, "BufferedImage", e);
+        } finally {
+            recordStall(stallStart);
         }
     }
     
@@ -139,37 +145,31 @@ public class AssetManager {
      * Load a tileset with caching support.
      */
     public TileSet loadTileSet(String path) throws AssetLoadException {
-        // Check preloaded assets first
-        TileSet preloaded = preloadedTileSets.get(path);
-        if (preloaded != null) {
-            cacheHits++;
-            return preloaded;
-        }
-        
-        // Check weak reference cache
-        WeakReference<TileSet> ref = tileSetCache.get(path);
-        if (ref != null) {
-            TileSet cached = ref.get();
-            if (cached != null) {
-                cacheHits++;
-                return cached;
-            } else {
-                tileSetCache.remove(path);
-            }
+        TileSet cached = cache.get(path, TileSet.class);
+        if (cached != null) {
+            return cached;
         }
         
-        cacheMisses++;
-        
+        long stallStart = System.nanoTime();
         try {
-            TileSet tileSet = new TileSet(path, this);
-            tileSetCache.put(path, new WeakReference<>(tileSet));
-            totalAssetsLoaded++;
+            if (awaitPendingLoad(path)) {
+                cached = cache.get(path, TileSet.class);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            
+            TileSet tileSet = new TileSet(path, path, DEFAULT_TILE_SIZE);
+            cache.put(path, tileSet, estimateBytes(tileSet));
+            totalAssetsLoaded.incrementAndGet();
             
             GameLogger.info("Loaded tileset: " + path);
             return tileSet;
             
         } catch (Exception e) {
             throw new AssetLoadException(path, "TileSet", e);
+        } finally {
+            recordStall(stallStart);
         }
     }
     
@@ -177,43 +177,163 @@ public class AssetManager {
      * Load a game map with caching support.
      */
     public GameMap loadMap(String path) throws AssetLoadException {
-        // Check weak reference cache
-        WeakReference<GameMap> ref = mapCache.get(path);
-        if (ref != null) {
-            GameMap cached = ref.get();
-            if (cached != null) {
-                cacheHits++;
-                return cached;
-            } else {
-                mapCache.remove(path);
-            }
+        GameMap cached = cache.get(path, GameMap.class);
+        if (cached != null) {
+            return cached;
         }
         
-        cacheMisses++;
-        
+        long stallStart = System.nanoTime();
         try {
-            GameMap map = new GameMap(path, this);
-            mapCache.put(path, new WeakReference<>(map));
-            totalAssetsLoaded++;
+            if (awaitPendingLoad(path)) {
+                cached = cache.get(path, GameMap.class);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            
+            GameMap map = MapLoader.loadMap(path, fallbackTileSet);
+            cache.put(path, map, estimateBytes(map));
+            totalAssetsLoaded.incrementAndGet();
             
             GameLogger.info("Loaded map: " + path);
             return map;
             
         } catch (Exception e) {
             throw new AssetLoadException(path, "GameMap", e);
+        } finally {
+            recordStall(stallStart);
+        }
+    }
+    
+    /**
+     * Pin the assets the current map needs so they are never evicted, releasing
+     * the pins of the previous map.
+     */
+    public synchronized void setCurrentMapAssets(Collection<String> assetPaths) {
+        for (String path : currentMapAssets) {
+            cache.unpin(path);
+        }
+        currentMapAssets.clear();
+        for (String path : assetPaths) {
+            if (currentMapAssets.add(path)) {
+                cache.pin(path);
+            }
         }
     }
     
+    /**
+     * Register an asset to be streamed in when the camera gets near the given world area.
+     */
+    public void registerStreamingAsset(String path, Class<?> assetType, Rectangle worldArea) {
+        streamer.registerAsset(path, assetType, worldArea);
+    }
+    
+    /**
+     * Queue a background load. Lower priorities load first.
+     */
+    public CompletableFuture<Void> requestAsset(String path, Class<?> assetType, int priority) {
+        return streamer.request(path, assetType, priority);
+    }
+    
+    /**
+     * Re-prioritize background loads around the camera; call once per frame.
+     */
+    public void updateStreaming(Camera camera) {
+        streamer.update(camera);
+    }
+    
+    /**
+     * Set the memory budget of the asset cache in bytes.
+     */
+    public void setCacheBudget(long maxBytes) {
+        cache.setMaxBytes(maxBytes);
+    }
+    
+    public AssetStreamer getStreamer() {
+        return streamer;
+    }
+    
+    /**
+     * Load an asset on a streamer thread; the load methods put it into the cache.
+     */
+    private void loadInBackground(String path, Class<?> assetType) throws AssetLoadException {
+        BACKGROUND_LOAD.set(true);
+        try {
+            if (assetType == BufferedImage.class) {
+                loadImage(path);
+            } else if (assetType == TileSet.class) {
+                loadTileSet(path);
+            } else if (assetType == GameMap.class) {
+                loadMap(path);
+            } else {
+                throw new AssetLoadException(path, assetType.getSimpleName(), "Unsupported asset type");
+            }
+        } finally {
+            BACKGROUND_LOAD.set(false);
+        }
+    }
+    
+    /**
+     * Wait for a queued or running background load of the asset.
+     * 
+     * @return true if a background load finished successfully
+     */
+    private boolean awaitPendingLoad(String path) {
+        if (BACKGROUND_LOAD.get()) {
+            return false;
+        }
+        CompletableFuture<Void> pending = streamer.getPendingLoad(path);
+        if (pending == null) {
+            return false;
+        }
+        // Make sure a queued load runs next instead of behind less urgent ones
+        streamer.request(path, Object.class, Integer.MIN_VALUE);
+        try {
+            pending.join();
+            return true;
+        } catch (CancellationException | CompletionException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Count time spent loading on the game thread; background loads are not stalls.
+     */
+    private void recordStall(long startNanos) {
+        if (!BACKGROUND_LOAD.get()) {
+            stallTimeNanos.addAndGet(System.nanoTime() - startNanos);
+            stallCount.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Estimate the memory used by an asset.
+     */
+    static long estimateBytes(BufferedImage image) {
+        int bitsPerPixel = image.getColorModel().getPixelSize();
+        return (long) image.getWidth() * image.getHeight() * Math.max(1, bitsPerPixel / 8);
+    }
+    
+    static long estimateBytes(TileSet tileSet) {
+        long tileBytes = (long) tileSet.getTileSize() * tileSet.getTileSize() * 4;
+        return tileBytes * tileSet.getTileCount();
+    }
+    
+    static long estimateBytes(GameMap map) {
+        return (long) map.getWidth() * map.getHeight() * map.getLayers().size() * 4;
+    }
+    
     /**
      * Preload essential assets to prevent loading delays during gameplay.
+     * Preloaded assets are pinned in the cache until unloaded.
      */
     public void preloadAssets(List<String> imagePaths, List<String> tileSetPaths) {
         GameLogger.info("Starting asset preloading...");
         
         for (String path : imagePaths) {
             try {
-                BufferedImage image = loadImage(path);
-                preloadedImages.put(path, image);
+                loadImage(path);
+                pinPreloaded(path);
                 GameLogger.debug("Preloaded image: " + path);
             } catch (AssetLoadException e) {
                 GameLogger.warn("Failed to preload image: " + path, e);
@@ -222,16 +342,21 @@ public class AssetManager {
         
         for (String path : tileSetPaths) {
             try {
-                TileSet tileSet = loadTileSet(path);
-                preloadedTileSets.put(path, tileSet);
+                loadTileSet(path);
+                pinPreloaded(path);
                 GameLogger.debug("Preloaded tileset: " + path);
             } catch (AssetLoadException e) {
                 GameLogger.warn("Failed to preload tileset: " + path, e);
             }
         }
         
-        GameLogger.info("Asset preloading completed. Images: " + preloadedImages.size() + 
-                   ", TileSets: " + preloadedTileSets.size());
+        GameLogger.info("Asset preloading completed. Pinned assets: " + cache.getPinnedCount());
+    }
+    
+    private synchronized void pinPreloaded(String path) {
+        if (preloadedAssets.add(path)) {
+            cache.pin(path);
+        }
     }
     
     /**
@@ -244,12 +369,11 @@ public class AssetManager {
     /**
      * Unload a specific asset from cache.
      */
-    public void unloadAsset(String path) {
-        imageCache.remove(path);
-        tileSetCache.remove(path);
-        mapCache.remove(path);
-        preloadedImages.remove(path);
-        preloadedTileSets.remove(path);
+    public synchronized void unloadAsset(String path) {
+        if (preloadedAssets.remove(path)) {
+            cache.unpin(path);
+        }
+        cache.remove(path);
         
         GameLogger.debug("Unloaded asset: " + path);
     }
@@ -257,12 +381,10 @@ public class AssetManager {
     /**
      * Clear all cached assets and force garbage collection.
      */
-    public void cleanup() {
-        imageCache.clear();
-        tileSetCache.clear();
-        mapCache.clear();
-        preloadedImages.clear();
-        preloadedTileSets.clear();
+    public synchronized void cleanup() {
+        cache.clear();
+        preloadedAssets.clear();
+        currentMapAssets.clear();
         
         // Suggest garbage collection
         System.gc();
@@ -297,8 +419,9 @@ public class AssetManager {
         
         // Create fallback tileset
         try {
-            fallbackTileSet = new TileSet();
-            fallbackTileSet.addTile(0, fallbackImage, false);
+            fallbackTileSet = new TileSet("fallback", DEFAULT_TILE_SIZE);
+            fallbackTileSet.addTile(0, fallbackImage,
+                new TileSet.TileProperties(false, TileSet.TileType.GROUND));
         } catch (Exception e) {
             GameLogger.error("Failed to create fallback tileset", e);
         }
@@ -310,8 +433,10 @@ public class AssetManager {
      * Get asset loading statistics.
      */
     public AssetStats getStats() {
-        return new AssetStats(totalAssetsLoaded, cacheHits, cacheMisses, 
-                             imageCache.size(), preloadedImages.size());
+        return new AssetStats(totalAssetsLoaded.get(), (int) cache.getHits(), (int) cache.getMisses(),
+                             cache.size(), cache.getPinnedCount(), cache.getEvictions(),
+                             cache.getCurrentBytes(), cache.getMaxBytes(),
+                             stallCount.get(), stallTimeNanos.get(), streamer.getPendingCount());
     }
     
     /**
@@ -335,6 +460,7 @@ public class AssetManager {
      */
     public void shutdown() {
         cleanup();
+        streamer.shutdown();
         loadingExecutor.shutdown();
         GameLogger.info("Asset manager shutdown completed");
     }
@@ -348,19 +474,54 @@ public class AssetManager {
         public final int cacheMisses;
         public final int cachedAssets;
         public final int preloadedAssets;
+        public final long evictions;
+        public final long cachedBytes;
+        public final long budgetBytes;
+        public final int stalls;
+        public final long stallTimeNanos;
+        public final int pendingLoads;
         
         public AssetStats(int totalLoaded, int cacheHits, int cacheMisses, 
                          int cachedAssets, int preloadedAssets) {
+            this(totalLoaded, cacheHits, cacheMisses, cachedAssets, preloadedAssets, 0, 0, 0, 0, 0, 0);
+        }
+        
+        /**
+         * @param preloadedAssets Number of pinned assets (preloaded and current map)
+         * @param stalls Number of loads the game thread had to wait for
+         * @param stallTimeNanos Total time the game thread spent waiting for loads
+         */
+        public AssetStats(int totalLoaded, int cacheHits, int cacheMisses,
+                         int cachedAssets, int preloadedAssets, long evictions,
+                         long cachedBytes, long budgetBytes,
+                         int stalls, long stallTimeNanos, int pendingLoads) {
             this.totalLoaded = totalLoaded;
             this.cacheHits = cacheHits;
             this.cacheMisses = cacheMisses;
             this.cachedAssets = cachedAssets;
             this.preloadedAssets = preloadedAssets;
+            this.evictions = evictions;
+            this.cachedBytes = cachedBytes;
+            this.budgetBytes = budgetBytes;
+            this.stalls = stalls;
+            this.stallTimeNanos = stallTimeNanos;
+            this.pendingLoads = pendingLoads;
         }
         
         public double getCacheHitRatio() {
             int total = cacheHits + cacheMisses;
             return total > 0 ? (double) cacheHits / total : 0.0;
         }
+        
+        public double getStallTimeMillis() {
+            return stallTimeNanos / 1_000_000.0;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("AssetStats{loaded=%d, hitRatio=%.2f, cached=%d (%d/%d KB), pinned=%d, evictions=%d, stalls=%d (%.1f ms), pending=%d}",
+                totalLoaded, getCacheHitRatio(), cachedAssets, cachedBytes / 1024, budgetBytes / 1024,
+                preloadedAssets, evictions, stalls, getStallTimeMillis(), pendingLoads);
+        }
     }
 }
\ No newline at end of file
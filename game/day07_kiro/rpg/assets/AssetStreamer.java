@@ -0,0 +1,261 @@
+package rpg.assets;
+
+import rpg.systems.Camera;
+import rpg.utils.GameLogger;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/**
+ * Loads assets in the background in order of priority.
+ *
+ * Assets can be registered with the world area they are used in. Each time the
+ * camera moves, assets within the prefetch distance of the view that are not
+ * resident yet are queued with their distance to the view as priority, so the
+ * closest assets load first. Queued loads that drift far away again are
+ * cancelled. Assets can also be requested directly with an explicit priority.
+ *
+ * Lower priority values load first.
+ */
+public class AssetStreamer {
+    public static final int DEFAULT_PREFETCH_DISTANCE = 512;
+
+    /**
+     * Performs the actual load, typically inserting the asset into a cache.
+     */
+    public interface Loader {
+        void load(String path, Class<?> type) throws Exception;
+    }
+
+    private final Loader loader;
+    private final Predicate<String> isResident;
+    private final PriorityQueue<LoadRequest> queue;
+    private final Map<String, LoadRequest> requests;
+    private final List<StreamingRegion> regions;
+    private final Thread[] workers;
+    private int prefetchDistance;
+    private long sequence;
+    private volatile boolean running;
+
+    // Streaming statistics
+    private long completedLoads;
+    private long failedLoads;
+    private long cancelledLoads;
+
+    /**
+     * @param loader Loads a single asset
+     * @param isResident Tells whether an asset is already loaded
+     * @param threads Number of background loader threads
+     */
+    public AssetStreamer(Loader loader, Predicate<String> isResident, int threads) {
+        this.loader = loader;
+        this.isResident = isResident;
+        this.queue = new PriorityQueue<>();
+        this.requests = new HashMap<>();
+        this.regions = new ArrayList<>();
+        this.prefetchDistance = DEFAULT_PREFETCH_DISTANCE;
+        this.running = true;
+        this.workers = new Thread[Math.max(1, threads)];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Thread(this::workerLoop, "asset-streamer-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * Register an asset that is needed when the camera is near the given world area.
+     */
+    public synchronized void registerAsset(String path, Class<?> type, Rectangle worldArea) {
+        regions.add(new StreamingRegion(path, type, new Rectangle(worldArea)));
+    }
+
+    /**
+     * Forget all registered areas, e.g. when a new map is loaded.
+     */
+    public synchronized void clearRegions() {
+        regions.clear();
+    }
+
+    /**
+     * Queue a load. If the asset is already queued, the request is moved up if
+     * the new priority is more urgent.
+     *
+     * @return Future completed when the asset has been loaded
+     */
+    public synchronized CompletableFuture<Void> request(String path, Class<?> type, int priority) {
+        LoadRequest request = requests.get(path);
+        if (request != null) {
+            if (priority < request.priority && queue.remove(request)) {
+                request.priority = priority;
+                queue.add(request);
+            }
+            return request.future;
+        }
+
+        if (isResident.test(path)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        request = new LoadRequest(path, type, priority, sequence++);
+        requests.put(path, request);
+        queue.add(request);
+        notify();
+        return request.future;
+    }
+
+    /**
+     * Get the pending or running load of an asset, or null if there is none.
+     */
+    public synchronized CompletableFuture<Void> getPendingLoad(String path) {
+        LoadRequest request = requests.get(path);
+        return request != null ? request.future : null;
+    }
+
+    /**
+     * Re-prioritize streaming around the camera view.
+     */
+    public void update(Camera camera) {
+        update(camera.getViewBounds());
+    }
+
+    /**
+     * Re-prioritize streaming around a view in world coordinates.
+     */
+    public synchronized void update(Rectangle viewBounds) {
+        for (StreamingRegion region : regions) {
+            int distance = distance(viewBounds, region.area);
+            LoadRequest request = requests.get(region.path);
+
+            if (distance <= prefetchDistance) {
+                if (request == null) {
+                    request(region.path, region.type, distance);
+                } else if (request.priority != distance && queue.remove(request)) {
+                    request.priority = distance;
+                    queue.add(request);
+                }
+            } else if (request != null && distance > prefetchDistance * 2 && queue.remove(request)) {
+                // Not started yet and no longer needed soon
+                requests.remove(region.path);
+                request.future.cancel(false);
+                cancelledLoads++;
+            }
+        }
+    }
+
+    /**
+     * Stop the loader threads. Queued loads are cancelled.
+     */
+    public synchronized void shutdown() {
+        running = false;
+        for (LoadRequest request : queue) {
+            request.future.cancel(false);
+        }
+        queue.clear();
+        requests.clear();
+        notifyAll();
+    }
+
+    private void workerLoop() {
+        while (true) {
+            LoadRequest request;
+            synchronized (this) {
+                while (running && queue.isEmpty()) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (!running) {
+                    return;
+                }
+                request = queue.poll();
+            }
+
+            try {
+                loader.load(request.path, request.type);
+                synchronized (this) {
+                    completedLoads++;
+                }
+                request.future.complete(null);
+            } catch (Exception e) {
+                GameLogger.warn("Background load failed: " + request.path, e);
+                synchronized (this) {
+                    failedLoads++;
+                }
+                request.future.completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    requests.remove(request.path, request);
+                }
+            }
+        }
+    }
+
+    /**
+     * Distance between two rectangles, 0 if they overlap
+     */
+    private static int distance(Rectangle a, Rectangle b) {
+        int dx = Math.max(0, Math.max(b.x - (a.x + a.width), a.x - (b.x + b.width)));
+        int dy = Math.max(0, Math.max(b.y - (a.y + a.height), a.y - (b.y + b.height)));
+        return (int) Math.sqrt((double) dx * dx + (double) dy * dy);
+    }
+
+    public synchronized void setPrefetchDistance(int prefetchDistance) {
+        this.prefetchDistance = prefetchDistance;
+    }
+
+    // Statistics
+    public synchronized int getPendingCount() { return queue.size(); }
+    public synchronized long getCompletedLoads() { return completedLoads; }
+    public synchronized long getFailedLoads() { return failedLoads; }
+    public synchronized long getCancelledLoads() { return cancelledLoads; }
+
+    /**
+     * A queued load, ordered by priority and then by request order
+     */
+    private static class LoadRequest implements Comparable<LoadRequest> {
+        final String path;
+        final Class<?> type;
+        final long sequence;
+        final CompletableFuture<Void> future;
+        int priority;
+
+        LoadRequest(String path, Class<?> type, int priority, long sequence) {
+            this.path = path;
+            this.type = type;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.future = new CompletableFuture<>();
+        }
+
+        @Override
+        public int compareTo(LoadRequest other) {
+            int result = Integer.compare(priority, other.priority);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * World area in which an asset is needed
+     */
+    private static class StreamingRegion {
+        final String path;
+        final Class<?> type;
+        final Rectangle area;
+
+        StreamingRegion(String path, Class<?> type, Rectangle area) {
+            this.path = path;
+            this.type = type;
+            this.area = area;
+        }
+    }
+}
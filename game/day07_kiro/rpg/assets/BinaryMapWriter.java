@@ -0,0 +1,220 @@
+package rpg.assets;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes maps in the binary chunked format read by MappedMapFile.
+ *
+ * Text and CSV maps are converted row band by row band (one band is chunkSize
+ * rows), so converting a large map never holds more than one band in memory.
+ *
+ * Usage: java rpg.assets.BinaryMapWriter input.txt|input.csv output.rmap [tileSize] [chunkSize]
+ */
+public class BinaryMapWriter {
+    public static final int DEFAULT_CHUNK_SIZE = 16;
+
+    /**
+     * Write all layers of a loaded map.
+     */
+    public static void write(GameMap map, Path output, int chunkSize) throws IOException {
+        List<GameMap.MapLayer> layers = map.getLayers();
+        String[] names = new String[layers.size()];
+        boolean[] visible = new boolean[layers.size()];
+        float[] opacity = new float[layers.size()];
+        for (int i = 0; i < layers.size(); i++) {
+            names[i] = layers.get(i).getName();
+            visible[i] = layers.get(i).isVisible();
+            opacity[i] = layers.get(i).getOpacity();
+        }
+
+        int width = map.getWidth();
+        int height = map.getHeight();
+        int chunksX = MappedMapFile.chunkCount(width, chunkSize);
+        int chunksY = MappedMapFile.chunkCount(height, chunkSize);
+
+        try (FileChannel channel = openForWrite(output)) {
+            byte[] header = header(width, height, map.getTileSize(), chunkSize, names, visible, opacity);
+            writeFully(channel, ByteBuffer.wrap(header));
+
+            ByteBuffer chunkBuffer = ByteBuffer.allocate(chunkSize * chunkSize * 2);
+            for (GameMap.MapLayer layer : layers) {
+                for (int cy = 0; cy < chunksY; cy++) {
+                    for (int cx = 0; cx < chunksX; cx++) {
+                        chunkBuffer.clear();
+                        for (int ly = 0; ly < chunkSize; ly++) {
+                            for (int lx = 0; lx < chunkSize; lx++) {
+                                int x = cx * chunkSize + lx;
+                                int y = cy * chunkSize + ly;
+                                chunkBuffer.putShort(toShort(layer.getTile(x, y), x, y));
+                            }
+                        }
+                        chunkBuffer.flip();
+                        writeFully(channel, chunkBuffer);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Convert a text (space-separated) or CSV map into a single-layer binary map.
+     * The height is only known at the end, so it is patched into the header last.
+     */
+    public static void convert(Path input, Path output, int tileSize, int chunkSize) throws IOException {
+        String delimiter = input.toString().toLowerCase().endsWith(".csv") ? "," : "\\s+";
+        String[] names = {"main"};
+        boolean[] visible = {true};
+        float[] opacity = {1.0f};
+
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             FileChannel channel = openForWrite(output)) {
+
+            String[] firstRow = nextRow(reader, delimiter);
+            if (firstRow == null) {
+                throw new IOException("Map file is empty or contains no valid data: " + input);
+            }
+            int width = firstRow.length;
+            int chunksX = MappedMapFile.chunkCount(width, chunkSize);
+
+            byte[] header = header(width, 0, tileSize, chunkSize, names, visible, opacity);
+            writeFully(channel, ByteBuffer.wrap(header));
+
+            short[][] band = new short[chunkSize][width];
+            ByteBuffer bandBuffer = ByteBuffer.allocateDirect(chunksX * chunkSize * chunkSize * 2);
+            String[] row = firstRow;
+            int height = 0;
+
+            while (row != null) {
+                int bandRows = 0;
+                while (row != null && bandRows < chunkSize) {
+                    if (row.length != width) {
+                        throw new IOException(String.format(
+                            "Inconsistent row width at row %d: expected %d, got %d in map: %s",
+                            height + 1, width, row.length, input));
+                    }
+                    for (int x = 0; x < width; x++) {
+                        int tileId;
+                        try {
+                            tileId = Integer.parseInt(row[x].trim());
+                        } catch (NumberFormatException e) {
+                            throw new IOException(String.format("Invalid tile ID '%s' at (%d,%d) in map: %s",
+                                row[x].trim(), x, height, input), e);
+                        }
+                        band[bandRows][x] = toShort(tileId, x, height);
+                    }
+                    bandRows++;
+                    height++;
+                    row = nextRow(reader, delimiter);
+                }
+
+                // Rows past the end of the map pad the last band
+                for (int ly = bandRows; ly < chunkSize; ly++) {
+                    Arrays.fill(band[ly], (short) -1);
+                }
+
+                bandBuffer.clear();
+                for (int cx = 0; cx < chunksX; cx++) {
+                    for (int ly = 0; ly < chunkSize; ly++) {
+                        for (int lx = 0; lx < chunkSize; lx++) {
+                            int x = cx * chunkSize + lx;
+                            bandBuffer.putShort(x < width ? band[ly][x] : -1);
+                        }
+                    }
+                }
+                bandBuffer.flip();
+                writeFully(channel, bandBuffer);
+            }
+
+            // Patch the height (offset: magic, version, flags, width)
+            ByteBuffer heightBuffer = ByteBuffer.allocate(4).putInt(0, height);
+            channel.write(heightBuffer, 12);
+        }
+    }
+
+    private static byte[] header(int width, int height, int tileSize, int chunkSize,
+                                 String[] names, boolean[] visible, float[] opacity) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+
+        ByteArrayOutputStream layerBytes = new ByteArrayOutputStream();
+        DataOutputStream layerOut = new DataOutputStream(layerBytes);
+        for (int i = 0; i < names.length; i++) {
+            byte[] name = names[i].getBytes(StandardCharsets.UTF_8);
+            layerOut.writeShort(name.length);
+            layerOut.write(name);
+            layerOut.writeBoolean(visible[i]);
+            layerOut.writeFloat(opacity[i]);
+        }
+        layerOut.flush();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MappedMapFile.MAGIC);
+        out.writeShort(MappedMapFile.VERSION);
+        out.writeShort(0);
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeInt(tileSize);
+        out.writeInt(chunkSize);
+        out.writeInt(names.length);
+        out.writeLong(MappedMapFile.FIXED_HEADER_BYTES + layerBytes.size());
+        layerBytes.writeTo(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static String[] nextRow(BufferedReader reader, String delimiter) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) { // Skip comments
+                return line.split(delimiter);
+            }
+        }
+        return null;
+    }
+
+    private static short toShort(int tileId, int x, int y) throws IOException {
+        if (tileId < -1 || tileId > Short.MAX_VALUE) {
+            throw new IOException(String.format("Tile ID %d at (%d,%d) cannot be stored in a binary map", tileId, x, y));
+        }
+        return (short) tileId;
+    }
+
+    private static FileChannel openForWrite(Path output) throws IOException {
+        return FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: java rpg.assets.BinaryMapWriter <input.txt|input.csv> <output.rmap> [tileSize] [chunkSize]");
+            return;
+        }
+        int tileSize = args.length > 2 ? Integer.parseInt(args[2]) : 48;
+        int chunkSize = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_CHUNK_SIZE;
+
+        long start = System.nanoTime();
+        convert(Paths.get(args[0]), Paths.get(args[1]), tileSize, chunkSize);
+        System.out.printf("Converted %s -> %s in %.1f ms%n", args[0], args[1], (System.nanoTime() - start) / 1_000_000.0);
+    }
+}
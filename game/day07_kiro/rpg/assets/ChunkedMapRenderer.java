@@ -0,0 +1,294 @@
+package rpg.assets;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders a GameMap from cached, pre-rendered chunks instead of drawing every tile every frame.
+ *
+ * Each layer is split into square chunks of {@code chunkSize x chunkSize} tiles. A chunk is
+ * rendered once into a display-compatible image and reused until a tile inside it changes.
+ * Animated tiles cannot be cached, so they are left out of the chunk image and drawn on top
+ * each frame. The number of cached chunk images is bounded; the least recently drawn chunks
+ * are dropped first and re-rendered when they become visible again.
+ */
+public class ChunkedMapRenderer implements GameMap.TileChangeListener {
+    public static final int DEFAULT_CHUNK_SIZE = 16;
+    public static final int DEFAULT_MAX_CACHED_CHUNKS = 64;
+
+    private final GameMap map;
+    private final int chunkSize;
+    private final int chunkPixels;
+    private final int chunksX;
+    private final int chunksY;
+    private final int maxCachedChunks;
+    private final Map<GameMap.MapLayer, Chunk[]> layerChunks;
+    private final LinkedHashMap<Chunk, Boolean> cachedChunks;
+    private final GraphicsConfiguration graphicsConfiguration;
+
+    // Render statistics
+    private int drawCallsLastFrame;
+    private int chunksDrawnLastFrame;
+    private int chunkRebuilds;
+    private int chunkEvictions;
+
+    public ChunkedMapRenderer(GameMap map) {
+        this(map, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_CACHED_CHUNKS);
+    }
+
+    public ChunkedMapRenderer(GameMap map, int chunkSize, int maxCachedChunks) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.map = map;
+        this.chunkSize = chunkSize;
+        this.chunkPixels = chunkSize * map.getTileSize();
+        this.chunksX = (map.getWidth() + chunkSize - 1) / chunkSize;
+        this.chunksY = (map.getHeight() + chunkSize - 1) / chunkSize;
+        this.maxCachedChunks = Math.max(1, maxCachedChunks);
+        this.layerChunks = new IdentityHashMap<>();
+        this.cachedChunks = new LinkedHashMap<>(16, 0.75f, true);
+        this.graphicsConfiguration = lookupGraphicsConfiguration();
+    }
+
+    /**
+     * Render all visible layers that intersect the view bounds.
+     */
+    public void render(Graphics2D g2, Rectangle viewBounds) {
+        drawCallsLastFrame = 0;
+        chunksDrawnLastFrame = 0;
+
+        int startChunkX = Math.max(0, viewBounds.x / chunkPixels);
+        int endChunkX = Math.min(chunksX - 1, (viewBounds.x + viewBounds.width) / chunkPixels);
+        int startChunkY = Math.max(0, viewBounds.y / chunkPixels);
+        int endChunkY = Math.min(chunksY - 1, (viewBounds.y + viewBounds.height) / chunkPixels);
+
+        float animationTime = map.getAnimationTime();
+
+        for (GameMap.MapLayer layer : map.getLayers()) {
+            if (!layer.isVisible()) continue;
+
+            Chunk[] chunks = chunksFor(layer);
+
+            Composite originalComposite = g2.getComposite();
+            if (layer.getOpacity() < 1.0f) {
+                g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, layer.getOpacity()));
+            }
+
+            for (int cy = startChunkY; cy <= endChunkY; cy++) {
+                for (int cx = startChunkX; cx <= endChunkX; cx++) {
+                    Chunk chunk = chunks[cy * chunksX + cx];
+                    if (chunk.image == null || chunk.dirty) {
+                        rebuild(layer, chunk);
+                    }
+                    cachedChunks.get(chunk); // mark as recently used
+
+                    int screenX = cx * chunkPixels - viewBounds.x;
+                    int screenY = cy * chunkPixels - viewBounds.y;
+                    if (!chunk.empty) {
+                        g2.drawImage(chunk.image, screenX, screenY, null);
+                        drawCallsLastFrame++;
+                    }
+                    chunksDrawnLastFrame++;
+
+                    drawAnimatedTiles(g2, layer, chunk, screenX, screenY, animationTime);
+                }
+            }
+
+            g2.setComposite(originalComposite);
+        }
+    }
+
+    /**
+     * Called by MapLayer.setTile; marks the chunk containing the tile for re-rendering.
+     */
+    @Override
+    public void onTileChanged(GameMap.MapLayer layer, int x, int y) {
+        Chunk[] chunks = layerChunks.get(layer);
+        if (chunks != null) {
+            chunks[(y / chunkSize) * chunksX + (x / chunkSize)].dirty = true;
+        }
+    }
+
+    /**
+     * Drop every cached chunk image, e.g. after the tile set changed.
+     */
+    public void invalidateAll() {
+        for (Chunk[] chunks : layerChunks.values()) {
+            for (Chunk chunk : chunks) {
+                chunk.dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Release all chunk images.
+     */
+    public void dispose() {
+        for (Chunk chunk : cachedChunks.keySet()) {
+            releaseImage(chunk);
+        }
+        cachedChunks.clear();
+        layerChunks.clear();
+    }
+
+    private Chunk[] chunksFor(GameMap.MapLayer layer) {
+        Chunk[] chunks = layerChunks.get(layer);
+        if (chunks == null) {
+            chunks = new Chunk[chunksX * chunksY];
+            for (int cy = 0; cy < chunksY; cy++) {
+                for (int cx = 0; cx < chunksX; cx++) {
+                    chunks[cy * chunksX + cx] = new Chunk(cx, cy);
+                }
+            }
+            layerChunks.put(layer, chunks);
+        }
+        return chunks;
+    }
+
+    /**
+     * Render the static tiles of a chunk into its cached image.
+     */
+    private void rebuild(GameMap.MapLayer layer, Chunk chunk) {
+        TileSet tileSet = map.getTileSet();
+        int tileSize = map.getTileSize();
+
+        if (chunk.image == null) {
+            chunk.image = createChunkImage();
+            cachedChunks.put(chunk, Boolean.TRUE);
+            evictIfNeeded();
+        }
+
+        Graphics2D cg = chunk.image.createGraphics();
+        try {
+            // Clear to transparent so upper layers blend over lower ones
+            cg.setComposite(AlphaComposite.Clear);
+            cg.fillRect(0, 0, chunkPixels, chunkPixels);
+            cg.setComposite(AlphaComposite.SrcOver);
+
+            chunk.animatedTiles.clear();
+            chunk.empty = true;
+
+            int startX = chunk.chunkX * chunkSize;
+            int startY = chunk.chunkY * chunkSize;
+            int endX = Math.min(layer.getWidth(), startX + chunkSize);
+            int endY = Math.min(layer.getHeight(), startY + chunkSize);
+
+            for (int x = startX; x < endX; x++) {
+                for (int y = startY; y < endY; y++) {
+                    int tileId = layer.getTile(x, y);
+                    if (tileId < 0) continue;
+
+                    TileSet.Tile tile = tileSet.getTile(tileId);
+                    if (tile == null) continue;
+
+                    if (tile.getProperties().isAnimated() && tile.getFrameCount() > 1) {
+                        chunk.animatedTiles.add(new int[] {x, y});
+                        continue;
+                    }
+
+                    cg.drawImage(tile.getFrame(0), (x - startX) * tileSize, (y - startY) * tileSize,
+                        tileSize, tileSize, null);
+                    chunk.empty = false;
+                }
+            }
+        } finally {
+            cg.dispose();
+        }
+
+        chunk.dirty = false;
+        chunkRebuilds++;
+    }
+
+    private void drawAnimatedTiles(Graphics2D g2, GameMap.MapLayer layer, Chunk chunk,
+                                   int screenX, int screenY, float animationTime) {
+        if (chunk.animatedTiles.isEmpty()) return;
+
+        TileSet tileSet = map.getTileSet();
+        int tileSize = map.getTileSize();
+        int startX = chunk.chunkX * chunkSize;
+        int startY = chunk.chunkY * chunkSize;
+
+        for (int i = 0; i < chunk.animatedTiles.size(); i++) {
+            int[] position = chunk.animatedTiles.get(i);
+            TileSet.Tile tile = tileSet.getTile(layer.getTile(position[0], position[1]));
+            if (tile == null) continue;
+
+            g2.drawImage(tile.getCurrentFrame(animationTime),
+                screenX + (position[0] - startX) * tileSize,
+                screenY + (position[1] - startY) * tileSize,
+                tileSize, tileSize, null);
+            drawCallsLastFrame++;
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Chunk> iterator = cachedChunks.keySet().iterator();
+        while (cachedChunks.size() > maxCachedChunks && iterator.hasNext()) {
+            Chunk eldest = iterator.next();
+            iterator.remove();
+            releaseImage(eldest);
+            chunkEvictions++;
+        }
+    }
+
+    private void releaseImage(Chunk chunk) {
+        if (chunk.image != null) {
+            chunk.image.flush();
+            chunk.image = null;
+        }
+        chunk.dirty = true;
+    }
+
+    /**
+     * Create an image in the screen's native format so drawing it is a plain blit.
+     * Compatible BufferedImages are cached in video memory by Java2D (managed images)
+     * without the content-loss handling a VolatileImage would require.
+     */
+    private BufferedImage createChunkImage() {
+        if (graphicsConfiguration != null) {
+            return graphicsConfiguration.createCompatibleImage(chunkPixels, chunkPixels, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(chunkPixels, chunkPixels, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static GraphicsConfiguration lookupGraphicsConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment()
+            .getDefaultScreenDevice()
+            .getDefaultConfiguration();
+    }
+
+    // Statistics
+    public int getChunkSize() { return chunkSize; }
+    public int getDrawCallsLastFrame() { return drawCallsLastFrame; }
+    public int getChunksDrawnLastFrame() { return chunksDrawnLastFrame; }
+    public int getChunkRebuilds() { return chunkRebuilds; }
+    public int getChunkEvictions() { return chunkEvictions; }
+    public int getCachedChunkCount() { return cachedChunks.size(); }
+
+    /**
+     * A chunk of one layer with its cached image.
+     */
+    private static class Chunk {
+        final int chunkX;
+        final int chunkY;
+        final List<int[]> animatedTiles = new ArrayList<>();
+        BufferedImage image;
+        boolean dirty = true;
+        boolean empty = true;
+
+        Chunk(int chunkX, int chunkY) {
+            this.chunkX = chunkX;
+            this.chunkY = chunkY;
+        }
+    }
+}
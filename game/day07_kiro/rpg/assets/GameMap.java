@@ -15,6 +15,13 @@ import java.util.Map;
  */
 public class GameMap {
     
+    /**
+     * Notified when a tile in a layer changes, e.g. to invalidate cached renderings.
+     */
+    public interface TileChangeListener {
+        void onTileChanged(MapLayer layer, int x, int y);
+    }
+    
     /**
      * Represents a single layer in the map (background, foreground, collision, etc.)
      */
@@ -26,6 +33,7 @@ public class GameMap {
         private final boolean visible;
         private final float opacity;
         private final Map<String, Object> properties;
+        private TileChangeListener changeListener;
         
         public MapLayer(String name, int width, int height) {
             this(name, width, height, true, 1.0f, new HashMap<>());
@@ -41,9 +49,30 @@ public class GameMap {
             this.tileData = new int[width][height];
         }
         
+        /**
+         * Constructor for layers that keep their tiles elsewhere (e.g. streamed from a file).
+         * Such layers must override getTile and setTile; getTileData returns null.
+         */
+        protected MapLayer(String name, int width, int height, boolean visible, float opacity) {
+            this.name = name;
+            this.width = width;
+            this.height = height;
+            this.visible = visible;
+            this.opacity = opacity;
+            this.properties = new HashMap<>();
+            this.tileData = null;
+        }
+        
         public void setTile(int x, int y, int tileId) {
             if (isValidCoordinate(x, y)) {
                 tileData[x][y] = tileId;
+                fireTileChanged(x, y);
+            }
+        }
+        
+        protected void fireTileChanged(int x, int y) {
+            if (changeListener != null) {
+                changeListener.onTileChanged(this, x, y);
             }
         }
         
@@ -66,6 +95,8 @@ public class GameMap {
         public float getOpacity() { return opacity; }
         public Map<String, Object> getProperties() { return new HashMap<>(properties); }
         public int[][] getTileData() { return tileData; }
+        
+        void setChangeListener(TileChangeListener listener) { this.changeListener = listener; }
     }
     
     private final String name;
@@ -81,6 +112,9 @@ public class GameMap {
     // Animation tracking
     private float animationTime;
     
+    // Cached chunk rendering, null when drawing tile by tile
+    private ChunkedMapRenderer chunkRenderer;
+    
     public GameMap(String name, int width, int height, int tileSize, TileSet tileSet) {
         this.name = name;
         this.width = width;
@@ -104,6 +138,56 @@ public class GameMap {
         
         layers.add(layer);
         layerMap.put(layer.getName(), layer);
+        layer.setChangeListener(chunkRenderer);
+    }
+    
+    /**
+     * Render the map from cached pre-rendered chunks instead of tile by tile.
+     * 
+     * @param chunkSize Chunk edge length in tiles
+     * @param maxCachedChunks Maximum number of chunk images kept in memory
+     */
+    public void enableChunkedRendering(int chunkSize, int maxCachedChunks) {
+        disableChunkedRendering();
+        chunkRenderer = new ChunkedMapRenderer(this, chunkSize, maxCachedChunks);
+        for (MapLayer layer : layers) {
+            layer.setChangeListener(chunkRenderer);
+        }
+    }
+    
+    /**
+     * Go back to drawing every visible tile each frame and release the chunk images.
+     */
+    public void disableChunkedRendering() {
+        if (chunkRenderer != null) {
+            chunkRenderer.dispose();
+            chunkRenderer = null;
+            for (MapLayer layer : layers) {
+                layer.setChangeListener(null);
+            }
+        }
+    }
+    
+    /**
+     * Get the chunk renderer, or null if chunked rendering is disabled.
+     */
+    public ChunkedMapRenderer getChunkRenderer() {
+        return chunkRenderer;
+    }
+    
+    /**
+     * Page streamed layers around the current view: chunks near the view bounds are
+     * loaded into memory and distant ones are released. Layers held fully in memory
+     * are not affected.
+     * 
+     * @param viewBounds Visible area in world coordinates
+     */
+    public void updateStreaming(Rectangle viewBounds) {
+        for (MapLayer layer : layers) {
+            if (layer instanceof StreamingMapLayer) {
+                ((StreamingMapLayer) layer).updateResidency(viewBounds, tileSize);
+            }
+        }
     }
     
     /**
@@ -183,6 +267,11 @@ public class GameMap {
      * Render the map with camera culling.
      */
     public void render(Graphics2D g2, Rectangle viewBounds) {
+        if (chunkRenderer != null) {
+            chunkRenderer.render(g2, viewBounds);
+            return;
+        }
+        
         // Calculate visible tile range
         int startX = Math.max(0, viewBounds.x / tileSize);
         int endX = Math.min(width - 1, (viewBounds.x + viewBounds.width) / tileSize + 1);
@@ -269,6 +358,14 @@ public class GameMap {
         return MapLoaderSimple.loadTextMap(mapPath, tileSet);
     }
     
+    /**
+     * Load map from the binary chunked format written by BinaryMapWriter.
+     * Tiles are memory-mapped and paged in around the view, see updateStreaming.
+     */
+    public static GameMap loadFromBinaryFile(String mapPath, TileSet tileSet) throws AssetLoadException {
+        return MappedMapFile.loadMap(mapPath, tileSet);
+    }
+    
     // Getters
     public String getName() { return name; }
     public int getWidth() { return width; }
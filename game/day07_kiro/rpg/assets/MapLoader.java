@@ -17,7 +17,8 @@ public class MapLoader {
         TEXT,           // Simple space-separated text format
         CSV,            // Comma-separated values
         JSON,           // JSON format (future extension)
-        TMX             // Tiled Map Editor format (future extension)
+        TMX,            // Tiled Map Editor format (future extension)
+        BINARY          // Chunked binary format, memory-mapped and streamed (see BinaryMapWriter)
     }
     
     /**
@@ -35,6 +36,8 @@ public class MapLoader {
                 return MapFormat.JSON;
             case "tmx":
                 return MapFormat.TMX;
+            case MappedMapFile.FILE_EXTENSION:
+                return MapFormat.BINARY;
             default:
                 return MapFormat.TEXT; // Default fallback
         }
@@ -61,6 +64,8 @@ public class MapLoader {
                 throw new AssetLoadException(mapPath, "map", "JSON format not yet implemented");
             case TMX:
                 throw new AssetLoadException(mapPath, "map", "TMX format not yet implemented");
+            case BINARY:
+                return GameMap.loadFromBinaryFile(mapPath, tileSet);
             default:
                 throw new AssetLoadException(mapPath, "map", "Unsupported map format: " + format);
         }
@@ -0,0 +1,237 @@
+package rpg.assets;
+
+import rpg.exceptions.AssetLoadException;
+import rpg.utils.GameLogger;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of a binary map file (extension ".rmap").
+ *
+ * File layout, all values big-endian:
+ * <pre>
+ *   int    magic 'RMAP'
+ *   short  format version
+ *   short  flags (reserved, 0)
+ *   int    width, height, tileSize, chunkSize, layerCount
+ *   long   offset of the first layer's tile data
+ *   per layer: short name length, UTF-8 name, byte visible, float opacity
+ *   per layer: tile data as shorts, chunk by chunk (row-major chunk order),
+ *              each chunk row-major and padded with -1 at the map edges
+ * </pre>
+ *
+ * Tile data is memory-mapped, so opening a map only reads the header and the
+ * operating system pages tiles in as they are touched. Storing the tiles of a
+ * chunk contiguously lets a whole chunk be copied with one bulk read.
+ */
+public class MappedMapFile {
+    public static final String FILE_EXTENSION = "rmap";
+
+    static final int MAGIC = 0x524D4150; // "RMAP"
+    static final short VERSION = 1;
+    static final int FIXED_HEADER_BYTES = 36;
+
+    private final Path path;
+    private final int width;
+    private final int height;
+    private final int tileSize;
+    private final int chunkSize;
+    private final int chunksX;
+    private final int chunksY;
+    private final String[] layerNames;
+    private final boolean[] layerVisible;
+    private final float[] layerOpacity;
+    private final ShortBuffer[] layerTiles;
+
+    private MappedMapFile(Path path, int width, int height, int tileSize, int chunkSize,
+                          String[] layerNames, boolean[] layerVisible, float[] layerOpacity,
+                          ShortBuffer[] layerTiles) {
+        this.path = path;
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+        this.chunkSize = chunkSize;
+        this.chunksX = chunkCount(width, chunkSize);
+        this.chunksY = chunkCount(height, chunkSize);
+        this.layerNames = layerNames;
+        this.layerVisible = layerVisible;
+        this.layerOpacity = layerOpacity;
+        this.layerTiles = layerTiles;
+    }
+
+    /**
+     * Open a binary map file and map its tile data. The file channel is closed
+     * right away; the mappings stay valid until they are garbage collected.
+     */
+    public static MappedMapFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            ByteBuffer fixed = readFully(channel, 0, FIXED_HEADER_BYTES);
+
+            if (fixed.getInt() != MAGIC) {
+                throw new IOException("Not a binary map file: " + path);
+            }
+            short version = fixed.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary map version " + version + ": " + path);
+            }
+            fixed.getShort(); // flags
+
+            int width = fixed.getInt();
+            int height = fixed.getInt();
+            int tileSize = fixed.getInt();
+            int chunkSize = fixed.getInt();
+            int layerCount = fixed.getInt();
+            long dataOffset = fixed.getLong();
+
+            if (width <= 0 || height <= 0 || chunkSize <= 0 || layerCount <= 0
+                    || dataOffset < FIXED_HEADER_BYTES || dataOffset > fileSize) {
+                throw new IOException("Corrupt binary map header: " + path);
+            }
+
+            ByteBuffer layerHeader = readFully(channel, FIXED_HEADER_BYTES, (int) (dataOffset - FIXED_HEADER_BYTES));
+            String[] names = new String[layerCount];
+            boolean[] visible = new boolean[layerCount];
+            float[] opacity = new float[layerCount];
+            for (int i = 0; i < layerCount; i++) {
+                byte[] nameBytes = new byte[layerHeader.getShort() & 0xFFFF];
+                layerHeader.get(nameBytes);
+                names[i] = new String(nameBytes, StandardCharsets.UTF_8);
+                visible[i] = layerHeader.get() != 0;
+                opacity[i] = layerHeader.getFloat();
+            }
+
+            long layerBytes = layerBytes(width, height, chunkSize);
+            if (dataOffset + layerBytes * layerCount > fileSize) {
+                throw new IOException("Binary map file is truncated: " + path);
+            }
+
+            ShortBuffer[] tiles = new ShortBuffer[layerCount];
+            for (int i = 0; i < layerCount; i++) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+                    dataOffset + layerBytes * i, layerBytes);
+                tiles[i] = mapped.asShortBuffer();
+            }
+
+            return new MappedMapFile(path, width, height, tileSize, chunkSize, names, visible, opacity, tiles);
+        }
+    }
+
+    /**
+     * Load a binary map as a GameMap whose layers stream their chunks from the file.
+     *
+     * @param mapPath File system path, or a classpath resource that lives on the file system
+     */
+    public static GameMap loadMap(String mapPath, TileSet tileSet) throws AssetLoadException {
+        Path path = resolvePath(mapPath);
+        if (path == null) {
+            throw new AssetLoadException(mapPath, "map", "Could not find map file");
+        }
+
+        MappedMapFile file;
+        try {
+            file = open(path);
+        } catch (IOException e) {
+            throw new AssetLoadException(mapPath, "map", e);
+        }
+
+        if (file.tileSize != tileSet.getTileSize()) {
+            GameLogger.warn(String.format("Binary map %s uses tile size %d, tileset uses %d",
+                mapPath, file.tileSize, tileSet.getTileSize()));
+        }
+
+        String fileName = path.getFileName().toString();
+        int dotIndex = fileName.lastIndexOf('.');
+        String mapName = dotIndex > 0 ? fileName.substring(0, dotIndex) : fileName;
+
+        GameMap map = new GameMap(mapName, file.width, file.height, file.tileSize, tileSet);
+        for (int i = 0; i < file.getLayerCount(); i++) {
+            map.addLayer(new StreamingMapLayer(file, i));
+        }
+
+        GameLogger.info(String.format("Mapped binary map '%s' (%dx%d, %d layers, %dx%d chunks)",
+            mapPath, file.width, file.height, file.getLayerCount(), file.chunkSize, file.chunkSize));
+        return map;
+    }
+
+    /**
+     * Read one tile directly from the mapping.
+     */
+    public int getTile(int layerIndex, int x, int y) {
+        int chunkIndex = (y / chunkSize) * chunksX + (x / chunkSize);
+        int localIndex = (y % chunkSize) * chunkSize + (x % chunkSize);
+        return getChunkTile(layerIndex, chunkIndex, localIndex);
+    }
+
+    int getChunkTile(int layerIndex, int chunkIndex, int localIndex) {
+        return layerTiles[layerIndex].get(chunkIndex * chunkSize * chunkSize + localIndex);
+    }
+
+    /**
+     * Copy all tiles of a chunk into dest (length chunkSize * chunkSize, row-major).
+     */
+    public void readChunk(int layerIndex, int chunkIndex, short[] dest) {
+        layerTiles[layerIndex].get(chunkIndex * chunkSize * chunkSize, dest);
+    }
+
+    private static Path resolvePath(String mapPath) {
+        Path path = Paths.get(mapPath);
+        if (Files.isRegularFile(path)) {
+            return path;
+        }
+
+        // Resources can only be mapped when they are plain files, not jar entries
+        URL url = MappedMapFile.class.getResource(mapPath);
+        if (url != null && "file".equals(url.getProtocol())) {
+            try {
+                return Paths.get(url.toURI());
+            } catch (URISyntaxException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of binary map file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    static int chunkCount(int tiles, int chunkSize) {
+        return (tiles + chunkSize - 1) / chunkSize;
+    }
+
+    static long layerBytes(int width, int height, int chunkSize) {
+        return (long) chunkCount(width, chunkSize) * chunkCount(height, chunkSize) * chunkSize * chunkSize * 2;
+    }
+
+    // Getters
+    public Path getPath() { return path; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getTileSize() { return tileSize; }
+    public int getChunkSize() { return chunkSize; }
+    public int getChunksX() { return chunksX; }
+    public int getChunksY() { return chunksY; }
+    public int getLayerCount() { return layerNames.length; }
+    public String getLayerName(int layerIndex) { return layerNames[layerIndex]; }
+    public boolean isLayerVisible(int layerIndex) { return layerVisible[layerIndex]; }
+    public float getLayerOpacity(int layerIndex) { return layerOpacity[layerIndex]; }
+}
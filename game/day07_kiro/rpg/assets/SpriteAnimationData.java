@@ -13,7 +13,6 @@ import java.util.Map;
  * Handles animation sequences, timing, and playback control.
  */
 public class SpriteAnimationData {
-    private static final GameLogger logger = GameLogger.getInstance();
     
     private final String name;
     private final Map<String, AnimationSequence> sequences = new HashMap<>();
@@ -35,7 +34,7 @@ public class SpriteAnimationData {
             currentSequence = sequenceName;
         }
         
-        logger.debug("Added animation sequence: " + sequenceName + " with " + 
+        GameLogger.debug("Added animation sequence: " + sequenceName + " with " + 
                     sequence.getFrameCount() + " frames");
     }
     
@@ -74,14 +73,14 @@ public class SpriteAnimationData {
      */
     public void setCurrentSequence(String sequenceName) {
         if (!sequences.containsKey(sequenceName)) {
-            logger.warn("Animation sequence not found: " + sequenceName);
+            GameLogger.warn("Animation sequence not found: " + sequenceName);
             return;
         }
         
         if (!sequenceName.equals(currentSequence)) {
             currentSequence = sequenceName;
             getCurrentSequence().reset();
-            logger.debug("Changed animation sequence to: " + sequenceName);
+            GameLogger.debug("Changed animation sequence to: " + sequenceName);
         }
     }
     
@@ -14,7 +14,6 @@ import java.util.Map;
  * Supports frame extraction, animation sequences, and sprite metadata.
  */
 public class SpriteSheet {
-    private static final GameLogger logger = GameLogger.getInstance();
     
     private final String name;
     private final BufferedImage sheetImage;
@@ -55,7 +54,7 @@ public class SpriteSheet {
             }
         }
         
-        logger.info("Extracted " + frames.size() + " frames from sprite sheet: " + name);
+        GameLogger.info("Extracted " + frames.size() + " frames from sprite sheet: " + name);
     }
     
     /**
@@ -66,7 +65,7 @@ public class SpriteSheet {
             return frames.get(frameIndex);
         }
         
-        logger.warn("Invalid frame index: " + frameIndex + " (max: " + (frames.size() - 1) + ")");
+        GameLogger.warn("Invalid frame index: " + frameIndex + " (max: " + (frames.size() - 1) + ")");
         return null;
     }
     
@@ -79,7 +78,7 @@ public class SpriteSheet {
             return frames.get(frameIndex);
         }
         
-        logger.warn("Invalid frame coordinates: (" + row + ", " + col + ")");
+        GameLogger.warn("Invalid frame coordinates: (" + row + ", " + col + ")");
         return null;
     }
     
@@ -88,7 +87,7 @@ public class SpriteSheet {
      */
     public BufferedImage[] getRowFrames(int row) {
         if (row < 0 || row >= rows) {
-            logger.warn("Invalid row: " + row);
+            GameLogger.warn("Invalid row: " + row);
             return new BufferedImage[0];
         }
         
@@ -105,7 +104,7 @@ public class SpriteSheet {
      */
     public BufferedImage[] getColumnFrames(int col) {
         if (col < 0 || col >= columns) {
-            logger.warn("Invalid column: " + col);
+            GameLogger.warn("Invalid column: " + col);
             return new BufferedImage[0];
         }
         
@@ -133,7 +132,7 @@ public class SpriteSheet {
         Animation animation = new Animation(animationName, animFrames);
         animations.put(animationName, animation);
         
-        logger.debug("Created animation: " + animationName + " with " + animFrames.size() + " frames");
+        GameLogger.debug("Created animation: " + animationName + " with " + animFrames.size() + " frames");
         return animation;
     }
     
@@ -0,0 +1,171 @@
+package rpg.assets;
+
+import java.awt.*;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map layer backed by a memory-mapped binary map file.
+ *
+ * Chunks near the view are copied into small heap arrays so the renderer and
+ * collision checks read them without touching the mapping; everything else is
+ * read straight from the mapped file on demand. Chunks are released again once
+ * they are further than the eviction margin from the view, which keeps memory
+ * proportional to the view size instead of the map size. Edited chunks stay
+ * resident so changes are never lost.
+ *
+ * Like the rest of GameMap this class is meant to be used from the game loop thread.
+ */
+public class StreamingMapLayer extends GameMap.MapLayer {
+    public static final int DEFAULT_LOAD_MARGIN = 1;
+
+    private final MappedMapFile file;
+    private final int layerIndex;
+    private final int chunkSize;
+    private final int chunksX;
+    private final int chunksY;
+    private final Map<Integer, short[]> residentChunks;
+    private final Set<Integer> modifiedChunks;
+    private int loadMargin;
+
+    // Last chunk looked up; tile reads usually stay within one chunk
+    private int lastChunkIndex = -1;
+    private short[] lastChunk;
+
+    // Streaming statistics
+    private int chunkLoads;
+    private int chunkEvictions;
+
+    public StreamingMapLayer(MappedMapFile file, int layerIndex) {
+        super(file.getLayerName(layerIndex), file.getWidth(), file.getHeight(),
+            file.isLayerVisible(layerIndex), file.getLayerOpacity(layerIndex));
+        this.file = file;
+        this.layerIndex = layerIndex;
+        this.chunkSize = file.getChunkSize();
+        this.chunksX = file.getChunksX();
+        this.chunksY = file.getChunksY();
+        this.residentChunks = new HashMap<>();
+        this.modifiedChunks = new HashSet<>();
+        this.loadMargin = DEFAULT_LOAD_MARGIN;
+    }
+
+    @Override
+    public int getTile(int x, int y) {
+        if (!isValidCoordinate(x, y)) {
+            return -1;
+        }
+        int chunkIndex = (y / chunkSize) * chunksX + (x / chunkSize);
+        int localIndex = (y % chunkSize) * chunkSize + (x % chunkSize);
+
+        short[] chunk = chunkIndex == lastChunkIndex ? lastChunk : lookup(chunkIndex);
+        if (chunk != null) {
+            return chunk[localIndex];
+        }
+        return file.getChunkTile(layerIndex, chunkIndex, localIndex);
+    }
+
+    @Override
+    public void setTile(int x, int y, int tileId) {
+        if (!isValidCoordinate(x, y)) {
+            return;
+        }
+        if (tileId < -1 || tileId > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Tile ID out of range for binary maps: " + tileId);
+        }
+        int chunkIndex = (y / chunkSize) * chunksX + (x / chunkSize);
+        short[] chunk = load(chunkIndex);
+        chunk[(y % chunkSize) * chunkSize + (x % chunkSize)] = (short) tileId;
+        modifiedChunks.add(chunkIndex);
+        fireTileChanged(x, y);
+    }
+
+    /**
+     * Load the chunks around the view and release those that are well outside it.
+     * Chunks between the load and eviction margins are kept to avoid thrashing
+     * when the view moves back and forth across a chunk border.
+     *
+     * @param viewBounds Visible area in world coordinates
+     * @param tileSize Tile size in pixels
+     */
+    public void updateResidency(Rectangle viewBounds, int tileSize) {
+        int chunkPixels = chunkSize * tileSize;
+        int startX = Math.floorDiv(viewBounds.x, chunkPixels);
+        int startY = Math.floorDiv(viewBounds.y, chunkPixels);
+        int endX = Math.floorDiv(viewBounds.x + viewBounds.width, chunkPixels);
+        int endY = Math.floorDiv(viewBounds.y + viewBounds.height, chunkPixels);
+
+        for (int cy = Math.max(0, startY - loadMargin); cy <= Math.min(chunksY - 1, endY + loadMargin); cy++) {
+            for (int cx = Math.max(0, startX - loadMargin); cx <= Math.min(chunksX - 1, endX + loadMargin); cx++) {
+                load(cy * chunksX + cx);
+            }
+        }
+
+        int evictMargin = loadMargin + 1;
+        Iterator<Integer> iterator = residentChunks.keySet().iterator();
+        while (iterator.hasNext()) {
+            int chunkIndex = iterator.next();
+            int cx = chunkIndex % chunksX;
+            int cy = chunkIndex / chunksX;
+            boolean distant = cx < startX - evictMargin || cx > endX + evictMargin
+                || cy < startY - evictMargin || cy > endY + evictMargin;
+            if (distant && !modifiedChunks.contains(chunkIndex)) {
+                iterator.remove();
+                chunkEvictions++;
+                if (chunkIndex == lastChunkIndex) {
+                    lastChunkIndex = -1;
+                    lastChunk = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Release every unmodified chunk.
+     */
+    public void evictAll() {
+        residentChunks.keySet().retainAll(modifiedChunks);
+        lastChunkIndex = -1;
+        lastChunk = null;
+    }
+
+    private short[] lookup(int chunkIndex) {
+        short[] chunk = residentChunks.get(chunkIndex);
+        if (chunk != null) {
+            lastChunkIndex = chunkIndex;
+            lastChunk = chunk;
+        }
+        return chunk;
+    }
+
+    private short[] load(int chunkIndex) {
+        short[] chunk = lookup(chunkIndex);
+        if (chunk == null) {
+            chunk = new short[chunkSize * chunkSize];
+            file.readChunk(layerIndex, chunkIndex, chunk);
+            residentChunks.put(chunkIndex, chunk);
+            chunkLoads++;
+            lastChunkIndex = chunkIndex;
+            lastChunk = chunk;
+        }
+        return chunk;
+    }
+
+    /**
+     * Number of chunks around the view that are loaded ahead of time
+     */
+    public void setLoadMargin(int chunks) {
+        this.loadMargin = Math.max(0, chunks);
+    }
+
+    // Getters
+    public MappedMapFile getFile() { return file; }
+    public int getChunkSize() { return chunkSize; }
+    public int getLoadMargin() { return loadMargin; }
+    public int getResidentChunkCount() { return residentChunks.size(); }
+    public int getModifiedChunkCount() { return modifiedChunks.size(); }
+    public int getChunkLoads() { return chunkLoads; }
+    public int getChunkEvictions() { return chunkEvictions; }
+}
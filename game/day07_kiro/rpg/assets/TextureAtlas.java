@@ -3,6 +3,7 @@ package rpg.assets;
 import rpg.exceptions.AssetLoadException;
 import rpg.utils.GameLogger;
 
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.util.HashMap;
 import java.util.Map;
@@ -71,6 +72,19 @@ public class TextureAtlas {
         return atlasImage.getSubimage(x, y, width, height);
     }
     
+    /**
+     * Draw a region straight from the atlas image, without creating a sub-image.
+     * Sub-images share the atlas raster but are not cached by Java2D, so drawing
+     * from the full atlas keeps the blit on the accelerated path.
+     */
+    public boolean drawRegion(Graphics2D g2, AtlasRegion region, int x, int y, boolean flipX, boolean flipY) {
+        int sx1 = flipX ? region.x + region.width : region.x;
+        int sx2 = flipX ? region.x : region.x + region.width;
+        int sy1 = flipY ? region.y + region.height : region.y;
+        int sy2 = flipY ? region.y : region.y + region.height;
+        return g2.drawImage(atlasImage, x, y, x + region.width, y + region.height, sx1, sy1, sx2, sy2, null);
+    }
+    
     /**
      * Check if a region exists in the atlas.
      */
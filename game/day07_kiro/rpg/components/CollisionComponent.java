@@ -66,6 +66,14 @@ public class CollisionComponent extends Component {
         return new Rectangle(bounds);
     }
     
+    /**
+     * Copy the local bounds into an existing rectangle without allocating.
+     */
+    public Rectangle getBounds(Rectangle dest) {
+        dest.setBounds(bounds);
+        return dest;
+    }
+    
     public void setBounds(int x, int y, int width, int height) {
         this.bounds.setBounds(x, y, width, height);
     }
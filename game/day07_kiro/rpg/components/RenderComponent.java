@@ -1,5 +1,6 @@
 package rpg.components;
 
+import rpg.assets.TextureAtlas;
 import rpg.engine.Component;
 import java.awt.image.BufferedImage;
 
@@ -16,6 +17,10 @@ public class RenderComponent extends Component {
     private boolean flipX;
     private boolean flipY;
     
+    // Atlas region drawn instead of the sprite image, if set
+    private TextureAtlas atlas;
+    private TextureAtlas.AtlasRegion atlasRegion;
+    
     // Animation properties
     private BufferedImage[] animationFrames;
     private int currentFrame;
@@ -54,6 +59,51 @@ public class RenderComponent extends Component {
     
     public void setSprite(BufferedImage sprite) {
         this.sprite = sprite;
+        this.atlas = null;
+        this.atlasRegion = null;
+    }
+    
+    /**
+     * Draw a region of a texture atlas instead of a separate sprite image.
+     * Sprites from the same atlas can be batched by the render queue.
+     */
+    public void setAtlasRegion(TextureAtlas atlas, TextureAtlas.AtlasRegion region) {
+        this.atlas = region != null ? atlas : null;
+        this.atlasRegion = region;
+        this.sprite = null;
+    }
+    
+    public void setAtlasRegion(TextureAtlas atlas, String regionName) {
+        setAtlasRegion(atlas, atlas.getRegion(regionName));
+    }
+    
+    public TextureAtlas getAtlas() {
+        return atlas;
+    }
+    
+    public TextureAtlas.AtlasRegion getAtlasRegion() {
+        return atlasRegion;
+    }
+    
+    /**
+     * Get the image that is sampled when drawing, i.e. the whole atlas for atlas regions
+     */
+    public BufferedImage getTexture() {
+        return atlasRegion != null ? atlas.getAtlasImage() : sprite;
+    }
+    
+    public boolean hasSprite() {
+        return sprite != null || atlasRegion != null;
+    }
+    
+    public int getSpriteWidth() {
+        if (atlasRegion != null) return atlasRegion.width;
+        return sprite != null ? sprite.getWidth() : 0;
+    }
+    
+    public int getSpriteHeight() {
+        if (atlasRegion != null) return atlasRegion.height;
+        return sprite != null ? sprite.getHeight() : 0;
     }
     
     public int getLayer() {
@@ -106,6 +156,8 @@ public class RenderComponent extends Component {
         this.isAnimating = frames != null && frames.length > 0;
         
         if (isAnimating && frames.length > 0) {
+            this.atlas = null;
+            this.atlasRegion = null;
             this.sprite = frames[0];
         }
     }
@@ -0,0 +1,298 @@
+package rpg.engine;
+
+import rpg.components.CollisionComponent;
+import rpg.components.MovementComponent;
+import rpg.components.TransformComponent;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/**
+ * Dense storage for all entities that share the same component signature.
+ *
+ * Rows are packed: removing an entity swaps the last row into its slot.
+ * Hot components (transform, movement, collision) are mirrored into
+ * struct-of-arrays columns so systems can iterate primitives instead of
+ * chasing component references. The component objects stay authoritative
+ * for code that uses Entity.getComponent(); call {@link #pull()} before a
+ * column pass and {@link #push()} afterwards to keep both views in sync.
+ */
+public class Archetype {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final long TRANSFORM_BIT = ComponentType.bitOf(TransformComponent.class);
+    private static final long MOVEMENT_BIT = ComponentType.bitOf(MovementComponent.class);
+    private static final long COLLISION_BIT = ComponentType.bitOf(CollisionComponent.class);
+
+    private final long signature;
+    private final boolean hasTransform;
+    private final boolean hasMovement;
+    private final boolean hasCollision;
+
+    private Entity[] entities;
+    private int size;
+
+    // Component references for the hot types, indexed by row
+    private TransformComponent[] transforms;
+    private MovementComponent[] movements;
+    private CollisionComponent[] collisions;
+
+    // Transform columns
+    public float[] x;
+    public float[] y;
+    public float[] rotation;
+    public float[] scaleX;
+    public float[] scaleY;
+
+    // Movement columns
+    public float[] velocityX;
+    public float[] velocityY;
+    public float[] accelerationX;
+    public float[] accelerationY;
+
+    // Collision columns (bounds relative to the transform)
+    public int[] boundsX;
+    public int[] boundsY;
+    public int[] boundsWidth;
+    public int[] boundsHeight;
+    public int[] collisionLayer;
+
+    private final Rectangle scratchBounds = new Rectangle();
+
+    Archetype(long signature) {
+        this.signature = signature;
+        this.hasTransform = (signature & TRANSFORM_BIT) != 0;
+        this.hasMovement = (signature & MOVEMENT_BIT) != 0;
+        this.hasCollision = (signature & COLLISION_BIT) != 0;
+        this.entities = new Entity[INITIAL_CAPACITY];
+        allocateColumns(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Get the component signature shared by every entity in this archetype.
+     */
+    public long getSignature() {
+        return signature;
+    }
+
+    /**
+     * Check if this archetype contains every component in the given mask.
+     */
+    public boolean matches(long requiredMask) {
+        return (signature & requiredMask) == requiredMask;
+    }
+
+    /**
+     * Get the number of entities stored in this archetype.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the entity stored at the given row.
+     */
+    public Entity getEntity(int row) {
+        return entities[row];
+    }
+
+    public boolean hasTransform() {
+        return hasTransform;
+    }
+
+    public boolean hasMovement() {
+        return hasMovement;
+    }
+
+    public boolean hasCollision() {
+        return hasCollision;
+    }
+
+    /**
+     * Append an entity and return its row.
+     */
+    int add(Entity entity) {
+        if (size == entities.length) {
+            grow(size * 2);
+        }
+        int row = size++;
+        entities[row] = entity;
+        if (hasTransform) {
+            transforms[row] = entity.getComponent(TransformComponent.class);
+        }
+        if (hasMovement) {
+            movements[row] = entity.getComponent(MovementComponent.class);
+        }
+        if (hasCollision) {
+            collisions[row] = entity.getComponent(CollisionComponent.class);
+        }
+        pullRow(row);
+        entity.setLocation(this, row);
+        return row;
+    }
+
+    /**
+     * Remove the entity at the given row by moving the last row into its place.
+     */
+    void remove(int row) {
+        int last = --size;
+        if (row != last) {
+            copyRow(last, row);
+            entities[row].setLocation(this, row);
+        }
+        entities[last] = null;
+        if (hasTransform) transforms[last] = null;
+        if (hasMovement) movements[last] = null;
+        if (hasCollision) collisions[last] = null;
+    }
+
+    /**
+     * Copy the hot component fields into the columns for every row.
+     */
+    public void pull() {
+        for (int row = 0; row < size; row++) {
+            pullRow(row);
+        }
+    }
+
+    /**
+     * Write the columns back into the hot component objects for every row.
+     */
+    public void push() {
+        for (int row = 0; row < size; row++) {
+            pushRow(row);
+        }
+    }
+
+    private void pullRow(int row) {
+        if (hasTransform) {
+            TransformComponent t = transforms[row];
+            x[row] = t.x;
+            y[row] = t.y;
+            rotation[row] = t.rotation;
+            scaleX[row] = t.scaleX;
+            scaleY[row] = t.scaleY;
+        }
+        if (hasMovement) {
+            MovementComponent m = movements[row];
+            velocityX[row] = m.velocityX;
+            velocityY[row] = m.velocityY;
+            accelerationX[row] = m.accelerationX;
+            accelerationY[row] = m.accelerationY;
+        }
+        if (hasCollision) {
+            CollisionComponent c = collisions[row];
+            c.getBounds(scratchBounds);
+            boundsX[row] = scratchBounds.x;
+            boundsY[row] = scratchBounds.y;
+            boundsWidth[row] = scratchBounds.width;
+            boundsHeight[row] = scratchBounds.height;
+            collisionLayer[row] = c.getCollisionLayer();
+        }
+    }
+
+    private void pushRow(int row) {
+        if (hasTransform) {
+            TransformComponent t = transforms[row];
+            t.x = x[row];
+            t.y = y[row];
+            t.rotation = rotation[row];
+            t.scaleX = scaleX[row];
+            t.scaleY = scaleY[row];
+        }
+        if (hasMovement) {
+            MovementComponent m = movements[row];
+            m.velocityX = velocityX[row];
+            m.velocityY = velocityY[row];
+            m.accelerationX = accelerationX[row];
+            m.accelerationY = accelerationY[row];
+        }
+        // Collision bounds and layers are configuration, not simulation state,
+        // so they are never written back from the columns.
+    }
+
+    private void copyRow(int from, int to) {
+        entities[to] = entities[from];
+        if (hasTransform) {
+            transforms[to] = transforms[from];
+            x[to] = x[from];
+            y[to] = y[from];
+            rotation[to] = rotation[from];
+            scaleX[to] = scaleX[from];
+            scaleY[to] = scaleY[from];
+        }
+        if (hasMovement) {
+            movements[to] = movements[from];
+            velocityX[to] = velocityX[from];
+            velocityY[to] = velocityY[from];
+            accelerationX[to] = accelerationX[from];
+            accelerationY[to] = accelerationY[from];
+        }
+        if (hasCollision) {
+            collisions[to] = collisions[from];
+            boundsX[to] = boundsX[from];
+            boundsY[to] = boundsY[from];
+            boundsWidth[to] = boundsWidth[from];
+            boundsHeight[to] = boundsHeight[from];
+            collisionLayer[to] = collisionLayer[from];
+        }
+    }
+
+    private void allocateColumns(int capacity) {
+        if (hasTransform) {
+            transforms = new TransformComponent[capacity];
+            x = new float[capacity];
+            y = new float[capacity];
+            rotation = new float[capacity];
+            scaleX = new float[capacity];
+            scaleY = new float[capacity];
+        }
+        if (hasMovement) {
+            movements = new MovementComponent[capacity];
+            velocityX = new float[capacity];
+            velocityY = new float[capacity];
+            accelerationX = new float[capacity];
+            accelerationY = new float[capacity];
+        }
+        if (hasCollision) {
+            collisions = new CollisionComponent[capacity];
+            boundsX = new int[capacity];
+            boundsY = new int[capacity];
+            boundsWidth = new int[capacity];
+            boundsHeight = new int[capacity];
+            collisionLayer = new int[capacity];
+        }
+    }
+
+    private void grow(int capacity) {
+        entities = Arrays.copyOf(entities, capacity);
+        if (hasTransform) {
+            transforms = Arrays.copyOf(transforms, capacity);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            rotation = Arrays.copyOf(rotation, capacity);
+            scaleX = Arrays.copyOf(scaleX, capacity);
+            scaleY = Arrays.copyOf(scaleY, capacity);
+        }
+        if (hasMovement) {
+            movements = Arrays.copyOf(movements, capacity);
+            velocityX = Arrays.copyOf(velocityX, capacity);
+            velocityY = Arrays.copyOf(velocityY, capacity);
+            accelerationX = Arrays.copyOf(accelerationX, capacity);
+            accelerationY = Arrays.copyOf(accelerationY, capacity);
+        }
+        if (hasCollision) {
+            collisions = Arrays.copyOf(collisions, capacity);
+            boundsX = Arrays.copyOf(boundsX, capacity);
+            boundsY = Arrays.copyOf(boundsY, capacity);
+            boundsWidth = Arrays.copyOf(boundsWidth, capacity);
+            boundsHeight = Arrays.copyOf(boundsHeight, capacity);
+            collisionLayer = Arrays.copyOf(collisionLayer, capacity);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Archetype{signature=" + Long.toBinaryString(signature) + ", size=" + size + "}";
+    }
+}
@@ -0,0 +1,138 @@
+package rpg.engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Groups entities into archetypes by component signature and serves cached
+ * queries over them.
+ *
+ * Entities register themselves through {@link #attach(Entity)}; afterwards
+ * every addComponent/removeComponent call moves the entity to the archetype
+ * for its new signature and bumps the structure version, which is the only
+ * thing that invalidates query views.
+ *
+ * Structural changes must happen on a single thread. Queries may be created
+ * and read concurrently in between, e.g. from the parallel system stages.
+ */
+public class ArchetypeStore {
+    private final Map<Long, Archetype> archetypes;
+    private final List<Archetype> archetypeList;
+    private final Map<Long, EntityQuery> queries;
+    private long structureVersion;
+
+    public ArchetypeStore() {
+        this.archetypes = new HashMap<>();
+        this.archetypeList = new ArrayList<>();
+        this.queries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Start tracking an entity.
+     */
+    public void attach(Entity entity) {
+        if (entity.getStore() == this) {
+            return;
+        }
+        entity.setStore(this);
+        archetypeFor(entity.getSignature()).add(entity);
+        structureVersion++;
+    }
+
+    /**
+     * Stop tracking an entity.
+     */
+    public void detach(Entity entity) {
+        if (entity.getStore() != this) {
+            return;
+        }
+        Archetype archetype = entity.getArchetype();
+        if (archetype != null) {
+            archetype.remove(entity.getRow());
+        }
+        entity.setLocation(null, -1);
+        entity.setStore(null);
+        structureVersion++;
+    }
+
+    /**
+     * Called by Entity after a component was added, replaced or removed.
+     */
+    void onStructureChanged(Entity entity) {
+        Archetype current = entity.getArchetype();
+        if (current != null) {
+            current.remove(entity.getRow());
+        }
+        // Re-adding also refreshes the cached component references when a
+        // component of the same type was replaced.
+        archetypeFor(entity.getSignature()).add(entity);
+        structureVersion++;
+    }
+
+    /**
+     * Get a cached query for entities that have all of the given components.
+     * The same query instance is returned for the same component set.
+     */
+    @SafeVarargs
+    public final EntityQuery query(Class<? extends Component>... componentTypes) {
+        long mask = ComponentType.maskOf(componentTypes);
+        EntityQuery query = queries.get(mask);
+        if (query == null) {
+            query = queries.computeIfAbsent(mask, this::createQuery);
+        }
+        return query;
+    }
+
+    /**
+     * Get the counter that changes on every structural change.
+     */
+    public long getStructureVersion() {
+        return structureVersion;
+    }
+
+    /**
+     * Get the number of distinct archetypes created so far.
+     */
+    public int getArchetypeCount() {
+        return archetypeList.size();
+    }
+
+    /**
+     * Drop all entities and archetypes. Cached queries are kept but emptied.
+     */
+    public void clear() {
+        for (Archetype archetype : archetypeList) {
+            for (int row = archetype.size() - 1; row >= 0; row--) {
+                Entity entity = archetype.getEntity(row);
+                archetype.remove(row);
+                entity.setLocation(null, -1);
+                entity.setStore(null);
+            }
+        }
+        structureVersion++;
+    }
+
+    private EntityQuery createQuery(long mask) {
+        EntityQuery query = new EntityQuery(this, mask);
+        for (Archetype archetype : archetypeList) {
+            query.offer(archetype);
+        }
+        return query;
+    }
+
+    private Archetype archetypeFor(long signature) {
+        Archetype archetype = archetypes.get(signature);
+        if (archetype == null) {
+            archetype = new Archetype(signature);
+            archetypes.put(signature, archetype);
+            archetypeList.add(archetype);
+            for (EntityQuery query : queries.values()) {
+                query.offer(archetype);
+            }
+        }
+        return archetype;
+    }
+}
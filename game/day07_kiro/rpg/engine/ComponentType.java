@@ -0,0 +1,54 @@
+package rpg.engine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns a stable bit index to every component class so that an entity's
+ * component set can be described by a single long signature.
+ */
+public final class ComponentType {
+    public static final int MAX_TYPES = 64;
+
+    private static final Map<Class<? extends Component>, Integer> indices = new ConcurrentHashMap<>();
+
+    private ComponentType() {
+    }
+
+    /**
+     * Get the bit index for a component class, registering it on first use.
+     */
+    public static int indexOf(Class<? extends Component> componentType) {
+        Integer index = indices.get(componentType);
+        if (index != null) {
+            return index;
+        }
+        synchronized (indices) {
+            return indices.computeIfAbsent(componentType, type -> {
+                if (indices.size() >= MAX_TYPES) {
+                    throw new IllegalStateException("Too many component types (max " + MAX_TYPES + ")");
+                }
+                return indices.size();
+            });
+        }
+    }
+
+    /**
+     * Get the signature bit for a component class.
+     */
+    public static long bitOf(Class<? extends Component> componentType) {
+        return 1L << indexOf(componentType);
+    }
+
+    /**
+     * Build a signature from a set of component classes.
+     */
+    @SafeVarargs
+    public static long maskOf(Class<? extends Component>... componentTypes) {
+        long mask = 0L;
+        for (Class<? extends Component> componentType : componentTypes) {
+            mask |= bitOf(componentType);
+        }
+        return mask;
+    }
+}
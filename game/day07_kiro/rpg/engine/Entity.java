@@ -6,6 +6,10 @@ import java.util.Map;
 /**
  * Base Entity class for the Entity-Component-System architecture.
  * Entities are containers for components and have a unique ID.
+ * 
+ * When the entity is attached to an {@link ArchetypeStore} its location
+ * (archetype and row) is kept up to date as components are added or removed.
+ * The per-entity component map remains the lookup path for getComponent().
  */
 public class Entity {
     private static int nextId = 1;
@@ -14,12 +18,31 @@ public class Entity {
     private final Map<Class<? extends Component>, Component> components;
     private boolean active;
     
+    // Archetype bookkeeping
+    private long signature;
+    private ArchetypeStore store;
+    private Archetype archetype;
+    private int row = -1;
+    
     public Entity() {
         this.id = nextId++;
         this.components = new HashMap<>();
         this.active = true;
     }
     
+    /**
+     * Create an entity with a specific ID, e.g. when restoring a snapshot.
+     * Entities created afterwards get higher IDs so they cannot collide.
+     */
+    public Entity(int id) {
+        this.id = id;
+        this.components = new HashMap<>();
+        this.active = true;
+        if (id >= nextId) {
+            nextId = id + 1;
+        }
+    }
+    
     /**
      * Get the unique ID of this entity.
      */
@@ -46,8 +69,12 @@ public class Entity {
      */
     public <T extends Component> void addComponent(T component) {
         components.put(component.getClass(), component);
+        signature |= ComponentType.bitOf(component.getClass());
         component.setEntity(this);
         component.onAttach();
+        if (store != null) {
+            store.onStructureChanged(this);
+        }
     }
     
     /**
@@ -64,8 +91,12 @@ public class Entity {
     public <T extends Component> void removeComponent(Class<T> componentType) {
         Component component = components.remove(componentType);
         if (component != null) {
+            signature &= ~ComponentType.bitOf(componentType);
             component.onDetach();
             component.setEntity(null);
+            if (store != null) {
+                store.onStructureChanged(this);
+            }
         }
     }
     
@@ -83,6 +114,41 @@ public class Entity {
         return new HashMap<>(components);
     }
     
+    /**
+     * Get the component signature bit mask of this entity.
+     */
+    public long getSignature() {
+        return signature;
+    }
+    
+    /**
+     * Get the archetype this entity is currently stored in, or null if the
+     * entity is not attached to a store.
+     */
+    public Archetype getArchetype() {
+        return archetype;
+    }
+    
+    /**
+     * Get the row of this entity inside its archetype.
+     */
+    public int getRow() {
+        return row;
+    }
+    
+    ArchetypeStore getStore() {
+        return store;
+    }
+    
+    void setStore(ArchetypeStore store) {
+        this.store = store;
+    }
+    
+    void setLocation(Archetype archetype, int row) {
+        this.archetype = archetype;
+        this.row = row;
+    }
+    
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -0,0 +1,110 @@
+package rpg.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cached view over every archetype that contains a required set of components.
+ *
+ * The list of matching archetypes only grows when the store creates a new
+ * archetype, and the flattened entity list is rebuilt only after a structural
+ * change (entity added or removed, component added or removed). Iterating a
+ * query between structural changes allocates nothing. The rebuild is
+ * synchronized, so several threads may read the same query after a change.
+ */
+public class EntityQuery {
+    private final ArchetypeStore store;
+    private final long requiredMask;
+    private final List<Archetype> archetypes;
+    private final List<Entity> entityView;
+    private final List<Entity> readOnlyView;
+    private volatile long builtVersion = -1;
+
+    EntityQuery(ArchetypeStore store, long requiredMask) {
+        this.store = store;
+        this.requiredMask = requiredMask;
+        this.archetypes = new ArrayList<>();
+        this.entityView = new ArrayList<>();
+        this.readOnlyView = Collections.unmodifiableList(entityView);
+    }
+
+    /**
+     * Called by the store whenever a new archetype is created.
+     */
+    void offer(Archetype archetype) {
+        if (archetype.matches(requiredMask)) {
+            archetypes.add(archetype);
+        }
+    }
+
+    /**
+     * Get the signature mask this query requires.
+     */
+    public long getRequiredMask() {
+        return requiredMask;
+    }
+
+    /**
+     * Get the matching archetypes for column-based iteration.
+     */
+    public List<Archetype> getArchetypes() {
+        return archetypes;
+    }
+
+    /**
+     * Get a read-only list of matching entities. The list is reused between
+     * calls and only rebuilt after a structural change.
+     */
+    public List<Entity> getEntities() {
+        if (builtVersion != store.getStructureVersion()) {
+            rebuild();
+        }
+        return readOnlyView;
+    }
+
+    private synchronized void rebuild() {
+        long version = store.getStructureVersion();
+        if (builtVersion == version) {
+            return;
+        }
+        entityView.clear();
+        for (int i = 0; i < archetypes.size(); i++) {
+            Archetype archetype = archetypes.get(i);
+            for (int row = 0; row < archetype.size(); row++) {
+                entityView.add(archetype.getEntity(row));
+            }
+        }
+        // Publishes the rebuilt list to readers that skip the lock
+        builtVersion = version;
+    }
+
+    /**
+     * Get the number of matching entities without building the entity list.
+     */
+    public int size() {
+        int count = 0;
+        for (int i = 0; i < archetypes.size(); i++) {
+            count += archetypes.get(i).size();
+        }
+        return count;
+    }
+
+    /**
+     * Refresh the hot columns of every matching archetype from the components.
+     */
+    public void pull() {
+        for (int i = 0; i < archetypes.size(); i++) {
+            archetypes.get(i).pull();
+        }
+    }
+
+    /**
+     * Write the hot columns of every matching archetype back to the components.
+     */
+    public void push() {
+        for (int i = 0; i < archetypes.size(); i++) {
+            archetypes.get(i).push();
+        }
+    }
+}
@@ -8,6 +8,18 @@ public class AssetLoadException extends GameException {
     private final String assetPath;
     private final String assetType;
     
+    public AssetLoadException(String message) {
+        super(message, "ASSET_LOAD_FAILED");
+        this.assetPath = null;
+        this.assetType = null;
+    }
+    
+    public AssetLoadException(String message, Throwable cause) {
+        super(message, cause, "ASSET_LOAD_FAILED", true);
+        this.assetPath = null;
+        this.assetType = null;
+    }
+    
     public AssetLoadException(String assetPath, String assetType) {
         super("Failed to load " + assetType + " asset: " + assetPath, "ASSET_LOAD_FAILED");
         this.assetPath = assetPath;
@@ -1,12 +1,21 @@
 package rpg.game;
 
+import rpg.engine.ArchetypeStore;
 import rpg.engine.Component;
 import rpg.engine.Entity;
+import rpg.engine.EntityQuery;
+import rpg.game.snapshot.EntitySnapshot;
+import rpg.game.snapshot.SnapshotCodec;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * Manages all entities in the game world.
@@ -16,11 +25,16 @@ public class EntityManager {
     private final Map<Integer, Entity> entities;
     private final List<Entity> entitiesToAdd;
     private final List<Entity> entitiesToRemove;
+    private final ArchetypeStore archetypeStore;
+    private final SnapshotCodec snapshotCodec;
+    private ExecutorService snapshotExecutor;
     
     public EntityManager() {
         this.entities = new ConcurrentHashMap<>();
         this.entitiesToAdd = new ArrayList<>();
         this.entitiesToRemove = new ArrayList<>();
+        this.archetypeStore = new ArchetypeStore();
+        this.snapshotCodec = new SnapshotCodec();
     }
     
     /**
@@ -78,9 +92,7 @@ public class EntityManager {
      * Find entities that have a specific component type.
      */
     public <T extends Component> List<Entity> getEntitiesWithComponent(Class<T> componentType) {
-        return entities.values().stream()
-                .filter(entity -> entity.isActive() && entity.hasComponent(componentType))
-                .collect(Collectors.toList());
+        return collectActive(archetypeStore.query(componentType));
     }
     
     /**
@@ -88,17 +100,37 @@ public class EntityManager {
      */
     @SafeVarargs
     public final List<Entity> getEntitiesWithComponents(Class<? extends Component>... componentTypes) {
-        return entities.values().stream()
-                .filter(entity -> {
-                    if (!entity.isActive()) return false;
-                    for (Class<? extends Component> componentType : componentTypes) {
-                        if (!entity.hasComponent(componentType)) {
-                            return false;
-                        }
-                    }
-                    return true;
-                })
-                .collect(Collectors.toList());
+        return collectActive(archetypeStore.query(componentTypes));
+    }
+    
+    /**
+     * Get a cached query for entities that have all of the specified component types.
+     * Unlike getEntitiesWithComponents() this does not copy or filter: the view is
+     * reused across frames and only rebuilt after components are added or removed.
+     * Inactive entities are included, so callers should check isActive() if needed.
+     */
+    @SafeVarargs
+    public final EntityQuery query(Class<? extends Component>... componentTypes) {
+        return archetypeStore.query(componentTypes);
+    }
+    
+    /**
+     * Get the archetype store backing the entity queries.
+     */
+    public ArchetypeStore getArchetypeStore() {
+        return archetypeStore;
+    }
+    
+    private List<Entity> collectActive(EntityQuery query) {
+        List<Entity> view = query.getEntities();
+        List<Entity> result = new ArrayList<>(view.size());
+        for (int i = 0; i < view.size(); i++) {
+            Entity entity = view.get(i);
+            if (entity.isActive()) {
+                result.add(entity);
+            }
+        }
+        return result;
     }
     
     /**
@@ -109,12 +141,14 @@ public class EntityManager {
         // Add pending entities
         for (Entity entity : entitiesToAdd) {
             entities.put(entity.getId(), entity);
+            archetypeStore.attach(entity);
         }
         entitiesToAdd.clear();
         
         // Remove pending entities
         for (Entity entity : entitiesToRemove) {
             entities.remove(entity.getId());
+            archetypeStore.detach(entity);
             // Clean up components
             for (Component component : entity.getComponents().values()) {
                 component.onDetach();
@@ -140,99 +174,131 @@ public class EntityManager {
             }
         }
         entities.clear();
+        archetypeStore.clear();
         entitiesToAdd.clear();
         entitiesToRemove.clear();
     }
     
     /**
-     * Serialize all entities to a file for save functionality.
-     * Note: This is a basic implementation. Components must be serializable.
+     * Save all entities to a file in the binary snapshot format.
+     * Only components with a registered snapshot codec are saved.
      */
     public void saveToFile(String filename) throws IOException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filename))) {
-            // Save entity count
-            oos.writeInt(entities.size());
-            
-            // Save each entity
-            for (Entity entity : entities.values()) {
-                saveEntity(oos, entity);
+        snapshotCodec.export(entities.values()).writeTo(Paths.get(filename));
+    }
+    
+    /**
+     * Save all entities without blocking the game thread. The entities are
+     * encoded immediately; only the file write happens in the background.
+     */
+    public CompletableFuture<Void> saveToFileAsync(String filename) {
+        EntitySnapshot snapshot = snapshotCodec.export(entities.values());
+        Path path = Paths.get(filename);
+        return CompletableFuture.runAsync(() -> {
+            try {
+                snapshot.writeTo(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-        }
+        }, getSnapshotExecutor());
     }
     
     /**
-     * Deserialize entities from a file for load functionality.
-     * Note: This is a basic implementation. Components must be serializable.
+     * Load entities from a file written by saveToFile(), replacing all current entities.
      */
-    public void loadFromFile(String filename) throws IOException, ClassNotFoundException {
-        clear(); // Clear existing entities
-        
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(filename))) {
-            int entityCount = ois.readInt();
-            
-            for (int i = 0; i < entityCount; i++) {
-                Entity entity = loadEntity(ois);
-                if (entity != null) {
-                    entities.put(entity.getId(), entity);
-                }
+    public void loadFromFile(String filename) throws IOException {
+        restoreSnapshot(EntitySnapshot.readFrom(Paths.get(filename)));
+    }
+    
+    /**
+     * Read a save file in the background. Apply the result with restoreSnapshot()
+     * on the game thread.
+     */
+    public CompletableFuture<EntitySnapshot> readSnapshotAsync(String filename) {
+        Path path = Paths.get(filename);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return EntitySnapshot.readFrom(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-        }
+        }, getSnapshotExecutor());
     }
     
-    private void saveEntity(ObjectOutputStream oos, Entity entity) throws IOException {
-        // Save entity ID and active state
-        oos.writeInt(entity.getId());
-        oos.writeBoolean(entity.isActive());
-        
-        // Save components
-        Map<Class<? extends Component>, Component> components = entity.getComponents();
-        oos.writeInt(components.size());
-        
-        for (Map.Entry<Class<? extends Component>, Component> entry : components.entrySet()) {
-            oos.writeObject(entry.getKey().getName());
-            oos.writeObject(entry.getValue());
+    /**
+     * Create a full snapshot of the current entity state for debugging or rollback.
+     * Later delta snapshots are relative to it.
+     */
+    public EntitySnapshot createSnapshot() {
+        return snapshotCodec.captureFull(entities.values());
+    }
+    
+    /**
+     * Create a snapshot of only the entities and components that changed since
+     * the previous snapshot. Cheap enough to take every few frames for rollback.
+     */
+    public EntitySnapshot createDeltaSnapshot() {
+        return snapshotCodec.captureDelta(entities.values());
+    }
+    
+    /**
+     * Restore a snapshot. A full snapshot replaces all entities and discards pending
+     * additions and removals; a delta snapshot has to follow the snapshot it is based on.
+     * Components are updated in place where the entity already has them.
+     */
+    public void restoreSnapshot(EntitySnapshot snapshot) throws IOException {
+        if (!snapshot.isDelta()) {
+            entitiesToAdd.clear();
+            entitiesToRemove.clear();
         }
+        snapshotCodec.apply(snapshot, snapshotTarget);
     }
     
-    private Entity loadEntity(ObjectInputStream ois) throws IOException, ClassNotFoundException {
-        try {
-            // Read entity ID (for future use if needed)
-            ois.readInt();
-            boolean isActive = ois.readBoolean();
-            
-            // Create entity
-            Entity entity = new Entity();
-            entity.setActive(isActive);
-            
-            // Load components
-            int componentCount = ois.readInt();
-            for (int i = 0; i < componentCount; i++) {
-                // Read component class name (for future use if needed)
-                ois.readObject();
-                Component component = (Component) ois.readObject();
-                
-                if (component != null) {
-                    entity.addComponent(component);
+    public SnapshotCodec getSnapshotCodec() {
+        return snapshotCodec;
+    }
+    
+    private final SnapshotCodec.Target snapshotTarget = new SnapshotCodec.Target() {
+        @Override
+        public Entity getEntity(int id) {
+            return entities.get(id);
+        }
+        
+        @Override
+        public Entity createEntity(int id) {
+            Entity entity = new Entity(id);
+            entities.put(id, entity);
+            archetypeStore.attach(entity);
+            return entity;
+        }
+        
+        @Override
+        public void removeEntity(int id) {
+            Entity entity = entities.remove(id);
+            if (entity != null) {
+                archetypeStore.detach(entity);
+                for (Component component : entity.getComponents().values()) {
+                    component.onDetach();
                 }
             }
-            
-            return entity;
-        } catch (Exception e) {
-            System.err.println("Error loading entity: " + e.getMessage());
-            return null;
         }
-    }
+        
+        @Override
+        public Collection<Entity> getEntities() {
+            return new ArrayList<>(entities.values());
+        }
+    };
     
-    /**
-     * Create a snapshot of the current entity state for debugging or rollback.
-     */
-    public Map<Integer, Entity> createSnapshot() {
-        Map<Integer, Entity> snapshot = new HashMap<>();
-        for (Map.Entry<Integer, Entity> entry : entities.entrySet()) {
-            // Note: This creates a shallow copy. For deep copy, would need to clone components
-            snapshot.put(entry.getKey(), entry.getValue());
+    private synchronized ExecutorService getSnapshotExecutor() {
+        if (snapshotExecutor == null) {
+            // A single thread keeps saves in order
+            snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "entity-snapshot-io");
+                thread.setDaemon(true);
+                return thread;
+            });
         }
-        return snapshot;
+        return snapshotExecutor;
     }
     
     /**
@@ -0,0 +1,43 @@
+package rpg.game.snapshot;
+
+import rpg.engine.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes and reads the state of one component type in the snapshot format.
+ *
+ * Codecs only store plain state. References to assets such as sprites are not
+ * part of a snapshot and have to be restored by the code that sets up the entity.
+ * When the layout of a component changes, increase the version and keep reading
+ * the old layout in read() so existing saves still load.
+ */
+public interface ComponentCodec<T extends Component> {
+
+    /**
+     * The component class handled by this codec
+     */
+    Class<T> getType();
+
+    /**
+     * Version of the layout written by write()
+     */
+    int getVersion();
+
+    /**
+     * Create an empty component to read into
+     */
+    T create();
+
+    void write(T component, DataOutput out) throws IOException;
+
+    /**
+     * Read state into an existing component, so a rollback does not have to
+     * replace components.
+     *
+     * @param version The codec version the data was written with
+     */
+    void read(T component, DataInput in, int version) throws IOException;
+}
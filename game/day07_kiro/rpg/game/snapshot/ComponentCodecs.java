@@ -0,0 +1,304 @@
+package rpg.game.snapshot;
+
+import rpg.components.AnimationComponent;
+import rpg.components.CollisionComponent;
+import rpg.components.MovementComponent;
+import rpg.components.RenderComponent;
+import rpg.components.TransformComponent;
+import rpg.engine.Component;
+import rpg.entity.Direction;
+
+import java.awt.Rectangle;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Registry of component codecs used by snapshots.
+ *
+ * Codecs are identified in snapshot files by the component class name, so the
+ * registration order does not matter for compatibility.
+ */
+public class ComponentCodecs {
+    private final List<ComponentCodec<?>> codecs = new ArrayList<>();
+    private final Map<Class<?>, Integer> indexByType = new HashMap<>();
+    private final Map<String, Integer> indexByName = new HashMap<>();
+
+    /**
+     * Create a registry with codecs for the built-in components.
+     */
+    public static ComponentCodecs createDefault() {
+        ComponentCodecs codecs = new ComponentCodecs();
+        codecs.register(new TransformCodec());
+        codecs.register(new MovementCodec());
+        codecs.register(new CollisionCodec());
+        codecs.register(new RenderCodec());
+        codecs.register(new AnimationCodec());
+        return codecs;
+    }
+
+    public synchronized void register(ComponentCodec<?> codec) {
+        Integer existing = indexByType.get(codec.getType());
+        if (existing != null) {
+            codecs.set(existing, codec);
+            return;
+        }
+        int index = codecs.size();
+        codecs.add(codec);
+        indexByType.put(codec.getType(), index);
+        indexByName.put(codec.getType().getName(), index);
+    }
+
+    /**
+     * Get the index of the codec for a component class, or -1 if there is none.
+     */
+    public synchronized int indexOf(Class<? extends Component> type) {
+        Integer index = indexByType.get(type);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Get the index of the codec for a component class name, or -1 if there is none.
+     */
+    public synchronized int indexOf(String className) {
+        Integer index = indexByName.get(className);
+        return index != null ? index : -1;
+    }
+
+    public synchronized ComponentCodec<?> get(int index) {
+        return codecs.get(index);
+    }
+
+    public synchronized int size() {
+        return codecs.size();
+    }
+
+    public synchronized List<ComponentCodec<?>> getCodecs() {
+        return Collections.unmodifiableList(new ArrayList<>(codecs));
+    }
+
+    /**
+     * Base class for codecs of components with a no-argument constructor.
+     */
+    public abstract static class SimpleCodec<T extends Component> implements ComponentCodec<T> {
+        private final Class<T> type;
+        private final int version;
+        private final Supplier<T> factory;
+
+        protected SimpleCodec(Class<T> type, int version, Supplier<T> factory) {
+            this.type = type;
+            this.version = version;
+            this.factory = factory;
+        }
+
+        @Override
+        public Class<T> getType() { return type; }
+
+        @Override
+        public int getVersion() { return version; }
+
+        @Override
+        public T create() { return factory.get(); }
+    }
+
+    static class TransformCodec extends SimpleCodec<TransformComponent> {
+        TransformCodec() {
+            super(TransformComponent.class, 1, TransformComponent::new);
+        }
+
+        @Override
+        public void write(TransformComponent c, DataOutput out) throws IOException {
+            out.writeFloat(c.x);
+            out.writeFloat(c.y);
+            out.writeFloat(c.rotation);
+            out.writeFloat(c.scaleX);
+            out.writeFloat(c.scaleY);
+        }
+
+        @Override
+        public void read(TransformComponent c, DataInput in, int version) throws IOException {
+            c.x = in.readFloat();
+            c.y = in.readFloat();
+            c.rotation = in.readFloat();
+            c.scaleX = in.readFloat();
+            c.scaleY = in.readFloat();
+        }
+    }
+
+    static class MovementCodec extends SimpleCodec<MovementComponent> {
+        MovementCodec() {
+            super(MovementComponent.class, 1, MovementComponent::new);
+        }
+
+        @Override
+        public void write(MovementComponent c, DataOutput out) throws IOException {
+            out.writeFloat(c.velocityX);
+            out.writeFloat(c.velocityY);
+            out.writeFloat(c.accelerationX);
+            out.writeFloat(c.accelerationY);
+            out.writeFloat(c.maxSpeed);
+            out.writeFloat(c.friction);
+            out.writeBoolean(c.canMove);
+            out.writeBoolean(c.hasBounds);
+            if (c.hasBounds) {
+                out.writeFloat(c.minX);
+                out.writeFloat(c.minY);
+                out.writeFloat(c.maxX);
+                out.writeFloat(c.maxY);
+            }
+        }
+
+        @Override
+        public void read(MovementComponent c, DataInput in, int version) throws IOException {
+            c.velocityX = in.readFloat();
+            c.velocityY = in.readFloat();
+            c.accelerationX = in.readFloat();
+            c.accelerationY = in.readFloat();
+            c.maxSpeed = in.readFloat();
+            c.friction = in.readFloat();
+            c.canMove = in.readBoolean();
+            c.hasBounds = in.readBoolean();
+            if (c.hasBounds) {
+                c.minX = in.readFloat();
+                c.minY = in.readFloat();
+                c.maxX = in.readFloat();
+                c.maxY = in.readFloat();
+            }
+        }
+    }
+
+    static class CollisionCodec extends SimpleCodec<CollisionComponent> {
+        CollisionCodec() {
+            super(CollisionComponent.class, 1, CollisionComponent::new);
+        }
+
+        @Override
+        public void write(CollisionComponent c, DataOutput out) throws IOException {
+            Rectangle bounds = c.getBounds();
+            out.writeInt(bounds.x);
+            out.writeInt(bounds.y);
+            out.writeInt(bounds.width);
+            out.writeInt(bounds.height);
+            out.writeInt(c.getCollisionLayer());
+            // Layers 0-31 as a bit mask, any others listed after it
+            Set<Integer> collidesWith = c.getCollidesWith();
+            int mask = 0;
+            int others = 0;
+            for (int layer : collidesWith) {
+                if (layer >= 0 && layer < 32) {
+                    mask |= 1 << layer;
+                } else {
+                    others++;
+                }
+            }
+            out.writeInt(mask);
+            out.writeShort(others);
+            for (int layer : collidesWith) {
+                if (layer < 0 || layer >= 32) {
+                    out.writeInt(layer);
+                }
+            }
+            out.writeBoolean(c.isSolid());
+            out.writeBoolean(c.isTrigger());
+            out.writeBoolean(c.isStatic());
+            out.writeBoolean(c.canPush());
+            out.writeBoolean(c.canBePushed());
+            out.writeFloat(c.getMass());
+        }
+
+        @Override
+        public void read(CollisionComponent c, DataInput in, int version) throws IOException {
+            c.setBounds(in.readInt(), in.readInt(), in.readInt(), in.readInt());
+            c.setCollisionLayer(in.readInt());
+            int mask = in.readInt();
+            Set<Integer> collidesWith = new HashSet<>();
+            for (int layer = 0; layer < 32; layer++) {
+                if ((mask & (1 << layer)) != 0) {
+                    collidesWith.add(layer);
+                }
+            }
+            int others = in.readUnsignedShort();
+            for (int i = 0; i < others; i++) {
+                collidesWith.add(in.readInt());
+            }
+            c.setCollidesWith(collidesWith);
+            c.setSolid(in.readBoolean());
+            c.setTrigger(in.readBoolean());
+            c.setStatic(in.readBoolean());
+            c.setCanPush(in.readBoolean());
+            c.setCanBePushed(in.readBoolean());
+            c.setMass(in.readFloat());
+        }
+    }
+
+    static class RenderCodec extends SimpleCodec<RenderComponent> {
+        RenderCodec() {
+            super(RenderComponent.class, 1, RenderComponent::new);
+        }
+
+        @Override
+        public void write(RenderComponent c, DataOutput out) throws IOException {
+            out.writeInt(c.getLayer());
+            out.writeBoolean(c.isVisible());
+            out.writeFloat(c.getAlpha());
+            out.writeBoolean(c.isFlipX());
+            out.writeBoolean(c.isFlipY());
+            out.writeShort(c.getCurrentFrame());
+        }
+
+        @Override
+        public void read(RenderComponent c, DataInput in, int version) throws IOException {
+            c.setLayer(in.readInt());
+            c.setVisible(in.readBoolean());
+            c.setAlpha(in.readFloat());
+            c.setFlipX(in.readBoolean());
+            c.setFlipY(in.readBoolean());
+            c.setCurrentFrame(in.readShort());
+        }
+    }
+
+    static class AnimationCodec extends SimpleCodec<AnimationComponent> {
+        private static final Direction[] DIRECTIONS = Direction.values();
+
+        AnimationCodec() {
+            super(AnimationComponent.class, 1, AnimationComponent::new);
+        }
+
+        @Override
+        public void write(AnimationComponent c, DataOutput out) throws IOException {
+            String name = c.getCurrentAnimationName();
+            Direction direction = c.getCurrentDirection();
+            out.writeUTF(name != null ? name : "");
+            out.writeByte(direction != null ? direction.ordinal() : -1);
+            out.writeShort(c.getCurrentFrame());
+            out.writeBoolean(c.isPlaying());
+            out.writeFloat(c.getSpeedMultiplier());
+        }
+
+        @Override
+        public void read(AnimationComponent c, DataInput in, int version) throws IOException {
+            String name = in.readUTF();
+            int direction = in.readByte();
+            int frame = in.readShort();
+            boolean playing = in.readBoolean();
+            c.setSpeedMultiplier(in.readFloat());
+
+            // Animation definitions are assets; only select the saved one if it is set up
+            if (!name.isEmpty() && direction >= 0 && direction < DIRECTIONS.length) {
+                c.playAnimation(name, DIRECTIONS[direction]);
+                c.setCurrentFrame(frame);
+                if (!playing) {
+                    c.pauseAnimation();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package rpg.game.snapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * An encoded entity snapshot.
+ *
+ * A snapshot is immutable once created, so it can be kept in a rollback
+ * history or written to disk on another thread. A full snapshot contains every
+ * entity; a delta snapshot only contains what changed since the snapshot with
+ * sequence number getBaseSequence() and must be applied on top of that state.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * int   magic "RSNP"
+ * short format version
+ * byte  flags (bit 0: delta)
+ * long  sequence
+ * long  base sequence (-1 for full snapshots)
+ * int   entity record count
+ * int   component record count
+ * short codec count, then per codec: UTF class name, short codec version
+ * entity records, see SnapshotCodec
+ * </pre>
+ */
+public final class EntitySnapshot {
+    public static final int MAGIC = 0x52534E50; // "RSNP"
+    public static final int FORMAT_VERSION = 1;
+    public static final String FILE_EXTENSION = "rsnp";
+
+    static final int FLAG_DELTA = 1;
+    static final int HEADER_BYTES = 4 + 2 + 1 + 8 + 8 + 4 + 4;
+
+    private final byte[] data;
+    private final long sequence;
+    private final long baseSequence;
+    private final boolean delta;
+    private final int entityCount;
+    private final int componentCount;
+
+    EntitySnapshot(byte[] data) throws IOException {
+        if (data.length < HEADER_BYTES) {
+            throw new EOFException("Snapshot is truncated");
+        }
+        ByteBuffer header = ByteBuffer.wrap(data);
+        int magic = header.getInt();
+        if (magic != MAGIC) {
+            throw new IOException("Not an entity snapshot (bad magic 0x" + Integer.toHexString(magic) + ")");
+        }
+        int version = header.getShort();
+        if (version > FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot format version " + version);
+        }
+        this.data = data;
+        this.delta = (header.get() & FLAG_DELTA) != 0;
+        this.sequence = header.getLong();
+        this.baseSequence = header.getLong();
+        this.entityCount = header.getInt();
+        this.componentCount = header.getInt();
+    }
+
+    /**
+     * Read a snapshot previously written with writeTo().
+     */
+    public static EntitySnapshot readFrom(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        in.transferTo(buffer);
+        return new EntitySnapshot(buffer.toByteArray());
+    }
+
+    public static EntitySnapshot readFrom(Path path) throws IOException {
+        return new EntitySnapshot(Files.readAllBytes(path));
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(data);
+    }
+
+    /**
+     * Write the snapshot to a file. The file is replaced atomically where the
+     * file system allows it, so a crash during an autosave keeps the old save.
+     */
+    public void writeTo(Path path) throws IOException {
+        Path absolute = path.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        Files.write(temp, data);
+        try {
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    DataInputStream openBody() {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        try {
+            in.skipNBytes(HEADER_BYTES);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return in;
+    }
+
+    public long getSequence() { return sequence; }
+    public long getBaseSequence() { return baseSequence; }
+    public boolean isDelta() { return delta; }
+    public int getEntityCount() { return entityCount; }
+    public int getComponentCount() { return componentCount; }
+    public int getSizeBytes() { return data.length; }
+
+    @Override
+    public String toString() {
+        return String.format("EntitySnapshot{seq=%d, %s, entities=%d, components=%d, %d bytes}",
+            sequence, delta ? "delta of " + baseSequence : "full", entityCount, componentCount, data.length);
+    }
+}
@@ -0,0 +1,436 @@
+package rpg.game.snapshot;
+
+import rpg.engine.Component;
+import rpg.engine.Entity;
+import rpg.utils.GameLogger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Encodes entities into snapshots and applies snapshots back onto entities.
+ *
+ * The codec remembers the encoded state of every component as of the last
+ * captured or applied snapshot (the baseline). A delta snapshot compares the
+ * freshly encoded bytes against the baseline and only stores components that
+ * changed, entities that were added or removed and components that were
+ * removed. Comparing encoded bytes means components need no dirty tracking.
+ *
+ * Components without a registered codec are left out of snapshots and left
+ * untouched on restore.
+ *
+ * Entity record layout:
+ * <pre>
+ * int   entity id
+ * byte  flags (bit 0: active, bit 1: removed)
+ * short changed component count, then per component: short codec, int length, bytes
+ * short removed component count, then per component: short codec
+ * </pre>
+ *
+ * Not thread-safe: capture and apply on the game thread, and hand the
+ * resulting immutable snapshots to other threads for I/O.
+ */
+public class SnapshotCodec {
+    private static final int ENTITY_ACTIVE = 1;
+    private static final int ENTITY_REMOVED = 2;
+
+    /**
+     * The entity container a snapshot is applied to.
+     */
+    public interface Target {
+        Entity getEntity(int id);
+
+        /**
+         * Create and register an entity with the given ID.
+         */
+        Entity createEntity(int id);
+
+        void removeEntity(int id);
+
+        /**
+         * All entities, used to remove entities missing from a full snapshot.
+         */
+        Collection<Entity> getEntities();
+    }
+
+    private final ComponentCodecs codecs;
+    private final Map<Integer, EntityState> baseline = new HashMap<>();
+    private long baselineSequence = -1;
+    private long nextSequence = 1;
+
+    // Reused encoding buffers
+    private final RecordBuffer body = new RecordBuffer();
+    private final RecordBuffer components = new RecordBuffer();
+    private final RecordBuffer scratch = new RecordBuffer();
+    private final DataOutputStream bodyOut = new DataOutputStream(body);
+    private final DataOutputStream componentsOut = new DataOutputStream(components);
+    private final DataOutputStream scratchOut = new DataOutputStream(scratch);
+    private int[] removedScratch = new int[8];
+    private final Set<Class<?>> reportedTypes = new HashSet<>();
+
+    public SnapshotCodec() {
+        this(ComponentCodecs.createDefault());
+    }
+
+    public SnapshotCodec(ComponentCodecs codecs) {
+        this.codecs = codecs;
+    }
+
+    /**
+     * Capture all entities and make the result the baseline for the next delta.
+     */
+    public EntitySnapshot captureFull(Collection<Entity> entities) {
+        return capture(entities, false, true);
+    }
+
+    /**
+     * Capture only what changed since the baseline, then make the result the new
+     * baseline. Without a baseline a full snapshot is captured.
+     */
+    public EntitySnapshot captureDelta(Collection<Entity> entities) {
+        return capture(entities, baselineSequence >= 0, true);
+    }
+
+    /**
+     * Capture all entities without touching the baseline, e.g. for a save file
+     * taken between rollback deltas.
+     */
+    public EntitySnapshot export(Collection<Entity> entities) {
+        return capture(entities, false, false);
+    }
+
+    /**
+     * Forget the baseline, so the next delta capture is a full snapshot.
+     */
+    public void reset() {
+        baseline.clear();
+        baselineSequence = -1;
+    }
+
+    public long getBaselineSequence() {
+        return baselineSequence;
+    }
+
+    public ComponentCodecs getCodecs() {
+        return codecs;
+    }
+
+    private EntitySnapshot capture(Collection<Entity> entities, boolean delta, boolean updateBaseline) {
+        try {
+            long sequence = nextSequence++;
+            int codecCount = codecs.size();
+            int entityRecords = 0;
+            int componentRecords = 0;
+            Set<Integer> seen = delta ? new HashSet<>() : null;
+            Map<Integer, EntityState> nextBaseline = updateBaseline && !delta ? new HashMap<>() : null;
+
+            body.reset();
+            for (Entity entity : entities) {
+                int id = entity.getId();
+                EntityState previous = delta ? baseline.get(id) : null;
+                EntityState state = previous;
+                if (updateBaseline && state == null) {
+                    state = new EntityState(codecCount);
+                } else if (state != null) {
+                    state.ensureCapacity(codecCount);
+                }
+                if (seen != null) seen.add(id);
+
+                components.reset();
+                int changed = 0;
+                long present = 0;
+                for (Component component : entity.getComponents().values()) {
+                    int index = codecs.indexOf(component.getClass());
+                    if (index < 0) {
+                        reportMissingCodec(component.getClass());
+                        continue;
+                    }
+                    present |= 1L << Math.min(index, 63);
+
+                    scratch.reset();
+                    encode(index, component, scratchOut);
+                    if (previous != null && scratch.contentEquals(previous.components[index])) {
+                        continue; // Unchanged since the baseline
+                    }
+                    componentsOut.writeShort(index);
+                    componentsOut.writeInt(scratch.size());
+                    scratch.writeTo(componentsOut);
+                    if (updateBaseline) {
+                        state.components[index] = scratch.toByteArray();
+                    }
+                    changed++;
+                }
+
+                int removed = 0;
+                if (previous != null) {
+                    for (int index = 0; index < previous.components.length; index++) {
+                        if (previous.components[index] != null && !hasCodecComponent(entity, present, index)) {
+                            if (removed == removedScratch.length) {
+                                removedScratch = Arrays.copyOf(removedScratch, removed * 2);
+                            }
+                            removedScratch[removed++] = index;
+                            if (updateBaseline) {
+                                state.components[index] = null;
+                            }
+                        }
+                    }
+                }
+
+                boolean activeChanged = previous == null || previous.active != entity.isActive();
+                if (delta && previous != null && changed == 0 && removed == 0 && !activeChanged) {
+                    continue;
+                }
+
+                bodyOut.writeInt(id);
+                bodyOut.writeByte(entity.isActive() ? ENTITY_ACTIVE : 0);
+                bodyOut.writeShort(changed);
+                components.writeTo(bodyOut);
+                bodyOut.writeShort(removed);
+                for (int i = 0; i < removed; i++) {
+                    bodyOut.writeShort(removedScratch[i]);
+                }
+                entityRecords++;
+                componentRecords += changed;
+
+                if (updateBaseline) {
+                    state.active = entity.isActive();
+                    if (nextBaseline != null) {
+                        nextBaseline.put(id, state);
+                    } else {
+                        baseline.put(id, state);
+                    }
+                }
+            }
+
+            // Entities that disappeared since the baseline
+            if (delta) {
+                Iterator<Integer> iterator = baseline.keySet().iterator();
+                while (iterator.hasNext()) {
+                    int id = iterator.next();
+                    if (!seen.contains(id)) {
+                        bodyOut.writeInt(id);
+                        bodyOut.writeByte(ENTITY_REMOVED);
+                        bodyOut.writeShort(0);
+                        bodyOut.writeShort(0);
+                        entityRecords++;
+                        if (updateBaseline) {
+                            iterator.remove();
+                        }
+                    }
+                }
+            }
+
+            if (updateBaseline) {
+                if (nextBaseline != null) {
+                    baseline.clear();
+                    baseline.putAll(nextBaseline);
+                }
+                long base = baselineSequence;
+                baselineSequence = sequence;
+                return assemble(sequence, delta ? base : -1, delta, entityRecords, componentRecords);
+            }
+            return assemble(sequence, -1, false, entityRecords, componentRecords);
+        } catch (IOException e) {
+            // Only in-memory streams are involved
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean hasCodecComponent(Entity entity, long present, int index) {
+        if (index < 63) {
+            return (present & (1L << index)) != 0;
+        }
+        return entity.hasComponent(codecs.get(index).getType());
+    }
+
+    private EntitySnapshot assemble(long sequence, long baseSequence, boolean delta,
+                                    int entityRecords, int componentRecords) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(EntitySnapshot.HEADER_BYTES + 64 + body.size());
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(EntitySnapshot.MAGIC);
+        out.writeShort(EntitySnapshot.FORMAT_VERSION);
+        out.writeByte(delta ? EntitySnapshot.FLAG_DELTA : 0);
+        out.writeLong(sequence);
+        out.writeLong(baseSequence);
+        out.writeInt(entityRecords);
+        out.writeInt(componentRecords);
+
+        List<ComponentCodec<?>> table = codecs.getCodecs();
+        out.writeShort(table.size());
+        for (ComponentCodec<?> codec : table) {
+            out.writeUTF(codec.getType().getName());
+            out.writeShort(codec.getVersion());
+        }
+        body.writeTo(out);
+        out.flush();
+        return new EntitySnapshot(bytes.toByteArray());
+    }
+
+    /**
+     * Apply a snapshot. A full snapshot replaces all entities; a delta snapshot
+     * must be applied to the state it was captured against.
+     *
+     * @throws IllegalStateException if a delta does not match the current baseline
+     */
+    public void apply(EntitySnapshot snapshot, Target target) throws IOException {
+        if (snapshot.isDelta() && snapshot.getBaseSequence() != baselineSequence) {
+            throw new IllegalStateException("Delta snapshot " + snapshot.getSequence()
+                + " expects base " + snapshot.getBaseSequence() + " but the state is at " + baselineSequence);
+        }
+
+        DataInputStream in = snapshot.openBody();
+
+        // Map the codec indices of the snapshot to the registered codecs
+        int codecCount = in.readUnsignedShort();
+        int[] localIndex = new int[codecCount];
+        int[] versions = new int[codecCount];
+        for (int i = 0; i < codecCount; i++) {
+            String className = in.readUTF();
+            versions[i] = in.readUnsignedShort();
+            localIndex[i] = codecs.indexOf(className);
+            if (localIndex[i] < 0) {
+                GameLogger.warn("No codec for snapshot component " + className + ", skipping it");
+            } else if (versions[i] > codecs.get(localIndex[i]).getVersion()) {
+                throw new IOException("Snapshot uses version " + versions[i] + " of " + className
+                    + " but only version " + codecs.get(localIndex[i]).getVersion() + " is supported");
+            }
+        }
+
+        int localCount = codecs.size();
+        Set<Integer> restored = snapshot.isDelta() ? null : new HashSet<>();
+        if (!snapshot.isDelta()) {
+            baseline.clear();
+        }
+
+        for (int record = 0; record < snapshot.getEntityCount(); record++) {
+            int id = in.readInt();
+            int flags = in.readUnsignedByte();
+
+            if ((flags & ENTITY_REMOVED) != 0) {
+                in.readUnsignedShort();
+                in.readUnsignedShort();
+                target.removeEntity(id);
+                baseline.remove(id);
+                continue;
+            }
+
+            Entity entity = target.getEntity(id);
+            if (entity == null) {
+                entity = target.createEntity(id);
+            }
+            entity.setActive((flags & ENTITY_ACTIVE) != 0);
+            if (restored != null) restored.add(id);
+
+            EntityState state = baseline.computeIfAbsent(id, key -> new EntityState(localCount));
+            state.ensureCapacity(localCount);
+            state.active = entity.isActive();
+
+            boolean[] inRecord = restored != null ? new boolean[localCount] : null;
+            int changed = in.readUnsignedShort();
+            for (int i = 0; i < changed; i++) {
+                int fileIndex = in.readUnsignedShort();
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                int index = localIndex[fileIndex];
+                if (index < 0) continue;
+
+                decode(index, entity, data, versions[fileIndex]);
+                state.components[index] = data;
+                if (inRecord != null) inRecord[index] = true;
+            }
+
+            int removed = in.readUnsignedShort();
+            for (int i = 0; i < removed; i++) {
+                int index = localIndex[in.readUnsignedShort()];
+                if (index < 0) continue;
+                entity.removeComponent(codecs.get(index).getType());
+                state.components[index] = null;
+            }
+
+            // A full snapshot lists every component the entity has
+            if (inRecord != null) {
+                for (int index = 0; index < localCount; index++) {
+                    if (!inRecord[index]) {
+                        entity.removeComponent(codecs.get(index).getType());
+                        state.components[index] = null;
+                    }
+                }
+            }
+        }
+
+        if (restored != null) {
+            for (Entity entity : target.getEntities()) {
+                if (!restored.contains(entity.getId())) {
+                    target.removeEntity(entity.getId());
+                }
+            }
+        }
+
+        baselineSequence = snapshot.getSequence();
+        nextSequence = Math.max(nextSequence, snapshot.getSequence() + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void encode(int index, Component component, DataOutputStream out) throws IOException {
+        ((ComponentCodec<Component>) codecs.get(index)).write(component, out);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void decode(int index, Entity entity, byte[] data, int version) throws IOException {
+        ComponentCodec<Component> codec = (ComponentCodec<Component>) codecs.get(index);
+        Component component = entity.getComponent(codec.getType());
+        boolean created = component == null;
+        if (created) {
+            component = codec.create();
+        }
+        codec.read(component, new DataInputStream(new ByteArrayInputStream(data)), version);
+        if (created) {
+            entity.addComponent(component);
+        }
+    }
+
+    private void reportMissingCodec(Class<?> type) {
+        if (reportedTypes.add(type)) {
+            GameLogger.warn("No snapshot codec for " + type.getSimpleName() + ", it will not be saved");
+        }
+    }
+
+    /**
+     * Encoded component state of an entity as of the baseline, indexed by codec
+     */
+    private static class EntityState {
+        boolean active;
+        byte[][] components;
+
+        EntityState(int codecCount) {
+            this.components = new byte[codecCount][];
+        }
+
+        void ensureCapacity(int codecCount) {
+            if (components.length < codecCount) {
+                components = Arrays.copyOf(components, codecCount);
+            }
+        }
+    }
+
+    /**
+     * Byte buffer that can be compared and copied without an intermediate array
+     */
+    private static class RecordBuffer extends ByteArrayOutputStream {
+        boolean contentEquals(byte[] other) {
+            return other != null && Arrays.equals(buf, 0, count, other, 0, other.length);
+        }
+    }
+}
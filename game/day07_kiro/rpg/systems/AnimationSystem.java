@@ -3,8 +3,10 @@ package rpg.systems;
 import rpg.components.RenderComponent;
 import rpg.components.MovementComponent;
 import rpg.components.InputComponent;
+import rpg.engine.Component;
 import rpg.engine.Entity;
 import java.util.List;
+import java.util.Set;
 import java.util.Map;
 import java.util.HashMap;
 import java.awt.image.BufferedImage;
@@ -36,7 +38,7 @@ public class AnimationSystem extends GameSystem {
         if (!isEnabled()) return;
         
         // Get all entities with render components (potential animations)
-        List<Entity> renderableEntities = entityManager.getEntitiesWith(RenderComponent.class);
+        List<Entity> renderableEntities = entityManager.getEntitiesWithComponent(RenderComponent.class);
         
         for (Entity entity : renderableEntities) {
             updateEntityAnimation(entity, deltaTime);
@@ -222,6 +224,16 @@ public class AnimationSystem extends GameSystem {
         return 150; // Animation should happen after input but before rendering
     }
     
+    @Override
+    public Set<Class<? extends Component>> getReadComponents() {
+        return Set.of(InputComponent.class, MovementComponent.class, RenderComponent.class);
+    }
+    
+    @Override
+    public Set<Class<? extends Component>> getWriteComponents() {
+        return Set.of(RenderComponent.class);
+    }
+    
     /**
      * Helper class to track animation state for entities
      */
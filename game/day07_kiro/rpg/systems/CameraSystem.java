@@ -3,7 +3,9 @@ package rpg.systems;
 import rpg.Config;
 import rpg.engine.Entity;
 import rpg.components.TransformComponent;
+import rpg.engine.Component;
 import java.awt.Rectangle;
+import java.util.Set;
 
 /**
  * System for managing the game camera within the ECS architecture.
@@ -52,6 +54,16 @@ public class CameraSystem extends GameSystem {
         return 100; // Update before render system
     }
     
+    @Override
+    public Set<Class<? extends Component>> getReadComponents() {
+        return Set.of(TransformComponent.class);
+    }
+    
+    @Override
+    public Set<Class<? extends Component>> getWriteComponents() {
+        return Set.of();
+    }
+    
     /**
      * Get the camera instance
      */
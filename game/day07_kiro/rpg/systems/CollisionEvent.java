@@ -4,9 +4,9 @@ package rpg.systems;
  * Event fired when entities collide
  */
 public class CollisionEvent extends GameEvent {
-    private final int entityA;
-    private final int entityB;
-    private final CollisionType type;
+    private int entityA;
+    private int entityB;
+    private CollisionType type;
     
     public enum CollisionType {
         ENTER,  // Collision started
@@ -21,6 +21,23 @@ public class CollisionEvent extends GameEvent {
         this.type = type;
     }
     
+    /**
+     * Create an empty collision event for an EventPool
+     */
+    CollisionEvent() {
+        this(0, 0, null);
+    }
+    
+    /**
+     * Fill a pooled collision event
+     */
+    public CollisionEvent set(int entityA, int entityB, CollisionType type) {
+        this.entityA = entityA;
+        this.entityB = entityB;
+        this.type = type;
+        return this;
+    }
+    
     public int getEntityA() { return entityA; }
     public int getEntityB() { return entityB; }
     public CollisionType getType() { return type; }
@@ -17,7 +17,20 @@ import java.util.HashSet;
  * Provides a unified interface for collision detection, spatial partitioning, and response handling.
  */
 public class CollisionManager {
+    private static final int DEFAULT_GRID_CELL_SIZE = 96;
+    
+    /**
+     * Broad-phase strategy used to find candidate collision pairs.
+     */
+    public enum BroadPhaseMode {
+        /** Clear and rebuild the QuadTree every frame */
+        QUADTREE_REBUILD,
+        /** Persistent spatial hash grid, only moved entities are re-bucketed */
+        SPATIAL_HASH_INCREMENTAL
+    }
+    
     private QuadTree quadTree;
+    private SpatialHashGrid spatialHashGrid;
     private TileCollisionDetector tileCollisionDetector;
     private EventBus eventBus;
     
@@ -26,6 +39,13 @@ public class CollisionManager {
     private boolean spatialPartitioningEnabled = true;
     private boolean tileCollisionEnabled = true;
     private boolean debugMode = false;
+    private BroadPhaseMode broadPhaseMode = BroadPhaseMode.QUADTREE_REBUILD;
+    
+    // Reused per frame to avoid allocating pairs and lists
+    private final List<CollisionPair> pairPool;
+    private final List<CollisionPair> activePairs;
+    private final List<Entity> collidableEntities;
+    private final List<Entity> nearbyEntities;
     
     // Collision statistics
     private CollisionStats stats;
@@ -36,6 +56,11 @@ public class CollisionManager {
     public CollisionManager(Rectangle worldBounds) {
         this.worldBounds = new Rectangle(worldBounds);
         this.quadTree = new QuadTree(0, worldBounds);
+        this.spatialHashGrid = new SpatialHashGrid(worldBounds, DEFAULT_GRID_CELL_SIZE);
+        this.pairPool = new ArrayList<>();
+        this.activePairs = new ArrayList<>();
+        this.collidableEntities = new ArrayList<>();
+        this.nearbyEntities = new ArrayList<>();
         this.stats = new CollisionStats();
         this.collisionMatrix = new HashMap<>();
         initializeDefaultCollisionMatrix();
@@ -76,28 +101,42 @@ public class CollisionManager {
      * @param deltaTime Time since last update
      */
     public void update(List<Entity> entities, float deltaTime) {
+        long startTime = System.nanoTime();
         stats.reset();
-        
-        // Clear and rebuild spatial structure
-        quadTree.clear();
+        stats.broadPhaseMode = broadPhaseMode;
+        releasePairs();
         
         // Filter entities with collision components
-        List<Entity> collidableEntities = filterCollidableEntities(entities);
+        filterCollidableEntities(entities);
         stats.totalEntities = collidableEntities.size();
         
-        if (collidableEntities.isEmpty()) return;
+        if (collidableEntities.isEmpty()) {
+            if (broadPhaseMode == BroadPhaseMode.SPATIAL_HASH_INCREMENTAL) {
+                spatialHashGrid.sync(collidableEntities);
+            }
+            return;
+        }
         
-        // Update spatial partitioning
-        if (spatialPartitioningEnabled) {
+        // Update spatial partitioning and collect candidate pairs
+        long broadPhaseStart = System.nanoTime();
+        if (!spatialPartitioningEnabled) {
+            detectCollisionsBruteForce(collidableEntities);
+        } else if (broadPhaseMode == BroadPhaseMode.SPATIAL_HASH_INCREMENTAL) {
+            spatialHashGrid.sync(collidableEntities);
+            stats.entitiesMoved = spatialHashGrid.getMovedCount() + spatialHashGrid.getInsertedCount();
+            detectCollisionsWithSpatialHash();
+        } else {
+            quadTree.clear();
             updateSpatialPartitioning(collidableEntities);
+            stats.entitiesMoved = collidableEntities.size();
+            detectCollisionsWithSpatialPartitioning();
         }
+        stats.recordBroadPhase(broadPhaseMode, spatialPartitioningEnabled, System.nanoTime() - broadPhaseStart);
         
-        // Detect and resolve entity-entity collisions
-        List<CollisionPair> collisionPairs = detectEntityCollisions(collidableEntities);
-        stats.entityCollisions = collisionPairs.size();
-        
-        for (CollisionPair pair : collisionPairs) {
-            resolveEntityCollision(pair);
+        // Resolve entity-entity collisions
+        stats.entityCollisions = activePairs.size();
+        for (int i = 0; i < activePairs.size(); i++) {
+            resolveEntityCollision(activePairs.get(i));
         }
         
         // Detect and resolve tile collisions
@@ -108,19 +147,20 @@ public class CollisionManager {
         
         // Update collision states
         updateCollisionStates(collidableEntities);
+        
+        stats.processingTimeNanos = System.nanoTime() - startTime;
     }
     
     /**
-     * Filter entities that have collision components
+     * Filter entities that have collision components into the reused list
      */
-    private List<Entity> filterCollidableEntities(List<Entity> entities) {
-        List<Entity> collidableEntities = new ArrayList<>();
+    private void filterCollidableEntities(List<Entity> entities) {
+        collidableEntities.clear();
         for (Entity entity : entities) {
             if (entity.getComponent(CollisionComponent.class) != null) {
                 collidableEntities.add(entity);
             }
         }
-        return collidableEntities;
     }
     
     /**
@@ -137,25 +177,9 @@ public class CollisionManager {
     }
     
     /**
-     * Detect collisions between entities
-     */
-    private List<CollisionPair> detectEntityCollisions(List<Entity> entities) {
-        List<CollisionPair> pairs = new ArrayList<>();
-        
-        if (spatialPartitioningEnabled) {
-            pairs = detectCollisionsWithSpatialPartitioning();
-        } else {
-            pairs = detectCollisionsBruteForce(entities);
-        }
-        
-        return pairs;
-    }
-    
-    /**
-     * Detect collisions using spatial partitioning
+     * Detect collisions using the rebuilt QuadTree
      */
-    private List<CollisionPair> detectCollisionsWithSpatialPartitioning() {
-        List<CollisionPair> pairs = new ArrayList<>();
+    private void detectCollisionsWithSpatialPartitioning() {
         Set<Entity> processedEntities = new HashSet<>();
         
         for (Entity entity : quadTree.getAllEntities()) {
@@ -165,7 +189,7 @@ public class CollisionManager {
             if (collision == null) continue;
             
             Rectangle bounds = collision.getWorldBounds();
-            List<Entity> nearbyEntities = new ArrayList<>();
+            nearbyEntities.clear();
             quadTree.retrieve(nearbyEntities, bounds);
             
             for (Entity other : nearbyEntities) {
@@ -174,23 +198,30 @@ public class CollisionManager {
                 CollisionComponent otherCollision = other.getComponent(CollisionComponent.class);
                 if (otherCollision != null && canCollide(collision, otherCollision)) {
                     if (CollisionDetection.aabbCollision(bounds, otherCollision.getWorldBounds())) {
-                        pairs.add(new CollisionPair(entity, other));
+                        acquirePair(entity, other);
                     }
                 }
             }
             
             processedEntities.add(entity);
         }
-        
-        return pairs;
+    }
+    
+    /**
+     * Detect collisions using the persistent spatial hash grid
+     */
+    private void detectCollisionsWithSpatialHash() {
+        spatialHashGrid.findPairs((entityA, collisionA, boundsA, entityB, collisionB, boundsB) -> {
+            if (canCollide(collisionA, collisionB)) {
+                acquirePair(entityA, entityB);
+            }
+        });
     }
     
     /**
      * Detect collisions using brute force method
      */
-    private List<CollisionPair> detectCollisionsBruteForce(List<Entity> entities) {
-        List<CollisionPair> pairs = new ArrayList<>();
-        
+    private void detectCollisionsBruteForce(List<Entity> entities) {
         for (int i = 0; i < entities.size(); i++) {
             Entity entityA = entities.get(i);
             CollisionComponent collisionA = entityA.getComponent(CollisionComponent.class);
@@ -202,13 +233,38 @@ public class CollisionManager {
                 
                 if (collisionB != null && canCollide(collisionA, collisionB)) {
                     if (CollisionDetection.aabbCollision(collisionA.getWorldBounds(), collisionB.getWorldBounds())) {
-                        pairs.add(new CollisionPair(entityA, entityB));
+                        acquirePair(entityA, entityB);
                     }
                 }
             }
         }
-        
-        return pairs;
+    }
+    
+    /**
+     * Take a pair from the pool (or create one) and add it to this frame's pairs
+     */
+    private CollisionPair acquirePair(Entity entityA, Entity entityB) {
+        CollisionPair pair;
+        if (pairPool.isEmpty()) {
+            pair = new CollisionPair(entityA, entityB);
+            stats.pairsAllocated++;
+        } else {
+            pair = pairPool.remove(pairPool.size() - 1);
+            pair.set(entityA, entityB);
+        }
+        activePairs.add(pair);
+        return pair;
+    }
+    
+    /**
+     * Return last frame's pairs to the pool
+     */
+    private void releasePairs() {
+        for (int i = 0; i < activePairs.size(); i++) {
+            activePairs.get(i).set(null, null);
+            pairPool.add(activePairs.get(i));
+        }
+        activePairs.clear();
     }
     
     /**
@@ -335,6 +391,32 @@ public class CollisionManager {
         this.spatialPartitioningEnabled = enabled;
     }
     
+    /**
+     * Select the broad-phase strategy. Switching modes drops the state of the
+     * previous structure so the next update starts from a clean rebuild.
+     */
+    public void setBroadPhaseMode(BroadPhaseMode mode) {
+        if (mode == null || mode == broadPhaseMode) return;
+        this.broadPhaseMode = mode;
+        quadTree.clear();
+        spatialHashGrid.clear();
+    }
+    
+    /**
+     * Get the active broad-phase strategy
+     */
+    public BroadPhaseMode getBroadPhaseMode() {
+        return broadPhaseMode;
+    }
+    
+    /**
+     * Replace the spatial hash grid with one using a different cell size
+     * @param cellSize Cell edge length in pixels
+     */
+    public void setGridCellSize(int cellSize) {
+        this.spatialHashGrid = new SpatialHashGrid(worldBounds, cellSize);
+    }
+    
     /**
      * Enable or disable tile collision detection
      */
@@ -364,16 +446,36 @@ public class CollisionManager {
     }
     
     /**
-     * Collision pair helper class
+     * Get the spatial hash grid for debugging
+     */
+    public SpatialHashGrid getSpatialHashGrid() {
+        return spatialHashGrid;
+    }
+    
+    /**
+     * Get the pairs found in the last update. Pairs are pooled and reused on
+     * the next update, so callers must not keep references to them.
+     */
+    public List<CollisionPair> getActivePairs() {
+        return activePairs;
+    }
+    
+    /**
+     * Collision pair helper class. Instances are pooled by the manager.
      */
     public static class CollisionPair {
-        public final Entity entityA;
-        public final Entity entityB;
+        public Entity entityA;
+        public Entity entityB;
         
         public CollisionPair(Entity entityA, Entity entityB) {
             this.entityA = entityA;
             this.entityB = entityB;
         }
+        
+        void set(Entity entityA, Entity entityB) {
+            this.entityA = entityA;
+            this.entityB = entityB;
+        }
     }
     
     /**
@@ -385,17 +487,71 @@ public class CollisionManager {
         public int tileCollisions = 0;
         public long processingTimeNanos = 0;
         
+        // Broad-phase statistics for the last frame
+        public BroadPhaseMode broadPhaseMode = BroadPhaseMode.QUADTREE_REBUILD;
+        public long broadPhaseTimeNanos = 0;
+        public int entitiesMoved = 0;
+        public int pairsAllocated = 0;
+        
+        // Running totals per mode, kept across frames so the modes can be compared
+        public long rebuildFrames = 0;
+        public long rebuildTotalNanos = 0;
+        public long incrementalFrames = 0;
+        public long incrementalTotalNanos = 0;
+        
         public void reset() {
             totalEntities = 0;
             entityCollisions = 0;
             tileCollisions = 0;
             processingTimeNanos = 0;
+            broadPhaseTimeNanos = 0;
+            entitiesMoved = 0;
+            pairsAllocated = 0;
+        }
+        
+        void recordBroadPhase(BroadPhaseMode mode, boolean partitioned, long nanos) {
+            broadPhaseTimeNanos = nanos;
+            if (!partitioned) return;
+            if (mode == BroadPhaseMode.SPATIAL_HASH_INCREMENTAL) {
+                incrementalFrames++;
+                incrementalTotalNanos += nanos;
+            } else {
+                rebuildFrames++;
+                rebuildTotalNanos += nanos;
+            }
+        }
+        
+        /**
+         * Clear the running per-mode totals
+         */
+        public void resetTotals() {
+            rebuildFrames = 0;
+            rebuildTotalNanos = 0;
+            incrementalFrames = 0;
+            incrementalTotalNanos = 0;
+        }
+        
+        /**
+         * Average broad-phase cost per frame with the QuadTree rebuild
+         */
+        public double getAverageRebuildNanos() {
+            return rebuildFrames == 0 ? 0 : (double) rebuildTotalNanos / rebuildFrames;
+        }
+        
+        /**
+         * Average broad-phase cost per frame with the incremental grid
+         */
+        public double getAverageIncrementalNanos() {
+            return incrementalFrames == 0 ? 0 : (double) incrementalTotalNanos / incrementalFrames;
         }
         
         @Override
         public String toString() {
-            return String.format("CollisionStats{entities=%d, entityCollisions=%d, tileCollisions=%d, timeNs=%d}",
-                totalEntities, entityCollisions, tileCollisions, processingTimeNanos);
+            return String.format("CollisionStats{entities=%d, entityCollisions=%d, tileCollisions=%d, timeNs=%d, " +
+                "broadPhase=%s, broadPhaseNs=%d, moved=%d, avgRebuildNs=%.0f, avgIncrementalNs=%.0f}",
+                totalEntities, entityCollisions, tileCollisions, processingTimeNanos,
+                broadPhaseMode, broadPhaseTimeNanos, entitiesMoved,
+                getAverageRebuildNanos(), getAverageIncrementalNanos());
         }
     }
 }
\ No newline at end of file
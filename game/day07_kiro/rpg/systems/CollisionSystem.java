@@ -3,6 +3,7 @@ package rpg.systems;
 import rpg.components.CollisionComponent;
 import rpg.components.TransformComponent;
 import rpg.components.MovementComponent;
+import rpg.engine.Component;
 import rpg.engine.Entity;
 
 import java.awt.Rectangle;
@@ -423,6 +424,16 @@ public class CollisionSystem extends GameSystem {
         return 200; // Collision should happen after movement but before rendering
     }
     
+    @Override
+    public Set<Class<? extends Component>> getReadComponents() {
+        return Set.of(TransformComponent.class, MovementComponent.class, CollisionComponent.class);
+    }
+    
+    @Override
+    public Set<Class<? extends Component>> getWriteComponents() {
+        return Set.of(TransformComponent.class, MovementComponent.class, CollisionComponent.class);
+    }
+    
     /**
      * Statistics class for collision system performance monitoring
      */
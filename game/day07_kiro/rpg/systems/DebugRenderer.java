@@ -20,6 +20,9 @@ public class DebugRenderer {
     private boolean showPerformanceInfo;
     private boolean showGrid;
     
+    // Frame pacing statistics from the game loop, null if not available
+    private FrameStats frameStats;
+    
     // Colors for debug rendering
     private static final Color COLLISION_COLOR = new Color(255, 0, 0, 128);
     private static final Color POSITION_COLOR = Color.GREEN;
@@ -69,6 +72,9 @@ public class DebugRenderer {
             
             if (showPerformanceInfo) {
                 renderPerformanceInfo(g2, stats);
+                if (frameStats != null) {
+                    renderFrameStatsInfo(g2, frameStats, 10, 240);
+                }
             }
             
         } finally {
@@ -202,12 +208,49 @@ public class DebugRenderer {
             String.format("Entities: %d", stats.totalEntities),
             String.format("Batches: %d", stats.totalBatches),
             String.format("State Changes: %d", stats.stateChanges),
+            String.format("Texture Switches: %d", stats.textureSwitches),
+            String.format("Draw Calls: %d", stats.drawCalls),
             String.format("Layers: %d", stats.layerCount)
         };
         
         renderTextBox(g2, info, 10, 120);
     }
     
+    /**
+     * Render frame pacing statistics on their own, e.g. from a game loop that
+     * does not go through the RenderSystem
+     */
+    public void renderFrameStats(Graphics2D g2, FrameStats stats, int x, int y) {
+        if (!showPerformanceInfo || stats == null) return;
+        
+        Color originalColor = g2.getColor();
+        Font originalFont = g2.getFont();
+        Stroke originalStroke = g2.getStroke();
+        
+        try {
+            g2.setFont(debugFont);
+            renderFrameStatsInfo(g2, stats, x, y);
+        } finally {
+            g2.setColor(originalColor);
+            g2.setFont(originalFont);
+            g2.setStroke(originalStroke);
+        }
+    }
+    
+    private void renderFrameStatsInfo(Graphics2D g2, FrameStats stats, int x, int y) {
+        FrameTimeHistogram update = stats.getUpdateTimes();
+        FrameTimeHistogram render = stats.getRenderTimes();
+        String[] info = {
+            String.format("UPS: %d  FPS: %d", stats.getUpdatesPerSecond(), stats.getFramesPerSecond()),
+            String.format("Update p50/p99: %.2f / %.2f ms", update.getPercentileMillis(0.5), update.getPercentileMillis(0.99)),
+            String.format("Render p50/p99: %.2f / %.2f ms", render.getPercentileMillis(0.5), render.getPercentileMillis(0.99)),
+            String.format("Dropped Frames: %d", stats.getDroppedFrames()),
+            String.format("Skipped Updates: %d", stats.getSkippedUpdates())
+        };
+        
+        renderTextBox(g2, info, x, y);
+    }
+    
     private void renderTextBox(Graphics2D g2, String[] lines, int x, int y) {
         FontMetrics fm = g2.getFontMetrics();
         int lineHeight = fm.getHeight();
@@ -278,6 +321,14 @@ public class DebugRenderer {
         this.showPerformanceInfo = showPerformanceInfo;
     }
     
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+    
+    public void setFrameStats(FrameStats frameStats) {
+        this.frameStats = frameStats;
+    }
+    
     public boolean isShowGrid() {
         return showGrid;
     }
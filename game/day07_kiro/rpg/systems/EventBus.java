@@ -4,6 +4,8 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Event bus for decoupled communication between game systems.
@@ -12,6 +14,13 @@ import java.util.concurrent.PriorityBlockingQueue;
  * The EventBus is the central component of the event system, allowing systems
  * to communicate without direct dependencies. Systems can publish events and
  * subscribe to event types they're interested in.
+ * 
+ * The bus also has a single-threaded fast path (see setFastPathEnabled):
+ * events are stored in per-type ring buffers without wrapper objects, the
+ * listener lookup including parent event types is resolved at subscribe time,
+ * and pooled events obtained through obtain() are recycled after dispatch.
+ * The fast path belongs to the thread that enabled it; events published from
+ * any other thread take the regular, thread-safe queue instead.
  */
 public class EventBus {
     // Map of event types to listeners
@@ -29,6 +38,21 @@ public class EventBus {
     private boolean enableEventLogging = false;
     private long eventTimeout = 5000; // 5 seconds default timeout
     
+    // Single-threaded fast path
+    private static final int DEFAULT_CHANNEL_CAPACITY = 256;
+    private static final int DEFAULT_POOL_CAPACITY = 64;
+    private boolean fastPathEnabled = false;
+    private Thread fastPathOwner;
+    private int channelCapacity = DEFAULT_CHANNEL_CAPACITY;
+    private final Map<Class<? extends GameEvent>, EventChannel> channels;
+    private EventChannel[] channelOrder;
+    private final Map<Class<? extends GameEvent>, EventPool<?>> eventPools;
+    private int channelOverflowCount = 0;
+    
+    // Threads that buffer their events instead of publishing them (see beginCapture)
+    private final ThreadLocal<EventCapture> captures = new ThreadLocal<>();
+    private final AtomicInteger activeCaptures = new AtomicInteger();
+    
     /**
      * Create a new EventBus
      */
@@ -36,6 +60,14 @@ public class EventBus {
         this.listeners = new ConcurrentHashMap<>();
         this.eventQueue = new PriorityBlockingQueue<>();
         this.immediateEventQueue = new PriorityBlockingQueue<>();
+        this.channels = new HashMap<>();
+        this.channelOrder = new EventChannel[0];
+        this.eventPools = new HashMap<>();
+        
+        // Pools for the events published every frame
+        registerEventPool(SystemEvent.class, SystemEvent::new, DEFAULT_POOL_CAPACITY);
+        registerEventPool(MovementEvent.class, MovementEvent::new, DEFAULT_POOL_CAPACITY);
+        registerEventPool(CollisionEvent.class, CollisionEvent::new, DEFAULT_POOL_CAPACITY);
     }
     
     /**
@@ -48,6 +80,7 @@ public class EventBus {
     public <T extends GameEvent> void subscribe(Class<T> eventType, EventListener<? super T> listener) {
         listeners.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>())
                  .add(listener);
+        resolveChannelListeners(eventType);
         
         if (enableEventLogging) {
             System.out.println("EventBus: Subscribed to " + eventType.getSimpleName());
@@ -70,6 +103,7 @@ public class EventBus {
             if (eventListeners.isEmpty()) {
                 listeners.remove(eventType);
             }
+            resolveChannelListeners(eventType);
         }
         
         if (enableEventLogging) {
@@ -84,8 +118,16 @@ public class EventBus {
      */
     public void publish(GameEvent event) {
         if (event == null) return;
+        if (capture(event, false)) return;
         
-        if (processEventsImmediately) {
+        if (isFastPathThread()) {
+            EventChannel channel = channelFor(event);
+            if (processEventsImmediately) {
+                dispatchFast(channel, event);
+            } else {
+                channel.offer(event);
+            }
+        } else if (processEventsImmediately) {
             immediateEventQueue.offer(new PrioritizedEvent(event));
             processImmediateEvents();
         } else {
@@ -105,9 +147,14 @@ public class EventBus {
      */
     public void publishImmediate(GameEvent event) {
         if (event == null) return;
+        if (capture(event, true)) return;
         
-        immediateEventQueue.offer(new PrioritizedEvent(event));
-        processImmediateEvents();
+        if (isFastPathThread()) {
+            dispatchFast(channelFor(event), event);
+        } else {
+            immediateEventQueue.offer(new PrioritizedEvent(event));
+            processImmediateEvents();
+        }
         
         if (enableEventLogging) {
             System.out.println("EventBus: Published immediate " + event.getClass().getSimpleName() + 
@@ -121,6 +168,11 @@ public class EventBus {
     public void processEvents() {
         int processedCount = 0;
         
+        if (fastPathEnabled) {
+            checkFastPathThread();
+            processedCount = processChannels();
+        }
+        
         // Process events in priority order
         while (!eventQueue.isEmpty() && processedCount < maxEventsPerFrame) {
             PrioritizedEvent prioritizedEvent = eventQueue.poll();
@@ -133,10 +185,12 @@ public class EventBus {
                         System.out.println("EventBus: Skipped expired event " + 
                             event.getClass().getSimpleName());
                     }
+                    recycle(event);
                     continue;
                 }
                 
                 dispatchEvent(event);
+                recycle(event);
                 processedCount++;
             }
         }
@@ -145,6 +199,62 @@ public class EventBus {
         processImmediateEvents();
     }
     
+    /**
+     * Start buffering the events the current thread publishes into the given capture
+     * instead of queueing or dispatching them. The owner of the capture replays it
+     * later on the game thread, see EventCapture.replay.
+     * 
+     * @param capture The buffer for the events of the current thread
+     */
+    public void beginCapture(EventCapture capture) {
+        if (captures.get() != null) {
+            throw new IllegalStateException("Events of this thread are already being captured");
+        }
+        captures.set(capture);
+        activeCaptures.incrementAndGet();
+    }
+    
+    /**
+     * Stop buffering the events of the current thread
+     */
+    public void endCapture() {
+        if (captures.get() != null) {
+            captures.remove();
+            activeCaptures.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Add an event to the current thread's capture, if any
+     * 
+     * @return True if the event was captured
+     */
+    private boolean capture(GameEvent event, boolean immediate) {
+        if (activeCaptures.get() == 0) {
+            return false;
+        }
+        EventCapture capture = captures.get();
+        if (capture == null) {
+            return false;
+        }
+        capture.add(event, immediate);
+        return true;
+    }
+    
+    /**
+     * Check if the current thread may use the fast path
+     */
+    private boolean isFastPathThread() {
+        return fastPathEnabled && Thread.currentThread() == fastPathOwner;
+    }
+    
+    private void checkFastPathThread() {
+        if (Thread.currentThread() != fastPathOwner) {
+            throw new IllegalStateException("EventBus fast path is owned by " + fastPathOwner.getName() + 
+                ", cannot process its events on " + Thread.currentThread().getName());
+        }
+    }
+    
     /**
      * Process all immediate events
      */
@@ -160,10 +270,12 @@ public class EventBus {
                         System.out.println("EventBus: Skipped expired immediate event " + 
                             event.getClass().getSimpleName());
                     }
+                    recycle(event);
                     continue;
                 }
                 
                 dispatchEvent(event);
+                recycle(event);
             }
         }
     }
@@ -226,6 +338,202 @@ public class EventBus {
         }
     }
     
+    /**
+     * Drain the per-type ring buffers, highest channel priority first
+     * 
+     * @return The number of events dispatched
+     */
+    private int processChannels() {
+        int processedCount = 0;
+        
+        for (int i = 0; i < channelOrder.length && processedCount < maxEventsPerFrame; i++) {
+            EventChannel channel = channelOrder[i];
+            
+            while (channel.size > 0 && processedCount < maxEventsPerFrame) {
+                GameEvent event = channel.poll();
+                
+                if (event.isOlderThan(eventTimeout)) {
+                    recycle(event);
+                    continue;
+                }
+                
+                dispatchFast(channel, event);
+                processedCount++;
+            }
+        }
+        
+        return processedCount;
+    }
+    
+    /**
+     * Dispatch an event to the listeners resolved for its channel and recycle it
+     */
+    @SuppressWarnings("unchecked")
+    private void dispatchFast(EventChannel channel, GameEvent event) {
+        EventListener<?>[] resolved = channel.listeners;
+        for (int i = 0; i < resolved.length; i++) {
+            if (event.isConsumed()) {
+                break;
+            }
+            
+            try {
+                ((EventListener<GameEvent>) resolved[i]).onEvent(event);
+            } catch (Exception e) {
+                System.err.println("EventBus: Error processing event " + 
+                    event.getClass().getSimpleName() + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+        
+        if (enableEventLogging) {
+            System.out.println("EventBus: Dispatched " + event.getClass().getSimpleName() + 
+                " to " + resolved.length + " listeners (fast path)");
+        }
+        
+        recycle(event);
+    }
+    
+    /**
+     * Get the channel for an event's class, creating it on first use
+     */
+    private EventChannel channelFor(GameEvent event) {
+        EventChannel channel = channels.get(event.getClass());
+        if (channel == null) {
+            channel = new EventChannel(event.getClass(), channelCapacity, event.getPriority());
+            channel.listeners = collectListeners(channel.type);
+            channels.put(channel.type, channel);
+            
+            // Keep channels sorted so higher priority event types are drained first
+            EventChannel[] order = Arrays.copyOf(channelOrder, channelOrder.length + 1);
+            order[order.length - 1] = channel;
+            Arrays.sort(order, (a, b) -> Integer.compare(b.priority, a.priority));
+            channelOrder = order;
+        }
+        return channel;
+    }
+    
+    /**
+     * Re-resolve the listeners of every channel affected by a subscription change
+     */
+    private void resolveChannelListeners(Class<? extends GameEvent> eventType) {
+        for (EventChannel channel : channelOrder) {
+            if (eventType.isAssignableFrom(channel.type)) {
+                channel.listeners = collectListeners(channel.type);
+            }
+        }
+    }
+    
+    /**
+     * Collect the listeners for an event type: exact type first, then parent types
+     */
+    private EventListener<?>[] collectListeners(Class<? extends GameEvent> eventType) {
+        List<EventListener<?>> result = new ArrayList<>();
+        
+        List<EventListener<?>> exactListeners = listeners.get(eventType);
+        if (exactListeners != null) {
+            result.addAll(exactListeners);
+        }
+        
+        for (Map.Entry<Class<? extends GameEvent>, List<EventListener<?>>> entry : listeners.entrySet()) {
+            if (entry.getKey() != eventType && entry.getKey().isAssignableFrom(eventType)) {
+                result.addAll(entry.getValue());
+            }
+        }
+        
+        return result.toArray(new EventListener<?>[0]);
+    }
+    
+    /**
+     * Return a pooled event to its pool after dispatch
+     */
+    private void recycle(GameEvent event) {
+        if (event.pool != null) {
+            event.pool.release(event);
+        }
+    }
+    
+    /**
+     * Register a pool for an event type so publishers can reuse instances
+     * 
+     * @param <T> The type of event
+     * @param eventType The class of the event type
+     * @param factory Creates empty event instances
+     * @param capacity The number of instances to pre-allocate
+     */
+    public <T extends GameEvent> void registerEventPool(Class<T> eventType, Supplier<T> factory, int capacity) {
+        eventPools.put(eventType, new EventPool<>(factory, capacity));
+    }
+    
+    /**
+     * Take a reset event instance from the pool registered for its type.
+     * The event is returned to the pool automatically after it has been dispatched.
+     * Pools are owned by the fast path thread, other threads get a new unpooled instance.
+     * 
+     * @param <T> The type of event
+     * @param eventType The class of the event type
+     * @return A pooled event instance
+     * @throws IllegalArgumentException if no pool is registered for the type
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends GameEvent> T obtain(Class<T> eventType) {
+        EventPool<T> pool = (EventPool<T>) eventPools.get(eventType);
+        if (pool == null) {
+            throw new IllegalArgumentException("No event pool registered for " + eventType.getSimpleName());
+        }
+        return isFastPathThread() ? pool.obtain() : pool.newInstance();
+    }
+    
+    /**
+     * Get the pool registered for an event type
+     * 
+     * @param eventType The class of the event type
+     * @return The pool, or null if none is registered
+     */
+    public EventPool<?> getEventPool(Class<? extends GameEvent> eventType) {
+        return eventPools.get(eventType);
+    }
+    
+    /**
+     * Enable or disable the single-threaded fast path.
+     * The calling thread becomes the owner of the fast path: only its events use the
+     * ring buffers and pools, and processEvents must be called from it. Events published
+     * from other threads fall back to the regular queue. Events already queued on the
+     * regular path are still processed.
+     * 
+     * @param enabled If true, use per-type ring buffers and resolved listeners
+     */
+    public void setFastPathEnabled(boolean enabled) {
+        this.fastPathEnabled = enabled;
+        this.fastPathOwner = enabled ? Thread.currentThread() : null;
+    }
+    
+    /**
+     * Check if the single-threaded fast path is enabled
+     * 
+     * @return True if the fast path is enabled
+     */
+    public boolean isFastPathEnabled() {
+        return fastPathEnabled;
+    }
+    
+    /**
+     * Set the initial ring buffer capacity for event types seen from now on
+     * 
+     * @param capacity The number of events a channel holds before it has to grow
+     */
+    public void setChannelCapacity(int capacity) {
+        this.channelCapacity = Math.max(1, capacity);
+    }
+    
+    /**
+     * Get the number of times a ring buffer was full and had to grow
+     * 
+     * @return The overflow count
+     */
+    public int getChannelOverflowCount() {
+        return channelOverflowCount;
+    }
+    
     /**
      * Clear all events and listeners
      */
@@ -233,6 +541,12 @@ public class EventBus {
         eventQueue.clear();
         immediateEventQueue.clear();
         listeners.clear();
+        for (EventChannel channel : channelOrder) {
+            while (channel.size > 0) {
+                recycle(channel.poll());
+            }
+            channel.listeners = new EventListener<?>[0];
+        }
     }
     
     /**
@@ -241,7 +555,11 @@ public class EventBus {
      * @return The number of events waiting to be processed
      */
     public int getQueuedEventCount() {
-        return eventQueue.size();
+        int count = eventQueue.size();
+        for (EventChannel channel : channelOrder) {
+            count += channel.size;
+        }
+        return count;
     }
     
     /**
@@ -312,6 +630,50 @@ public class EventBus {
         return new HashSet<>(listeners.keySet());
     }
     
+    /**
+     * Ring buffer of pending events of a single type with its resolved listeners
+     */
+    private class EventChannel {
+        final Class<? extends GameEvent> type;
+        final int priority;
+        EventListener<?>[] listeners;
+        GameEvent[] buffer;
+        int head;
+        int size;
+        
+        EventChannel(Class<? extends GameEvent> type, int capacity, int priority) {
+            this.type = type;
+            this.priority = priority;
+            this.buffer = new GameEvent[capacity];
+        }
+        
+        void offer(GameEvent event) {
+            if (size == buffer.length) {
+                grow();
+            }
+            buffer[(head + size) % buffer.length] = event;
+            size++;
+        }
+        
+        GameEvent poll() {
+            GameEvent event = buffer[head];
+            buffer[head] = null;
+            head = (head + 1) % buffer.length;
+            size--;
+            return event;
+        }
+        
+        private void grow() {
+            GameEvent[] larger = new GameEvent[buffer.length * 2];
+            for (int i = 0; i < size; i++) {
+                larger[i] = buffer[(head + i) % buffer.length];
+            }
+            buffer = larger;
+            head = 0;
+            channelOverflowCount++;
+        }
+    }
+    
     /**
      * Helper class to store events with their priority for the priority queue
      */
@@ -0,0 +1,47 @@
+package rpg.systems;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Events a thread published while its events were captured by the EventBus.
+ *
+ * SystemManager captures the events of each system it updates on a scheduler
+ * worker and replays them on the game thread once all stages of the frame have finished, so
+ * listeners never run on a worker and see the same order as in a sequential update.
+ * A capture is filled by one thread at a time and is not thread-safe.
+ */
+public class EventCapture {
+    private final List<GameEvent> events = new ArrayList<>();
+    private final List<Boolean> immediate = new ArrayList<>();
+
+    void add(GameEvent event, boolean immediateEvent) {
+        events.add(event);
+        immediate.add(immediateEvent);
+    }
+
+    /**
+     * Publish the captured events in their original order and clear the capture
+     *
+     * @param eventBus The bus to publish the events on
+     */
+    public void replay(EventBus eventBus) {
+        for (int i = 0; i < events.size(); i++) {
+            if (immediate.get(i)) {
+                eventBus.publishImmediate(events.get(i));
+            } else {
+                eventBus.publish(events.get(i));
+            }
+        }
+        clear();
+    }
+
+    public void clear() {
+        events.clear();
+        immediate.clear();
+    }
+
+    public int size() {
+        return events.size();
+    }
+}
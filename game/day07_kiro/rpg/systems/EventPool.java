@@ -0,0 +1,104 @@
+package rpg.systems;
+
+import java.util.function.Supplier;
+
+/**
+ * Fixed-size pool of reusable event instances.
+ *
+ * Pooled events are obtained from the EventBus, filled by the publisher and
+ * returned to the pool automatically after dispatch. Listeners must copy any
+ * data they need and must not keep a reference to a pooled event.
+ *
+ * Pools are not thread-safe and are meant for the single-threaded fast path.
+ *
+ * @param <T> The type of event stored in this pool
+ */
+public class EventPool<T extends GameEvent> {
+    private final Supplier<T> factory;
+    private final GameEvent[] free;
+    private int freeCount;
+
+    // Pool statistics
+    private int createdCount;
+    private int obtainedCount;
+
+    /**
+     * Create a pool and pre-allocate all instances
+     *
+     * @param factory Creates empty event instances
+     * @param capacity The maximum number of idle instances kept by the pool
+     */
+    public EventPool(Supplier<T> factory, int capacity) {
+        this.factory = factory;
+        this.free = new GameEvent[Math.max(1, capacity)];
+        for (int i = 0; i < free.length; i++) {
+            free[freeCount++] = create();
+        }
+    }
+
+    /**
+     * Take an event from the pool, creating a new one if the pool is empty
+     *
+     * @return A reset event instance
+     */
+    @SuppressWarnings("unchecked")
+    public T obtain() {
+        GameEvent event = freeCount > 0 ? free[--freeCount] : create();
+        free[freeCount] = null;
+        event.inPool = false;
+        event.resetEvent();
+        obtainedCount++;
+        return (T) event;
+    }
+
+    /**
+     * Return an event to the pool. Events released twice are ignored.
+     *
+     * @param event The event to return
+     */
+    void release(GameEvent event) {
+        if (event.inPool || event.pool != this) {
+            return;
+        }
+        event.inPool = true;
+        if (freeCount < free.length) {
+            free[freeCount++] = event;
+        }
+    }
+
+    /**
+     * Create an instance that is not tracked by the pool, for threads that do not own it
+     */
+    T newInstance() {
+        return factory.get();
+    }
+
+    private GameEvent create() {
+        T event = factory.get();
+        event.pool = this;
+        event.inPool = true;
+        createdCount++;
+        return event;
+    }
+
+    /**
+     * Get the number of idle instances in the pool
+     */
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    /**
+     * Get the number of instances created, including the pre-allocated ones
+     */
+    public int getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * Get the number of times an event was taken from the pool
+     */
+    public int getObtainedCount() {
+        return obtainedCount;
+    }
+}
@@ -0,0 +1,99 @@
+package rpg.systems;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Frame pacing statistics for a game loop that runs simulation and rendering
+ * on separate threads.
+ *
+ * - update and render times are kept in FrameTimeHistograms (p50/p99)
+ * - dropped frames are render frames that missed their presentation deadline
+ * - skipped updates are simulation steps discarded because the loop fell too
+ *   far behind to catch up
+ * - update and frame rates are measured over the last full second
+ */
+public class FrameStats {
+    private final FrameTimeHistogram updateTimes;
+    private final FrameTimeHistogram renderTimes;
+    private final AtomicLong droppedFrames;
+    private final AtomicLong skippedUpdates;
+
+    // Rates over the last full second
+    private final AtomicLong updatesThisSecond;
+    private final AtomicLong framesThisSecond;
+    private volatile long secondStartNanos;
+    private volatile int updatesPerSecond;
+    private volatile int framesPerSecond;
+
+    public FrameStats() {
+        this.updateTimes = new FrameTimeHistogram();
+        this.renderTimes = new FrameTimeHistogram();
+        this.droppedFrames = new AtomicLong();
+        this.skippedUpdates = new AtomicLong();
+        this.updatesThisSecond = new AtomicLong();
+        this.framesThisSecond = new AtomicLong();
+        this.secondStartNanos = System.nanoTime();
+    }
+
+    public void recordUpdate(long nanos) {
+        updateTimes.record(nanos);
+        updatesThisSecond.incrementAndGet();
+    }
+
+    public void recordRender(long nanos) {
+        renderTimes.record(nanos);
+        framesThisSecond.incrementAndGet();
+    }
+
+    public void recordDroppedFrames(long count) {
+        droppedFrames.addAndGet(count);
+    }
+
+    public void recordSkippedUpdates(long count) {
+        skippedUpdates.addAndGet(count);
+    }
+
+    /**
+     * Roll the per-second rates over once a second has passed
+     *
+     * @return true if a new second started
+     */
+    public boolean tick(long nowNanos) {
+        if (nowNanos - secondStartNanos < 1_000_000_000L) {
+            return false;
+        }
+        updatesPerSecond = (int) updatesThisSecond.getAndSet(0);
+        framesPerSecond = (int) framesThisSecond.getAndSet(0);
+        secondStartNanos = nowNanos;
+        return true;
+    }
+
+    public void reset() {
+        updateTimes.reset();
+        renderTimes.reset();
+        droppedFrames.set(0);
+        skippedUpdates.set(0);
+        updatesThisSecond.set(0);
+        framesThisSecond.set(0);
+        updatesPerSecond = 0;
+        framesPerSecond = 0;
+        secondStartNanos = System.nanoTime();
+    }
+
+    // Getters
+    public FrameTimeHistogram getUpdateTimes() { return updateTimes; }
+    public FrameTimeHistogram getRenderTimes() { return renderTimes; }
+    public long getDroppedFrames() { return droppedFrames.get(); }
+    public long getSkippedUpdates() { return skippedUpdates.get(); }
+    public int getUpdatesPerSecond() { return updatesPerSecond; }
+    public int getFramesPerSecond() { return framesPerSecond; }
+
+    @Override
+    public String toString() {
+        return String.format("FrameStats{ups=%d, fps=%d, update p50=%.2fms p99=%.2fms, render p50=%.2fms p99=%.2fms, dropped=%d, skipped=%d}",
+            updatesPerSecond, framesPerSecond,
+            updateTimes.getPercentileMillis(0.5), updateTimes.getPercentileMillis(0.99),
+            renderTimes.getPercentileMillis(0.5), renderTimes.getPercentileMillis(0.99),
+            getDroppedFrames(), getSkippedUpdates());
+    }
+}
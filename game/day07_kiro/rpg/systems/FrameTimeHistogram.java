@@ -0,0 +1,113 @@
+package rpg.systems;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of the most recent frame times.
+ *
+ * Samples are counted into fixed 50 microsecond buckets (the last bucket collects
+ * everything above 100 ms) and a ring of the last samples is kept so old samples
+ * can be removed again. Percentiles therefore describe a sliding window of recent
+ * frames and cost one pass over the buckets, without sorting.
+ *
+ * Methods are synchronized so the game and render threads can record while the
+ * debug overlay reads.
+ */
+public class FrameTimeHistogram {
+    public static final long BUCKET_NANOS = 50_000;
+    public static final int BUCKET_COUNT = 2_000;
+    public static final int DEFAULT_WINDOW_SIZE = 600;
+
+    private final int[] buckets;
+    private final long[] window;
+    private int next;
+    private int size;
+    private long totalCount;
+
+    public FrameTimeHistogram() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param windowSize Number of recent samples the percentiles are computed over
+     */
+    public FrameTimeHistogram(int windowSize) {
+        this.buckets = new int[BUCKET_COUNT];
+        this.window = new long[Math.max(1, windowSize)];
+    }
+
+    /**
+     * Record a frame time
+     */
+    public synchronized void record(long nanos) {
+        if (size == window.length) {
+            buckets[bucketOf(window[next])]--;
+        } else {
+            size++;
+        }
+        window[next] = nanos;
+        next = (next + 1) % window.length;
+        buckets[bucketOf(nanos)]++;
+        totalCount++;
+    }
+
+    /**
+     * Get a percentile of the recent samples, e.g. 0.99 for p99
+     *
+     * @return Upper bound of the bucket containing the percentile, 0 if there are no samples
+     */
+    public synchronized long getPercentileNanos(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * size);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+            if (seen >= Math.max(1, rank)) {
+                return (i + 1) * BUCKET_NANOS;
+            }
+        }
+        return BUCKET_COUNT * BUCKET_NANOS;
+    }
+
+    public double getPercentileMillis(double percentile) {
+        return getPercentileNanos(percentile) / 1_000_000.0;
+    }
+
+    /**
+     * Largest recent sample
+     */
+    public synchronized long getMaxNanos() {
+        long max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, window[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Number of samples in the window
+     */
+    public synchronized int getWindowCount() {
+        return size;
+    }
+
+    /**
+     * Number of samples recorded since the last reset
+     */
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(buckets, 0);
+        next = 0;
+        size = 0;
+        totalCount = 0;
+    }
+
+    private static int bucketOf(long nanos) {
+        return (int) Math.min(BUCKET_COUNT - 1, Math.max(0, nanos / BUCKET_NANOS));
+    }
+}
@@ -7,11 +7,15 @@ package rpg.systems;
  * subscribed to that event type.
  */
 public abstract class GameEvent {
-    private final long timestamp;
+    private long timestamp;
     private boolean consumed = false;
     private int priority = 0;
     private String source = null;
     
+    // Owning pool for recycled events, null for regular events
+    EventPool<?> pool;
+    boolean inPool = false;
+    
     /**
      * Create a new game event with the current timestamp
      */
@@ -100,4 +104,24 @@ public abstract class GameEvent {
     public boolean isOlderThan(long milliseconds) {
         return getAge() > milliseconds;
     }
+    
+    /**
+     * Reset the base event state so a pooled instance can be published again.
+     * The priority is kept, since event types set it once in their constructor.
+     */
+    void resetEvent() {
+        this.timestamp = System.currentTimeMillis();
+        this.consumed = false;
+        this.source = null;
+    }
+    
+    /**
+     * Check if this event instance is owned by an EventPool.
+     * Listeners must not keep references to pooled events after onEvent returns.
+     * 
+     * @return True if the event will be recycled after dispatch
+     */
+    public boolean isPooled() {
+        return pool != null;
+    }
 }
\ No newline at end of file
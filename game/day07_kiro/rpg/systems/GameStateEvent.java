@@ -7,6 +7,10 @@ public class GameStateEvent extends GameEvent {
     private final String previousState;
     private final String newState;
     
+    public GameStateEvent(String newState) {
+        this(null, newState);
+    }
+    
     public GameStateEvent(String previousState, String newState) {
         super();
         this.previousState = previousState;
@@ -1,8 +1,11 @@
 package rpg.systems;
 
+import rpg.engine.Component;
 import rpg.game.EntityManager;
 import rpg.utils.ServiceLocator;
 
+import java.util.Set;
+
 /**
  * Base class for all game systems in the Entity-Component-System architecture.
  * Systems contain the logic that operates on entities with specific components.
@@ -54,4 +57,21 @@ public abstract class GameSystem {
     public int getPriority() {
         return 0;
     }
+    
+    /**
+     * Get the component types this system reads during update.
+     * Used by the SystemScheduler to find systems that can run in parallel.
+     * Returning null means the access is unknown and the system runs exclusively.
+     */
+    public Set<Class<? extends Component>> getReadComponents() {
+        return null;
+    }
+    
+    /**
+     * Get the component types this system writes during update.
+     * Returning null means the access is unknown and the system runs exclusively.
+     */
+    public Set<Class<? extends Component>> getWriteComponents() {
+        return null;
+    }
 }
\ No newline at end of file
@@ -2,13 +2,15 @@ package rpg.systems;
 
 import rpg.components.InputComponent;
 import rpg.components.MovementComponent;
+import rpg.components.TransformComponent;
+import rpg.engine.Component;
 import rpg.engine.Entity;
 import rpg.systems.commands.*;
 import rpg.systems.commands.MenuCommand.MenuAction;
-import java.awt.event.KeyEvent;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Set;
 
 /**
  * System responsible for processing input and executing commands.
@@ -205,3 +207,15 @@ public class InputSystem extends GameSystem {
         return 50; // Input should be processed early
     }
     
+    @Override
+    public Set<Class<? extends Component>> getReadComponents() {
+        return Set.of(InputComponent.class, TransformComponent.class, MovementComponent.class);
+    }
+    
+    @Override
+    public Set<Class<? extends Component>> getWriteComponents() {
+        // Commands move entities, so input also writes transform and movement
+        return Set.of(InputComponent.class, TransformComponent.class, MovementComponent.class);
+    }
+    
+}
@@ -4,9 +4,9 @@ package rpg.systems;
  * Event fired for movement-related notifications
  */
 public class MovementEvent extends GameEvent {
-    private final int entityId;
-    private final float oldX, oldY;
-    private final float newX, newY;
+    private int entityId;
+    private float oldX, oldY;
+    private float newX, newY;
     
     public MovementEvent(int entityId, float oldX, float oldY, float newX, float newY) {
         super();
@@ -17,6 +17,25 @@ public class MovementEvent extends GameEvent {
         this.newY = newY;
     }
     
+    /**
+     * Create an empty movement event for an EventPool
+     */
+    MovementEvent() {
+        this(0, 0, 0, 0, 0);
+    }
+    
+    /**
+     * Fill a pooled movement event
+     */
+    public MovementEvent set(int entityId, float oldX, float oldY, float newX, float newY) {
+        this.entityId = entityId;
+        this.oldX = oldX;
+        this.oldY = oldY;
+        this.newX = newX;
+        this.newY = newY;
+        return this;
+    }
+    
     public int getEntityId() { return entityId; }
     public float getOldX() { return oldX; }
     public float getOldY() { return oldY; }
@@ -2,8 +2,10 @@ package rpg.systems;
 
 import rpg.components.MovementComponent;
 import rpg.components.TransformComponent;
+import rpg.engine.Component;
 import rpg.engine.Entity;
 import java.util.List;
+import java.util.Set;
 
 /**
  * System responsible for updating entity positions based on their movement components.
@@ -21,11 +23,15 @@ public class MovementSystem extends GameSystem {
         if (!isEnabled()) return;
         
         // Get all entities with both Transform and Movement components
-        List<Entity> movableEntities = entityManager.getEntitiesWith(
-            TransformComponent.class, MovementComponent.class);
+        // The query view is cached and only rebuilt when components change
+        List<Entity> movableEntities = entityManager.query(
+            TransformComponent.class, MovementComponent.class).getEntities();
         
-        for (Entity entity : movableEntities) {
-            updateEntityMovement(entity, deltaTime);
+        for (int i = 0; i < movableEntities.size(); i++) {
+            Entity entity = movableEntities.get(i);
+            if (entity.isActive()) {
+                updateEntityMovement(entity, deltaTime);
+            }
         }
     }
     
@@ -68,7 +74,10 @@ public class MovementSystem extends GameSystem {
         
         // Publish movement event if position changed significantly
         if (eventBus != null && (Math.abs(newX - oldX) > 0.1f || Math.abs(newY - oldY) > 0.1f)) {
-            eventBus.publish(new MovementEvent(entity.getId(), oldX, oldY, newX, newY));
+            MovementEvent event = eventBus.isFastPathEnabled()
+                ? eventBus.obtain(MovementEvent.class).set(entity.getId(), oldX, oldY, newX, newY)
+                : new MovementEvent(entity.getId(), oldX, oldY, newX, newY);
+            eventBus.publish(event);
         }
     }
     
@@ -81,4 +90,14 @@ public class MovementSystem extends GameSystem {
     public int getPriority() {
         return 100; // Movement should happen before collision detection
     }
+    
+    @Override
+    public Set<Class<? extends Component>> getReadComponents() {
+        return Set.of(TransformComponent.class, MovementComponent.class);
+    }
+    
+    @Override
+    public Set<Class<? extends Component>> getWriteComponents() {
+        return Set.of(TransformComponent.class, MovementComponent.class);
+    }
 }
\ No newline at end of file
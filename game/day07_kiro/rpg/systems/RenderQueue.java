@@ -1,7 +1,12 @@
 package rpg.systems;
 
+import rpg.assets.TextureAtlas;
+import rpg.components.RenderComponent;
+import rpg.components.TransformComponent;
+
 import java.awt.Graphics2D;
 import java.awt.AlphaComposite;
+import java.awt.Composite;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.util.*;
@@ -9,21 +14,56 @@ import java.util.*;
 /**
  * Manages render queue with batching and state management to minimize state changes.
  * Groups similar rendering operations together for better performance.
+ * 
+ * With sprite batching enabled, entities are recorded as pooled sprite commands
+ * and sorted once by (layer, texture, y). Sprites sharing a texture, e.g. regions
+ * of the same TextureAtlas, are then drawn back to back with a single composite
+ * and transform, and atlas regions are drawn straight from the atlas image.
+ * Within a layer, y-ordering only applies between sprites of the same texture.
  */
 public class RenderQueue {
     private final Map<Integer, RenderLayer> layers;
     private final List<RenderBatch> batches;
     private final RenderStateManager stateManager;
     
+    // Sprite batch path
+    private boolean spriteBatchingEnabled;
+    private final List<SpriteCommand> spriteCommands;
+    private final List<SpriteCommand> commandPool;
+    private final Map<BufferedImage, Integer> textureIds;
+    private final AffineTransform baseTransform;
+    private final AffineTransform spriteTransform;
+    private final Map<Float, AlphaComposite> composites;
+    
     // Performance tracking
     private int totalEntities;
     private int totalBatches;
     private int stateChanges;
+    private int drawCalls;
+    private int textureSwitches;
     
     public RenderQueue() {
         this.layers = new TreeMap<>(); // Sorted by layer index
         this.batches = new ArrayList<>();
         this.stateManager = new RenderStateManager();
+        this.spriteCommands = new ArrayList<>();
+        this.commandPool = new ArrayList<>();
+        this.textureIds = new IdentityHashMap<>();
+        this.baseTransform = new AffineTransform();
+        this.spriteTransform = new AffineTransform();
+        this.composites = new HashMap<>();
+    }
+    
+    /**
+     * Enable or disable the sprite batch path
+     */
+    public void setSpriteBatchingEnabled(boolean enabled) {
+        clear();
+        this.spriteBatchingEnabled = enabled;
+    }
+    
+    public boolean isSpriteBatchingEnabled() {
+        return spriteBatchingEnabled;
     }
     
     /**
@@ -51,11 +91,46 @@ public class RenderQueue {
      * Add entity to appropriate layer
      */
     public void addEntity(RenderableEntity entity) {
+        if (spriteBatchingEnabled) {
+            addSprite(entity.transformComponent, entity.renderComponent);
+            return;
+        }
         int layerIndex = entity.renderComponent.getLayer();
         RenderLayer layer = getOrCreateLayer(layerIndex, "Layer_" + layerIndex);
         layer.addEntity(entity);
     }
     
+    /**
+     * Add a sprite without an entity wrapper. With sprite batching enabled this
+     * records a pooled command and allocates nothing per frame.
+     */
+    public void addSprite(TransformComponent transform, RenderComponent render) {
+        if (!spriteBatchingEnabled) {
+            addEntity(new RenderableEntity(null, transform, render));
+            return;
+        }
+        
+        BufferedImage texture = render.getTexture();
+        if (texture == null) {
+            return;
+        }
+        
+        int layerIndex = render.getLayer();
+        RenderLayer layer = layers.get(layerIndex);
+        if (layer == null) {
+            layer = getOrCreateLayer(layerIndex, "Layer_" + layerIndex);
+        }
+        
+        SpriteCommand command = commandPool.isEmpty()
+            ? new SpriteCommand()
+            : commandPool.remove(commandPool.size() - 1);
+        command.layer = layer;
+        command.textureId = textureId(texture);
+        command.transform = transform;
+        command.render = render;
+        spriteCommands.add(command);
+    }
+    
     /**
      * Clear all layers and batches
      */
@@ -64,15 +139,33 @@ public class RenderQueue {
             layer.clear();
         }
         batches.clear();
+        for (SpriteCommand command : spriteCommands) {
+            command.layer = null;
+            command.transform = null;
+            command.render = null;
+            commandPool.add(command);
+        }
+        spriteCommands.clear();
+        // Drop stale textures (e.g. replaced animation frames) between frames instead of growing forever
+        if (textureIds.size() >= MAX_TEXTURE_IDS) {
+            textureIds.clear();
+        }
         totalEntities = 0;
         totalBatches = 0;
         stateChanges = 0;
+        drawCalls = 0;
+        textureSwitches = 0;
     }
     
     /**
      * Prepare render queue by sorting layers and creating batches
      */
     public void prepare() {
+        if (spriteBatchingEnabled) {
+            prepareSpriteBatch();
+            return;
+        }
+        
         batches.clear();
         totalEntities = 0;
         
@@ -92,9 +185,16 @@ public class RenderQueue {
      * Render all batches
      */
     public void render(Graphics2D g2) {
-        stateManager.reset();
         stateChanges = 0;
+        drawCalls = 0;
+        textureSwitches = 0;
+        
+        if (spriteBatchingEnabled) {
+            renderSpriteBatch(g2);
+            return;
+        }
         
+        stateManager.reset();
         for (RenderBatch batch : batches) {
             renderBatch(g2, batch);
         }
@@ -104,7 +204,151 @@ public class RenderQueue {
      * Get performance statistics
      */
     public RenderStats getStats() {
-        return new RenderStats(totalEntities, totalBatches, stateChanges, layers.size());
+        return new RenderStats(totalEntities, totalBatches, stateChanges, layers.size(), drawCalls, textureSwitches);
+    }
+    
+    /**
+     * Sort the recorded sprites by layer, texture and y position, then count the
+     * runs of sprites that can be drawn without changing state.
+     */
+    private void prepareSpriteBatch() {
+        spriteCommands.removeIf(command -> {
+            if (command.layer.isVisible()) return false;
+            command.layer = null;
+            command.transform = null;
+            command.render = null;
+            commandPool.add(command);
+            return true;
+        });
+        spriteCommands.sort(SPRITE_ORDER);
+        
+        totalEntities = spriteCommands.size();
+        totalBatches = 0;
+        SpriteCommand previous = null;
+        for (SpriteCommand command : spriteCommands) {
+            if (previous == null || previous.layer != command.layer || previous.textureId != command.textureId) {
+                totalBatches++;
+            }
+            previous = command;
+        }
+    }
+    
+    private void renderSpriteBatch(Graphics2D g2) {
+        Composite originalComposite = g2.getComposite();
+        baseTransform.setTransform(g2.getTransform());
+        
+        float currentAlpha = -1;
+        int currentTexture = -1;
+        boolean transformed = false;
+        
+        for (SpriteCommand command : spriteCommands) {
+            RenderComponent render = command.render;
+            TransformComponent transform = command.transform;
+            
+            float alpha = render.getAlpha() * command.layer.getAlpha();
+            if (alpha != currentAlpha) {
+                g2.setComposite(composite(alpha));
+                currentAlpha = alpha;
+                stateChanges++;
+            }
+            if (command.textureId != currentTexture) {
+                currentTexture = command.textureId;
+                textureSwitches++;
+            }
+            
+            int width = render.getSpriteWidth();
+            int height = render.getSpriteHeight();
+            int x;
+            int y;
+            
+            // Only sprites that rotate or scale need a transform; the rest are plain blits
+            if (transform.rotation != 0 || transform.scaleX != 1.0f || transform.scaleY != 1.0f) {
+                spriteTransform.setTransform(baseTransform);
+                spriteTransform.translate(transform.x, transform.y);
+                if (transform.rotation != 0) {
+                    spriteTransform.rotate(Math.toRadians(transform.rotation), width / 2.0, height / 2.0);
+                }
+                if (transform.scaleX != 1.0f || transform.scaleY != 1.0f) {
+                    spriteTransform.scale(transform.scaleX, transform.scaleY);
+                }
+                g2.setTransform(spriteTransform);
+                transformed = true;
+                stateChanges++;
+                x = 0;
+                y = 0;
+            } else {
+                if (transformed) {
+                    g2.setTransform(baseTransform);
+                    transformed = false;
+                    stateChanges++;
+                }
+                x = (int) transform.x;
+                y = (int) transform.y;
+            }
+            
+            drawSprite(g2, render, x, y, width, height);
+            drawCalls++;
+        }
+        
+        if (transformed) {
+            g2.setTransform(baseTransform);
+        }
+        g2.setComposite(originalComposite);
+    }
+    
+    private static void drawSprite(Graphics2D g2, RenderComponent render, int x, int y, int width, int height) {
+        TextureAtlas.AtlasRegion region = render.getAtlasRegion();
+        if (region != null) {
+            render.getAtlas().drawRegion(g2, region, x, y, render.isFlipX(), render.isFlipY());
+        } else if (render.isFlipX() || render.isFlipY()) {
+            int sx1 = render.isFlipX() ? width : 0;
+            int sy1 = render.isFlipY() ? height : 0;
+            g2.drawImage(render.getSprite(), x, y, x + width, y + height,
+                sx1, sy1, width - sx1, height - sy1, null);
+        } else {
+            g2.drawImage(render.getSprite(), x, y, null);
+        }
+    }
+    
+    private int textureId(BufferedImage texture) {
+        Integer id = textureIds.get(texture);
+        if (id == null) {
+            id = textureIds.size();
+            textureIds.put(texture, id);
+        }
+        return id;
+    }
+    
+    private AlphaComposite composite(float alpha) {
+        AlphaComposite composite = composites.get(alpha);
+        if (composite == null) {
+            composite = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha);
+            if (composites.size() < MAX_CACHED_COMPOSITES) {
+                composites.put(alpha, composite);
+            }
+        }
+        return composite;
+    }
+    
+    private static final int MAX_TEXTURE_IDS = 4096;
+    private static final int MAX_CACHED_COMPOSITES = 64;
+    
+    private static final Comparator<SpriteCommand> SPRITE_ORDER = (a, b) -> {
+        int result = Integer.compare(a.layer.getLayerIndex(), b.layer.getLayerIndex());
+        if (result != 0) return result;
+        result = Integer.compare(a.textureId, b.textureId);
+        if (result != 0) return result;
+        return Float.compare(a.transform.y, b.transform.y);
+    };
+    
+    /**
+     * Pooled sprite draw command used by the sprite batch path
+     */
+    private static class SpriteCommand {
+        RenderLayer layer;
+        int textureId;
+        TransformComponent transform;
+        RenderComponent render;
     }
     
     private void createBatchesForLayer(RenderLayer layer) {
@@ -133,7 +377,7 @@ public class RenderQueue {
     
     private RenderState createRenderState(RenderableEntity entity, RenderLayer layer) {
         return new RenderState(
-            entity.renderComponent.getSprite(),
+            entity.renderComponent.getTexture(),
             entity.renderComponent.getAlpha() * layer.getAlpha(),
             entity.renderComponent.isFlipX(),
             entity.renderComponent.isFlipY()
@@ -146,6 +390,7 @@ public class RenderQueue {
         // Apply state changes only if needed
         if (stateManager.applyState(g2, state)) {
             stateChanges++;
+            textureSwitches++;
         }
         
         // Render all entities in the batch
@@ -155,8 +400,8 @@ public class RenderQueue {
     }
     
     private void renderEntity(Graphics2D g2, RenderableEntity entity) {
-        BufferedImage sprite = entity.renderComponent.getSprite();
-        if (sprite == null) return;
+        RenderComponent render = entity.renderComponent;
+        if (!render.hasSprite()) return;
         
         // Save original transform
         AffineTransform originalTransform = g2.getTransform();
@@ -173,7 +418,7 @@ public class RenderQueue {
             // Apply rotation if needed
             if (entity.transformComponent.rotation != 0) {
                 renderTransform.rotate(Math.toRadians(entity.transformComponent.rotation), 
-                    sprite.getWidth() / 2.0, sprite.getHeight() / 2.0);
+                    render.getSpriteWidth() / 2.0, render.getSpriteHeight() / 2.0);
             }
             
             // Apply scaling
@@ -184,7 +429,12 @@ public class RenderQueue {
             g2.setTransform(renderTransform);
             
             // Draw the sprite
-            g2.drawImage(sprite, 0, 0, null);
+            if (render.getAtlasRegion() != null) {
+                render.getAtlas().drawRegion(g2, render.getAtlasRegion(), 0, 0, false, false);
+            } else {
+                g2.drawImage(render.getSprite(), 0, 0, null);
+            }
+            drawCalls++;
             
         } finally {
             // Restore original transform
@@ -292,18 +542,27 @@ public class RenderQueue {
         public final int totalBatches;
         public final int stateChanges;
         public final int layerCount;
+        public final int drawCalls;
+        public final int textureSwitches;
         
         public RenderStats(int totalEntities, int totalBatches, int stateChanges, int layerCount) {
+            this(totalEntities, totalBatches, stateChanges, layerCount, 0, 0);
+        }
+        
+        public RenderStats(int totalEntities, int totalBatches, int stateChanges, int layerCount,
+                           int drawCalls, int textureSwitches) {
             this.totalEntities = totalEntities;
             this.totalBatches = totalBatches;
             this.stateChanges = stateChanges;
             this.layerCount = layerCount;
+            this.drawCalls = drawCalls;
+            this.textureSwitches = textureSwitches;
         }
         
         @Override
         public String toString() {
-            return String.format("RenderStats{entities=%d, batches=%d, stateChanges=%d, layers=%d}", 
-                totalEntities, totalBatches, stateChanges, layerCount);
+            return String.format("RenderStats{entities=%d, batches=%d, stateChanges=%d, layers=%d, drawCalls=%d, textureSwitches=%d}", 
+                totalEntities, totalBatches, stateChanges, layerCount, drawCalls, textureSwitches);
         }
     }
 }
\ No newline at end of file
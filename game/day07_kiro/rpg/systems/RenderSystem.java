@@ -2,15 +2,14 @@ package rpg.systems;
 
 import rpg.components.RenderComponent;
 import rpg.components.TransformComponent;
+import rpg.engine.Component;
 import rpg.engine.Entity;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
-import java.awt.geom.AffineTransform;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
+import java.util.Set;
 
 /**
  * System responsible for rendering entities with render components.
@@ -136,19 +135,22 @@ public class RenderSystem extends GameSystem implements EventListener<CameraEven
                 continue;
             }
             
-            renderQueue.addEntity(new RenderableEntity(entity, transform, render));
+            if (renderQueue.isSpriteBatchingEnabled()) {
+                renderQueue.addSprite(transform, render);
+            } else {
+                renderQueue.addEntity(new RenderableEntity(entity, transform, render));
+            }
         }
     }
     
     private boolean isInViewport(TransformComponent transform, RenderComponent render) {
         if (camera == null) return true; // Render everything if no camera
         
-        BufferedImage sprite = render.getSprite();
-        if (sprite == null) return false;
+        if (!render.hasSprite()) return false;
         
         // Calculate sprite bounds in world coordinates
-        float spriteWidth = sprite.getWidth() * transform.scaleX;
-        float spriteHeight = sprite.getHeight() * transform.scaleY;
+        float spriteWidth = render.getSpriteWidth() * transform.scaleX;
+        float spriteHeight = render.getSpriteHeight() * transform.scaleY;
         
         Rectangle spriteBounds = new Rectangle(
             (int)(transform.x - cullMargin),
@@ -163,6 +165,13 @@ public class RenderSystem extends GameSystem implements EventListener<CameraEven
     
 
     
+    /**
+     * Enable or disable sprite batching in the render queue
+     */
+    public void setSpriteBatchingEnabled(boolean enabled) {
+        renderQueue.setSpriteBatchingEnabled(enabled);
+    }
+    
     /**
      * Get the render queue for external access
      */
@@ -214,5 +223,15 @@ public class RenderSystem extends GameSystem implements EventListener<CameraEven
         return 1000; // Render system should run last
     }
     
+    @Override
+    public Set<Class<? extends Component>> getReadComponents() {
+        return Set.of(TransformComponent.class, RenderComponent.class);
+    }
+    
+    @Override
+    public Set<Class<? extends Component>> getWriteComponents() {
+        return Set.of();
+    }
+    
 
 }
\ No newline at end of file
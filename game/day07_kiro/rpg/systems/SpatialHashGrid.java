@@ -0,0 +1,264 @@
+package rpg.systems;
+
+import rpg.components.CollisionComponent;
+import rpg.components.TransformComponent;
+import rpg.engine.Entity;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistent uniform grid for broad-phase collision detection.
+ *
+ * Unlike the QuadTree, the grid is not cleared between frames. Each entity keeps
+ * a proxy with its last world bounds and the range of cells it occupies; an
+ * entity is only re-bucketed when its TransformComponent (or collision bounds)
+ * changed since the previous frame. Entities that are no longer passed to
+ * {@link #sync(List)} are removed from the grid.
+ */
+public class SpatialHashGrid {
+    private final Rectangle worldBounds;
+    private final int cellSize;
+    private final int columns;
+    private final int rows;
+    private final List<List<Proxy>> cells;
+    private final Map<Integer, Proxy> proxies;
+    private final List<Proxy> proxyList;
+    private int frame;
+
+    // Per-sync counters
+    private int movedCount;
+    private int insertedCount;
+    private int removedCount;
+
+    private final Rectangle scratch = new Rectangle();
+
+    /**
+     * Create a grid covering the given world bounds.
+     * @param worldBounds Area covered by the grid; entities outside are clamped to the edge cells
+     * @param cellSize Cell edge length in pixels, ideally about twice the typical entity size
+     */
+    @SuppressWarnings("unchecked")
+    public SpatialHashGrid(Rectangle worldBounds, int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.worldBounds = new Rectangle(worldBounds);
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (worldBounds.width + cellSize - 1) / cellSize);
+        this.rows = Math.max(1, (worldBounds.height + cellSize - 1) / cellSize);
+        // Cells are created on first use
+        this.cells = new ArrayList<>(Collections.nCopies(columns * rows, null));
+        this.proxies = new HashMap<>();
+        this.proxyList = new ArrayList<>();
+    }
+
+    /**
+     * Bring the grid in line with the given collidable entities.
+     * Only entities whose world bounds changed are moved between cells.
+     */
+    public void sync(List<Entity> entities) {
+        frame++;
+        movedCount = 0;
+        insertedCount = 0;
+        removedCount = 0;
+
+        for (int i = 0; i < entities.size(); i++) {
+            Entity entity = entities.get(i);
+            CollisionComponent collision = entity.getComponent(CollisionComponent.class);
+            if (collision == null) continue;
+
+            Proxy proxy = proxies.get(entity.getId());
+            if (proxy == null) {
+                proxy = new Proxy(entity, collision);
+                proxies.put(entity.getId(), proxy);
+                proxyList.add(proxy);
+                computeWorldBounds(proxy, scratch);
+                proxy.bounds.setBounds(scratch);
+                insertIntoCells(proxy);
+                insertedCount++;
+            } else {
+                proxy.collision = collision;
+                computeWorldBounds(proxy, scratch);
+                if (!scratch.equals(proxy.bounds)) {
+                    proxy.bounds.setBounds(scratch);
+                    moveProxy(proxy);
+                    movedCount++;
+                }
+            }
+            proxy.lastSeenFrame = frame;
+        }
+
+        // Drop entities that disappeared since the last sync
+        for (int i = proxyList.size() - 1; i >= 0; i--) {
+            Proxy proxy = proxyList.get(i);
+            if (proxy.lastSeenFrame != frame) {
+                removeFromCells(proxy, proxy.minCellX, proxy.minCellY, proxy.maxCellX, proxy.maxCellY);
+                proxies.remove(proxy.entity.getId());
+                int last = proxyList.size() - 1;
+                proxyList.set(i, proxyList.get(last));
+                proxyList.remove(last);
+                removedCount++;
+            }
+        }
+    }
+
+    /**
+     * Report every pair of proxies whose cached bounds overlap. Each pair is
+     * reported once: only by the first cell of the region both proxies share.
+     */
+    public void findPairs(PairVisitor visitor) {
+        for (int cellIndex = 0; cellIndex < cells.size(); cellIndex++) {
+            List<Proxy> cell = cells.get(cellIndex);
+            if (cell == null || cell.size() < 2) continue;
+
+            int cellX = cellIndex % columns;
+            int cellY = cellIndex / columns;
+
+            for (int i = 0; i < cell.size(); i++) {
+                Proxy a = cell.get(i);
+                for (int j = i + 1; j < cell.size(); j++) {
+                    Proxy b = cell.get(j);
+                    if (Math.max(a.minCellX, b.minCellX) != cellX
+                            || Math.max(a.minCellY, b.minCellY) != cellY) {
+                        continue;
+                    }
+                    if (CollisionDetection.aabbCollision(a.bounds, b.bounds)) {
+                        visitor.visit(a.entity, a.collision, a.bounds, b.entity, b.collision, b.bounds);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove every entity from the grid.
+     */
+    public void clear() {
+        for (int i = 0; i < cells.size(); i++) {
+            List<Proxy> cell = cells.get(i);
+            if (cell != null) {
+                cell.clear();
+            }
+        }
+        proxies.clear();
+        proxyList.clear();
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    public int getEntityCount() {
+        return proxyList.size();
+    }
+
+    public int getMovedCount() {
+        return movedCount;
+    }
+
+    public int getInsertedCount() {
+        return insertedCount;
+    }
+
+    public int getRemovedCount() {
+        return removedCount;
+    }
+
+    private void computeWorldBounds(Proxy proxy, Rectangle dest) {
+        proxy.collision.getBounds(dest);
+        TransformComponent transform = proxy.entity.getComponent(TransformComponent.class);
+        if (transform != null) {
+            dest.x += (int) transform.x;
+            dest.y += (int) transform.y;
+        }
+    }
+
+    private void moveProxy(Proxy proxy) {
+        int minX = cellX(proxy.bounds.x);
+        int minY = cellY(proxy.bounds.y);
+        int maxX = cellX(proxy.bounds.x + proxy.bounds.width);
+        int maxY = cellY(proxy.bounds.y + proxy.bounds.height);
+
+        // Most moves stay inside the same cells
+        if (minX == proxy.minCellX && minY == proxy.minCellY
+                && maxX == proxy.maxCellX && maxY == proxy.maxCellY) {
+            return;
+        }
+        removeFromCells(proxy, proxy.minCellX, proxy.minCellY, proxy.maxCellX, proxy.maxCellY);
+        insertIntoCells(proxy);
+    }
+
+    private void insertIntoCells(Proxy proxy) {
+        proxy.minCellX = cellX(proxy.bounds.x);
+        proxy.minCellY = cellY(proxy.bounds.y);
+        proxy.maxCellX = cellX(proxy.bounds.x + proxy.bounds.width);
+        proxy.maxCellY = cellY(proxy.bounds.y + proxy.bounds.height);
+
+        for (int y = proxy.minCellY; y <= proxy.maxCellY; y++) {
+            for (int x = proxy.minCellX; x <= proxy.maxCellX; x++) {
+                int index = y * columns + x;
+                List<Proxy> cell = cells.get(index);
+                if (cell == null) {
+                    cell = new ArrayList<>(4);
+                    cells.set(index, cell);
+                }
+                cell.add(proxy);
+            }
+        }
+    }
+
+    private void removeFromCells(Proxy proxy, int minX, int minY, int maxX, int maxY) {
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                List<Proxy> cell = cells.get(y * columns + x);
+                if (cell == null) continue;
+                int index = cell.indexOf(proxy);
+                if (index >= 0) {
+                    int last = cell.size() - 1;
+                    cell.set(index, cell.get(last));
+                    cell.remove(last);
+                }
+            }
+        }
+    }
+
+    private int cellX(int worldX) {
+        int cell = (worldX - worldBounds.x) / cellSize;
+        return Math.max(0, Math.min(columns - 1, cell));
+    }
+
+    private int cellY(int worldY) {
+        int cell = (worldY - worldBounds.y) / cellSize;
+        return Math.max(0, Math.min(rows - 1, cell));
+    }
+
+    /**
+     * Callback for overlapping pairs. Bounds are the grid's cached world bounds
+     * and must not be modified or retained.
+     */
+    public interface PairVisitor {
+        void visit(Entity entityA, CollisionComponent collisionA, Rectangle boundsA,
+                   Entity entityB, CollisionComponent collisionB, Rectangle boundsB);
+    }
+
+    /**
+     * Grid entry for a single entity.
+     */
+    private static class Proxy {
+        final Entity entity;
+        CollisionComponent collision;
+        final Rectangle bounds = new Rectangle();
+        int minCellX, minCellY, maxCellX, maxCellY;
+        int lastSeenFrame;
+
+        Proxy(Entity entity, CollisionComponent collision) {
+            this.entity = entity;
+            this.collision = collision;
+        }
+    }
+}
@@ -4,8 +4,8 @@ package rpg.systems;
  * Event fired for system lifecycle events
  */
 public class SystemEvent extends GameEvent {
-    private final String systemName;
-    private final SystemEventType type;
+    private String systemName;
+    private SystemEventType type;
     
     /**
      * Types of system events
@@ -49,6 +49,22 @@ public class SystemEvent extends GameEvent {
         setPriority(10);
     }
     
+    /**
+     * Create an empty system event for an EventPool
+     */
+    SystemEvent() {
+        this(null, null);
+    }
+    
+    /**
+     * Fill a pooled system event
+     */
+    public SystemEvent set(String systemName, SystemEventType type) {
+        this.systemName = systemName;
+        this.type = type;
+        return this;
+    }
+    
     /**
      * Get the name of the system this event relates to
      * 
@@ -13,6 +13,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Updating systems each frame in priority order
  * - Managing system dependencies
  * - Handling system lifecycle events
+ * - Optionally running independent systems in parallel stages (see SystemScheduler)
  */
 public class SystemManager {
     private final Map<Class<? extends GameSystem>, GameSystem> systems;
@@ -25,6 +26,12 @@ public class SystemManager {
     private boolean enableSystemProfiling = false;
     private Map<Class<? extends GameSystem>, SystemProfile> systemProfiles;
     
+    // Parallel execution settings
+    private boolean parallelExecutionEnabled = false;
+    private SystemScheduler scheduler;
+    private boolean scheduleDirty = true;
+    private final Map<GameSystem, ScheduledUpdate> scheduledUpdates = new IdentityHashMap<>();
+    
     /**
      * Create a new SystemManager with the specified EventBus
      * 
@@ -59,6 +66,7 @@ public class SystemManager {
         
         // Insert system in correct position based on priority
         insertSystemInOrder(system);
+        scheduleDirty = true;
         
         // Initialize system if manager is already initialized
         if (initialized) {
@@ -90,8 +98,13 @@ public class SystemManager {
         registerSystem(system);
         
         if (dependsOn != null && dependsOn.length > 0) {
-            Set<Class<? extends GameSystem>> deps = new HashSet<>(Arrays.asList(dependsOn));
+            // Copy element by element so the varargs array never escapes this method
+            Set<Class<? extends GameSystem>> deps = new HashSet<>();
+            for (Class<? extends GameSystem> dep : dependsOn) {
+                deps.add(dep);
+            }
             dependencies.put(system.getClass(), deps);
+            scheduleDirty = true;
             
             // Verify dependencies are registered
             for (Class<? extends GameSystem> dep : deps) {
@@ -116,6 +129,7 @@ public class SystemManager {
             system.cleanup();
             systemProfiles.remove(systemClass);
             dependencies.remove(systemClass);
+            scheduleDirty = true;
             
             // Publish system unregistration event
             if (initialized) {
@@ -256,12 +270,21 @@ public class SystemManager {
         }
         
         // Publish pre-update event
-        eventBus.publish(new SystemEvent("SystemManager", SystemEvent.SystemEventType.PRE_UPDATE));
+        eventBus.publish(frameEvent("SystemManager", SystemEvent.SystemEventType.PRE_UPDATE));
         
-        // Update systems in priority order
-        for (GameSystem system : updateOrder) {
-            if (system.isEnabled()) {
-                updateSystem(system, deltaTime);
+        if (parallelExecutionEnabled) {
+            // Update independent systems in parallel stages
+            if (scheduleDirty) {
+                rebuildSchedule();
+            }
+            scheduler.execute(system -> updateScheduledSystem(system, deltaTime));
+            publishScheduledEvents();
+        } else {
+            // Update systems in priority order
+            for (GameSystem system : updateOrder) {
+                if (system.isEnabled()) {
+                    updateSystem(system, deltaTime);
+                }
             }
         }
         
@@ -269,7 +292,7 @@ public class SystemManager {
         eventBus.processEvents();
         
         // Publish post-update event
-        eventBus.publish(new SystemEvent("SystemManager", SystemEvent.SystemEventType.POST_UPDATE));
+        eventBus.publish(frameEvent("SystemManager", SystemEvent.SystemEventType.POST_UPDATE));
     }
     
     /**
@@ -286,14 +309,14 @@ public class SystemManager {
                 
                 try {
                     // Publish pre-system-update event
-                    eventBus.publishImmediate(new SystemEvent(system.getClass().getName(), 
+                    eventBus.publishImmediate(frameEvent(system.getClass().getName(), 
                         SystemEvent.SystemEventType.PRE_SYSTEM_UPDATE));
                     
                     // Update the system
                     system.update(deltaTime);
                     
                     // Publish post-system-update event
-                    eventBus.publishImmediate(new SystemEvent(system.getClass().getName(), 
+                    eventBus.publishImmediate(frameEvent(system.getClass().getName(), 
                         SystemEvent.SystemEventType.POST_SYSTEM_UPDATE));
                     
                     // Record profiling data
@@ -325,6 +348,153 @@ public class SystemManager {
         }
     }
     
+    /**
+     * Create a per-frame system event, reusing a pooled instance when the
+     * EventBus runs its single-threaded fast path
+     */
+    private SystemEvent frameEvent(String systemName, SystemEvent.SystemEventType type) {
+        if (eventBus.isFastPathEnabled()) {
+            return eventBus.obtain(SystemEvent.class).set(systemName, type);
+        }
+        return new SystemEvent(systemName, type);
+    }
+    
+    /**
+     * Update a single system from a scheduler worker thread.
+     * Everything the system publishes during the update is captured instead of
+     * queued or dispatched, and publishScheduledEvents replays it on the game
+     * thread once all stages have finished, so listeners never run on a worker.
+     * 
+     * @param system The system to update
+     * @param deltaTime The time elapsed since the last update in seconds
+     * @return The update time in nanoseconds
+     */
+    private long updateScheduledSystem(GameSystem system, float deltaTime) {
+        ScheduledUpdate scheduled = scheduledUpdates.get(system);
+        SystemProfile profile = enableSystemProfiling ? systemProfiles.get(system.getClass()) : null;
+        long startTime = System.nanoTime();
+        
+        eventBus.beginCapture(scheduled.events);
+        try {
+            system.update(deltaTime);
+        } catch (Exception e) {
+            scheduled.failed = true;
+            if (profile != null) {
+                profile.recordError();
+            }
+            System.err.println("SystemManager: Error updating " + 
+                system.getClass().getSimpleName() + ": " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            eventBus.endCapture();
+        }
+        scheduled.ran = true;
+        
+        long elapsed = System.nanoTime() - startTime;
+        if (profile != null && !scheduled.failed) {
+            profile.recordUpdate(elapsed);
+        }
+        return elapsed;
+    }
+    
+    /**
+     * Publish the events of the last scheduled frame on the game thread, in
+     * priority order and with the same per-system events as updateSystem
+     */
+    private void publishScheduledEvents() {
+        for (GameSystem system : updateOrder) {
+            ScheduledUpdate scheduled = scheduledUpdates.get(system);
+            if (scheduled == null || !scheduled.ran) {
+                continue;
+            }
+            
+            String systemName = system.getClass().getName();
+            boolean profiled = enableSystemProfiling && systemProfiles.containsKey(system.getClass());
+            
+            if (profiled) {
+                eventBus.publishImmediate(frameEvent(systemName, SystemEvent.SystemEventType.PRE_SYSTEM_UPDATE));
+            }
+            scheduled.events.replay(eventBus);
+            if (scheduled.failed) {
+                eventBus.publishImmediate(new SystemEvent(systemName, SystemEvent.SystemEventType.ERROR));
+            } else if (profiled) {
+                eventBus.publishImmediate(frameEvent(systemName, SystemEvent.SystemEventType.POST_SYSTEM_UPDATE));
+            }
+            
+            scheduled.ran = false;
+            scheduled.failed = false;
+        }
+    }
+    
+    /**
+     * Rebuild the parallel stages from the current systems and dependencies
+     */
+    private void rebuildSchedule() {
+        scheduler.build(updateOrder, dependencies);
+        
+        scheduledUpdates.clear();
+        for (GameSystem system : updateOrder) {
+            scheduledUpdates.put(system, new ScheduledUpdate());
+        }
+        
+        List<List<GameSystem>> stages = scheduler.getStages();
+        for (int i = 0; i < stages.size(); i++) {
+            for (GameSystem system : stages.get(i)) {
+                SystemProfile profile = systemProfiles.get(system.getClass());
+                if (profile != null) {
+                    profile.setStage(i);
+                }
+            }
+        }
+        scheduleDirty = false;
+    }
+    
+    /**
+     * Enable or disable parallel execution of independent systems.
+     * Systems are grouped into stages from their dependencies and declared
+     * component read/write sets; systems in the same stage run on a ForkJoinPool.
+     * 
+     * @param enabled True to run independent systems in parallel
+     */
+    public void setParallelExecutionEnabled(boolean enabled) {
+        setParallelExecutionEnabled(enabled, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+    
+    /**
+     * Enable or disable parallel execution with a specific number of worker threads
+     * 
+     * @param enabled True to run independent systems in parallel
+     * @param parallelism The number of worker threads
+     */
+    public void setParallelExecutionEnabled(boolean enabled, int parallelism) {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+        this.parallelExecutionEnabled = enabled;
+        if (enabled) {
+            scheduler = new SystemScheduler(parallelism);
+            scheduleDirty = true;
+        }
+    }
+    
+    /**
+     * Check if parallel execution is enabled
+     */
+    public boolean isParallelExecutionEnabled() {
+        return parallelExecutionEnabled;
+    }
+    
+    /**
+     * Get the parallel scheduler, or null if parallel execution is disabled
+     */
+    public SystemScheduler getScheduler() {
+        if (scheduler != null && scheduleDirty) {
+            rebuildSchedule();
+        }
+        return scheduler;
+    }
+    
     /**
      * Cleanup all systems
      * Systems are cleaned up in reverse initialization order
@@ -366,6 +536,12 @@ public class SystemManager {
         dependencies.clear();
         initialized = false;
         
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+            parallelExecutionEnabled = false;
+        }
+        
         // Publish post-cleanup event
         eventBus.publishImmediate(new SystemEvent("SystemManager", SystemEvent.SystemEventType.POST_CLEANUP));
         
@@ -424,6 +600,7 @@ public class SystemManager {
                 systemProfiles.put(system.getClass(), 
                     new SystemProfile(system.getClass().getSimpleName()));
             }
+            scheduleDirty = true;
         } else if (!enabled) {
             systemProfiles.clear();
         }
@@ -457,12 +634,21 @@ public class SystemManager {
         profiles.sort((a, b) -> Double.compare(b.getAverageUpdateTime(), a.getAverageUpdateTime()));
         
         for (SystemProfile profile : profiles) {
-            System.out.printf("%-20s: Avg: %.3fms, Max: %.3fms, Updates: %d, Errors: %d%n",
+            System.out.printf("%-20s: Avg: %.3fms, Max: %.3fms, Updates: %d, Errors: %d, Stage: %s%n",
                 profile.getSystemName(),
                 profile.getAverageUpdateTime() / 1_000_000.0,
                 profile.getMaxUpdateTime() / 1_000_000.0,
                 profile.getUpdateCount(),
-                profile.getErrorCount());
+                profile.getErrorCount(),
+                profile.getStage() >= 0 ? String.valueOf(profile.getStage()) : "-");
+        }
+        
+        if (parallelExecutionEnabled && scheduler != null && scheduler.getFrameCount() > 0) {
+            System.out.printf("Parallel stages: %d, Last frame: %.3fms (serial %.3fms), Avg saved: %.3fms%n",
+                scheduler.getStages().size(),
+                scheduler.getLastFrameNanos() / 1_000_000.0,
+                scheduler.getLastSerialNanos() / 1_000_000.0,
+                scheduler.getAverageSavedNanos() / 1_000_000.0);
         }
         
         System.out.println("================================");
@@ -498,6 +684,7 @@ public class SystemManager {
         private long maxUpdateTime = 0;
         private int updateCount = 0;
         private int errorCount = 0;
+        private int stage = -1;
         
         public SystemProfile(String systemName) {
             this.systemName = systemName;
@@ -521,6 +708,10 @@ public class SystemManager {
         public int getUpdateCount() { return updateCount; }
         public int getErrorCount() { return errorCount; }
         
+        /** Parallel stage index assigned by the scheduler, or -1 when run sequentially */
+        public int getStage() { return stage; }
+        void setStage(int stage) { this.stage = stage; }
+        
         public void reset() {
             totalUpdateTime = 0;
             maxUpdateTime = 0;
@@ -528,4 +719,13 @@ public class SystemManager {
             errorCount = 0;
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Per-frame state of a system updated by the scheduler
+     */
+    private static class ScheduledUpdate {
+        private final EventCapture events = new EventCapture();
+        private boolean ran;
+        private boolean failed;
+    }
+}
@@ -0,0 +1,299 @@
+package rpg.systems;
+
+import rpg.engine.Component;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Schedules game systems into parallel stages.
+ *
+ * The scheduler builds a dependency graph from two sources:
+ * - explicit dependencies registered through SystemManager.registerSystemWithDependencies
+ * - conflicts between declared component access sets (write/write or read/write
+ *   on the same component type), ordered by system priority
+ *
+ * Systems that do not declare their component access are treated as exclusive
+ * and never share a stage with another system. Each stage runs on a ForkJoinPool
+ * and the next stage starts only after the whole stage has finished, which gives
+ * the same happens-before guarantees as the sequential update loop.
+ */
+public class SystemScheduler {
+    private final ForkJoinPool pool;
+    private final List<List<GameSystem>> stages;
+    private final List<StageTask[]> stageTasks;
+
+    // Frame statistics
+    private long lastFrameNanos;
+    private long lastSerialNanos;
+    private long totalFrameNanos;
+    private long totalSerialNanos;
+    private int frameCount;
+
+    /**
+     * Create a scheduler with the given number of worker threads
+     *
+     * @param parallelism The number of worker threads to use
+     */
+    public SystemScheduler(int parallelism) {
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.stages = new ArrayList<>();
+        this.stageTasks = new ArrayList<>();
+    }
+
+    /**
+     * Rebuild the stages for the given systems
+     *
+     * @param orderedSystems Systems in priority order
+     * @param dependencies Explicit dependencies from the SystemManager
+     */
+    public void build(List<GameSystem> orderedSystems,
+                      Map<Class<? extends GameSystem>, Set<Class<? extends GameSystem>>> dependencies) {
+        stages.clear();
+        stageTasks.clear();
+
+        List<GameSystem> order = topologicalOrder(orderedSystems, dependencies);
+        int[] level = new int[order.size()];
+
+        // Edges only go from earlier to later systems in the order, so the graph is acyclic
+        for (int j = 0; j < order.size(); j++) {
+            GameSystem later = order.get(j);
+            Set<Class<? extends GameSystem>> deps = dependencies.get(later.getClass());
+
+            for (int i = 0; i < j; i++) {
+                GameSystem earlier = order.get(i);
+                boolean explicit = deps != null && deps.contains(earlier.getClass());
+                if (explicit || conflicts(earlier, later)) {
+                    level[j] = Math.max(level[j], level[i] + 1);
+                }
+            }
+
+            while (stages.size() <= level[j]) {
+                stages.add(new ArrayList<>());
+            }
+            stages.get(level[j]).add(later);
+        }
+
+        // Tasks are created once per build and reinitialized every frame
+        for (List<GameSystem> stage : stages) {
+            StageTask[] tasks = new StageTask[stage.size()];
+            for (int i = 0; i < tasks.length; i++) {
+                tasks[i] = new StageTask(stage.get(i));
+            }
+            stageTasks.add(tasks);
+        }
+    }
+
+    /**
+     * Run all stages for one frame
+     *
+     * @param runner Callback that updates a single system and returns its update time in nanoseconds
+     */
+    public void execute(SystemRunner runner) {
+        long frameStart = System.nanoTime();
+        long serialNanos = 0;
+
+        for (StageTask[] tasks : stageTasks) {
+            if (tasks.length == 1) {
+                GameSystem system = tasks[0].system;
+                if (system.isEnabled()) {
+                    serialNanos += runner.run(system);
+                }
+            } else {
+                for (StageTask task : tasks) {
+                    task.reinitialize();
+                    task.runner = runner;
+                    task.elapsedNanos = 0;
+                }
+                pool.invoke(new StageAction(tasks));
+                for (StageTask task : tasks) {
+                    serialNanos += task.elapsedNanos;
+                }
+            }
+        }
+
+        lastFrameNanos = System.nanoTime() - frameStart;
+        lastSerialNanos = serialNanos;
+        totalFrameNanos += lastFrameNanos;
+        totalSerialNanos += serialNanos;
+        frameCount++;
+    }
+
+    /**
+     * Get the computed stages. Systems within a stage may run in parallel.
+     */
+    public List<List<GameSystem>> getStages() {
+        List<List<GameSystem>> copy = new ArrayList<>();
+        for (List<GameSystem> stage : stages) {
+            copy.add(Collections.unmodifiableList(new ArrayList<>(stage)));
+        }
+        return copy;
+    }
+
+    /**
+     * Wall-clock time of the last scheduled frame in nanoseconds
+     */
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    /**
+     * Sum of the individual system update times of the last frame, i.e. the
+     * time the frame would have taken when run sequentially
+     */
+    public long getLastSerialNanos() {
+        return lastSerialNanos;
+    }
+
+    /**
+     * Average time saved per frame by running stages in parallel
+     */
+    public double getAverageSavedNanos() {
+        return frameCount > 0 ? (double) (totalSerialNanos - totalFrameNanos) / frameCount : 0;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public void resetStats() {
+        lastFrameNanos = 0;
+        lastSerialNanos = 0;
+        totalFrameNanos = 0;
+        totalSerialNanos = 0;
+        frameCount = 0;
+    }
+
+    /**
+     * Stop the worker threads
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Check whether two systems touch overlapping component data
+     */
+    static boolean conflicts(GameSystem a, GameSystem b) {
+        Set<Class<? extends Component>> readsA = a.getReadComponents();
+        Set<Class<? extends Component>> writesA = a.getWriteComponents();
+        Set<Class<? extends Component>> readsB = b.getReadComponents();
+        Set<Class<? extends Component>> writesB = b.getWriteComponents();
+
+        // Undeclared access is treated as exclusive
+        if (readsA == null || writesA == null || readsB == null || writesB == null) {
+            return true;
+        }
+
+        return intersects(writesA, writesB)
+            || intersects(writesA, readsB)
+            || intersects(readsA, writesB);
+    }
+
+    private static boolean intersects(Set<Class<? extends Component>> a, Set<Class<? extends Component>> b) {
+        for (Class<? extends Component> type : a) {
+            if (b.contains(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Order systems by priority while making sure explicit dependencies come first
+     */
+    private static List<GameSystem> topologicalOrder(
+            List<GameSystem> orderedSystems,
+            Map<Class<? extends GameSystem>, Set<Class<? extends GameSystem>>> dependencies) {
+        Map<Class<? extends GameSystem>, GameSystem> byClass = new LinkedHashMap<>();
+        for (GameSystem system : orderedSystems) {
+            byClass.put(system.getClass(), system);
+        }
+
+        List<GameSystem> result = new ArrayList<>();
+        Set<Class<? extends GameSystem>> visited = new HashSet<>();
+        Set<Class<? extends GameSystem>> inProgress = new HashSet<>();
+        for (GameSystem system : orderedSystems) {
+            visit(system.getClass(), byClass, dependencies, visited, inProgress, result);
+        }
+        return result;
+    }
+
+    private static void visit(
+            Class<? extends GameSystem> systemClass,
+            Map<Class<? extends GameSystem>, GameSystem> byClass,
+            Map<Class<? extends GameSystem>, Set<Class<? extends GameSystem>>> dependencies,
+            Set<Class<? extends GameSystem>> visited,
+            Set<Class<? extends GameSystem>> inProgress,
+            List<GameSystem> result) {
+
+        if (visited.contains(systemClass) || inProgress.contains(systemClass)) {
+            return;
+        }
+        inProgress.add(systemClass);
+
+        Set<Class<? extends GameSystem>> deps = dependencies.get(systemClass);
+        if (deps != null) {
+            for (Class<? extends GameSystem> dep : deps) {
+                if (byClass.containsKey(dep)) {
+                    visit(dep, byClass, dependencies, visited, inProgress, result);
+                }
+            }
+        }
+
+        inProgress.remove(systemClass);
+        visited.add(systemClass);
+        result.add(byClass.get(systemClass));
+    }
+
+    /**
+     * Callback used by the scheduler to update a single system
+     */
+    public interface SystemRunner {
+        /**
+         * Update the system and return the elapsed time in nanoseconds
+         */
+        long run(GameSystem system);
+    }
+
+    /**
+     * Update of a single system within a parallel stage
+     */
+    private static class StageTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final GameSystem system;
+        private SystemRunner runner;
+        private long elapsedNanos;
+
+        StageTask(GameSystem system) {
+            this.system = system;
+        }
+
+        @Override
+        protected void compute() {
+            if (system.isEnabled()) {
+                elapsedNanos = runner.run(system);
+            }
+        }
+    }
+
+    /**
+     * Forks every system of a stage and waits for all of them
+     */
+    private static class StageAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final StageTask[] tasks;
+
+        StageAction(StageTask[] tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(tasks);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package rpg.systems;
+
+import rpg.components.TransformComponent;
+
+import java.util.Arrays;
+
+/**
+ * Hands entity transforms from the simulation thread to the render thread.
+ *
+ * The simulation writes the transforms of each fixed step into a back snapshot
+ * without locking and then publishes it; publishing only swaps references under
+ * a short lock. The renderer never reads live components: it interpolates
+ * between the two most recently published steps, so motion stays smooth when
+ * the render rate differs from the simulation rate.
+ */
+public class TransformSnapshotBuffer {
+    private final long stepNanos;
+    private final Object lock = new Object();
+
+    // Written by the simulation thread only
+    private Snapshot back;
+
+    // Guarded by lock
+    private Snapshot current;
+    private Snapshot previous;
+    private long currentPublishNanos;
+    private long publishCount;
+
+    /**
+     * @param stepNanos Length of one simulation step in nanoseconds
+     */
+    public TransformSnapshotBuffer(long stepNanos) {
+        this.stepNanos = stepNanos;
+        this.back = new Snapshot();
+        this.current = new Snapshot();
+        this.previous = new Snapshot();
+    }
+
+    /**
+     * Start writing the transforms of a new step (simulation thread)
+     *
+     * @return The cleared back snapshot
+     */
+    public Snapshot beginWrite() {
+        back.clear();
+        return back;
+    }
+
+    /**
+     * Publish the back snapshot as the newest step (simulation thread)
+     */
+    public void publish() {
+        synchronized (lock) {
+            Snapshot recycled = previous;
+            previous = current;
+            current = back;
+            back = recycled;
+            currentPublishNanos = System.nanoTime();
+            publishCount++;
+        }
+    }
+
+    /**
+     * Interpolate between the two newest steps (render thread).
+     * The render runs up to one step behind the simulation: alpha is the
+     * fraction of a step that has passed since the newest step was published.
+     *
+     * @param nowNanos Current time
+     * @param out Receives the interpolated transforms
+     * @return The interpolation factor used
+     */
+    public float interpolate(long nowNanos, Snapshot out) {
+        synchronized (lock) {
+            float alpha = publishCount < 2 ? 1.0f
+                : (float) Math.min(1.0, Math.max(0.0, (double) (nowNanos - currentPublishNanos) / stepNanos));
+
+            out.clear();
+            for (int i = 0; i < current.count; i++) {
+                int id = current.ids[i];
+                // Entities usually keep their slot between steps; otherwise search or snap
+                int p = i < previous.count && previous.ids[i] == id ? i : previous.indexOf(id);
+                if (p < 0) {
+                    out.add(id, current.x[i], current.y[i], current.rotation[i]);
+                } else {
+                    out.add(id,
+                        previous.x[p] + (current.x[i] - previous.x[p]) * alpha,
+                        previous.y[p] + (current.y[i] - previous.y[p]) * alpha,
+                        previous.rotation[p] + (current.rotation[i] - previous.rotation[p]) * alpha);
+                }
+            }
+            return alpha;
+        }
+    }
+
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    public long getPublishCount() {
+        synchronized (lock) {
+            return publishCount;
+        }
+    }
+
+    /**
+     * Transforms of all snapshotted entities for one step, stored as parallel arrays
+     */
+    public static class Snapshot {
+        private int count;
+        private int[] ids = new int[16];
+        private float[] x = new float[16];
+        private float[] y = new float[16];
+        private float[] rotation = new float[16];
+
+        public void clear() {
+            count = 0;
+        }
+
+        public void add(int id, TransformComponent transform) {
+            add(id, transform.x, transform.y, transform.rotation);
+        }
+
+        public void add(int id, float x, float y, float rotation) {
+            if (count == ids.length) {
+                int capacity = count * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                this.x = Arrays.copyOf(this.x, capacity);
+                this.y = Arrays.copyOf(this.y, capacity);
+                this.rotation = Arrays.copyOf(this.rotation, capacity);
+            }
+            ids[count] = id;
+            this.x[count] = x;
+            this.y[count] = y;
+            this.rotation[count] = rotation;
+            count++;
+        }
+
+        public int indexOf(int id) {
+            for (int i = 0; i < count; i++) {
+                if (ids[i] == id) return i;
+            }
+            return -1;
+        }
+
+        public int getCount() { return count; }
+        public int getId(int index) { return ids[index]; }
+        public float getX(int index) { return x[index]; }
+        public float getY(int index) { return y[index]; }
+        public float getRotation(int index) { return rotation[index]; }
+    }
+}
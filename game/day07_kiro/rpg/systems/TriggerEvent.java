@@ -11,7 +11,9 @@ public class TriggerEvent extends GameEvent {
     public enum TriggerType {
         ENTER,  // Entity entered trigger zone
         STAY,   // Entity staying in trigger zone
-        EXIT    // Entity exited trigger zone
+        EXIT,   // Entity exited trigger zone
+        ATTACK,     // Entity attacked another entity
+        INTERACTION // Entity interacted with another entity
     }
     
     public TriggerEvent(int triggerEntity, int otherEntity, TriggerType type) {
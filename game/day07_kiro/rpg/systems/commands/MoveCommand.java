@@ -56,15 +56,8 @@ public class MoveCommand extends InputCommand {
         float speed = input.isRunning() ? movement.maxSpeed * 1.5f : movement.maxSpeed;
         
         // Set velocity based on the movement vector
+        // Facing follows the velocity, see AnimationSystem
         movement.setVelocity(moveVector[0] * speed, moveVector[1] * speed);
-        
-        // Update direction if moving
-        if (moveVector[0] != 0 || moveVector[1] != 0) {
-            if (moveVector[0] > 0) movement.direction = "right";
-            else if (moveVector[0] < 0) movement.direction = "left";
-            else if (moveVector[1] > 0) movement.direction = "down";
-            else if (moveVector[1] < 0) movement.direction = "up";
-        }
     }
     
     @Override
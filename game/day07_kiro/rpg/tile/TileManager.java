@@ -2,7 +2,9 @@ package rpg.tile;
 
 import rpg.Config;
 import rpg.GamePanel;
+import rpg.assets.ChunkedMapRenderer;
 import rpg.assets.GameMap;
+import rpg.assets.MappedMapFile;
 import rpg.assets.TileSet;
 import rpg.exceptions.AssetLoadException;
 import rpg.utils.GameLogger;
@@ -52,6 +54,8 @@ public class TileManager {
         
         // Load the current map
         currentMap = GameMap.loadFromTextFile("/rpg/assets/maps/world01.txt", tileSet);
+        currentMap.enableChunkedRendering(ChunkedMapRenderer.DEFAULT_CHUNK_SIZE,
+            ChunkedMapRenderer.DEFAULT_MAX_CACHED_CHUNKS);
         
         GameLogger.info("Enhanced tile system initialized successfully");
     }
@@ -176,31 +180,39 @@ public class TileManager {
     }
 
     public void draw(Graphics2D g2) {
+        draw(g2, gp.player.getWorldX() - gp.player.screenX, gp.player.getWorldY() - gp.player.screenY);
+    }
+    
+    /**
+     * Draw the visible part of the world.
+     * 
+     * @param viewX World x coordinate of the top left corner of the screen
+     * @param viewY World y coordinate of the top left corner of the screen
+     */
+    public void draw(Graphics2D g2, int viewX, int viewY) {
         if (useEnhancedSystem && currentMap != null) {
-            drawEnhanced(g2);
+            drawEnhanced(g2, viewX, viewY);
         } else {
-            drawLegacy(g2);
+            drawLegacy(g2, viewX, viewY);
         }
     }
     
     /**
      * Enhanced rendering using the new GameMap system.
      */
-    private void drawEnhanced(Graphics2D g2) {
-        // Calculate view bounds based on player position
-        int viewX = gp.player.worldX - gp.player.screenX;
-        int viewY = gp.player.worldY - gp.player.screenY;
+    private void drawEnhanced(Graphics2D g2, int viewX, int viewY) {
         int viewWidth = Config.SCREEN_WIDTH;
         int viewHeight = Config.SCREEN_HEIGHT;
         
         Rectangle viewBounds = new Rectangle(viewX, viewY, viewWidth, viewHeight);
+        currentMap.updateStreaming(viewBounds);
         currentMap.render(g2, viewBounds);
     }
     
     /**
      * Legacy rendering for backward compatibility.
      */
-    private void drawLegacy(Graphics2D g2) {
+    private void drawLegacy(Graphics2D g2, int viewX, int viewY) {
         int worldCol = 0;
         int worldRow = 0;
 
@@ -209,13 +221,13 @@ public class TileManager {
 
             int worldX = worldCol * Config.TILE_SIZE;
             int worldY = worldRow * Config.TILE_SIZE;
-            int screenX = worldX - gp.player.worldX + gp.player.screenX;
-            int screenY = worldY - gp.player.worldY + gp.player.screenY;
+            int screenX = worldX - viewX;
+            int screenY = worldY - viewY;
 
-            if (worldX + Config.TILE_SIZE > gp.player.worldX - gp.player.screenX &&
-                    worldX - Config.TILE_SIZE < gp.player.worldX + gp.player.screenX &&
-                    worldY + Config.TILE_SIZE > gp.player.worldY - gp.player.screenY &&
-                    worldY - Config.TILE_SIZE < gp.player.worldY + gp.player.screenY) {
+            if (worldX + Config.TILE_SIZE > viewX &&
+                    worldX - Config.TILE_SIZE < viewX + Config.SCREEN_WIDTH &&
+                    worldY + Config.TILE_SIZE > viewY &&
+                    worldY - Config.TILE_SIZE < viewY + Config.SCREEN_HEIGHT) {
 
                 if (tileNum >= 0 && tileNum < tiles.length && tiles[tileNum] != null) {
                     g2.drawImage(tiles[tileNum].image, screenX, screenY, Config.TILE_SIZE, Config.TILE_SIZE, null);
@@ -241,7 +253,13 @@ public class TileManager {
     public void loadMap(String mapPath, boolean enhanced) {
         if (enhanced && useEnhancedSystem) {
             try {
-                currentMap = GameMap.loadFromTextFile(mapPath, tileSet);
+                if (mapPath.endsWith("." + MappedMapFile.FILE_EXTENSION)) {
+                    currentMap = GameMap.loadFromBinaryFile(mapPath, tileSet);
+                } else {
+                    currentMap = GameMap.loadFromTextFile(mapPath, tileSet);
+                }
+                currentMap.enableChunkedRendering(ChunkedMapRenderer.DEFAULT_CHUNK_SIZE,
+                    ChunkedMapRenderer.DEFAULT_MAX_CACHED_CHUNKS);
                 GameLogger.info("Loaded enhanced map: " + mapPath);
             } catch (AssetLoadException e) {
                 GameLogger.error("Failed to load enhanced map: " + mapPath, e);
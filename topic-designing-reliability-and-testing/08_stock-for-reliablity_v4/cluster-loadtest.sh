@@ -0,0 +1,77 @@
+#!/bin/bash
+# 多個 replica 共用 redis capacity pool 的壓測
+#
+#   ./cluster-loadtest.sh [replicas] [threads] [duration(s)]
+#
+# 1. 啟動 redis (docker compose)
+# 2. 以 capacity.unit.type=redis 啟動 N 個 replica (port 8081..)，各自的 ./logs 在 build/cluster/node-<port>
+# 3. 跑 CapacityUnit-cluster.jmx，thread 平均分到每個 replica
+# 4. 每秒檢查 redis: remaining >= 0 且 remaining + 各 node 持有的 unit == MAX_CAPACITY_UNIT
+
+REPLICAS=${1:-3}
+THREADS=${2:-6}
+DURATION=${3:-300}
+MAX_CAPACITY_UNIT=${MAX_CAPACITY_UNIT:-40}
+POOL=${POOL:-stock}
+GRADLE=${GRADLE:-gradle}
+WORK_DIR=build/cluster
+
+redis() {
+    if command -v redis-cli > /dev/null; then
+        redis-cli -h ${REDIS_HOST:-localhost} "$@"
+    else
+        docker exec redis redis-cli "$@"
+    fi
+}
+
+docker compose up -d redis || exit 1
+redis DEL "capacity:{${POOL}}:remaining" "capacity:{${POOL}}:held" "capacity:{${POOL}}:nodes" > /dev/null
+
+${GRADLE} bootJar -q || exit 1
+JAR=$(ls build/libs/*.jar | grep -v plain | head -1)
+
+rm -rf ${WORK_DIR}
+PORTS=""
+PIDS=""
+for ((i = 1; i <= REPLICAS; i++)); do
+    PORT=$((8080 + i))
+    mkdir -p ${WORK_DIR}/node-${PORT}
+    (cd ${WORK_DIR}/node-${PORT} && exec java -jar ../../../${JAR} \
+        --server.port=${PORT} \
+        --capacity.unit.type=redis \
+        --capacity.redis.name=${POOL} \
+        --capacity.redis.node-id=node-${PORT} \
+        --capacity.redis.max-capacity-unit=${MAX_CAPACITY_UNIT} > console.log 2>&1) &
+    PIDS="${PIDS} $!"
+    PORTS="${PORTS:+${PORTS},}${PORT}"
+done
+trap 'kill ${PIDS} ${WATCHER} 2> /dev/null' EXIT
+
+# 等待每個 replica 起來
+for PORT in ${PORTS//,/ }; do
+    until curl -s -o /dev/null http://localhost:${PORT}/api/v1alpha/stock/value; do sleep 1; done
+done
+echo "replicas up: ${PORTS}"
+
+# 全域 capacity 的不變量
+(
+    while true; do
+        REMAINING=$(redis GET "capacity:{${POOL}}:remaining")
+        HELD=$(redis HVALS "capacity:{${POOL}}:held" | awk '{ s += $1 } END { print s + 0 }')
+        TOTAL=$(( ${REMAINING:-${MAX_CAPACITY_UNIT}} + HELD ))
+        STATUS=ok
+        if [ "${REMAINING:-0}" -lt 0 ] || [ ${TOTAL} -ne ${MAX_CAPACITY_UNIT} ]; then
+            STATUS=VIOLATION
+        fi
+        echo "$(date +%T),${REMAINING},${HELD},${TOTAL},${STATUS}" | tee -a ${WORK_DIR}/pool.csv
+        sleep 1
+    done
+) &
+WATCHER=$!
+
+JVM_ARGS="-Xms512m -Xmx2048m" jmeter -n -t CapacityUnit-cluster.jmx \
+    -Jports=${PORTS} -Jthreads=${THREADS} -Jduration=${DURATION} \
+    -l ${WORK_DIR}/result.jtl
+
+kill ${WATCHER}
+echo "pool checks: $(wc -l < ${WORK_DIR}/pool.csv), violations: $(grep -c VIOLATION ${WORK_DIR}/pool.csv)"
@@ -1,12 +1,17 @@
 package com.gtcafe.asimov;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import com.gtcafe.asimov.platform.stock.counter.CasCapacityUnit;
 import com.gtcafe.asimov.platform.stock.counter.ICapacityUnit;
-import com.gtcafe.asimov.platform.stock.counter.ReentrantCapacityUnit;
+import com.gtcafe.asimov.platform.stock.counter.lease.LeaseScheduler;
+import com.gtcafe.asimov.platform.stock.counter.lease.TimingWheelLeaseScheduler;
+import com.gtcafe.asimov.platform.stock.counter.lease.VirtualThreadLeaseScheduler;
 
 @SpringBootApplication
 @EnableScheduling
@@ -15,10 +20,23 @@ public class Main {
 		SpringApplication.run(Main.class, args);
 	}
 
+	// capacity.unit.type=redis uses RedisCapacityConfig instead
 	@Bean
+	@ConditionalOnProperty(name = "capacity.unit.type", havingValue = "cas", matchIfMissing = true)
     public ICapacityUnit capacityUnit() {
 		// return new NoconstraintCapacityUnit();
 		// return new NolockCapacityUnit();
-        return new ReentrantCapacityUnit();
+		// return new ReentrantCapacityUnit();
+		// return new StripedCapacityUnit();
+        return new CasCapacityUnit();
     }
+
+	// capacity.lease.scheduler: timing-wheel (default) or virtual-thread (Java 21+)
+	@Bean(destroyMethod = "shutdown")
+	public LeaseScheduler leaseScheduler(@Value("${capacity.lease.scheduler:" + LeaseScheduler.TIMING_WHEEL + "}") String scheduler) {
+		if (LeaseScheduler.VIRTUAL_THREAD.equals(scheduler)) {
+			return new VirtualThreadLeaseScheduler();
+		}
+		return new TimingWheelLeaseScheduler();
+	}
 }
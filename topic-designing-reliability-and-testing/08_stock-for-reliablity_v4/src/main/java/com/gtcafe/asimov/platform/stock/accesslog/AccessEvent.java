@@ -0,0 +1,35 @@
+package com.gtcafe.asimov.platform.stock.accesslog;
+
+/**
+ * One preallocated ring buffer slot. Producers copy the fields of a request into it, so
+ * publishing an event allocates nothing; the writer thread formats it later.
+ */
+class AccessEvent {
+    // set by the producer that claimed the slot, made visible by publish()
+    long sequence;
+    private volatile long published = -1;
+
+    AccessEventType type;
+    String level;
+    long timestamp;
+    String thread;
+
+    String requestId;
+    int consumed;
+    int beforeRemaining;
+    int afterRemaining;
+    boolean isAccepted;
+    long processTime;
+    boolean hasReturnedStock;
+
+    // COUNTER only
+    int counter;
+
+    void publish() {
+        published = sequence;
+    }
+
+    boolean isPublished(long sequence) {
+        return published == sequence;
+    }
+}
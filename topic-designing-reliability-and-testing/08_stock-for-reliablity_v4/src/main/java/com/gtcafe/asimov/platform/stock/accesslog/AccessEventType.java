@@ -0,0 +1,30 @@
+package com.gtcafe.asimov.platform.stock.accesslog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Kind of access event. Each kind keeps the "class" value of the class that produces it and
+ * writes to its own json logger (see logback-spring.xml), so the files and their fields are unchanged.
+ */
+public enum AccessEventType {
+    REQUEST("com.gtcafe.asimov.platform.stock.domain.StockService", "request"),
+    CONSUMER("com.gtcafe.asimov.platform.stock.domain.StockConsumer", "consumer"),
+    COUNTER("com.gtcafe.asimov.platform.stock.domain.StockScheduledService", "counter");
+
+    private final String source;
+    private final Logger jsonLogger;
+
+    AccessEventType(String source, String name) {
+        this.source = source;
+        this.jsonLogger = LoggerFactory.getLogger("com.gtcafe.asimov.platform.stock.accesslog." + name + ".json");
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    Logger getJsonLogger() {
+        return jsonLogger;
+    }
+}
@@ -0,0 +1,224 @@
+package com.gtcafe.asimov.platform.stock.accesslog;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.gtcafe.asimov.platform.stock.domain.StockContext;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Access log pipeline that replaces the per request MDC puts.
+ *
+ * Request threads only copy a few fields into a ring buffer slot. The "access-log-writer" thread
+ * formats each event into the same json lines the logback patterns used to produce and hands
+ * the finished line to the existing rolling appenders (pattern %msg%n), so the log files, the
+ * filebeat inputs and the Kibana fields stay as they were.
+ *
+ * Events published while the ring is full are dropped and counted in access.log.dropped.
+ */
+@Component
+@Slf4j
+public class AccessLogWriter implements MeterBinder {
+    public static final int DEFAULT_RING_BUFFER_SIZE = 8192;
+
+    private static final String LEVEL_INFO = "INFO";
+    private static final String LEVEL_ERROR = "ERROR";
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final DateTimeFormatter SECOND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.");
+    private static final DateTimeFormatter OFFSET_FORMAT = DateTimeFormatter.ofPattern("XXX");
+
+    private final AccessEventRingBuffer ringBuffer;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    // writer thread only
+    private final StringBuilder line = new StringBuilder(512);
+    private final ZoneId zone = ZoneId.systemDefault();
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedSecondText;
+    private String cachedOffsetText;
+
+    public AccessLogWriter(@Value("${access-log.ring-buffer-size:" + DEFAULT_RING_BUFFER_SIZE + "}") int ringBufferSize) {
+        this.ringBuffer = new AccessEventRingBuffer(ringBufferSize);
+        this.writer = new Thread(this::run, "access-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public void request(StockContext context, boolean error) {
+        publish(AccessEventType.REQUEST, error ? LEVEL_ERROR : LEVEL_INFO, context);
+    }
+
+    public void consumer(StockContext context) {
+        publish(AccessEventType.CONSUMER, LEVEL_INFO, context);
+    }
+
+    public void counter(int remaining) {
+        AccessEvent event = claim(AccessEventType.COUNTER, LEVEL_INFO);
+        if (event == null) {
+            return;
+        }
+        event.counter = remaining;
+        event.publish();
+    }
+
+    private void publish(AccessEventType type, String level, StockContext context) {
+        AccessEvent event = claim(type, level);
+        if (event == null) {
+            return;
+        }
+        event.requestId = context.getRequestId();
+        event.consumed = context.getConsumed();
+        event.beforeRemaining = context.getBeforeRemaining();
+        event.afterRemaining = context.getAfterRemaining();
+        event.isAccepted = context.isAccepted();
+        event.processTime = context.getProcessTime();
+        event.hasReturnedStock = context.isHasReturnedStock();
+        event.publish();
+    }
+
+    private AccessEvent claim(AccessEventType type, String level) {
+        AccessEvent event = ringBuffer.claim();
+        if (event == null) {
+            dropped.increment();
+            return null;
+        }
+        published.increment();
+        event.type = type;
+        event.level = level;
+        event.timestamp = System.currentTimeMillis();
+        event.thread = Thread.currentThread().getName();
+        return event;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        for (;;) {
+            AccessEvent event = ringBuffer.peek();
+            if (event == null) {
+                // drain what was published before shutdown, then stop
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+
+            try {
+                write(event);
+            } catch (RuntimeException e) {
+                log.error("failed to write access event", e);
+            } finally {
+                ringBuffer.release(event);
+            }
+        }
+    }
+
+    private void write(AccessEvent event) {
+        AccessEventType type = event.type;
+        if (!type.getJsonLogger().isInfoEnabled()) {
+            return;
+        }
+
+        line.setLength(0);
+        line.append("{ \"@timestamp\": \"");
+        appendTimestamp(event.timestamp);
+        line.append("\", \"app\": \"asimov\", \"module\": \"stock\"")
+            .append(", \"class\": \"").append(type.getSource())
+            .append("\", \"thread\": \"").append(event.thread)
+            .append("\", \"level\": \"").append(event.level)
+            .append("\", \"stock\": ");
+        if (type == AccessEventType.COUNTER) {
+            // ..., "stock": <counter> }
+            line.append(event.counter).append(" }");
+        } else {
+            // ..., "stock": { "requestId": "..", ... } }
+            line.append("{ \"requestId\": \"");
+            appendEscaped(event.requestId);
+            line.append("\", \"jmThreadHame\": \"\"")
+                .append(", \"consumed\": ").append(event.consumed)
+                .append(", \"beforeRemaining\": ").append(event.beforeRemaining)
+                .append(", \"afterRemaining\": ").append(event.afterRemaining)
+                .append(", \"isAccepted\": ").append(event.isAccepted)
+                .append(", \"processTime\": ").append(event.processTime)
+                .append(", \"hasReturnedStock\": ").append(event.hasReturnedStock)
+                .append(" } }");
+        }
+        type.getJsonLogger().info(line.toString());
+    }
+
+    // same text as logback %d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX}, formatted once per second
+    private void appendTimestamp(long millis) {
+        long second = Math.floorDiv(millis, 1000);
+        if (second != cachedSecond) {
+            ZonedDateTime time = Instant.ofEpochSecond(second).atZone(zone);
+            cachedSecondText = SECOND_FORMAT.format(time);
+            cachedOffsetText = OFFSET_FORMAT.format(time);
+            cachedSecond = second;
+        }
+
+        int millisOfSecond = Math.floorMod(millis, 1000);
+        line.append(cachedSecondText);
+        if (millisOfSecond < 100) {
+            line.append('0');
+        }
+        if (millisOfSecond < 10) {
+            line.append('0');
+        }
+        line.append(millisOfSecond).append(cachedOffsetText);
+    }
+
+    // request ids come from a header, keep them from breaking the json line
+    private void appendEscaped(String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\');
+            }
+            if (c >= 0x20) {
+                line.append(c);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("access.log.published", published, LongAdder::sum)
+            .description("access events put in the ring buffer")
+            .register(registry);
+        FunctionCounter.builder("access.log.dropped", dropped, LongAdder::sum)
+            .description("access events dropped because the ring buffer was full")
+            .register(registry);
+        Gauge.builder("access.log.backlog", ringBuffer, AccessEventRingBuffer::backlog)
+            .description("access events waiting for the writer thread")
+            .register(registry);
+        Gauge.builder("access.log.capacity", ringBuffer, AccessEventRingBuffer::capacity)
+            .register(registry);
+    }
+}
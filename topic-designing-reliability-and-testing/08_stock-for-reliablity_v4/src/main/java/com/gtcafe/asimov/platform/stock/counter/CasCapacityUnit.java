@@ -0,0 +1,139 @@
+package com.gtcafe.asimov.platform.stock.counter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.gtcafe.asimov.platform.stock.counter.excpetion.CapacityInsufficientException;
+import com.gtcafe.asimov.platform.stock.counter.excpetion.CapacityResumingException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Lock-free capacity unit: consume/resume are compare-and-set loops on one AtomicInteger, and
+ * getRemaining() is a single volatile read (wait-free).
+ *
+ * consume() retries at most maxRetries times and then rejects with CapacityInsufficientException,
+ * so callers are never stuck spinning behind a hot counter. resume() keeps retrying until it wins,
+ * because dropping returned units would leak capacity; some thread always makes progress, so the
+ * loop is still lock-free.
+ *
+ * Not a @Service: select it in Main#capacityUnit() so only the unit in use binds its metrics.
+ */
+public class CasCapacityUnit implements ICapacityUnit, MeterBinder {
+    public static final int DEFAULT_MAX_RETRIES = 64;
+
+    private final int maxCapacityUnit;
+    private final int maxRetries;
+    private final AtomicInteger capacityUnit;
+
+    private final LongAdder casFailures = new LongAdder();
+    private final LongAdder contendedOperations = new LongAdder();
+    private final LongAdder retryExhausted = new LongAdder();
+    private final LongAdder insufficient = new LongAdder();
+
+    public CasCapacityUnit() {
+        this(DEFAULT_MAX_CAPACITY_UNIT, DEFAULT_MAX_RETRIES);
+    }
+
+    public CasCapacityUnit(int maxCapacityUnit, int maxRetries) {
+        this.maxCapacityUnit = maxCapacityUnit;
+        this.maxRetries = maxRetries;
+        this.capacityUnit = new AtomicInteger(maxCapacityUnit);
+    }
+
+    @Override
+    public int getRemaining() {
+        return capacityUnit.get();
+    }
+
+    @Override
+    public void reset() {
+        capacityUnit.set(maxCapacityUnit);
+    }
+
+    @Override
+    public void consume(int value) throws CapacityInsufficientException {
+        for (int attempt = 0; ; attempt++) {
+            int current = capacityUnit.get();
+            if (value > current) {
+                insufficient.increment();
+                throw new CapacityInsufficientException("capacity unit is insufficient: required=" + value + ", current=" + current);
+            }
+            if (capacityUnit.compareAndSet(current, current - value)) {
+                if (attempt > 0) {
+                    contendedOperations.increment();
+                }
+                return;
+            }
+
+            casFailures.increment();
+            if (attempt >= maxRetries) {
+                retryExhausted.increment();
+                throw new CapacityInsufficientException("capacity unit is contended: required=" + value + ", retries=" + attempt);
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public void resume(int value) throws CapacityResumingException {
+        for (int attempt = 0; ; attempt++) {
+            int current = capacityUnit.get();
+            int resumingValue = current + value;
+            if (resumingValue > maxCapacityUnit) {
+                throw new CapacityResumingException("unexpected resuming value: resuming value=" + resumingValue + ", MAX=" + maxCapacityUnit);
+            }
+            if (capacityUnit.compareAndSet(current, resumingValue)) {
+                if (attempt > 0) {
+                    contendedOperations.increment();
+                }
+                return;
+            }
+
+            casFailures.increment();
+            Thread.onSpinWait();
+        }
+    }
+
+    public long getCasFailures() {
+        return casFailures.sum();
+    }
+
+    public long getContendedOperations() {
+        return contendedOperations.sum();
+    }
+
+    public long getRetryExhausted() {
+        return retryExhausted.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("capacity.unit.remaining", this, CasCapacityUnit::getRemaining)
+            .tag("impl", "cas")
+            .register(registry);
+        FunctionCounter.builder("capacity.unit.cas.failures", casFailures, LongAdder::sum)
+            .description("compare-and-set attempts that lost a race")
+            .tag("impl", "cas")
+            .register(registry);
+        FunctionCounter.builder("capacity.unit.contended", contendedOperations, LongAdder::sum)
+            .description("consume/resume calls that needed more than one attempt")
+            .tag("impl", "cas")
+            .register(registry);
+        FunctionCounter.builder("capacity.unit.rejected", retryExhausted, LongAdder::sum)
+            .tag("impl", "cas")
+            .tag("reason", "contended")
+            .register(registry);
+        FunctionCounter.builder("capacity.unit.rejected", insufficient, LongAdder::sum)
+            .tag("impl", "cas")
+            .tag("reason", "insufficient")
+            .register(registry);
+    }
+
+    public String toString() {
+        return "CasCapacityUnit: capacityUnit=" + capacityUnit.get() + ", casFailures=" + casFailures.sum();
+    }
+}
@@ -7,7 +7,17 @@ import com.gtcafe.asimov.platform.stock.counter.excpetion.CapacityResumingExcept
 
 @Service
 public class NolockCapacityUnit implements ICapacityUnit {
-    private int capacityUnit = DEFAULT_MAX_CAPACITY_UNIT;
+    private final int maxCapacityUnit;
+    private int capacityUnit;
+
+    public NolockCapacityUnit() {
+        this(DEFAULT_MAX_CAPACITY_UNIT);
+    }
+
+    public NolockCapacityUnit(int maxCapacityUnit) {
+        this.maxCapacityUnit = maxCapacityUnit;
+        this.capacityUnit = maxCapacityUnit;
+    }
 
     @Override
     public int getRemaining() {
@@ -16,7 +26,7 @@ public class NolockCapacityUnit implements ICapacityUnit {
 
     @Override
     public void reset() {
-        capacityUnit = DEFAULT_MAX_CAPACITY_UNIT;
+        capacityUnit = maxCapacityUnit;
     }
 
     @Override
@@ -31,8 +41,8 @@ public class NolockCapacityUnit implements ICapacityUnit {
     public void resume(int value) throws CapacityResumingException {
         int resumingValue = (value + capacityUnit) ;
 
-        if ( resumingValue > DEFAULT_MAX_CAPACITY_UNIT) {
-            throw new CapacityResumingException("unexpected resuming value: resuming value=" + resumingValue + ", MAX=" + DEFAULT_MAX_CAPACITY_UNIT);
+        if ( resumingValue > maxCapacityUnit) {
+            throw new CapacityResumingException("unexpected resuming value: resuming value=" + resumingValue + ", MAX=" + maxCapacityUnit);
         }
         capacityUnit += value;
     }
@@ -12,9 +12,20 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @Slf4j
 public class ReentrantCapacityUnit implements ICapacityUnit {
-    private int capacityUnit = DEFAULT_MAX_CAPACITY_UNIT;
+    private final int maxCapacityUnit;
+    // volatile: getRemaining() reads without taking the lock
+    private volatile int capacityUnit;
     private ReentrantLock locker = new ReentrantLock();
 
+    public ReentrantCapacityUnit() {
+        this(DEFAULT_MAX_CAPACITY_UNIT);
+    }
+
+    public ReentrantCapacityUnit(int maxCapacityUnit) {
+        this.maxCapacityUnit = maxCapacityUnit;
+        this.capacityUnit = maxCapacityUnit;
+    }
+
     @Override
     public int getRemaining() {
         return capacityUnit;
@@ -22,7 +33,7 @@ public class ReentrantCapacityUnit implements ICapacityUnit {
 
     @Override
     public void reset() {
-        capacityUnit = DEFAULT_MAX_CAPACITY_UNIT;
+        capacityUnit = maxCapacityUnit;
     }
 
     @Override
@@ -48,9 +59,9 @@ public class ReentrantCapacityUnit implements ICapacityUnit {
 
         int resumingValue = (value + capacityUnit) ;
 
-        if ( resumingValue > DEFAULT_MAX_CAPACITY_UNIT) {
+        if ( resumingValue > maxCapacityUnit) {
             locker.unlock();    // free the lock before throwing exception, to avoid deadlock
-            throw new CapacityResumingException("unexpected resuming value: resuming value=" + resumingValue + ", MAX=" + DEFAULT_MAX_CAPACITY_UNIT);
+            throw new CapacityResumingException("unexpected resuming value: resuming value=" + resumingValue + ", MAX=" + maxCapacityUnit);
         }
 
         try {
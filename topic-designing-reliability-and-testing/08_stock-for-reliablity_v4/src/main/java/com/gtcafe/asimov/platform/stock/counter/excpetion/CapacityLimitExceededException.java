@@ -0,0 +1,16 @@
+package com.gtcafe.asimov.platform.stock.counter.excpetion;
+
+import com.gtcafe.asimov.platform.stock.counter.limit.RejectReason;
+
+public class CapacityLimitExceededException extends CapacityInsufficientException {
+    private final RejectReason reason;
+
+    public CapacityLimitExceededException(String message, RejectReason reason) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public RejectReason getReason() {
+        return reason;
+    }
+}
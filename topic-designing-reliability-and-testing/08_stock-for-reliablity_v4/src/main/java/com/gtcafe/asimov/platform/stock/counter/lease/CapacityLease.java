@@ -0,0 +1,75 @@
+package com.gtcafe.asimov.platform.stock.counter.lease;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Units taken from an ICapacityUnit until a deadline. The lease is released exactly once, either
+ * when the deadline passes or when CapacityLeaseManager forces it after it was detected as leaked.
+ */
+public class CapacityLease {
+
+    private final long id;
+    private final int units;
+    private final long acquiredAtNanos;
+    private final long deadlineNanos;
+    private final LeaseListener listener;
+
+    private final AtomicBoolean released = new AtomicBoolean();
+    private final AtomicBoolean leakReported = new AtomicBoolean();
+    private volatile boolean returned;
+
+    CapacityLease(long id, int units, long acquiredAtNanos, long deadlineNanos, LeaseListener listener) {
+        this.id = id;
+        this.units = units;
+        this.acquiredAtNanos = acquiredAtNanos;
+        this.deadlineNanos = deadlineNanos;
+        this.listener = listener;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getUnits() {
+        return units;
+    }
+
+    public long getAcquiredAtNanos() {
+        return acquiredAtNanos;
+    }
+
+    public long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    public boolean isReleased() {
+        return released.get();
+    }
+
+    /**
+     * @return true if the units went back to the capacity unit when the lease was released
+     */
+    public boolean isReturned() {
+        return returned;
+    }
+
+    LeaseListener getListener() {
+        return listener;
+    }
+
+    boolean markReleased() {
+        return released.compareAndSet(false, true);
+    }
+
+    boolean markLeakReported() {
+        return leakReported.compareAndSet(false, true);
+    }
+
+    void setReturned(boolean returned) {
+        this.returned = returned;
+    }
+
+    public String toString() {
+        return "CapacityLease: id=" + id + ", units=" + units + ", released=" + released.get() + ", returned=" + returned;
+    }
+}
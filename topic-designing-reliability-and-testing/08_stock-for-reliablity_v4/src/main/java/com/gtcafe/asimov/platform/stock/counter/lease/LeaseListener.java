@@ -0,0 +1,11 @@
+package com.gtcafe.asimov.platform.stock.counter.lease;
+
+@FunctionalInterface
+public interface LeaseListener {
+
+    /**
+     * Called once after the lease units were resumed (or failed to resume, see CapacityLease#isReturned()).
+     * Runs on the scheduler thread, so it must not block.
+     */
+    void onReleased(CapacityLease lease);
+}
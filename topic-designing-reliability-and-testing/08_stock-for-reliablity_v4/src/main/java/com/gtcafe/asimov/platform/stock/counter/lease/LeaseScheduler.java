@@ -0,0 +1,19 @@
+package com.gtcafe.asimov.platform.stock.counter.lease;
+
+/**
+ * Runs a task once a System.nanoTime() deadline has passed. Used to release capacity leases
+ * without parking one thread per lease.
+ */
+public interface LeaseScheduler {
+    String TIMING_WHEEL = "timing-wheel";
+    String VIRTUAL_THREAD = "virtual-thread";
+
+    void schedule(long deadlineNanos, Runnable task);
+
+    /**
+     * @return tasks scheduled but not yet run
+     */
+    int pending();
+
+    void shutdown();
+}
@@ -0,0 +1,168 @@
+package com.gtcafe.asimov.platform.stock.counter.lease;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hierarchical timing wheel driven by one thread.
+ *
+ * Level 0 has wheelSize buckets of one tick each; every higher level covers wheelSize times the
+ * span of the level below. A task is put in the lowest level whose span covers its delay, and is
+ * cascaded down a level each time the wheel reaches its bucket, so adding and firing a task are
+ * O(1) however far out the deadline is. Tasks fire on the tick after their deadline, so they run
+ * up to one tick late, never early.
+ *
+ * schedule() only enqueues; the wheel itself is touched by the ticker thread alone.
+ */
+@Slf4j
+public class TimingWheelLeaseScheduler implements LeaseScheduler {
+    public static final long DEFAULT_TICK_MILLIS = 10;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final int LEVELS = 4;
+
+    private final long tickNanos;
+    private final int wheelSize;
+    private final long startNanos;
+    private final long[] levelSpan = new long[LEVELS];
+    private final List<List<Queue<Entry>>> levels = new ArrayList<>(LEVELS);
+
+    private final Queue<Entry> submissions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread ticker;
+    private volatile boolean running = true;
+
+    // ticks processed so far; only read and written by the ticker thread
+    private long currentTick;
+
+    public TimingWheelLeaseScheduler() {
+        this(DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+    }
+
+    public TimingWheelLeaseScheduler(long tickMillis, int wheelSize) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.wheelSize = wheelSize;
+        long span = 1;
+        for (int level = 0; level < LEVELS; level++) {
+            levelSpan[level] = span;
+            span *= wheelSize;
+
+            List<Queue<Entry>> buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new ArrayDeque<>());
+            }
+            levels.add(buckets);
+        }
+
+        this.startNanos = System.nanoTime();
+        this.ticker = new Thread(this::run, "capacity-lease-wheel");
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+    @Override
+    public void schedule(long deadlineNanos, Runnable task) {
+        if (!running) {
+            throw new IllegalStateException("lease scheduler is shut down");
+        }
+        pending.incrementAndGet();
+        submissions.add(new Entry(deadlineNanos, task));
+    }
+
+    @Override
+    public int pending() {
+        return pending.get();
+    }
+
+    @Override
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(ticker);
+    }
+
+    private void run() {
+        while (running) {
+            long nextTickNanos = startNanos + (currentTick + 1) * tickNanos;
+            long waitNanos = nextTickNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(this, waitNanos);
+                continue;
+            }
+
+            drainSubmissions();
+            // catch up if the thread was descheduled for more than one tick
+            long now = System.nanoTime();
+            while (startNanos + (currentTick + 1) * tickNanos <= now) {
+                advance();
+            }
+        }
+    }
+
+    private void drainSubmissions() {
+        Entry entry;
+        while ((entry = submissions.poll()) != null) {
+            add(entry);
+        }
+    }
+
+    private void advance() {
+        currentTick++;
+        // move higher levels down first, so cascaded tasks due this tick fire below
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if (currentTick % levelSpan[level] == 0) {
+                Queue<Entry> bucket = bucket(level, currentTick);
+                List<Entry> cascaded = new ArrayList<>(bucket);
+                bucket.clear();
+                for (Entry entry : cascaded) {
+                    add(entry);
+                }
+            }
+        }
+
+        Queue<Entry> due = bucket(0, currentTick);
+        Entry entry;
+        while ((entry = due.poll()) != null) {
+            fire(entry);
+        }
+    }
+
+    private void add(Entry entry) {
+        // round up: a task never fires before its deadline
+        long expirationTick = Math.max(0, (entry.deadlineNanos - startNanos + tickNanos - 1) / tickNanos);
+        long delay = expirationTick - currentTick;
+        if (delay <= 0) {
+            fire(entry);
+            return;
+        }
+
+        for (int level = 0; level < LEVELS; level++) {
+            if (delay < levelSpan[level] * wheelSize || level == LEVELS - 1) {
+                bucket(level, expirationTick).add(entry);
+                return;
+            }
+        }
+    }
+
+    private Queue<Entry> bucket(int level, long tick) {
+        return levels.get(level).get((int) ((tick / levelSpan[level]) % wheelSize));
+    }
+
+    private void fire(Entry entry) {
+        pending.decrementAndGet();
+        try {
+            entry.task.run();
+        } catch (RuntimeException e) {
+            log.error("lease expiry task failed", e);
+        }
+    }
+
+    private record Entry(long deadlineNanos, Runnable task) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.gtcafe.asimov.platform.stock.counter.lease;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One virtual thread per lease, parked until the deadline. Cheap to park, but unlike the timing
+ * wheel it still creates a thread per request.
+ *
+ * The project compiles for Java 17, so the executor is looked up reflectively and this scheduler
+ * only works on a Java 21+ runtime.
+ */
+@Slf4j
+public class VirtualThreadLeaseScheduler implements LeaseScheduler {
+
+    private final ExecutorService executor;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public VirtualThreadLeaseScheduler() {
+        try {
+            this.executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("virtual-thread lease scheduler requires Java 21+, running on " + Runtime.version(), e);
+        }
+    }
+
+    @Override
+    public void schedule(long deadlineNanos, Runnable task) {
+        pending.incrementAndGet();
+        executor.execute(() -> {
+            long waitNanos;
+            while ((waitNanos = deadlineNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(waitNanos);
+                if (Thread.currentThread().isInterrupted()) {
+                    pending.decrementAndGet();
+                    return;
+                }
+            }
+            pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("lease expiry task failed", e);
+            }
+        });
+    }
+
+    @Override
+    public int pending() {
+        return pending.get();
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,43 @@
+package com.gtcafe.asimov.platform.stock.counter.limit;
+
+/**
+ * Additive increase / multiplicative decrease.
+ *
+ * A request that took longer than its processing time plus the tolerance, or a request shed while
+ * the capacity unit was exhausted, cuts the limit by backoffRatio. Any other completion adds one unit, but only while at
+ * least half of the limit is in use, so an idle service does not grow its limit without bound.
+ */
+public class AimdLimit implements LimitAlgorithm {
+
+    private final long toleranceNanos;
+    private final double backoffRatio;
+
+    public AimdLimit(long toleranceNanos, double backoffRatio) {
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be in (0, 1): " + backoffRatio);
+        }
+        this.toleranceNanos = toleranceNanos;
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    public String name() {
+        return AIMD;
+    }
+
+    @Override
+    public double onSample(double limit, long expectedNanos, long measuredNanos, int inflight) {
+        if (measuredNanos > expectedNanos + toleranceNanos) {
+            return limit * backoffRatio;
+        }
+        if (inflight * 2 >= limit) {
+            return limit + 1;
+        }
+        return limit;
+    }
+
+    @Override
+    public double onDrop(double limit) {
+        return limit * backoffRatio;
+    }
+}
@@ -0,0 +1,43 @@
+package com.gtcafe.asimov.platform.stock.counter.limit;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * capacity.limit.algorithm: fixed, aimd (default) or gradient.
+ */
+@Configuration
+public class CapacityLimitConfig {
+
+    @Value("${capacity.limit.algorithm:" + LimitAlgorithm.AIMD + "}")
+    private String algorithm;
+
+    // latency above the requested processing time that still counts as "not congested"
+    @Value("${capacity.limit.latency-tolerance-ms:" + AdaptiveCapacityLimiter.DEFAULT_LATENCY_TOLERANCE_MS + "}")
+    private long latencyToleranceMs;
+
+    @Value("${capacity.limit.aimd.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${capacity.limit.gradient.smoothing:0.2}")
+    private double smoothing;
+
+    @Bean
+    public LimitAlgorithm limitAlgorithm() {
+        long toleranceNanos = TimeUnit.MILLISECONDS.toNanos(latencyToleranceMs);
+
+        switch (algorithm) {
+            case LimitAlgorithm.FIXED:
+                return new FixedLimit();
+            case LimitAlgorithm.AIMD:
+                return new AimdLimit(toleranceNanos, backoffRatio);
+            case LimitAlgorithm.GRADIENT:
+                return new GradientLimit(toleranceNanos, smoothing);
+            default:
+                throw new IllegalArgumentException("unknown capacity.limit.algorithm: " + algorithm);
+        }
+    }
+}
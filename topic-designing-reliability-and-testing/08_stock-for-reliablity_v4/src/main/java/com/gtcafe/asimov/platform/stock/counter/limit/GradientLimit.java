@@ -0,0 +1,46 @@
+package com.gtcafe.asimov.platform.stock.counter.limit;
+
+/**
+ * Gradient (Vegas like) limit.
+ *
+ * The no-load latency of a request is its own processing time, so instead of tracking a minimum
+ * RTT the gradient is (expected + tolerance) / measured, clamped to [0.5, 1]. The new limit is
+ * limit * gradient plus sqrt(limit) units of queue headroom, and is blended into the current limit
+ * with the smoothing factor. The limit only grows while at least half of it is in use.
+ */
+public class GradientLimit implements LimitAlgorithm {
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final long toleranceNanos;
+    private final double smoothing;
+
+    public GradientLimit(long toleranceNanos, double smoothing) {
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("smoothing must be in (0, 1]: " + smoothing);
+        }
+        this.toleranceNanos = toleranceNanos;
+        this.smoothing = smoothing;
+    }
+
+    @Override
+    public String name() {
+        return GRADIENT;
+    }
+
+    @Override
+    public double onSample(double limit, long expectedNanos, long measuredNanos, int inflight) {
+        double gradient = (double) (expectedNanos + toleranceNanos) / Math.max(1, measuredNanos);
+        gradient = Math.max(MIN_GRADIENT, Math.min(1.0, gradient));
+
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        if (inflight * 2 < limit) {
+            newLimit = Math.min(newLimit, limit);
+        }
+        return limit * (1 - smoothing) + newLimit * smoothing;
+    }
+
+    @Override
+    public double onDrop(double limit) {
+        return limit;
+    }
+}
@@ -0,0 +1,27 @@
+package com.gtcafe.asimov.platform.stock.counter.limit;
+
+/**
+ * Decides the next concurrency limit (in capacity units) of AdaptiveCapacityLimiter from the
+ * latency of completed requests. Implementations keep no state, the current limit is passed in
+ * and the limiter clamps the result to [min, max].
+ */
+public interface LimitAlgorithm {
+    String FIXED = "fixed";
+    String AIMD = "aimd";
+    String GRADIENT = "gradient";
+
+    String name();
+
+    /**
+     * @param expectedNanos processing time the request asked for
+     * @param measuredNanos queueing delay plus the time the units were actually held
+     * @param inflight      units in flight, including the completed request
+     */
+    double onSample(double limit, long expectedNanos, long measuredNanos, int inflight);
+
+    /**
+     * Called when a queued request is shed because the capacity unit stayed exhausted for the
+     * whole max wait; at most once per released lease.
+     */
+    double onDrop(double limit);
+}
@@ -0,0 +1,23 @@
+package com.gtcafe.asimov.platform.stock.counter.limit;
+
+/**
+ * Why AdaptiveCapacityLimiter turned a request away; the tag value of capacity.limit.rejected.
+ */
+public enum RejectReason {
+    // the concurrency limit was reached
+    LIMIT("limit"),
+    // the limit had room, the capacity unit did not
+    INSUFFICIENT("insufficient"),
+    // too many requests were already waiting
+    QUEUE_FULL("queue-full");
+
+    private final String tag;
+
+    RejectReason(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
@@ -0,0 +1,381 @@
+package com.gtcafe.asimov.platform.stock.counter.redis;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.gtcafe.asimov.platform.stock.counter.ICapacityUnit;
+import com.gtcafe.asimov.platform.stock.counter.excpetion.CapacityInsufficientException;
+import com.gtcafe.asimov.platform.stock.counter.excpetion.CapacityResumingException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Capacity unit shared by every replica through Redis.
+ *
+ * The pool lives in Redis and is only changed by the Lua scripts in resources/scripts, so
+ * consume/resume stay atomic across nodes. To keep Redis off the hot path each node takes a small
+ * allowance (the missing units plus prefetch) and serves requests from it with a local CAS.
+ * Resumed units go back to the allowance; rebalance() returns what is above prefetch (all of it
+ * when the node was idle) and renews the node lease. A node that stops renewing for leaseTtlMillis
+ * has its units reclaimed by the next script call, so a crashed replica does not shrink the pool
+ * for good. When that happens to a live node, the reclaimed units still in use are recorded as a
+ * debt, and resumes pay it off before they refill the allowance, so the node never hands out
+ * units the pool already gave to someone else.
+ *
+ * Fail safe: when Redis can not be reached the node keeps serving from its allowance and then
+ * from a fixed local share of fallbackUnits, so the cluster can over-commit by at most
+ * replicas * fallbackUnits while Redis is down. Redis is probed again after retryMillis.
+ *
+ * getRemaining() is the pool size seen on the last round trip plus the local allowance, so it may
+ * lag behind the other nodes.
+ */
+@Slf4j
+public class RedisCapacityUnit implements ICapacityUnit, MeterBinder {
+    public static final int DEFAULT_PREFETCH = 4;
+
+    private static final int MAX_REFILL_ATTEMPTS = 3;
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ACQUIRE_SCRIPT = script("scripts/capacity-acquire.lua");
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RELEASE_SCRIPT = script("scripts/capacity-release.lua");
+
+    private final StringRedisTemplate redisTemplate;
+    private final List<String> keys;
+    private final String nodeId;
+    private final int maxCapacityUnit;
+    private final int prefetch;
+    private final int fallbackUnits;
+    private final long leaseTtlMillis;
+    private final long retryMillis;
+
+    // units taken from Redis and not handed to a request yet
+    private final AtomicInteger allowance = new AtomicInteger();
+    // units handed to requests, by where they came from
+    private final AtomicInteger redisInUse = new AtomicInteger();
+    private final AtomicInteger fallbackInUse = new AtomicInteger();
+    // units in redisInUse that the pool reclaimed with an expired lease, they are dropped on resume
+    private final AtomicInteger reclaimedDebt = new AtomicInteger();
+
+    private final Object redisLock = new Object();
+    private volatile int lastPoolRemaining;
+    private volatile boolean redisAvailable = true;
+    private volatile long retryAtMillis;
+    private volatile boolean consumedSinceRebalance;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder roundTrips = new LongAdder();
+    private final LongAdder redisFailures = new LongAdder();
+    private final LongAdder fallbackConsumes = new LongAdder();
+    private final LongAdder insufficient = new LongAdder();
+    private final LongAdder unavailable = new LongAdder();
+
+    public RedisCapacityUnit(StringRedisTemplate redisTemplate, String name, String nodeId, int maxCapacityUnit,
+            int prefetch, int fallbackUnits, long leaseTtlMillis, long retryMillis) {
+        this.redisTemplate = redisTemplate;
+        // one hash tag, so the three keys land in the same slot on a Redis cluster
+        this.keys = List.of("capacity:{" + name + "}:remaining", "capacity:{" + name + "}:held", "capacity:{" + name + "}:nodes");
+        this.nodeId = nodeId;
+        this.maxCapacityUnit = maxCapacityUnit;
+        this.prefetch = prefetch;
+        this.fallbackUnits = fallbackUnits;
+        this.leaseTtlMillis = leaseTtlMillis;
+        this.retryMillis = retryMillis;
+        this.lastPoolRemaining = maxCapacityUnit;
+    }
+
+    @Override
+    public int getRemaining() {
+        if (redisAvailable) {
+            return lastPoolRemaining + allowance.get();
+        }
+        return allowance.get() + fallbackUnits - fallbackInUse.get();
+    }
+
+    @Override
+    public void reset() {
+        synchronized (redisLock) {
+            try {
+                redisTemplate.delete(keys);
+                markRedisUp();
+            } catch (DataAccessException e) {
+                markRedisDown(e);
+            }
+            allowance.set(0);
+            redisInUse.set(0);
+            fallbackInUse.set(0);
+            reclaimedDebt.set(0);
+            lastPoolRemaining = maxCapacityUnit;
+        }
+    }
+
+    @Override
+    public void consume(int requiredUnit) throws CapacityInsufficientException {
+        if (requiredUnit <= 0) {
+            return;
+        }
+        consumedSinceRebalance = true;
+
+        if (takeAllowance(requiredUnit)) {
+            localHits.increment();
+            return;
+        }
+
+        if (isRedisUsable()) {
+            try {
+                if (refillAndTake(requiredUnit)) {
+                    return;
+                }
+                insufficient.increment();
+                throw new CapacityInsufficientException("capacity unit is insufficient: required=" + requiredUnit + ", current=" + getRemaining());
+            } catch (DataAccessException e) {
+                markRedisDown(e);
+            }
+        }
+        consumeFallback(requiredUnit);
+    }
+
+    @Override
+    public void resume(int resumedUnit) throws CapacityResumingException {
+        if (resumedUnit <= 0) {
+            return;
+        }
+
+        // free the fallback share first, it is the scarcer one while Redis is down
+        int fromFallback = takeUpTo(fallbackInUse, resumedUnit);
+        int fromRedis = resumedUnit - fromFallback;
+        if (fromRedis > 0 && !takeExactly(redisInUse, fromRedis)) {
+            fallbackInUse.addAndGet(fromFallback);
+            throw new CapacityResumingException("unexpected resuming value: resuming value=" + resumedUnit + ", in use=" + (redisInUse.get() + fallbackInUse.get()));
+        }
+        // units the pool already reclaimed are not ours to hand out again
+        int reclaimed = takeUpTo(reclaimedDebt, fromRedis);
+        allowance.addAndGet(fromRedis - reclaimed);
+    }
+
+    /**
+     * Returns the allowance above prefetch to the pool and renews the node lease. Also probes
+     * Redis again once retryMillis has passed after a failure.
+     */
+    @Scheduled(fixedDelayString = "${capacity.redis.rebalance-ms:500}")
+    public void rebalance() {
+        if (!isRedisUsable()) {
+            return;
+        }
+
+        synchronized (redisLock) {
+            int keep = consumedSinceRebalance ? prefetch : 0;
+            consumedSinceRebalance = false;
+            int excess = takeUpTo(allowance, Math.max(0, allowance.get() - keep));
+            try {
+                long[] result = execute(RELEASE_SCRIPT, nodeId, excess, leaseTtlMillis);
+                lastPoolRemaining = (int) result[1];
+                markRedisUp();
+                reconcile((int) result[2]);
+            } catch (DataAccessException e) {
+                // keep the units; if the script did run, the next heartbeat trims them
+                allowance.addAndGet(excess);
+                markRedisDown(e);
+            }
+        }
+    }
+
+    /**
+     * Gives the whole allowance back on shutdown instead of waiting for the lease to expire.
+     */
+    public void shutdown() {
+        synchronized (redisLock) {
+            int units = takeUpTo(allowance, allowance.get());
+            if (units == 0) {
+                return;
+            }
+            try {
+                execute(RELEASE_SCRIPT, nodeId, units, leaseTtlMillis);
+            } catch (DataAccessException e) {
+                log.warn("failed to return {} capacity units on shutdown, the node lease will expire instead", units, e);
+            }
+        }
+    }
+
+    private boolean refillAndTake(int requiredUnit) {
+        synchronized (redisLock) {
+            for (int attempt = 0; attempt < MAX_REFILL_ATTEMPTS; attempt++) {
+                // another thread may have refilled while we waited for the lock
+                if (takeAllowance(requiredUnit)) {
+                    return true;
+                }
+
+                int missing = requiredUnit - allowance.get();
+                long[] result = execute(ACQUIRE_SCRIPT, nodeId, missing + prefetch, missing, maxCapacityUnit, leaseTtlMillis);
+                lastPoolRemaining = (int) result[1];
+                markRedisUp();
+                allowance.addAndGet((int) result[0]);
+                reconcile((int) result[2]);
+                if (result[0] == 0) {
+                    return false;
+                }
+            }
+            return takeAllowance(requiredUnit);
+        }
+    }
+
+    /**
+     * Matches the local books to the units Redis says this node holds. The node holds
+     * allowance + redisInUse - reclaimedDebt; when the lease expired while we were cut off, the
+     * missing units are dropped from the allowance first and the rest, which requests are still
+     * using, becomes debt. Called with redisLock held.
+     */
+    private void reconcile(int held) {
+        int missing = allowance.get() + redisInUse.get() - reclaimedDebt.get() - held;
+        if (missing > 0) {
+            int dropped = takeUpTo(allowance, missing);
+            reclaimedDebt.addAndGet(missing - dropped);
+            log.warn("capacity lease of node {} was reclaimed, dropped {} local units, {} in use units are owed", nodeId, dropped, missing - dropped);
+        }
+
+        // a resume that raced with the lines above may have refilled the allowance with units we
+        // now owe; the debt can never exceed what requests still hold
+        int surplus = reclaimedDebt.get() - redisInUse.get();
+        if (surplus > 0) {
+            reclaimedDebt.addAndGet(-takeUpTo(allowance, surplus));
+        }
+    }
+
+    private boolean takeAllowance(int requiredUnit) {
+        if (!takeExactly(allowance, requiredUnit)) {
+            return false;
+        }
+        redisInUse.addAndGet(requiredUnit);
+        return true;
+    }
+
+    private void consumeFallback(int requiredUnit) throws CapacityInsufficientException {
+        for (;;) {
+            int current = fallbackInUse.get();
+            if (current + requiredUnit > fallbackUnits) {
+                unavailable.increment();
+                throw new CapacityInsufficientException("capacity unit is unavailable: redis is down and the local share is used up, required=" + requiredUnit + ", fallbackUnits=" + fallbackUnits);
+            }
+            if (fallbackInUse.compareAndSet(current, current + requiredUnit)) {
+                fallbackConsumes.increment();
+                return;
+            }
+        }
+    }
+
+    private boolean isRedisUsable() {
+        return redisAvailable || System.currentTimeMillis() >= retryAtMillis;
+    }
+
+    private void markRedisUp() {
+        if (!redisAvailable) {
+            log.info("redis capacity pool is reachable again, node={}", nodeId);
+            redisAvailable = true;
+        }
+    }
+
+    private void markRedisDown(DataAccessException e) {
+        redisFailures.increment();
+        retryAtMillis = System.currentTimeMillis() + retryMillis;
+        if (redisAvailable) {
+            log.warn("redis capacity pool is unreachable, falling back to {} local units, node={}", fallbackUnits, nodeId, e);
+            redisAvailable = false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private long[] execute(@SuppressWarnings("rawtypes") RedisScript<List> script, Object... args) {
+        String[] argv = new String[args.length];
+        for (int i = 0; i < args.length; i++) {
+            argv[i] = String.valueOf(args[i]);
+        }
+
+        roundTrips.increment();
+        List<Long> result = redisTemplate.execute(script, keys, (Object[]) argv);
+        return new long[] { result.get(0), result.get(1), result.get(2) };
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static RedisScript<List> script(String location) {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(location));
+        script.setResultType(List.class);
+        return script;
+    }
+
+    private static boolean takeExactly(AtomicInteger counter, int units) {
+        for (;;) {
+            int current = counter.get();
+            if (current < units) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current - units)) {
+                return true;
+            }
+        }
+    }
+
+    private static int takeUpTo(AtomicInteger counter, int units) {
+        for (;;) {
+            int current = counter.get();
+            int taken = Math.min(current, units);
+            if (taken <= 0) {
+                return 0;
+            }
+            if (counter.compareAndSet(current, current - taken)) {
+                return taken;
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("capacity.unit.remaining", this, RedisCapacityUnit::getRemaining)
+            .tag("impl", "redis")
+            .register(registry);
+        Gauge.builder("capacity.unit.redis.allowance", allowance, AtomicInteger::get)
+            .description("units prefetched from the shared pool and not handed out yet")
+            .register(registry);
+        Gauge.builder("capacity.unit.redis.available", this, unit -> unit.redisAvailable ? 1 : 0)
+            .register(registry);
+        Gauge.builder("capacity.unit.redis.reclaimed.debt", reclaimedDebt, AtomicInteger::get)
+            .description("in use units the pool reclaimed after a lease expiry, dropped when they are resumed")
+            .register(registry);
+        Gauge.builder("capacity.unit.redis.fallback.in.use", fallbackInUse, AtomicInteger::get)
+            .description("units handed out from the local share while redis was down")
+            .register(registry);
+        FunctionCounter.builder("capacity.unit.redis.local.hits", localHits, LongAdder::sum)
+            .description("consume calls served from the allowance without a round trip")
+            .register(registry);
+        FunctionCounter.builder("capacity.unit.redis.round.trips", roundTrips, LongAdder::sum)
+            .register(registry);
+        FunctionCounter.builder("capacity.unit.redis.failures", redisFailures, LongAdder::sum)
+            .register(registry);
+        FunctionCounter.builder("capacity.unit.redis.fallback.consumes", fallbackConsumes, LongAdder::sum)
+            .register(registry);
+        FunctionCounter.builder("capacity.unit.rejected", insufficient, LongAdder::sum)
+            .tag("impl", "redis")
+            .tag("reason", "insufficient")
+            .register(registry);
+        FunctionCounter.builder("capacity.unit.rejected", unavailable, LongAdder::sum)
+            .tag("impl", "redis")
+            .tag("reason", "unavailable")
+            .register(registry);
+    }
+
+    public String toString() {
+        return "RedisCapacityUnit: totalUnit=" + getRemaining() + ", allowance=" + allowance.get() + ", redisAvailable=" + redisAvailable;
+    }
+}
@@ -1,48 +1,38 @@
 package com.gtcafe.asimov.platform.stock.domain;
 
-import com.gtcafe.asimov.platform.stock.counter.ICapacityUnit;
-import com.gtcafe.asimov.platform.stock.counter.excpetion.CapacityResumingException;
+import com.gtcafe.asimov.platform.stock.accesslog.AccessLogWriter;
+import com.gtcafe.asimov.platform.stock.counter.lease.CapacityLease;
+import com.gtcafe.asimov.platform.stock.counter.lease.LeaseListener;
 
-import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-@NoArgsConstructor
+/**
+ * Completes a request once its capacity lease is released. Runs on the lease scheduler thread,
+ * which has already waited out the processing time and resumed the capacity.
+ */
 @Slf4j
-public class StockConsumer extends Thread {
+public class StockConsumer implements LeaseListener {
 
-    private ICapacityUnit capacityUnit;
-    private StockContext context;
+    private final StockContext context;
+    private final AccessLogWriter accessLog;
 
-    public StockConsumer(ICapacityUnit capacityUnit, StockContext context) {
-        this.capacityUnit = capacityUnit;
+    public StockConsumer(StockContext context, AccessLogWriter accessLog) {
         this.context = context;
+        this.accessLog = accessLog;
     }
 
     @Override
-    public void run() {
-        try {
-            // simulate processing time
-            Thread.sleep(context.getProcessTime());
-
-            // resume the capacity counter
-            capacityUnit.resume(context.getConsumed());
-
+    public void onReleased(CapacityLease lease) {
+        if (lease.isReturned()) {
             // 歸還 capacity
             context.setHasReturnedStock(true);
-
-        } catch (CapacityResumingException e) {
-            // Assert.isTrue(isAlive(), null);
+        } else {
             context.setHasReturnedStock(false);
             context.setAccepted(false);
-
-            // e.printStackTrace();
-
-        } catch (InterruptedException e) {
-            e.printStackTrace();
         }
 
         // write access log
-        StockContext.updateContext(context);
-        log.info("StockConsumer: {}", context);
+        accessLog.consumer(context);
+        log.debug("StockConsumer: {}", context);
     }
 }
@@ -1,7 +1,5 @@
 package com.gtcafe.asimov.platform.stock.domain;
 
-import org.slf4j.MDC;
-
 import lombok.Data;
 import lombok.ToString;
 
@@ -16,14 +14,4 @@ public class StockContext  {
     private boolean isAccepted;
     private long processTime;
     private boolean hasReturnedStock;
-
-    public static void updateContext(StockContext context) {
-        MDC.put("X-Request-Id", context.getRequestId());
-        MDC.put("stock.consumed", Integer.toString(context.getConsumed()));
-        MDC.put("stock.remaining.before", Integer.toString(context.getBeforeRemaining()));
-        MDC.put("stock.remaining.after", Integer.toString(context.getAfterRemaining()));
-        MDC.put("stock.isAccepted",Boolean.toString(context.isAccepted()));
-        MDC.put("stock.processTime", Long.toString(context.getProcessTime()));
-        MDC.put("stock.hasReturnedStock", Boolean.toString(context.isHasReturnedStock()));
-    }
-}
\ No newline at end of file
+}
@@ -1,10 +1,10 @@
 package com.gtcafe.asimov.platform.stock.domain;
 
-import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.gtcafe.asimov.platform.stock.accesslog.AccessLogWriter;
 import com.gtcafe.asimov.platform.stock.counter.ICapacityUnit;
 
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +16,9 @@ public class StockScheduledService {
     @Autowired
     private ICapacityUnit capacityUnit;
 
+    @Autowired
+    private AccessLogWriter accessLog;
+
     // 固定每 1000 毫秒執行一次
     @Scheduled(fixedRate = 1000) 
     public void executeTaskEverySecond() {
@@ -24,7 +27,7 @@ public class StockScheduledService {
 
     // log capacity unit every second
     private void performTask() {
-        MDC.put("stock.counter", Integer.toString(capacityUnit.getRemaining()));
+        accessLog.counter(capacityUnit.getRemaining());
         log.info(capacityUnit.toString());
     }
 }
@@ -3,8 +3,10 @@ package com.gtcafe.asimov.platform.stock.domain;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.gtcafe.asimov.platform.stock.accesslog.AccessLogWriter;
 import com.gtcafe.asimov.platform.stock.counter.ICapacityUnit;
 import com.gtcafe.asimov.platform.stock.counter.excpetion.CapacityInsufficientException;
+import com.gtcafe.asimov.platform.stock.counter.limit.AdaptiveCapacityLimiter;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -15,28 +17,31 @@ public class StockService {
     @Autowired
     private ICapacityUnit capacityUnit;
 
+    @Autowired
+    private AdaptiveCapacityLimiter limiter;
+
+    @Autowired
+    private AccessLogWriter accessLog;
+
     public void acquire(StockContext context) {
         try {
             context.setBeforeRemaining(capacityUnit.getRemaining());
 
-            capacityUnit.consume(context.getConsumed());
+            // waits briefly for room under the adaptive limit; the lease gives the capacity back after the processing time
+            limiter.acquire(context.getConsumed(), context.getProcessTime(), new StockConsumer(context, accessLog));
 
             context.setAccepted(true);
             context.setAfterRemaining(capacityUnit.getRemaining());
 
-            StockContext.updateContext(context);
-            log.info("StockRequest: {}", context);
+            accessLog.request(context, false);
+            log.debug("StockRequest: {}", context);
 
         } catch (CapacityInsufficientException e) {
             context.setAccepted(false);
             context.setAfterRemaining(capacityUnit.getRemaining());
 
-            StockContext.updateContext(context);
-            log.error("StockInsufficientException: {}", context);
-            return;
+            accessLog.request(context, true);
+            log.debug("StockInsufficientException: {}", context);
         }
-
-        StockConsumer consumer = new StockConsumer(capacityUnit, context);
-        consumer.start();
     }
 }
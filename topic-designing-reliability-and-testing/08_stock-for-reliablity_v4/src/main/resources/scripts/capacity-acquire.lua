@@ -0,0 +1,56 @@
+-- Take up to ARGV[2] units from the shared pool for one node, but only if at least ARGV[3] are left.
+--
+-- KEYS[1]  remaining units (string)
+-- KEYS[2]  units held by each node (hash: node -> units)
+-- KEYS[3]  lease expiry of each node (zset: node -> epoch ms)
+-- ARGV[1]  node id
+-- ARGV[2]  wanted units
+-- ARGV[3]  minimum units, grant nothing below this
+-- ARGV[4]  max capacity unit, used when the pool does not exist yet
+-- ARGV[5]  lease ttl in ms
+--
+-- returns { granted, remaining, held by node }
+if redis.replicate_commands then
+    redis.replicate_commands()
+end
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+-- nodes that stopped renewing their lease give their units back to the pool
+for _, node in ipairs(redis.call('ZRANGEBYSCORE', KEYS[3], '-inf', now)) do
+    local held = tonumber(redis.call('HGET', KEYS[2], node) or '0')
+    if held > 0 then
+        redis.call('INCRBY', KEYS[1], held)
+    end
+    redis.call('HDEL', KEYS[2], node)
+    redis.call('ZREM', KEYS[3], node)
+end
+
+local remaining = redis.call('GET', KEYS[1])
+if remaining then
+    remaining = tonumber(remaining)
+else
+    local held = 0
+    for _, units in ipairs(redis.call('HVALS', KEYS[2])) do
+        held = held + tonumber(units)
+    end
+    remaining = math.max(0, tonumber(ARGV[4]) - held)
+    redis.call('SET', KEYS[1], remaining)
+end
+
+local granted = 0
+if remaining >= tonumber(ARGV[3]) then
+    granted = math.min(tonumber(ARGV[2]), remaining)
+end
+
+local held = tonumber(redis.call('HGET', KEYS[2], ARGV[1]) or '0')
+if granted > 0 then
+    remaining = redis.call('DECRBY', KEYS[1], granted)
+    held = redis.call('HINCRBY', KEYS[2], ARGV[1], granted)
+end
+if held > 0 then
+    redis.call('ZADD', KEYS[3], now + tonumber(ARGV[5]), ARGV[1])
+end
+
+return { granted, remaining, held }
@@ -0,0 +1,43 @@
+-- Give ARGV[2] units of one node back to the shared pool and renew the node lease.
+-- Called with 0 units it is a plain heartbeat.
+--
+-- KEYS[1]  remaining units (string)
+-- KEYS[2]  units held by each node (hash: node -> units)
+-- KEYS[3]  lease expiry of each node (zset: node -> epoch ms)
+-- ARGV[1]  node id
+-- ARGV[2]  units to give back
+-- ARGV[3]  lease ttl in ms
+--
+-- returns { released, remaining, held by node }
+-- released is less than ARGV[2] when the node lease had expired and its units were already reclaimed.
+if redis.replicate_commands then
+    redis.replicate_commands()
+end
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+for _, node in ipairs(redis.call('ZRANGEBYSCORE', KEYS[3], '-inf', now)) do
+    local held = tonumber(redis.call('HGET', KEYS[2], node) or '0')
+    if held > 0 then
+        redis.call('INCRBY', KEYS[1], held)
+    end
+    redis.call('HDEL', KEYS[2], node)
+    redis.call('ZREM', KEYS[3], node)
+end
+
+local held = tonumber(redis.call('HGET', KEYS[2], ARGV[1]) or '0')
+local released = math.min(held, tonumber(ARGV[2]))
+if released > 0 then
+    redis.call('INCRBY', KEYS[1], released)
+    held = redis.call('HINCRBY', KEYS[2], ARGV[1], -released)
+end
+
+if held > 0 then
+    redis.call('ZADD', KEYS[3], now + tonumber(ARGV[3]), ARGV[1])
+else
+    redis.call('HDEL', KEYS[2], ARGV[1])
+    redis.call('ZREM', KEYS[3], ARGV[1])
+end
+
+return { released, tonumber(redis.call('GET', KEYS[1]) or '0'), held }
@@ -0,0 +1,186 @@
+package com.gtcafe.asimov.platform.stock.counter.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.gtcafe.asimov.platform.stock.counter.excpetion.CapacityInsufficientException;
+
+/**
+ * Runs RedisCapacityUnit and its Lua scripts against the Redis version of docker-compose.yml.
+ * Each test uses its own pool name, so the keys of one test never leak into another.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisCapacityUnitTest {
+
+    private static final int CAPACITY = 10;
+    private static final int PREFETCH = 2;
+    private static final long LONG_LEASE_MILLIS = 60_000;
+    private static final long SHORT_LEASE_MILLIS = 300;
+    private static final AtomicInteger POOLS = new AtomicInteger();
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7.2"))
+        .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private String name;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void newPool() {
+        name = "test-" + POOLS.incrementAndGet();
+    }
+
+    @Test
+    void consumeAcquiresMissingUnitsPlusPrefetch() throws Exception {
+        RedisCapacityUnit unit = unit("node-a", LONG_LEASE_MILLIS);
+
+        unit.consume(3);
+
+        assertEquals("5", redisTemplate.opsForValue().get(remainingKey()));
+        assertEquals("5", redisTemplate.opsForHash().get(heldKey(), "node-a"));
+        assertNotNull(redisTemplate.opsForZSet().score(nodesKey(), "node-a"));
+        assertEquals(7, unit.getRemaining());
+    }
+
+    @Test
+    void consumeIsRejectedWhenThePoolIsShort() throws Exception {
+        RedisCapacityUnit first = unit("node-a", LONG_LEASE_MILLIS);
+        RedisCapacityUnit second = unit("node-b", LONG_LEASE_MILLIS);
+        first.consume(CAPACITY);
+
+        assertThrows(CapacityInsufficientException.class, () -> second.consume(1));
+
+        assertEquals("0", redisTemplate.opsForValue().get(remainingKey()));
+        assertNull(redisTemplate.opsForHash().get(heldKey(), "node-b"));
+    }
+
+    @Test
+    void rebalanceReleasesTheAllowanceOfAnIdleNode() throws Exception {
+        RedisCapacityUnit unit = unit("node-a", LONG_LEASE_MILLIS);
+        unit.consume(3);
+        unit.resume(3);
+
+        // busy since the last heartbeat: keep the prefetch
+        unit.rebalance();
+        assertEquals("8", redisTemplate.opsForValue().get(remainingKey()));
+        assertEquals("2", redisTemplate.opsForHash().get(heldKey(), "node-a"));
+
+        // idle: give everything back and drop the lease
+        unit.rebalance();
+        assertEquals("10", redisTemplate.opsForValue().get(remainingKey()));
+        assertFalse(redisTemplate.opsForHash().hasKey(heldKey(), "node-a"));
+        assertNull(redisTemplate.opsForZSet().score(nodesKey(), "node-a"));
+    }
+
+    @Test
+    void rebalanceRenewsTheLease() throws Exception {
+        RedisCapacityUnit first = unit("node-a", SHORT_LEASE_MILLIS);
+        RedisCapacityUnit second = unit("node-b", LONG_LEASE_MILLIS);
+        first.consume(CAPACITY);
+
+        Thread.sleep(SHORT_LEASE_MILLIS * 2 / 3);
+        first.rebalance();
+        Thread.sleep(SHORT_LEASE_MILLIS * 2 / 3);
+
+        assertThrows(CapacityInsufficientException.class, () -> second.consume(1));
+        assertEquals(String.valueOf(CAPACITY), redisTemplate.opsForHash().get(heldKey(), "node-a"));
+    }
+
+    @Test
+    void expiredLeaseIsReclaimedByTheNextNode() throws Exception {
+        RedisCapacityUnit first = unit("node-a", SHORT_LEASE_MILLIS);
+        RedisCapacityUnit second = unit("node-b", LONG_LEASE_MILLIS);
+        first.consume(3);
+
+        Thread.sleep(SHORT_LEASE_MILLIS * 2);
+        second.consume(CAPACITY);
+
+        assertEquals("0", redisTemplate.opsForValue().get(remainingKey()));
+        assertEquals(String.valueOf(CAPACITY), redisTemplate.opsForHash().get(heldKey(), "node-b"));
+        assertFalse(redisTemplate.opsForHash().hasKey(heldKey(), "node-a"));
+    }
+
+    @Test
+    void reclaimedUnitsAreNotHandedOutAgain() throws Exception {
+        RedisCapacityUnit first = unit("node-a", SHORT_LEASE_MILLIS);
+        RedisCapacityUnit second = unit("node-b", LONG_LEASE_MILLIS);
+        first.consume(3);
+        Thread.sleep(SHORT_LEASE_MILLIS * 2);
+        second.consume(CAPACITY);
+
+        // node-a learns about the reclaim while its 3 units are still in use
+        first.rebalance();
+        first.resume(3);
+        first.rebalance();
+
+        assertThrows(CapacityInsufficientException.class, () -> first.consume(1));
+        assertEquals("0", redisTemplate.opsForValue().get(remainingKey()));
+        assertFalse(redisTemplate.opsForHash().hasKey(heldKey(), "node-a"));
+        assertEquals(0, first.getRemaining());
+    }
+
+    @Test
+    void nodeAcquiresAgainAfterPayingOffTheReclaim() throws Exception {
+        RedisCapacityUnit first = unit("node-a", SHORT_LEASE_MILLIS);
+        RedisCapacityUnit second = unit("node-b", LONG_LEASE_MILLIS);
+        first.consume(3);
+        Thread.sleep(SHORT_LEASE_MILLIS * 2);
+        second.consume(1);
+        first.rebalance();
+        first.resume(3);
+
+        first.consume(2);
+
+        // 3 + prefetch for node-b, 2 + prefetch for node-a, nothing counted twice
+        assertEquals("3", redisTemplate.opsForValue().get(remainingKey()));
+        assertEquals("4", redisTemplate.opsForHash().get(heldKey(), "node-a"));
+        assertEquals("3", redisTemplate.opsForHash().get(heldKey(), "node-b"));
+    }
+
+    private RedisCapacityUnit unit(String nodeId, long leaseTtlMillis) {
+        return new RedisCapacityUnit(redisTemplate, name, nodeId, CAPACITY, PREFETCH, 0, leaseTtlMillis, 1_000);
+    }
+
+    private String remainingKey() {
+        return "capacity:{" + name + "}:remaining";
+    }
+
+    private String heldKey() {
+        return "capacity:{" + name + "}:held";
+    }
+
+    private String nodesKey() {
+        return "capacity:{" + name + "}:nodes";
+    }
+}
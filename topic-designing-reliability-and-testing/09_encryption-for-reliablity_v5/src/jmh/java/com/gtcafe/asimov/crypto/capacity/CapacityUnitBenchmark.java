@@ -0,0 +1,91 @@
+package com.gtcafe.asimov.crypto.capacity;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gtcafe.asimov.crypto.capacity.exception.CapacityInsufficientException;
+import com.gtcafe.asimov.crypto.capacity.exception.CapacityResumingException;
+
+/**
+ * consume + resume round trips per microsecond, shared unit, 1 to 64 threads.
+ *
+ * capacity=40 is the production pool (requests get rejected under load); capacity=4096 keeps
+ * every request accepted so only the synchronization cost is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CapacityUnitBenchmark {
+
+    @Param({ "reentrant", "cas", "striped" })
+    private String impl;
+
+    @Param({ "40", "4096" })
+    private int capacity;
+
+    private ICapacityUnit capacityUnit;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        capacityUnit = switch (impl) {
+            case "reentrant" -> new ReentrantCapacityUnit(capacity);
+            case "cas" -> new CasCapacityUnit(capacity, CasCapacityUnit.DEFAULT_MAX_RETRIES);
+            case "striped" -> new StripedCapacityUnit(capacity, StripedCapacityUnit.DEFAULT_STRIPES);
+            default -> throw new IllegalArgumentException("unknown impl: " + impl);
+        };
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean threads01() {
+        return roundTrip();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean threads04() {
+        return roundTrip();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean threads16() {
+        return roundTrip();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean threads64() {
+        return roundTrip();
+    }
+
+    private boolean roundTrip() {
+        try {
+            capacityUnit.consume(1);
+        } catch (CapacityInsufficientException e) {
+            return false;
+        }
+        try {
+            capacityUnit.resume(1);
+        } catch (CapacityResumingException e) {
+            throw new IllegalStateException(e);
+        }
+        return true;
+    }
+}
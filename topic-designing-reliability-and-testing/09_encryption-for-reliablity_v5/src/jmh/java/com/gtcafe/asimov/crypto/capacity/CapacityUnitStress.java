@@ -0,0 +1,139 @@
+package com.gtcafe.asimov.crypto.capacity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.gtcafe.asimov.crypto.capacity.exception.CapacityInsufficientException;
+import com.gtcafe.asimov.crypto.capacity.exception.CapacityResumingException;
+
+/**
+ * jcstress-style correctness run for the ICapacityUnit implementations.
+ *
+ * Every thread repeatedly consumes 1..13 units from a shared 40-unit pool and resumes them. The
+ * run fails when:
+ * - more units are held at once than the pool has (over-commit),
+ * - an observer sees remaining outside [0, MAX],
+ * - a legitimate resume is rejected, or
+ * - the pool does not end at MAX (lost update).
+ *
+ * NolockCapacityUnit is included as the known-broken reference and is expected to fail.
+ */
+public class CapacityUnitStress {
+
+    private static final int CAPACITY = ICapacityUnit.DEFAULT_MAX_CAPACITY_UNIT;
+    private static final int OPERATIONS_PER_THREAD = 200_000;
+    private static final int[] THREAD_COUNTS = { 1, 2, 4, 8, 16, 32, 64 };
+
+    public static void main(String[] args) throws Exception {
+        List<Candidate> candidates = List.of(
+            new Candidate("nolock", () -> new NolockCapacityUnit(CAPACITY), true),
+            new Candidate("reentrant", () -> new ReentrantCapacityUnit(CAPACITY), false),
+            new Candidate("cas", () -> new CasCapacityUnit(CAPACITY, CasCapacityUnit.DEFAULT_MAX_RETRIES), false),
+            new Candidate("striped", () -> new StripedCapacityUnit(CAPACITY, StripedCapacityUnit.DEFAULT_STRIPES), false));
+
+        System.out.printf("%-10s %7s %10s %9s %9s %11s %12s %14s  %s%n",
+            "impl", "threads", "ops/ms", "accepted", "final", "overcommit", "outOfRange", "resumeErrors", "result");
+
+        boolean failed = false;
+        for (Candidate candidate : candidates) {
+            for (int threads : THREAD_COUNTS) {
+                Result result = run(candidate.factory().get(), threads);
+                boolean ok = result.isCorrect();
+                String verdict = ok ? "OK" : candidate.expectedToFail() ? "FAIL (expected)" : "FAIL";
+                System.out.printf("%-10s %7d %10.1f %8.1f%% %9d %11d %12d %14d  %s%n",
+                    candidate.name(), threads, result.opsPerMs(), result.acceptedPercent(), result.finalRemaining(),
+                    result.overcommits(), result.outOfRange(), result.resumeErrors(), verdict);
+                failed |= !ok && !candidate.expectedToFail();
+            }
+        }
+
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    private static Result run(ICapacityUnit capacityUnit, int threads) throws InterruptedException {
+        AtomicInteger held = new AtomicInteger();
+        LongAdder accepted = new LongAdder();
+        LongAdder overcommits = new LongAdder();
+        LongAdder resumeErrors = new LongAdder();
+        LongAdder outOfRange = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread observer = new Thread(() -> {
+            while (running.get()) {
+                int remaining = capacityUnit.remaining();
+                if (remaining < 0 || remaining > CAPACITY) {
+                    outOfRange.increment();
+                }
+                Thread.onSpinWait();
+            }
+        });
+        observer.setDaemon(true);
+        observer.start();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    int units = 1 + random.nextInt(13);
+                    try {
+                        capacityUnit.consume(units);
+                    } catch (CapacityInsufficientException e) {
+                        continue;
+                    }
+                    accepted.increment();
+                    // held only counts units after consume returned, so exceeding CAPACITY is a real over-commit
+                    if (held.addAndGet(units) > CAPACITY) {
+                        overcommits.increment();
+                    }
+                    held.addAndGet(-units);
+                    try {
+                        capacityUnit.resume(units);
+                    } catch (CapacityResumingException e) {
+                        resumeErrors.increment();
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double elapsedMs = (System.nanoTime() - startTime) / 1_000_000.0;
+        running.set(false);
+        observer.join();
+
+        long operations = (long) threads * OPERATIONS_PER_THREAD;
+        return new Result(operations / elapsedMs, accepted.sum() * 100.0 / operations, capacityUnit.remaining(),
+            overcommits.sum(), outOfRange.sum(), resumeErrors.sum());
+    }
+
+    private record Candidate(String name, Supplier<ICapacityUnit> factory, boolean expectedToFail) {
+    }
+
+    private record Result(double opsPerMs, double acceptedPercent, int finalRemaining,
+            long overcommits, long outOfRange, long resumeErrors) {
+
+        boolean isCorrect() {
+            return finalRemaining == CAPACITY && overcommits == 0 && outOfRange == 0 && resumeErrors == 0;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.gtcafe.asimov.crypto.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded multi-producer, single-consumer ring of preallocated AccessEvents.
+ *
+ * Producers claim a sequence with one CAS, fill the slot and publish it with a volatile write.
+ * The single writer thread reads slots in sequence order and frees each slot after writing it.
+ * When the ring is full claim() returns null instead of waiting: a slow disk drops access
+ * events, it never blocks a request thread.
+ */
+class AccessEventRingBuffer {
+
+    private final AccessEvent[] slots;
+    private final int mask;
+
+    // last sequence claimed by a producer
+    private final AtomicLong claimed = new AtomicLong(-1);
+    // last sequence the writer is done with; only written by the writer thread
+    private volatile long released = -1;
+
+    AccessEventRingBuffer(int size) {
+        if (size <= 0 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("ring buffer size must be a power of two: " + size);
+        }
+        this.slots = new AccessEvent[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new AccessEvent();
+        }
+    }
+
+    /**
+     * @return the slot to fill and publish(), or null if the ring is full
+     */
+    AccessEvent claim() {
+        for (;;) {
+            long current = claimed.get();
+            long next = current + 1;
+            if (next - released > slots.length) {
+                return null;
+            }
+            if (claimed.compareAndSet(current, next)) {
+                AccessEvent event = slots[(int) (next & mask)];
+                event.sequence = next;
+                return event;
+            }
+        }
+    }
+
+    /**
+     * Writer thread only: the next published event, or null if there is none yet.
+     */
+    AccessEvent peek() {
+        long next = released + 1;
+        AccessEvent event = slots[(int) (next & mask)];
+        return event.isPublished(next) ? event : null;
+    }
+
+    /**
+     * Writer thread only: hands the slot returned by peek() back to the producers.
+     */
+    void release(AccessEvent event) {
+        event.requestId = null;
+        event.thread = null;
+        released = event.sequence;
+    }
+
+    int backlog() {
+        return (int) (claimed.get() - released);
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
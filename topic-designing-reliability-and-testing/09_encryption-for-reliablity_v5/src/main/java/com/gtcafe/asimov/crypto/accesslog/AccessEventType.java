@@ -0,0 +1,36 @@
+package com.gtcafe.asimov.crypto.accesslog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Kind of access event. Each kind keeps the "class" value the old MDC based logs had, and writes
+ * to its own json/csv logger (see logback-spring.xml), so the files and their fields are unchanged.
+ */
+public enum AccessEventType {
+    REQUEST("com.gtcafe.asimov.crypto.domain.CryptoService", "request"),
+    CONSUMER("com.gtcafe.asimov.crypto.domain.CryptoConsumer", "consumer"),
+    SAMPLING("com.gtcafe.asimov.crypto.domain.CryptoSamplerService", "sampling");
+
+    private final String source;
+    private final Logger jsonLogger;
+    private final Logger csvLogger;
+
+    AccessEventType(String source, String name) {
+        this.source = source;
+        this.jsonLogger = LoggerFactory.getLogger("com.gtcafe.asimov.crypto.accesslog." + name + ".json");
+        this.csvLogger = LoggerFactory.getLogger("com.gtcafe.asimov.crypto.accesslog." + name + ".csv");
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    Logger getJsonLogger() {
+        return jsonLogger;
+    }
+
+    Logger getCsvLogger() {
+        return csvLogger;
+    }
+}
@@ -0,0 +1,251 @@
+package com.gtcafe.asimov.crypto.accesslog;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.gtcafe.asimov.crypto.domain.CryptoContext;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Access log pipeline that replaces the per request MDC puts.
+ *
+ * Request threads only copy a few fields into a ring buffer slot. The "access-log-writer" thread
+ * formats each event into the same json/csv lines the logback patterns used to produce and hands
+ * the finished line to the existing rolling appenders (pattern %msg%n), so the log files, the
+ * filebeat inputs and the Kibana fields stay as they were.
+ *
+ * Events published while the ring is full are dropped and counted in access.log.dropped.
+ */
+@Component
+@Slf4j
+public class AccessLogWriter implements MeterBinder {
+    public static final int DEFAULT_RING_BUFFER_SIZE = 8192;
+
+    private static final String LEVEL_INFO = "INFO";
+    private static final String LEVEL_ERROR = "ERROR";
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final DateTimeFormatter SECOND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.");
+    private static final DateTimeFormatter OFFSET_FORMAT = DateTimeFormatter.ofPattern("XXX");
+
+    private final AccessEventRingBuffer ringBuffer;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    // writer thread only
+    private final StringBuilder line = new StringBuilder(512);
+    private final ZoneId zone = ZoneId.systemDefault();
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedSecondText;
+    private String cachedOffsetText;
+
+    public AccessLogWriter(@Value("${access-log.ring-buffer-size:" + DEFAULT_RING_BUFFER_SIZE + "}") int ringBufferSize) {
+        this.ringBuffer = new AccessEventRingBuffer(ringBufferSize);
+        this.writer = new Thread(this::run, "access-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public void request(CryptoContext context, boolean error) {
+        publish(AccessEventType.REQUEST, error ? LEVEL_ERROR : LEVEL_INFO, context);
+    }
+
+    public void consumer(CryptoContext context) {
+        publish(AccessEventType.CONSUMER, LEVEL_INFO, context);
+    }
+
+    public void sampling(int remaining) {
+        AccessEvent event = claim(AccessEventType.SAMPLING, LEVEL_INFO);
+        if (event == null) {
+            return;
+        }
+        event.remaining = remaining;
+        event.publish();
+    }
+
+    private void publish(AccessEventType type, String level, CryptoContext context) {
+        AccessEvent event = claim(type, level);
+        if (event == null) {
+            return;
+        }
+        event.requestId = context.getRequestId();
+        event.consumed = context.getConsumed();
+        event.beforeRemaining = context.getBeforeRemaining();
+        event.afterRemaining = context.getAfterRemaining();
+        event.accepted = context.getAccepted();
+        event.processTime = context.getProcessTime();
+        event.returnedCapacity = context.getReturnedCapacity();
+        event.publish();
+    }
+
+    private AccessEvent claim(AccessEventType type, String level) {
+        AccessEvent event = ringBuffer.claim();
+        if (event == null) {
+            dropped.increment();
+            return null;
+        }
+        published.increment();
+        event.type = type;
+        event.level = level;
+        event.timestamp = System.currentTimeMillis();
+        event.thread = Thread.currentThread().getName();
+        return event;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        for (;;) {
+            AccessEvent event = ringBuffer.peek();
+            if (event == null) {
+                // drain what was published before shutdown, then stop
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+
+            try {
+                write(event);
+            } catch (RuntimeException e) {
+                log.error("failed to write access event", e);
+            } finally {
+                ringBuffer.release(event);
+            }
+        }
+    }
+
+    private void write(AccessEvent event) {
+        AccessEventType type = event.type;
+        if (type.getJsonLogger().isInfoEnabled()) {
+            if (type == AccessEventType.SAMPLING) {
+                // { "@timestamp": "..", "class": "..", "thread": "..", "level": "..", "capacity": <remaining> }
+                appendJsonHeader(event);
+                line.append("\"capacity\": ").append(event.remaining).append(" }");
+            } else {
+                // { "@timestamp": "..", "class": "..", "thread": "..", "level": "..", "capacity": { "requestId": "..", ... } }
+                appendJsonHeader(event);
+                line.append("\"capacity\": { \"requestId\": \"");
+                appendEscaped(event.requestId, false);
+                line.append("\", \"jmThreadHame\": \"\"")
+                    .append(", \"consumed\": ").append(event.consumed)
+                    .append(", \"beforeRemaining\": ").append(event.beforeRemaining)
+                    .append(", \"afterRemaining\": ").append(event.afterRemaining)
+                    .append(", \"accepted\": ").append(event.accepted)
+                    .append(", \"processTime\": ").append(event.processTime)
+                    .append(", \"returnedCapacity\": ").append(event.returnedCapacity)
+                    .append(" } }");
+            }
+            type.getJsonLogger().info(line.toString());
+        }
+
+        if (type.getCsvLogger().isInfoEnabled()) {
+            // "<timestamp>","<class>","<thread>","<level>","<requestId>",...
+            line.setLength(0);
+            line.append('"');
+            appendTimestamp(event.timestamp);
+            line.append("\",\"").append(type.getSource())
+                .append("\",\"").append(event.thread)
+                .append("\",\"").append(event.level)
+                .append("\",\"");
+            if (type == AccessEventType.SAMPLING) {
+                line.append("\",").append(event.remaining);
+            } else {
+                appendEscaped(event.requestId, true);
+                line.append("\",").append(event.consumed)
+                    .append(',').append(event.beforeRemaining)
+                    .append(',').append(event.afterRemaining)
+                    .append(',').append(event.accepted)
+                    .append(',').append(event.processTime)
+                    .append(',').append(event.returnedCapacity);
+            }
+            type.getCsvLogger().info(line.toString());
+        }
+    }
+
+    private void appendJsonHeader(AccessEvent event) {
+        line.setLength(0);
+        line.append("{ \"@timestamp\": \"");
+        appendTimestamp(event.timestamp);
+        line.append("\", \"class\": \"").append(event.type.getSource())
+            .append("\", \"thread\": \"").append(event.thread)
+            .append("\", \"level\": \"").append(event.level)
+            .append("\", ");
+    }
+
+    // same text as logback %d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX}, formatted once per second
+    private void appendTimestamp(long millis) {
+        long second = Math.floorDiv(millis, 1000);
+        if (second != cachedSecond) {
+            ZonedDateTime time = Instant.ofEpochSecond(second).atZone(zone);
+            cachedSecondText = SECOND_FORMAT.format(time);
+            cachedOffsetText = OFFSET_FORMAT.format(time);
+            cachedSecond = second;
+        }
+
+        int millisOfSecond = Math.floorMod(millis, 1000);
+        line.append(cachedSecondText);
+        if (millisOfSecond < 100) {
+            line.append('0');
+        }
+        if (millisOfSecond < 10) {
+            line.append('0');
+        }
+        line.append(millisOfSecond).append(cachedOffsetText);
+    }
+
+    // request ids come from a header, keep them from breaking the json/csv line
+    private void appendEscaped(String value, boolean csv) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append(csv ? '"' : '\\');
+            } else if (c == '\\' && !csv) {
+                line.append('\\');
+            }
+            if (c >= 0x20) {
+                line.append(c);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("access.log.published", published, LongAdder::sum)
+            .description("access events put in the ring buffer")
+            .register(registry);
+        FunctionCounter.builder("access.log.dropped", dropped, LongAdder::sum)
+            .description("access events dropped because the ring buffer was full")
+            .register(registry);
+        Gauge.builder("access.log.backlog", ringBuffer, AccessEventRingBuffer::backlog)
+            .description("access events waiting for the writer thread")
+            .register(registry);
+        Gauge.builder("access.log.capacity", ringBuffer, AccessEventRingBuffer::capacity)
+            .register(registry);
+    }
+}
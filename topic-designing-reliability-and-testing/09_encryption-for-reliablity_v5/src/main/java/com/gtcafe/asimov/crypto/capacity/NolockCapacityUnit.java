@@ -7,7 +7,17 @@ import com.gtcafe.asimov.crypto.capacity.exception.CapacityResumingException;
 
 @Service
 public class NolockCapacityUnit implements ICapacityUnit {
-    private int remaining = DEFAULT_MAX_CAPACITY_UNIT;
+    private final int maxCapacityUnit;
+    private int remaining;
+
+    public NolockCapacityUnit() {
+        this(DEFAULT_MAX_CAPACITY_UNIT);
+    }
+
+    public NolockCapacityUnit(int maxCapacityUnit) {
+        this.maxCapacityUnit = maxCapacityUnit;
+        this.remaining = maxCapacityUnit;
+    }
 
     @Override
     public int remaining() {
@@ -16,7 +26,7 @@ public class NolockCapacityUnit implements ICapacityUnit {
 
     @Override
     public void reset() {
-        remaining = DEFAULT_MAX_CAPACITY_UNIT;
+        remaining = maxCapacityUnit;
     }
 
     @Override
@@ -31,8 +41,8 @@ public class NolockCapacityUnit implements ICapacityUnit {
     public void resume(int resumedUnit) throws CapacityResumingException {
         int resumingUnit = (resumedUnit + remaining) ;
 
-        if ( resumingUnit > DEFAULT_MAX_CAPACITY_UNIT) {
-            throw new CapacityResumingException("unexpected resuming unit=" + resumingUnit + ", MAX=" + DEFAULT_MAX_CAPACITY_UNIT);
+        if ( resumingUnit > maxCapacityUnit) {
+            throw new CapacityResumingException("unexpected resuming unit=" + resumingUnit + ", MAX=" + maxCapacityUnit);
         }
         remaining += resumedUnit;
     }
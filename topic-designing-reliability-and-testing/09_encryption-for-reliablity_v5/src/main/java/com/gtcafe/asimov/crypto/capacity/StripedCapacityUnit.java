@@ -0,0 +1,223 @@
+package com.gtcafe.asimov.crypto.capacity;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.gtcafe.asimov.crypto.capacity.exception.CapacityInsufficientException;
+import com.gtcafe.asimov.crypto.capacity.exception.CapacityResumingException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Lock-free capacity pool split into stripes, so threads mostly CAS on different cache lines.
+ *
+ * Each thread starts at its home stripe. When the home stripe cannot cover a request, units are
+ * gathered from the other stripes; if the whole pool is short the gathered units are put back and
+ * the request is rejected. No stripe ever goes below 0 or above its share, so the pool can never
+ * be over-committed, but a request may be rejected while another thread holds units it is about
+ * to put back.
+ *
+ * Units handed out are tracked in a separate outstanding counter. resume() checks it to reject a
+ * genuine over-resume; units that were legitimately taken always have room somewhere, so putting
+ * them back cycles the stripes until all of them are in (another thread may be refilling a stripe
+ * this one has already passed).
+ *
+ * remaining() sums the stripes without locking: exact when the pool is idle, approximate while
+ * it is being updated (units moving between stripes can be counted twice, so the sum is capped at
+ * MAX).
+ */
+public class StripedCapacityUnit implements ICapacityUnit, MeterBinder {
+    public static final int DEFAULT_STRIPES = 4;
+
+    // 16 ints = 64 bytes, one stripe per cache line
+    private static final int PADDING = 16;
+
+    private final int maxCapacityUnit;
+    private final int stripes;
+    private final int[] stripeMax;
+    private final AtomicIntegerArray cells;
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private final LongAdder casFailures = new LongAdder();
+    private final LongAdder crossStripeOperations = new LongAdder();
+    private final LongAdder insufficient = new LongAdder();
+
+    public StripedCapacityUnit() {
+        this(DEFAULT_MAX_CAPACITY_UNIT, DEFAULT_STRIPES);
+    }
+
+    public StripedCapacityUnit(int maxCapacityUnit, int stripes) {
+        if (stripes < 1 || stripes > maxCapacityUnit) {
+            throw new IllegalArgumentException("stripes must be between 1 and " + maxCapacityUnit + ": " + stripes);
+        }
+        this.maxCapacityUnit = maxCapacityUnit;
+        this.stripes = stripes;
+        this.stripeMax = new int[stripes];
+        this.cells = new AtomicIntegerArray(stripes * PADDING);
+        for (int i = 0; i < stripes; i++) {
+            stripeMax[i] = maxCapacityUnit / stripes + (i < maxCapacityUnit % stripes ? 1 : 0);
+        }
+        reset();
+    }
+
+    @Override
+    public int remaining() {
+        int sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return Math.min(sum, maxCapacityUnit);
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < stripes; i++) {
+            cells.set(i * PADDING, stripeMax[i]);
+        }
+        outstanding.set(0);
+    }
+
+    @Override
+    public void consume(int requiredUnit) throws CapacityInsufficientException {
+        int home = homeStripe();
+        if (tryTakeAll(home, requiredUnit)) {
+            outstanding.addAndGet(requiredUnit);
+            return;
+        }
+
+        crossStripeOperations.increment();
+        int taken = 0;
+        int[] takenFrom = new int[stripes];
+        for (int i = 0; i < stripes && taken < requiredUnit; i++) {
+            int stripe = (home + i) % stripes;
+            int part = takeUpTo(stripe, requiredUnit - taken);
+            takenFrom[stripe] = part;
+            taken += part;
+        }
+        if (taken == requiredUnit) {
+            outstanding.addAndGet(requiredUnit);
+            return;
+        }
+
+        // pool is short: hand back what was gathered to the stripes it came from
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            if (takenFrom[stripe] > 0) {
+                putBack(stripe, takenFrom[stripe]);
+            }
+        }
+        insufficient.increment();
+        throw new CapacityInsufficientException("capacity unit is insufficient: required=" + requiredUnit + ", current=" + remaining());
+    }
+
+    @Override
+    public void resume(int resumedUnit) throws CapacityResumingException {
+        while (true) {
+            int current = outstanding.get();
+            if (resumedUnit > current) {
+                throw new CapacityResumingException("unexpected resuming value: resuming value=" + (remaining() + resumedUnit) + ", MAX=" + maxCapacityUnit);
+            }
+            if (outstanding.compareAndSet(current, current - resumedUnit)) {
+                break;
+            }
+            casFailures.increment();
+        }
+        putBack(homeStripe(), resumedUnit);
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public long getCasFailures() {
+        return casFailures.sum();
+    }
+
+    public long getCrossStripeOperations() {
+        return crossStripeOperations.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("capacity.unit.remaining", this, StripedCapacityUnit::remaining)
+            .tag("impl", "striped")
+            .register(registry);
+        FunctionCounter.builder("capacity.unit.cas.failures", casFailures, LongAdder::sum)
+            .description("compare-and-set attempts that lost a race")
+            .tag("impl", "striped")
+            .register(registry);
+        FunctionCounter.builder("capacity.unit.contended", crossStripeOperations, LongAdder::sum)
+            .description("consume calls the home stripe could not cover")
+            .tag("impl", "striped")
+            .register(registry);
+        FunctionCounter.builder("capacity.unit.rejected", insufficient, LongAdder::sum)
+            .tag("impl", "striped")
+            .tag("reason", "insufficient")
+            .register(registry);
+    }
+
+    private int homeStripe() {
+        return (int) (Thread.currentThread().getId() % stripes);
+    }
+
+    private boolean tryTakeAll(int stripe, int value) {
+        int index = stripe * PADDING;
+        while (true) {
+            int current = cells.get(index);
+            if (value > current) {
+                return false;
+            }
+            if (cells.compareAndSet(index, current, current - value)) {
+                return true;
+            }
+            casFailures.increment();
+        }
+    }
+
+    private int takeUpTo(int stripe, int wanted) {
+        int index = stripe * PADDING;
+        while (true) {
+            int current = cells.get(index);
+            int part = Math.min(current, wanted);
+            if (part == 0 || cells.compareAndSet(index, current, current - part)) {
+                return part;
+            }
+            casFailures.increment();
+        }
+    }
+
+    private int putUpTo(int stripe, int offered) {
+        int index = stripe * PADDING;
+        while (true) {
+            int current = cells.get(index);
+            int part = Math.min(stripeMax[stripe] - current, offered);
+            if (part <= 0) {
+                return 0;
+            }
+            if (cells.compareAndSet(index, current, current + part)) {
+                return part;
+            }
+            casFailures.increment();
+        }
+    }
+
+    private void putBack(int first, int value) {
+        // the pool is never short of room for units that were taken, but another thread may fill a
+        // stripe after this loop has passed it and free one it has not reached yet: keep cycling
+        int left = value;
+        for (int i = 0; left > 0; i++) {
+            int put = putUpTo((first + i) % stripes, left);
+            left -= put;
+            if (put == 0) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public String toString() {
+        return "StripedCapacityUnit: totalUnit=" + remaining() + ", stripes=" + stripes + ", casFailures=" + casFailures.sum();
+    }
+}
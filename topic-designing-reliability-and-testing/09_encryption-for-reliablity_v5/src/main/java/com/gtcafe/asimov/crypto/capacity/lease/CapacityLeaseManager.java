@@ -0,0 +1,142 @@
+package com.gtcafe.asimov.crypto.capacity.lease;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.gtcafe.asimov.crypto.capacity.ICapacityUnit;
+import com.gtcafe.asimov.crypto.capacity.exception.CapacityInsufficientException;
+import com.gtcafe.asimov.crypto.capacity.exception.CapacityResumingException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out capacity as leases and gives the units back when the lease deadline passes.
+ *
+ * Release is driven by the LeaseScheduler instead of a sleeping thread per request. A lease that
+ * is still outstanding leakThresholdMs after its deadline is reported as leaked and released by
+ * detectLeaks(), so a lost timer can not drain the capacity unit for good.
+ */
+@Service
+@Slf4j
+public class CapacityLeaseManager implements MeterBinder {
+
+    private final ICapacityUnit capacityUnit;
+    private final LeaseScheduler leaseScheduler;
+    private final long leakThresholdNanos;
+
+    private final Map<Long, CapacityLease> outstanding = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong();
+
+    private Counter leakedCounter;
+    private Timer releaseLagTimer;
+
+    public CapacityLeaseManager(ICapacityUnit capacityUnit, LeaseScheduler leaseScheduler,
+            @Value("${capacity.lease.leak-threshold-ms:5000}") long leakThresholdMs) {
+        this.capacityUnit = capacityUnit;
+        this.leaseScheduler = leaseScheduler;
+        this.leakThresholdNanos = TimeUnit.MILLISECONDS.toNanos(leakThresholdMs);
+    }
+
+    /**
+     * Consumes the units and schedules their release holdMillis from now.
+     */
+    public CapacityLease acquire(int units, long holdMillis, LeaseListener listener) throws CapacityInsufficientException {
+        capacityUnit.consume(units);
+
+        long now = System.nanoTime();
+        CapacityLease lease = new CapacityLease(nextId.incrementAndGet(), units, now,
+            now + TimeUnit.MILLISECONDS.toNanos(holdMillis), listener);
+        outstanding.put(lease.getId(), lease);
+
+        try {
+            leaseScheduler.schedule(lease.getDeadlineNanos(), () -> release(lease));
+        } catch (RuntimeException e) {
+            // scheduler is shutting down: give the units back right away
+            release(lease);
+            throw e;
+        }
+        return lease;
+    }
+
+    /**
+     * Resumes the lease units and notifies its listener. Only the first call has any effect.
+     *
+     * @return false if the lease was already released
+     */
+    public boolean release(CapacityLease lease) {
+        if (!lease.markReleased()) {
+            return false;
+        }
+        outstanding.remove(lease.getId());
+
+        long lagNanos = System.nanoTime() - lease.getDeadlineNanos();
+        if (releaseLagTimer != null) {
+            releaseLagTimer.record(Math.max(0, lagNanos), TimeUnit.NANOSECONDS);
+        }
+
+        try {
+            capacityUnit.resume(lease.getUnits());
+            lease.setReturned(true);
+        } catch (CapacityResumingException e) {
+            log.error("failed to resume lease: {}", lease, e);
+            lease.setReturned(false);
+        }
+
+        LeaseListener listener = lease.getListener();
+        if (listener != null) {
+            try {
+                listener.onReleased(lease);
+            } catch (RuntimeException e) {
+                log.error("lease listener failed: {}", lease, e);
+            }
+        }
+        return true;
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void detectLeaks() {
+        long now = System.nanoTime();
+        for (CapacityLease lease : outstanding.values()) {
+            if (now - lease.getDeadlineNanos() > leakThresholdNanos && lease.markLeakReported()) {
+                if (leakedCounter != null) {
+                    leakedCounter.increment();
+                }
+                log.warn("capacity lease leaked, releasing: {}, overdueMs={}", lease,
+                    TimeUnit.NANOSECONDS.toMillis(now - lease.getDeadlineNanos()));
+                release(lease);
+            }
+        }
+    }
+
+    public int outstanding() {
+        return outstanding.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("capacity.lease.outstanding", outstanding, Map::size)
+            .description("leases acquired and not yet released")
+            .register(registry);
+        Gauge.builder("capacity.lease.scheduler.pending", leaseScheduler, LeaseScheduler::pending)
+            .description("lease releases waiting in the scheduler")
+            .register(registry);
+        leakedCounter = Counter.builder("capacity.lease.leaked")
+            .description("leases still outstanding past the leak threshold")
+            .register(registry);
+        releaseLagTimer = Timer.builder("capacity.lease.release.lag")
+            .description("delay between the lease deadline and the units being resumed")
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+    }
+}
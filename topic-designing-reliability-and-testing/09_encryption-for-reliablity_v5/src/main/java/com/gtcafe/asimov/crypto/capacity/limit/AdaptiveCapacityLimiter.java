@@ -0,0 +1,369 @@
+package com.gtcafe.asimov.crypto.capacity.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.gtcafe.asimov.crypto.capacity.ICapacityUnit;
+import com.gtcafe.asimov.crypto.capacity.exception.CapacityInsufficientException;
+import com.gtcafe.asimov.crypto.capacity.exception.CapacityLimitExceededException;
+import com.gtcafe.asimov.crypto.capacity.lease.CapacityLease;
+import com.gtcafe.asimov.crypto.capacity.lease.CapacityLeaseManager;
+import com.gtcafe.asimov.crypto.capacity.lease.LeaseListener;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adaptive concurrency limit in front of the capacity unit.
+ *
+ * At most "limit" units are leased at a time. The LimitAlgorithm moves the limit between
+ * capacity.limit.min and capacity.limit.max from the latency of every completed lease, i.e. the
+ * queueing delay plus the time the units were actually held, compared to the processing time the
+ * request asked for. A request that finds no room waits up to capacity.limit.max-wait-ms for a
+ * lease to be released before it is shed; at most capacity.limit.max-queue requests wait at once.
+ * Waiting is not FIFO, a new request may take freed units ahead of the waiting ones.
+ *
+ * With capacity.limit.algorithm=fixed, initial=max and max-wait-ms=0 this behaves like calling
+ * CapacityLeaseManager directly, which is the baseline for goodput comparisons.
+ */
+@Service
+@Slf4j
+public class AdaptiveCapacityLimiter implements MeterBinder {
+    public static final long DEFAULT_LATENCY_TOLERANCE_MS = 100;
+
+    // recheck a shared (redis) pool even when no local lease was released
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final CapacityLeaseManager leaseManager;
+    private final LimitAlgorithm algorithm;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxWaitNanos;
+    private final int maxQueue;
+    private final long toleranceNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    // written under lock, volatile for the gauges
+    private volatile double limit;
+    private volatile int inflight;
+    private volatile int queued;
+    private volatile long releases;
+    private long lastDropRelease = -1;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder completedInTime = new LongAdder();
+    private final LongAdder completedLate = new LongAdder();
+    private final LongAdder[] rejected = new LongAdder[RejectReason.values().length];
+
+    private Timer admittedWaitTimer;
+    private Timer shedWaitTimer;
+
+    public AdaptiveCapacityLimiter(CapacityLeaseManager leaseManager, LimitAlgorithm algorithm,
+            @Value("${capacity.limit.initial:" + ICapacityUnit.DEFAULT_MAX_CAPACITY_UNIT + "}") int initialLimit,
+            @Value("${capacity.limit.min:8}") int minLimit,
+            @Value("${capacity.limit.max:" + ICapacityUnit.DEFAULT_MAX_CAPACITY_UNIT + "}") int maxLimit,
+            @Value("${capacity.limit.max-wait-ms:500}") long maxWaitMs,
+            @Value("${capacity.limit.max-queue:50}") int maxQueue,
+            @Value("${capacity.limit.latency-tolerance-ms:" + DEFAULT_LATENCY_TOLERANCE_MS + "}") long latencyToleranceMs) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("capacity.limit.min must be in [1, max]: " + minLimit);
+        }
+        this.leaseManager = leaseManager;
+        this.algorithm = algorithm;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.maxQueue = maxQueue;
+        this.toleranceNanos = TimeUnit.MILLISECONDS.toNanos(latencyToleranceMs);
+        this.limit = clamp(initialLimit);
+
+        for (int i = 0; i < rejected.length; i++) {
+            rejected[i] = new LongAdder();
+        }
+        log.info("capacity limit: algorithm={}, initial={}, min={}, max={}, maxWaitMs={}, maxQueue={}",
+            algorithm.name(), (int) limit, minLimit, maxLimit, maxWaitMs, maxQueue);
+    }
+
+    /**
+     * Same contract as CapacityLeaseManager#acquire, but waits for room under the limit first.
+     *
+     * @throws CapacityLimitExceededException with the reason the request was shed
+     */
+    public CapacityLease acquire(int units, long holdMillis, LeaseListener listener) throws CapacityInsufficientException {
+        long start = System.nanoTime();
+        long deadline = start + maxWaitNanos;
+        boolean waiting = false;
+
+        try {
+            for (;;) {
+                long seen = releases;
+                RejectReason reason;
+
+                if (tryReserve(units)) {
+                    long waitedNanos = System.nanoTime() - start;
+                    LimitedLeaseListener limited = new LimitedLeaseListener(units,
+                        TimeUnit.MILLISECONDS.toNanos(holdMillis), waitedNanos, listener);
+                    try {
+                        CapacityLease lease = leaseManager.acquire(units, holdMillis, limited);
+                        accepted.increment();
+                        if (waiting && admittedWaitTimer != null) {
+                            admittedWaitTimer.record(waitedNanos, TimeUnit.NANOSECONDS);
+                        }
+                        return lease;
+                    } catch (CapacityInsufficientException e) {
+                        limited.cancel();
+                        reason = RejectReason.INSUFFICIENT;
+                    } catch (RuntimeException e) {
+                        limited.cancel();
+                        throw e;
+                    }
+                } else {
+                    reason = RejectReason.LIMIT;
+                }
+
+                if (maxWaitNanos <= 0) {
+                    throw reject(reason, units);
+                }
+                if (!waiting) {
+                    if (!enqueue()) {
+                        throw reject(RejectReason.QUEUE_FULL, units);
+                    }
+                    waiting = true;
+                }
+                if (!awaitRelease(seen, deadline)) {
+                    if (shedWaitTimer != null) {
+                        shedWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                    drop(reason);
+                    throw reject(reason, units);
+                }
+            }
+        } finally {
+            if (waiting) {
+                dequeue();
+            }
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inflight() {
+        return inflight;
+    }
+
+    private boolean tryReserve(int units) {
+        lock.lock();
+        try {
+            // an idle limiter always admits, so a request larger than the limit can not starve
+            if (inflight == 0 || inflight + units <= limit) {
+                inflight += units;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // the reservation was not used; waiters are not woken, the units never left the pool
+    private void unreserve(int units) {
+        lock.lock();
+        try {
+            inflight -= units;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void complete(int units, long expectedNanos, long measuredNanos) {
+        lock.lock();
+        try {
+            limit = clamp(algorithm.onSample(limit, expectedNanos, measuredNanos, inflight));
+            inflight -= units;
+            releases++;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        if (measuredNanos <= expectedNanos + toleranceNanos) {
+            completedInTime.increment();
+        } else {
+            completedLate.increment();
+        }
+    }
+
+    // a request shed by our own limit is not a congestion signal; one backoff per released lease
+    // keeps a burst of sheds from collapsing the limit to min at once
+    private void drop(RejectReason reason) {
+        if (reason != RejectReason.INSUFFICIENT) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (releases == lastDropRelease) {
+                return;
+            }
+            lastDropRelease = releases;
+            limit = clamp(algorithm.onDrop(limit));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean enqueue() {
+        lock.lock();
+        try {
+            if (queued >= maxQueue) {
+                return false;
+            }
+            queued++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dequeue() {
+        lock.lock();
+        try {
+            queued--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return false once the deadline has passed
+     */
+    private boolean awaitRelease(long seen, long deadline) {
+        lock.lock();
+        try {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            if (releases == seen) {
+                released.awaitNanos(Math.min(remaining, POLL_NANOS));
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CapacityLimitExceededException reject(RejectReason reason, int units) {
+        rejected[reason.ordinal()].increment();
+        log.debug("capacity limit rejected: reason={}, units={}, limit={}, inflight={}",
+            reason.getTag(), units, (int) limit, inflight);
+        return new CapacityLimitExceededException("capacity limit exceeded: " + reason.getTag(), reason);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        String name = algorithm.name();
+
+        Gauge.builder("capacity.limit.current", this, l -> l.limit)
+            .description("units the limiter lets in at once")
+            .tag("algorithm", name)
+            .register(registry);
+        Gauge.builder("capacity.limit.inflight", this, l -> l.inflight)
+            .description("units leased through the limiter and not yet released")
+            .tag("algorithm", name)
+            .register(registry);
+        Gauge.builder("capacity.limit.queue", this, l -> l.queued)
+            .description("requests waiting for room under the limit")
+            .tag("algorithm", name)
+            .register(registry);
+
+        FunctionCounter.builder("capacity.limit.accepted", accepted, LongAdder::sum)
+            .tag("algorithm", name)
+            .register(registry);
+        for (RejectReason reason : RejectReason.values()) {
+            FunctionCounter.builder("capacity.limit.rejected", rejected[reason.ordinal()], LongAdder::sum)
+                .description("requests shed by the limiter")
+                .tag("algorithm", name)
+                .tag("reason", reason.getTag())
+                .register(registry);
+        }
+
+        // goodput: completions within processing time + latency tolerance
+        FunctionCounter.builder("capacity.limit.completed", completedInTime, LongAdder::sum)
+            .tag("algorithm", name)
+            .tag("slo", "met")
+            .register(registry);
+        FunctionCounter.builder("capacity.limit.completed", completedLate, LongAdder::sum)
+            .tag("algorithm", name)
+            .tag("slo", "missed")
+            .register(registry);
+
+        admittedWaitTimer = Timer.builder("capacity.limit.queue.wait")
+            .description("time a request waited for room under the limit")
+            .tag("algorithm", name)
+            .tag("outcome", "admitted")
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+        shedWaitTimer = Timer.builder("capacity.limit.queue.wait")
+            .description("time a request waited for room under the limit")
+            .tag("algorithm", name)
+            .tag("outcome", "shed")
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+    }
+
+    /**
+     * Feeds the lease latency back into the limit before the request's own listener runs.
+     */
+    private class LimitedLeaseListener implements LeaseListener {
+        private final int units;
+        private final long expectedNanos;
+        private final long queueWaitNanos;
+        private final LeaseListener delegate;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        LimitedLeaseListener(int units, long expectedNanos, long queueWaitNanos, LeaseListener delegate) {
+            this.units = units;
+            this.expectedNanos = expectedNanos;
+            this.queueWaitNanos = queueWaitNanos;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onReleased(CapacityLease lease) {
+            if (done.compareAndSet(false, true)) {
+                long heldNanos = System.nanoTime() - lease.getAcquiredAtNanos();
+                complete(units, expectedNanos, queueWaitNanos + heldNanos);
+            }
+            if (delegate != null) {
+                delegate.onReleased(lease);
+            }
+        }
+
+        void cancel() {
+            if (done.compareAndSet(false, true)) {
+                unreserve(units);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.gtcafe.asimov.crypto.capacity.limit;
+
+/**
+ * Keeps the configured limit, i.e. the fixed unit budget the controllers used before.
+ */
+public class FixedLimit implements LimitAlgorithm {
+
+    @Override
+    public String name() {
+        return FIXED;
+    }
+
+    @Override
+    public double onSample(double limit, long expectedNanos, long measuredNanos, int inflight) {
+        return limit;
+    }
+
+    @Override
+    public double onDrop(double limit) {
+        return limit;
+    }
+}
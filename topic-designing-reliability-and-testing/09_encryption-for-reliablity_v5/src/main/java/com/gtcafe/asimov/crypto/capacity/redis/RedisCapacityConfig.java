@@ -0,0 +1,47 @@
+package com.gtcafe.asimov.crypto.capacity.redis;
+
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.gtcafe.asimov.crypto.capacity.ICapacityUnit;
+
+/**
+ * capacity.unit.type=redis: share one capacity pool across all replicas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "capacity.unit.type", havingValue = "redis")
+public class RedisCapacityConfig {
+
+    @Value("${capacity.redis.name:crypto}")
+    private String name;
+
+    // must be unique per replica; falls back to a random id per start
+    @Value("${capacity.redis.node-id:}")
+    private String nodeId;
+
+    @Value("${capacity.redis.max-capacity-unit:" + ICapacityUnit.DEFAULT_MAX_CAPACITY_UNIT + "}")
+    private int maxCapacityUnit;
+
+    @Value("${capacity.redis.prefetch:" + RedisCapacityUnit.DEFAULT_PREFETCH + "}")
+    private int prefetch;
+
+    @Value("${capacity.redis.fallback-units:10}")
+    private int fallbackUnits;
+
+    @Value("${capacity.redis.lease-ttl-ms:3000}")
+    private long leaseTtlMillis;
+
+    @Value("${capacity.redis.retry-ms:2000}")
+    private long retryMillis;
+
+    @Bean
+    public ICapacityUnit capacityUnit(StringRedisTemplate redisTemplate) {
+        String node = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        return new RedisCapacityUnit(redisTemplate, name, node, maxCapacityUnit, prefetch, fallbackUnits, leaseTtlMillis, retryMillis);
+    }
+}
@@ -1,46 +1,38 @@
 package com.gtcafe.asimov.crypto.domain;
 
-import com.gtcafe.asimov.crypto.capacity.ICapacityUnit;
-import com.gtcafe.asimov.crypto.capacity.exception.CapacityResumingException;
+import com.gtcafe.asimov.crypto.accesslog.AccessLogWriter;
+import com.gtcafe.asimov.crypto.capacity.lease.CapacityLease;
+import com.gtcafe.asimov.crypto.capacity.lease.LeaseListener;
 
-import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-@NoArgsConstructor
+/**
+ * Completes a request once its capacity lease is released. Runs on the lease scheduler thread,
+ * which has already waited out the processing time and resumed the capacity.
+ */
 @Slf4j
-public class CryptoConsumer extends Thread {
+public class CryptoConsumer implements LeaseListener {
 
-    private ICapacityUnit capacityUnit;
-    private CryptoContext context;
+    private final CryptoContext context;
+    private final AccessLogWriter accessLog;
 
-    public CryptoConsumer(ICapacityUnit capacityUnit, CryptoContext context) {
-        this.capacityUnit = capacityUnit;
+    public CryptoConsumer(CryptoContext context, AccessLogWriter accessLog) {
         this.context = context;
+        this.accessLog = accessLog;
     }
 
     @Override
-    public void run() {
-        try {
-            // simulate processing time
-            Thread.sleep(context.getProcessTime());
-
-            // resume the capacity counter
-            capacityUnit.resume(context.getConsumed());
-
+    public void onReleased(CapacityLease lease) {
+        if (lease.isReturned()) {
             // 歸還 capacity
             context.setReturnedCapacity(CryptoContext.V__RETURNED);
-
-        } catch (CapacityResumingException e) {
-            context.setReturnedCapacity(CryptoContext.V__NOT_RETURNED);
-            context.setAccepted(CryptoContext.V__REJECTED);
-        } catch (InterruptedException e) {
+        } else {
             context.setReturnedCapacity(CryptoContext.V__NOT_RETURNED);
             context.setAccepted(CryptoContext.V__REJECTED);
-            e.printStackTrace();
         }
 
         // write access log
-        CryptoContext.updateContext(context);
-        log.info("StockConsumer: {}", context);
+        accessLog.consumer(context);
+        log.debug("StockConsumer: {}", context);
     }
 }
@@ -3,8 +3,10 @@ package com.gtcafe.asimov.crypto.domain;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.gtcafe.asimov.crypto.accesslog.AccessLogWriter;
 import com.gtcafe.asimov.crypto.capacity.ICapacityUnit;
 import com.gtcafe.asimov.crypto.capacity.exception.CapacityInsufficientException;
+import com.gtcafe.asimov.crypto.capacity.limit.AdaptiveCapacityLimiter;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -15,28 +17,31 @@ public class CryptoService {
     @Autowired
     private ICapacityUnit capacityUnit;
 
+    @Autowired
+    private AdaptiveCapacityLimiter limiter;
+
+    @Autowired
+    private AccessLogWriter accessLog;
+
     public void acquire(CryptoContext context) {
         try {
             context.setBeforeRemaining(capacityUnit.remaining());
 
-            capacityUnit.consume(context.getConsumed());
+            // waits briefly for room under the adaptive limit; the lease gives the capacity back after the processing time
+            limiter.acquire(context.getConsumed(), context.getProcessTime(), new CryptoConsumer(context, accessLog));
 
             context.setAccepted(CryptoContext.V__ACCEPTED);
             context.setAfterRemaining(capacityUnit.remaining());
 
-            CryptoContext.updateContext(context);
-            log.info("StockRequest: {}", context);
+            accessLog.request(context, false);
+            log.debug("StockRequest: {}", context);
 
         } catch (CapacityInsufficientException e) {
             context.setAccepted(CryptoContext.V__REJECTED);
             context.setAfterRemaining(capacityUnit.remaining());
 
-            CryptoContext.updateContext(context);
-            log.error("StockInsufficientException: {}", context);
-            return;
+            accessLog.request(context, true);
+            log.debug("StockInsufficientException: {}", context);
         }
-
-        CryptoConsumer consumer = new CryptoConsumer(capacityUnit, context);
-        consumer.start();
     }
 }
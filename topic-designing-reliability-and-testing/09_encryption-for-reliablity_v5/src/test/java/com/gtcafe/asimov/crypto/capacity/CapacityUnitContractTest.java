@@ -0,0 +1,171 @@
+package com.gtcafe.asimov.crypto.capacity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.gtcafe.asimov.crypto.capacity.exception.CapacityInsufficientException;
+import com.gtcafe.asimov.crypto.capacity.exception.CapacityResumingException;
+
+/**
+ * Contract of the lock-free capacity units: a consume never grants more units than the pool has,
+ * and resuming what was consumed restores the pool to MAX.
+ */
+class CapacityUnitContractTest {
+
+    private static final int CAPACITY = ICapacityUnit.DEFAULT_MAX_CAPACITY_UNIT;
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 20_000;
+    private static final int CONTENDED_THREADS = 64;
+    private static final int CONTENDED_ROUNDS = 10;
+
+    static Stream<Arguments> units() {
+        return Stream.of(
+            Arguments.of("cas", (Supplier<ICapacityUnit>) () -> new CasCapacityUnit(CAPACITY, CasCapacityUnit.DEFAULT_MAX_RETRIES)),
+            Arguments.of("striped", (Supplier<ICapacityUnit>) () -> new StripedCapacityUnit(CAPACITY, StripedCapacityUnit.DEFAULT_STRIPES)),
+            // one unit per stripe: resume and put-back walk many stripes, widening the window for races
+            Arguments.of("striped-per-unit", (Supplier<ICapacityUnit>) () -> new StripedCapacityUnit(CAPACITY, CAPACITY)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("units")
+    void consumeBeyondRemainingIsRejected(String name, Supplier<ICapacityUnit> factory) throws Exception {
+        ICapacityUnit unit = factory.get();
+
+        unit.consume(CAPACITY - 1);
+        assertThrows(CapacityInsufficientException.class, () -> unit.consume(2));
+        assertEquals(1, unit.remaining());
+
+        unit.consume(1);
+        assertEquals(0, unit.remaining());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("units")
+    void resumeRestoresUnits(String name, Supplier<ICapacityUnit> factory) throws Exception {
+        ICapacityUnit unit = factory.get();
+
+        unit.consume(13);
+        unit.consume(7);
+        assertEquals(CAPACITY - 20, unit.remaining());
+
+        unit.resume(7);
+        unit.resume(13);
+        assertEquals(CAPACITY, unit.remaining());
+
+        assertThrows(CapacityResumingException.class, () -> unit.resume(1));
+        assertEquals(CAPACITY, unit.remaining());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("units")
+    void concurrentConsumersNeverOverGrant(String name, Supplier<ICapacityUnit> factory) throws Exception {
+        ICapacityUnit unit = factory.get();
+        AtomicInteger held = new AtomicInteger();
+        AtomicInteger maxHeld = new AtomicInteger();
+        AtomicInteger resumeErrors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    int value = 1 + random.nextInt(13);
+                    try {
+                        unit.consume(value);
+                    } catch (CapacityInsufficientException e) {
+                        continue;
+                    }
+                    maxHeld.accumulateAndGet(held.addAndGet(value), Math::max);
+                    held.addAndGet(-value);
+                    try {
+                        unit.resume(value);
+                    } catch (CapacityResumingException e) {
+                        resumeErrors.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, resumeErrors.get(), "legitimate resumes were rejected");
+        assertEquals(CAPACITY, unit.remaining(), "units were lost or duplicated");
+        assertTrue(maxHeld.get() <= CAPACITY, "over-granted: " + maxHeld.get() + " units held, MAX=" + CAPACITY);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("units")
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void heavilyContendedConsumeAndResumeEndAtMax(String name, Supplier<ICapacityUnit> factory) throws Exception {
+        // more threads than cores: threads get preempted in the middle of a resume while others
+        // drain and refill the stripes it has already passed
+        for (int round = 0; round < CONTENDED_ROUNDS; round++) {
+            ICapacityUnit unit = factory.get();
+            AtomicInteger resumeErrors = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < CONTENDED_THREADS; t++) {
+                Thread thread = new Thread(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        int value = 1 + random.nextInt(13);
+                        try {
+                            unit.consume(value);
+                        } catch (CapacityInsufficientException e) {
+                            continue;
+                        }
+                        try {
+                            unit.resume(value);
+                        } catch (CapacityResumingException e) {
+                            resumeErrors.incrementAndGet();
+                        }
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(0, resumeErrors.get(), "legitimate resumes were rejected in round " + round);
+            assertEquals(CAPACITY, unit.remaining(), "units were lost in round " + round);
+        }
+    }
+}